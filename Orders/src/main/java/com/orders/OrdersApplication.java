@@ -1,5 +1,6 @@
 package com.orders;
 
+import com.orders.service.PooledFeignClientConfiguration;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cloud.openfeign.EnableFeignClients;
@@ -9,7 +10,7 @@ import org.springframework.cloud.openfeign.EnableFeignClients;
  * This class contains the main method which is used to launch the Spring Boot application.
  */
 @SpringBootApplication
-@EnableFeignClients
+@EnableFeignClients(defaultConfiguration = PooledFeignClientConfiguration.class)
 public class OrdersApplication {
 
   /**
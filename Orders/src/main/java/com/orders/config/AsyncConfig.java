@@ -0,0 +1,113 @@
+package com.orders.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Configuration class for the executors used by the order service.
+ * <p>
+ * The lookup executor runs the independent remote lookups of order placement concurrently. It is bounded
+ * in both threads and queued tasks; once the queue is full the calling request thread runs the lookup itself,
+ * which degrades to the sequential behaviour instead of failing the checkout.
+ * </p>
+ * <p>
+ * The intake executor processes orders accepted asynchronously. It rejects work once its queue is full,
+ * so callers can turn the overload away instead of piling up orders that would wait too long.
+ * </p>
+ * <p>
+ * The event executor has a single thread, which delivers order events to the restaurant streams in order.
+ * It rejects work once its queue is full: delivery never moves to the publishing threads, which would then
+ * block on slow clients and race with the event thread.
+ * </p>
+ */
+@Configuration
+public class AsyncConfig {
+
+  /**
+   * Number of threads available for concurrent order placement lookups.
+   */
+  @Value("${orders.placement.async-lookups.pool-size:16}")
+  private int lookupPoolSize;
+
+  /**
+   * Maximum number of lookups waiting for a free thread.
+   */
+  @Value("${orders.placement.async-lookups.queue-capacity:200}")
+  private int lookupQueueCapacity;
+
+  /**
+   * Number of threads processing asynchronously accepted orders.
+   */
+  @Value("${orders.intake.async.pool-size:8}")
+  private int intakePoolSize;
+
+  /**
+   * Maximum number of accepted orders waiting for a free thread.
+   */
+  @Value("${orders.intake.async.queue-capacity:100}")
+  private int intakeQueueCapacity;
+
+  /**
+   * Maximum number of order events waiting to be delivered.
+   */
+  @Value("${orders.events.queue-capacity:10000}")
+  private int eventQueueCapacity;
+
+  /**
+   * Provides the bounded executor used to fan out order placement lookups.
+   *
+   * @return the {@link ThreadPoolTaskExecutor} for order lookups
+   */
+  @Bean(name = "orderLookupExecutor")
+  public ThreadPoolTaskExecutor orderLookupExecutor() {
+    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(lookupPoolSize);
+    executor.setMaxPoolSize(lookupPoolSize);
+    executor.setQueueCapacity(lookupQueueCapacity);
+    executor.setThreadNamePrefix("order-lookup-");
+    executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+    executor.setWaitForTasksToCompleteOnShutdown(true);
+    executor.initialize();
+    return executor;
+  }
+
+  /**
+   * Provides the bounded executor processing asynchronously accepted orders.
+   *
+   * @return the {@link ThreadPoolTaskExecutor} for order intake
+   */
+  @Bean(name = "orderIntakeExecutor")
+  public ThreadPoolTaskExecutor orderIntakeExecutor() {
+    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(intakePoolSize);
+    executor.setMaxPoolSize(intakePoolSize);
+    executor.setQueueCapacity(intakeQueueCapacity);
+    executor.setThreadNamePrefix("order-intake-");
+    executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+    executor.setWaitForTasksToCompleteOnShutdown(true);
+    executor.initialize();
+    return executor;
+  }
+
+  /**
+   * Provides the single-threaded executor delivering order events to the restaurant streams.
+   * Once its queue is full new events are rejected and dropped by the publisher.
+   *
+   * @return the {@link ThreadPoolTaskExecutor} for order events
+   */
+  @Bean(name = "orderEventExecutor")
+  public ThreadPoolTaskExecutor orderEventExecutor() {
+    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(1);
+    executor.setMaxPoolSize(1);
+    executor.setQueueCapacity(eventQueueCapacity);
+    executor.setThreadNamePrefix("order-events-");
+    executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+    executor.initialize();
+    return executor;
+  }
+}
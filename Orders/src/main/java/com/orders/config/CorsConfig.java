@@ -1,6 +1,8 @@
 package com.orders.config;
 
+import com.orders.constants.OrderConstants;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
@@ -18,7 +20,8 @@ public class CorsConfig implements WebMvcConfigurer {
    * Configures the CORS mappings.
    * <p>
    * Allows all HTTP methods and headers, and specifies that only requests from
-   * "http://localhost:3000" are permitted.
+   * "http://localhost:3000" are permitted. The pagination cursor header and the
+   * {@code Location} header of asynchronously accepted orders are exposed to the browser.
    * </p>
    *
    * @param registry the {@link CorsRegistry} to which CORS mappings are added
@@ -28,6 +31,7 @@ public class CorsConfig implements WebMvcConfigurer {
     registry.addMapping("/**")
       .allowedOrigins("http://localhost:3000")
       .allowedMethods("*")
-      .allowedHeaders("*");
+      .allowedHeaders("*")
+      .exposedHeaders(OrderConstants.NEXT_CURSOR_HEADER, HttpHeaders.LOCATION);
   }
 }
@@ -0,0 +1,34 @@
+package com.orders.config;
+
+import com.orders.service.IdempotencyService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodically deletes the expired idempotency records, which keeps the {@code idempotency_records} table bounded
+ * by the number of keys used within one time to live.
+ */
+@Slf4j
+@Component
+public class IdempotencyRecordPurger {
+
+  /**
+   * Service that deletes the records.
+   */
+  @Autowired
+  private IdempotencyService idempotencyService;
+
+  /**
+   * Deletes the expired idempotency records.
+   */
+  @Scheduled(fixedDelayString = "${orders.idempotency.purge-interval-ms:300000}")
+  public void purge() {
+    try {
+      idempotencyService.purgeExpired();
+    } catch (RuntimeException e) {
+      log.error("Purging expired idempotency records failed", e);
+    }
+  }
+}
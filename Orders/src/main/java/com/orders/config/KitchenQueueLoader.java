@@ -0,0 +1,61 @@
+package com.orders.config;
+
+import com.orders.service.KitchenQueueService;
+import com.orders.service.OrderService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+/**
+ * Rebuilds the in-memory kitchen queues from the database at startup.
+ * <p>
+ * Placed and confirmed orders are read in ID order, one batch at a time. Orders that change status while the
+ * queues are rebuilt are handled by the queue service, so a stale read does not put them back.
+ * </p>
+ */
+@Slf4j
+@Component
+public class KitchenQueueLoader implements ApplicationRunner {
+
+  /**
+   * Service reading the active orders.
+   */
+  @Autowired
+  private OrderService orderService;
+
+  /**
+   * Service holding the queues.
+   */
+  @Autowired
+  private KitchenQueueService kitchenQueueService;
+
+  /**
+   * Number of orders read per batch.
+   */
+  @Value("${orders.kitchen-queue.rebuild-batch-size:500}")
+  private int batchSize;
+
+  /**
+   * Restores every active order into the kitchen queues.
+   *
+   * @param args the application arguments
+   */
+  @Override
+  public void run(final ApplicationArguments args) {
+    kitchenQueueService.beginRebuild();
+    try {
+      int batches = 0;
+      Integer lastId = orderService.restoreKitchenQueueBatch(0, batchSize);
+      while (lastId != null) {
+        batches++;
+        lastId = orderService.restoreKitchenQueueBatch(lastId, batchSize);
+      }
+      log.info("Kitchen queues restored in {} batches", batches);
+    } finally {
+      kitchenQueueService.endRebuild();
+    }
+  }
+}
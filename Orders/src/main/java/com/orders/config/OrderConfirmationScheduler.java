@@ -0,0 +1,70 @@
+package com.orders.config;
+
+import com.orders.service.OrderConfirmationService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Drives the confirmation of placed orders whose cancellation window closed.
+ * <p>
+ * At startup the orders still placed are scheduled again, one batch at a time, since the schedule is kept in
+ * memory. On every tick the expired orders are confirmed in batches of one transaction each; a batch that fails
+ * is retried on the next tick.
+ * </p>
+ */
+@Slf4j
+@Component
+public class OrderConfirmationScheduler implements ApplicationRunner {
+
+  /**
+   * Service holding the schedule.
+   */
+  @Autowired
+  private OrderConfirmationService orderConfirmationService;
+
+  /**
+   * Maximum number of orders scheduled or confirmed per batch.
+   */
+  @Value("${orders.confirmation.batch-size:500}")
+  private int batchSize;
+
+  /**
+   * Schedules the orders placed before the service started.
+   *
+   * @param args the application arguments
+   */
+  @Override
+  public void run(final ApplicationArguments args) {
+    int batches = 0;
+    Integer lastId = orderConfirmationService.scheduleBatch(0, batchSize);
+    while (lastId != null) {
+      batches++;
+      lastId = orderConfirmationService.scheduleBatch(lastId, batchSize);
+    }
+    log.info("Scheduled placed orders for confirmation in {} batches", batches);
+  }
+
+  /**
+   * Confirms the orders whose cancellation window closed since the previous tick.
+   */
+  @Scheduled(fixedDelayString = "${orders.confirmation.tick-ms:1000}")
+  public void confirmExpiredOrders() {
+    List<Integer> expired = orderConfirmationService.pollExpired();
+    for (int from = 0; from < expired.size(); from += batchSize) {
+      List<Integer> batch = expired.subList(from, Math.min(from + batchSize, expired.size()));
+      try {
+        orderConfirmationService.confirmBatch(batch);
+      } catch (RuntimeException e) {
+        log.error("Confirming {} orders failed, retrying on the next tick", batch.size(), e);
+        orderConfirmationService.reschedule(batch);
+      }
+    }
+  }
+}
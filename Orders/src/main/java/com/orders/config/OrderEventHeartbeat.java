@@ -0,0 +1,34 @@
+package com.orders.config;
+
+import com.orders.service.OrderEventService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodically sends a heartbeat on the restaurant order streams, so proxies do not close idle streams
+ * and streams whose client went away are released.
+ */
+@Slf4j
+@Component
+public class OrderEventHeartbeat {
+
+  /**
+   * Service holding the streams.
+   */
+  @Autowired
+  private OrderEventService orderEventService;
+
+  /**
+   * Sends a heartbeat on every open stream.
+   */
+  @Scheduled(fixedDelayString = "${orders.events.heartbeat-interval-ms:15000}")
+  public void heartbeat() {
+    try {
+      orderEventService.sendHeartbeats();
+    } catch (RuntimeException e) {
+      log.error("Sending order stream heartbeats failed", e);
+    }
+  }
+}
@@ -0,0 +1,36 @@
+package com.orders.config;
+
+import com.orders.service.OrderIntakeService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodically queues again the asynchronously accepted orders that no worker finished, such as orders
+ * that were waiting in the queue of an instance that restarted. Runs only while asynchronous intake is enabled.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "orders.intake.async.enabled", havingValue = "true")
+public class OrderIntakeRecovery {
+
+  /**
+   * Service that queues the orders again.
+   */
+  @Autowired
+  private OrderIntakeService orderIntakeService;
+
+  /**
+   * Queues again the stalled orders.
+   */
+  @Scheduled(fixedDelayString = "${orders.intake.async.recovery-interval-ms:60000}")
+  public void recover() {
+    try {
+      orderIntakeService.recoverStalledOrders();
+    } catch (RuntimeException e) {
+      log.error("Recovering stalled orders failed", e);
+    }
+  }
+}
@@ -0,0 +1,51 @@
+package com.orders.config;
+
+import com.orders.service.OrderItemBackfillService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs the order items backfill once at startup when {@code orders.order-items.backfill.enabled} is set.
+ * <p>
+ * Legacy orders are migrated in ID order, one batch per transaction, until none remain.
+ * </p>
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "orders.order-items.backfill.enabled", havingValue = "true")
+public class OrderItemBackfillRunner implements ApplicationRunner {
+
+  /**
+   * Service that migrates the batches.
+   */
+  @Autowired
+  private OrderItemBackfillService backfillService;
+
+  /**
+   * Number of orders migrated per transaction.
+   */
+  @Value("${orders.order-items.backfill.batch-size:500}")
+  private int batchSize;
+
+  /**
+   * Migrates all legacy orders.
+   *
+   * @param args the application arguments
+   */
+  @Override
+  public void run(final ApplicationArguments args) {
+    log.info("Starting order items backfill with batch size {}", batchSize);
+    int batches = 0;
+    Integer lastId = backfillService.migrateBatch(0, batchSize);
+    while (lastId != null) {
+      batches++;
+      lastId = backfillService.migrateBatch(lastId, batchSize);
+    }
+    log.info("Order items backfill finished after {} batches", batches);
+  }
+}
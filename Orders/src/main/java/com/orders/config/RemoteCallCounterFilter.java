@@ -0,0 +1,60 @@
+package com.orders.config;
+
+import com.orders.utils.RemoteCallCounter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Servlet filter that counts the remote calls made while handling each request.
+ * <p>
+ * A {@link RemoteCallCounter} is bound for the duration of the request and the totals are logged once the
+ * request completes. Requests calling a single downstream resource more often than the configured budget are
+ * logged as warnings so redundant lookups show up without a profiler. Calls that joined an identical call in
+ * flight are reported apart from the calls made, and count towards the budget.
+ * </p>
+ */
+@Slf4j
+@Component
+public class RemoteCallCounterFilter extends OncePerRequestFilter {
+
+  /**
+   * Maximum number of calls per downstream resource before a request is reported.
+   */
+  @Value("${orders.remote-calls.budget-per-resource:1}")
+  private int budgetPerResource;
+
+  /**
+   * Binds a remote call counter around the request and reports it afterwards.
+   *
+   * @param request     the current request
+   * @param response    the current response
+   * @param filterChain the remaining filter chain
+   * @throws ServletException if the chain fails
+   * @throws IOException      if an I/O error occurs
+   */
+  @Override
+  protected void doFilterInternal(final HttpServletRequest request, final HttpServletResponse response,
+                                  final FilterChain filterChain) throws ServletException, IOException {
+    RemoteCallCounter counter = RemoteCallCounter.start();
+    try {
+      filterChain.doFilter(request, response);
+    } finally {
+      RemoteCallCounter.stop();
+      if (counter.maxPerResource() > budgetPerResource) {
+        log.warn("{} {} exceeded the remote call budget of {} per resource: made {}, joined {}", request.getMethod(),
+          request.getRequestURI(), budgetPerResource, counter.snapshot(), counter.joinedSnapshot());
+      } else if (counter.total() > 0 || counter.totalJoined() > 0) {
+        log.debug("{} {} made {} remote calls and joined {}: made {}, joined {}", request.getMethod(),
+          request.getRequestURI(), counter.total(), counter.totalJoined(), counter.snapshot(), counter.joinedSnapshot());
+      }
+    }
+  }
+}
@@ -0,0 +1,34 @@
+package com.orders.config;
+
+import com.orders.service.SalesCounterService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodically writes the in-memory sales counters to the {@code restaurant_sales_rollups} table, so the
+ * figures of every instance add up in the database.
+ */
+@Slf4j
+@Component
+public class SalesCounterFlusher {
+
+  /**
+   * Service holding the counters.
+   */
+  @Autowired
+  private SalesCounterService salesCounterService;
+
+  /**
+   * Flushes the counts recorded since the previous run.
+   */
+  @Scheduled(fixedDelayString = "${orders.sales.flush-interval-ms:10000}")
+  public void flush() {
+    try {
+      salesCounterService.flush();
+    } catch (RuntimeException e) {
+      log.error("Flushing sales counters failed", e);
+    }
+  }
+}
@@ -0,0 +1,18 @@
+package com.orders.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Configuration class enabling the scheduled background jobs of the order service, such as the
+ * wallet outbox relay.
+ *
+ * <p>The jobs run on the scheduler Spring Boot sets up from {@code spring.task.scheduling.*}, whose pool
+ * holds a single thread by default. {@code spring.task.scheduling.pool.size} gives each of the six jobs a
+ * thread of its own, so a slow run of one job, such as a large intake recovery or idempotency purge, does not hold
+ * back the confirmation tick or the outbox relay behind it.</p>
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
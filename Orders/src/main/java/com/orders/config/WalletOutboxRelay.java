@@ -0,0 +1,50 @@
+package com.orders.config;
+
+import com.orders.service.WalletOutboxService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodically delivers the pending wallet outbox entries to the User service.
+ * <p>
+ * Each run relays batches until one comes back short, so a backlog built up during a User service outage
+ * drains without waiting for further runs. Set {@code orders.wallet-outbox.relay.enabled=false} to stop
+ * relaying on an instance.
+ * </p>
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "orders.wallet-outbox.relay.enabled", havingValue = "true", matchIfMissing = true)
+public class WalletOutboxRelay {
+
+  /**
+   * Service that delivers the batches.
+   */
+  @Autowired
+  private WalletOutboxService walletOutboxService;
+
+  /**
+   * Maximum number of entries delivered per batch.
+   */
+  @Value("${orders.wallet-outbox.batch-size:100}")
+  private int batchSize;
+
+  /**
+   * Relays pending entries until a batch settles fewer entries than the batch size.
+   */
+  @Scheduled(fixedDelayString = "${orders.wallet-outbox.relay-interval-ms:1000}")
+  public void relay() {
+    try {
+      int settled = walletOutboxService.relayPendingBatch();
+      while (settled >= batchSize) {
+        settled = walletOutboxService.relayPendingBatch();
+      }
+    } catch (RuntimeException e) {
+      log.error("Wallet outbox relay failed", e);
+    }
+  }
+}
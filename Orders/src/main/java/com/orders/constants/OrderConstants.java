@@ -42,7 +42,7 @@ public final class OrderConstants {
   public static final String ORDER_CANCELLED_SUCCESSFULLY = "Order has been cancelled";
 
   /** Message indicating that an order was not cancelled due to failure. */
-  public static final String ORDER_CANCELLED_FAILURE = "Order cannot be cancelled after 30 seconds.";
+  public static final String ORDER_CANCELLED_FAILURE = "Order cannot be cancelled after its cancellation window has closed.";
 
   /** Message indicating that an order was completed successfully. */
   public static final String ORDER_COMPLETED_SUCCESSFULLY = "Order has been completed";
@@ -74,6 +74,112 @@ public final class OrderConstants {
    * Message indicating that no cart items was found with the specified id.
    */
   public static final String INVALID_CART_ITEMS = "Invalid items present in cart";
+  /**
+   * Message indicating that the items of an order no longer match the cart.
+   */
+  public static final String CART_ITEMS_CHANGED = "Your cart has changed. Please review it and place the order again.";
+  /**
+   * Message indicating that the order placement lookups did not complete in time.
+   */
+  public static final String ORDER_LOOKUP_TIMEOUT = "Order details could not be verified in time. Please try again.";
+  /**
+   * Message indicating that no food item was found with the specified id.
+   */
+  public static final String FOOD_ITEM_NOT_FOUND = "Food item not found with this id";
+  /**
+   * Message indicating that no restaurant was found with the specified id.
+   */
+  public static final String RESTAURANT_NOT_FOUND = "Restaurant not found with this id";
+  /**
+   * Message indicating that a cache has been cleared.
+   */
+  public static final String CACHE_INVALIDATED = "Cache invalidated successfully";
+  /**
+   * Message indicating that a pagination cursor could not be decoded.
+   */
+  public static final String INVALID_CURSOR = "Invalid page cursor";
+  /**
+   * Message indicating that a requested page size is not positive.
+   */
+  public static final String INVALID_PAGE_SIZE = "Page size must be greater than zero";
+  /**
+   * Response header carrying the cursor of the next page of a paginated listing.
+   */
+  public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+  /**
+   * Number of orders returned per page when no page size is requested.
+   */
+  public static final int DEFAULT_ORDER_PAGE_SIZE = 20;
+  /**
+   * Largest number of orders returned in a single page.
+   */
+  public static final int MAX_ORDER_PAGE_SIZE = 100;
+  /**
+   * Message indicating that an export date range is missing or ends before it starts.
+   */
+  public static final String INVALID_EXPORT_RANGE = "Export range must have a start date on or before its end date";
+  /**
+   * Request header carrying the client's idempotency key for order placement.
+   */
+  public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+  /**
+   * Longest accepted idempotency key.
+   */
+  public static final int MAX_IDEMPOTENCY_KEY_LENGTH = 100;
+  /**
+   * Message indicating that an idempotency key is blank or too long.
+   */
+  public static final String INVALID_IDEMPOTENCY_KEY = "Idempotency key must be between 1 and 100 characters";
+  /**
+   * Message indicating that an idempotency key was already used for a different request.
+   */
+  public static final String IDEMPOTENCY_KEY_REUSED = "Idempotency key was already used for a different request";
+  /**
+   * Message indicating that the first request with an idempotency key has not finished in time.
+   */
+  public static final String IDEMPOTENT_REQUEST_IN_PROGRESS = "A request with this idempotency key is still being processed";
+  /**
+   * Message indicating that the asynchronous intake queue is full.
+   */
+  public static final String ORDER_INTAKE_BUSY = "Too many orders are being processed, please retry shortly";
+  /**
+   * Message indicating that an order cannot be cancelled while an intake worker processes it.
+   */
+  public static final String ORDER_BEING_PROCESSED = "Order is being processed and cannot be cancelled yet";
+  /**
+   * Message indicating that an order in its current status cannot be cancelled.
+   */
+  public static final String ORDER_NOT_CANCELLABLE = "Order cannot be cancelled in its current status";
+  /**
+   * Message indicating that an order in its current status cannot be completed.
+   */
+  public static final String ORDER_NOT_COMPLETABLE = "Order cannot be completed in its current status";
+  /**
+   * Message indicating that the circuit breaker of a downstream service is open; takes the service name.
+   */
+  public static final String DOWNSTREAM_CIRCUIT_OPEN = "%s is temporarily unavailable, please retry shortly";
+  /**
+   * Message indicating that a downstream service has too many calls in flight; takes the service name.
+   */
+  public static final String DOWNSTREAM_BUSY = "%s is handling too many requests, please retry shortly";
+  /**
+   * Message indicating that a downstream service is unavailable and no recent enough response of it is known;
+   * takes the service name.
+   */
+  public static final String DOWNSTREAM_UNAVAILABLE = "%s is unavailable and no recent data is known, please retry shortly";
+  /**
+   * Message indicating that the wallet balance of a user cannot be read from the User service.
+   */
+  public static final String WALLET_BALANCE_UNAVAILABLE = "Wallet balance cannot be verified right now, please retry shortly";
+  /**
+   * Request header carrying the ID of the last event received by a reconnecting order stream client.
+   */
+  public static final String LAST_EVENT_ID_HEADER = "Last-Event-ID";
+  /**
+   * Number of IDs reserved per sequence call for orders, order items and cart items; must match the increment of
+   * their database sequences.
+   */
+  public static final int ID_ALLOCATION_SIZE = 50;
   private OrderConstants() {
     throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
   }
@@ -0,0 +1,85 @@
+package com.orders.controller;
+
+import com.orders.constants.OrderConstants;
+import com.orders.dto.MessageOutDto;
+import com.orders.service.RestaurantLookupService;
+import com.orders.service.UserLookupService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Controller for administrative invalidation of the local lookup caches.
+ */
+@RestController
+@RequestMapping("/admin/cache")
+@Slf4j
+public class CacheAdminController {
+
+  /**
+   * Service layer dependency for cached restaurant lookups.
+   */
+  @Autowired
+  private RestaurantLookupService restaurantLookupService;
+
+  /**
+   * Service layer dependency for cached user lookups.
+   */
+  @Autowired
+  private UserLookupService userLookupService;
+
+  /**
+   * Removes the cached existence result of a restaurant.
+   *
+   * @param restaurantId The ID of the restaurant.
+   * @return ResponseEntity containing a success message.
+   */
+  @DeleteMapping("/restaurants/{restaurantId}")
+  public ResponseEntity<MessageOutDto> invalidateRestaurant(final @PathVariable Integer restaurantId) {
+    log.info("Invalidating restaurant cache for restaurantId: {}", restaurantId);
+    restaurantLookupService.invalidate(restaurantId);
+    return new ResponseEntity<>(new MessageOutDto(OrderConstants.CACHE_INVALIDATED), HttpStatus.OK);
+  }
+
+  /**
+   * Removes every cached restaurant existence result.
+   *
+   * @return ResponseEntity containing a success message.
+   */
+  @DeleteMapping("/restaurants")
+  public ResponseEntity<MessageOutDto> invalidateAllRestaurants() {
+    log.info("Invalidating the whole restaurant cache");
+    restaurantLookupService.invalidateAll();
+    return new ResponseEntity<>(new MessageOutDto(OrderConstants.CACHE_INVALIDATED), HttpStatus.OK);
+  }
+
+  /**
+   * Removes the cached data of a user.
+   *
+   * @param userId The ID of the user.
+   * @return ResponseEntity containing a success message.
+   */
+  @DeleteMapping("/users/{userId}")
+  public ResponseEntity<MessageOutDto> invalidateUser(final @PathVariable Integer userId) {
+    log.info("Invalidating user cache for userId: {}", userId);
+    userLookupService.invalidate(userId);
+    return new ResponseEntity<>(new MessageOutDto(OrderConstants.CACHE_INVALIDATED), HttpStatus.OK);
+  }
+
+  /**
+   * Removes the cached data of every user.
+   *
+   * @return ResponseEntity containing a success message.
+   */
+  @DeleteMapping("/users")
+  public ResponseEntity<MessageOutDto> invalidateAllUsers() {
+    log.info("Invalidating the whole user cache");
+    userLookupService.invalidateAll();
+    return new ResponseEntity<>(new MessageOutDto(OrderConstants.CACHE_INVALIDATED), HttpStatus.OK);
+  }
+}
@@ -1,23 +1,46 @@
 package com.orders.controller;
 
+import com.orders.dto.FoodItemSalesOutDto;
+import com.orders.constants.OrderConstants;
 import com.orders.dto.MessageOutDto;
 import com.orders.dto.OrderInDto;
 import com.orders.dto.OrderOutDto;
+import com.orders.dto.OrderPageOutDto;
+import com.orders.dto.OrderStatusOutDto;
+import com.orders.dto.RestaurantSalesOutDto;
+import com.orders.service.IdempotencyService;
+import com.orders.service.OrderEventService;
+import com.orders.service.OrderIntakeService;
 import com.orders.service.OrderService;
+import com.orders.service.OrderStatusWatchService;
+import com.orders.utils.ExportFormat;
+import com.orders.utils.OrderStatus;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import javax.validation.Valid;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * Controller for managing order operations.
@@ -33,20 +56,104 @@ public class OrderController {
   @Autowired
   private OrderService orderService;
 
+  /**
+   * Service layer dependency for idempotent order placement.
+   */
+  @Autowired
+  private IdempotencyService idempotencyService;
+
+  /**
+   * Service layer dependency for asynchronous order intake.
+   */
+  @Autowired
+  private OrderIntakeService orderIntakeService;
+
+  /**
+   * Service layer dependency for the restaurant order streams.
+   */
+  @Autowired
+  private OrderEventService orderEventService;
+
+  /**
+   * Service layer dependency for order status long-polling.
+   */
+  @Autowired
+  private OrderStatusWatchService orderStatusWatchService;
+
+  /**
+   * Whether new orders are accepted right away and processed in the background.
+   */
+  @Value("${orders.intake.async.enabled:false}")
+  private boolean asyncIntakeEnabled;
+
   /**
    * Places a new order.
+   * When an {@value OrderConstants#IDEMPOTENCY_KEY_HEADER} header is sent, the order is placed at most once per key:
+   * retries receive the response of the first request, waiting for it if it is still running.
+   * <p>
+   * With asynchronous intake enabled the order is only saved and queued: the response is {@code 202 Accepted}
+   * with the order's status, and its {@code Location} header points to the status endpoint to poll.
+   * </p>
    *
-   * @param orderInDto DTO containing order details.
-   * @return Response entity containing a success message.
+   * @param orderInDto     DTO containing order details.
+   * @param idempotencyKey Optional key identifying the request across client retries.
+   * @return Response entity containing a success message, or the status of the accepted order.
    */
   @PostMapping("")
-  public ResponseEntity<MessageOutDto> placeOrder(final @Valid @RequestBody OrderInDto orderInDto) {
+  public ResponseEntity<?> placeOrder(
+    final @Valid @RequestBody OrderInDto orderInDto,
+    final @RequestHeader(value = OrderConstants.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+    if (asyncIntakeEnabled) {
+      log.info("Accepting order for asynchronous processing");
+      OrderStatusOutDto accepted = idempotencyKey == null
+        ? orderIntakeService.submit(orderInDto)
+        : idempotencyService.execute(idempotencyKey, orderInDto.getUserId(), orderInDto, OrderStatusOutDto.class,
+          () -> orderIntakeService.submit(orderInDto));
+      log.info("Order with ID {} accepted", accepted.getOrderId());
+      return ResponseEntity.accepted()
+        .location(ServletUriComponentsBuilder.fromCurrentContextPath()
+          .path("/orders/{orderId}/status").buildAndExpand(accepted.getOrderId()).toUri())
+        .body(accepted);
+    }
     log.info("Placing order");
-    MessageOutDto response = orderService.placeOrder(orderInDto);
+    MessageOutDto response = idempotencyKey == null
+      ? orderService.placeOrder(orderInDto)
+      : idempotencyService.execute(idempotencyKey, orderInDto.getUserId(), orderInDto, MessageOutDto.class,
+        () -> orderService.placeOrder(orderInDto));
     log.info("Order placed successfully");
     return new ResponseEntity<>(response, HttpStatus.CREATED);
   }
 
+  /**
+   * Retrieves the processing status of an order.
+   *
+   * @param orderId The ID of the order.
+   * @return Response entity containing the status of the order and, if it was rejected, the reason.
+   */
+  @GetMapping("/{orderId}/status")
+  public ResponseEntity<OrderStatusOutDto> getOrderStatus(@PathVariable final Integer orderId) {
+    log.info("Fetching status of order with ID {}", orderId);
+    return new ResponseEntity<>(orderService.getOrderStatus(orderId), HttpStatus.OK);
+  }
+
+  /**
+   * Waits for the status of an order to change.
+   * <p>
+   * Responds as soon as the status differs from {@code since}, right away if it already does. If the status
+   * has not changed when the wait times out, the unchanged status is returned and the client polls again.
+   * </p>
+   *
+   * @param orderId The ID of the order.
+   * @param since   The status the client last saw.
+   * @return The status of the order once it changed or the wait timed out.
+   */
+  @GetMapping(value = "/{orderId}/status", params = "since")
+  public DeferredResult<OrderStatusOutDto> awaitOrderStatus(@PathVariable final Integer orderId,
+                                                            @RequestParam final OrderStatus since) {
+    log.info("Waiting for status of order with ID {} to change from {}", orderId, since);
+    return orderStatusWatchService.watch(orderId, since);
+  }
+
   /**
    * Cancels an existing order.
    *
@@ -62,29 +169,160 @@ public class OrderController {
   }
 
   /**
-   * Retrieves all orders placed by a specific user.
+   * Retrieves one page of the orders placed by a specific user, most recent first.
+   * The cursor of the next page, if any, is returned in the {@value OrderConstants#NEXT_CURSOR_HEADER} header.
    *
    * @param userId The ID of the user.
+   * @param cursor The cursor returned with the previous page; omitted for the first page.
+   * @param limit  The page size; defaults to 20 and is capped at 100.
    * @return Response entity containing a list of orders.
    */
   @GetMapping("/user/{userId}")
-  public ResponseEntity<List<OrderOutDto>> getOrdersByUserId(@PathVariable final Integer userId) {
+  public ResponseEntity<List<OrderOutDto>> getOrdersByUserId(@PathVariable final Integer userId,
+                                                             @RequestParam(required = false) final String cursor,
+                                                             @RequestParam(required = false) final Integer limit) {
     log.info("Fetching orders for user ID {}", userId);
-    List<OrderOutDto> orders = orderService.getOrdersByUserId(userId);
-    return new ResponseEntity<>(orders, HttpStatus.OK);
+    return toResponse(orderService.getOrdersByUserId(userId, cursor, limit));
   }
 
   /**
-   * Retrieves all orders associated with a specific restaurant.
+   * Retrieves one page of the orders associated with a specific restaurant, most recent first.
+   * The cursor of the next page, if any, is returned in the {@value OrderConstants#NEXT_CURSOR_HEADER} header.
    *
    * @param restaurantId The ID of the restaurant.
+   * @param cursor       The cursor returned with the previous page; omitted for the first page.
+   * @param limit        The page size; defaults to 20 and is capped at 100.
    * @return Response entity containing a list of orders.
    */
   @GetMapping("/restaurant/{restaurantId}")
-  public ResponseEntity<List<OrderOutDto>> getOrdersByRestaurantId(@PathVariable final Integer restaurantId) {
+  public ResponseEntity<List<OrderOutDto>> getOrdersByRestaurantId(@PathVariable final Integer restaurantId,
+                                                                   @RequestParam(required = false) final String cursor,
+                                                                   @RequestParam(required = false) final Integer limit) {
     log.info("Fetching orders for restaurant ID {}", restaurantId);
-    List<OrderOutDto> orders = orderService.getOrdersByRestaurantId(restaurantId);
-    return new ResponseEntity<>(orders, HttpStatus.OK);
+    return toResponse(orderService.getOrdersByRestaurantId(restaurantId, cursor, limit));
+  }
+
+  /**
+   * Retrieves the orders a restaurant's kitchen still has to handle, oldest first.
+   * Placed and confirmed orders are served from memory, without reading the database.
+   *
+   * @param restaurantId The ID of the restaurant.
+   * @param limit        The number of orders; defaults to 20 and is capped at 100.
+   * @return Response entity containing the waiting orders.
+   */
+  @GetMapping("/restaurant/{restaurantId}/queue")
+  public ResponseEntity<List<OrderOutDto>> getKitchenQueue(@PathVariable final Integer restaurantId,
+                                                           @RequestParam(required = false) final Integer limit) {
+    log.info("Fetching kitchen queue for restaurant ID {}", restaurantId);
+    return new ResponseEntity<>(orderService.getKitchenQueue(restaurantId, limit), HttpStatus.OK);
+  }
+
+  /**
+   * Streams the order events of a specific restaurant as server-sent events.
+   * <p>
+   * Placed, confirmed, cancelled and completed orders are pushed as {@code order-placed}, {@code order-confirmed},
+   * {@code order-cancelled} and {@code order-completed} events as they happen. A client reconnecting with a
+   * {@code Last-Event-ID} header first receives the recent events it missed.
+   * </p>
+   *
+   * @param restaurantId The ID of the restaurant.
+   * @param lastEventId  The ID of the last event received before reconnecting; omitted for a new stream.
+   * @return The emitter streaming the events.
+   */
+  @GetMapping(value = "/restaurant/{restaurantId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  public SseEmitter streamOrdersByRestaurantId(
+    @PathVariable final Integer restaurantId,
+    @RequestHeader(value = OrderConstants.LAST_EVENT_ID_HEADER, required = false) final String lastEventId) {
+    log.info("Opening order stream for restaurant ID {}", restaurantId);
+    return orderEventService.subscribe(restaurantId, lastEventId);
+  }
+
+  /**
+   * Exports the orders of a specific restaurant placed in a date range, oldest first.
+   * <p>
+   * The file is written to the response as orders are read from the database, so it is never held in memory
+   * as a whole. With {@code gzip=true} the body is compressed and sent with {@code Content-Encoding: gzip}.
+   * </p>
+   *
+   * @param restaurantId The ID of the restaurant.
+   * @param from         The first day of the range, as an ISO date.
+   * @param to           The last day of the range, inclusive, as an ISO date.
+   * @param format       The export format; NDJSON by default.
+   * @param gzip         Whether to compress the response body.
+   * @return Response entity streaming the exported orders.
+   */
+  @GetMapping("/restaurant/{restaurantId}/export")
+  public ResponseEntity<StreamingResponseBody> exportOrdersByRestaurantId(
+    @PathVariable final Integer restaurantId,
+    @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) final LocalDate from,
+    @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) final LocalDate to,
+    @RequestParam(defaultValue = "NDJSON") final ExportFormat format,
+    @RequestParam(defaultValue = "false") final boolean gzip) {
+    log.info("Exporting orders for restaurant ID {} from {} to {} as {}", restaurantId, from, to, format);
+    orderService.validateOrderExport(restaurantId, from, to);
+
+    StreamingResponseBody body = out -> {
+      if (gzip) {
+        GZIPOutputStream compressed = new GZIPOutputStream(out);
+        orderService.exportOrdersByRestaurantId(restaurantId, from, to, format, compressed);
+        compressed.finish();
+      } else {
+        orderService.exportOrdersByRestaurantId(restaurantId, from, to, format, out);
+      }
+    };
+
+    HttpHeaders headers = new HttpHeaders();
+    headers.setContentType(MediaType.parseMediaType(format.getContentType()));
+    headers.set(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"orders-" + restaurantId + "-" + from + "-" + to
+      + "." + format.getExtension() + "\"");
+    if (gzip) {
+      headers.set(HttpHeaders.CONTENT_ENCODING, "gzip");
+    }
+    return new ResponseEntity<>(body, headers, HttpStatus.OK);
+  }
+
+  /**
+   * Builds the response of a paginated order listing.
+   *
+   * @param page The page of orders.
+   * @return Response entity containing the orders and, if more exist, the next cursor header.
+   */
+  private ResponseEntity<List<OrderOutDto>> toResponse(final OrderPageOutDto page) {
+    HttpHeaders headers = new HttpHeaders();
+    if (page.getNextCursor() != null) {
+      headers.set(OrderConstants.NEXT_CURSOR_HEADER, page.getNextCursor());
+    }
+    return new ResponseEntity<>(page.getOrders(), headers, HttpStatus.OK);
+  }
+
+  /**
+   * Retrieves per food item sales figures of a specific restaurant.
+   *
+   * @param restaurantId The ID of the restaurant.
+   * @return Response entity containing the sales of each food item, best selling first.
+   */
+  @GetMapping("/restaurant/{restaurantId}/item-sales")
+  public ResponseEntity<List<FoodItemSalesOutDto>> getItemSalesByRestaurantId(@PathVariable final Integer restaurantId) {
+    log.info("Fetching item sales for restaurant ID {}", restaurantId);
+    List<FoodItemSalesOutDto> sales = orderService.getItemSalesByRestaurantId(restaurantId);
+    return new ResponseEntity<>(sales, HttpStatus.OK);
+  }
+
+  /**
+   * Retrieves the daily sales dashboard of a specific restaurant: the orders placed, completed and cancelled
+   * on a day, the revenue and the cancellation rate. The figures come from counters maintained as orders
+   * change status, not from the orders themselves.
+   *
+   * @param restaurantId The ID of the restaurant.
+   * @param date         The day, as an ISO date; today if omitted.
+   * @return Response entity containing the sales figures of the day.
+   */
+  @GetMapping("/restaurant/{restaurantId}/sales")
+  public ResponseEntity<RestaurantSalesOutDto> getDailySalesByRestaurantId(
+    @PathVariable final Integer restaurantId,
+    @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) final LocalDate date) {
+    log.info("Fetching daily sales for restaurant ID {}", restaurantId);
+    return new ResponseEntity<>(orderService.getDailySalesByRestaurantId(restaurantId, date), HttpStatus.OK);
   }
 
   /**
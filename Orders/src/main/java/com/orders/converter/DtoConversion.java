@@ -1,8 +1,10 @@
 package com.orders.converter;
 
+import com.orders.dto.CartItemDto;
 import com.orders.dto.OrderInDto;
 import com.orders.dto.OrderOutDto;
 import com.orders.entities.Order;
+import com.orders.entities.OrderItem;
 
 
 /**
@@ -47,4 +49,14 @@ public final class DtoConversion {
     dto.setCartItems(null);
     return dto;
   }
+
+  /**
+   * Converts an {@link OrderItem} entity to a {@link CartItemDto}.
+   *
+   * @param orderItem the order item to convert
+   * @return the corresponding {@link CartItemDto}
+   */
+  public static CartItemDto convertOrderItemToCartItemDto(final OrderItem orderItem) {
+    return new CartItemDto(orderItem.getFoodItemId(), orderItem.getQuantity(), orderItem.getPrice());
+  }
 }
@@ -0,0 +1,56 @@
+package com.orders.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Data Transfer Object describing how the items submitted with an order differ from the user's cart.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CartDiffDto {
+
+  /**
+   * Submitted items that are not in the cart.
+   */
+  private List<CartItemDto> missingItems = new ArrayList<>();
+
+  /**
+   * Cart items that were not submitted.
+   */
+  private List<CartItemDto> extraItems = new ArrayList<>();
+
+  /**
+   * Items whose submitted quantity differs from the cart.
+   */
+  private List<CartItemChangeDto> quantityChanges = new ArrayList<>();
+
+  /**
+   * Items with the same quantity whose submitted price differs from the cart.
+   */
+  private List<CartItemChangeDto> priceChanges = new ArrayList<>();
+
+  /**
+   * Returns whether the submitted items match the cart exactly.
+   *
+   * @return {@code true} if there are no differences
+   */
+  public boolean isEmpty() {
+    return !hasItemChanges() && priceChanges.isEmpty();
+  }
+
+  /**
+   * Returns whether the submitted items differ from the cart in which items or quantities are ordered,
+   * as opposed to prices only.
+   *
+   * @return {@code true} if items are missing, extra or have a different quantity
+   */
+  public boolean hasItemChanges() {
+    return !missingItems.isEmpty() || !extraItems.isEmpty() || !quantityChanges.isEmpty();
+  }
+}
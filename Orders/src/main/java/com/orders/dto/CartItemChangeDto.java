@@ -0,0 +1,41 @@
+package com.orders.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Data Transfer Object describing a food item whose submitted quantity or price differs from the cart.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CartItemChangeDto {
+
+  /**
+   * ID of the food item.
+   */
+  private Integer foodItemId;
+
+  /**
+   * Quantity submitted with the order.
+   */
+  private Integer submittedQuantity;
+
+  /**
+   * Quantity currently in the cart.
+   */
+  private Integer cartQuantity;
+
+  /**
+   * Line price submitted with the order.
+   */
+  private BigDecimal submittedPrice;
+
+  /**
+   * Line price currently in the cart.
+   */
+  private BigDecimal cartPrice;
+}
@@ -0,0 +1,30 @@
+package com.orders.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Data Transfer Object carrying only the pricing data of a food item, as returned by the batch price lookup.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FoodItemPriceOutDto {
+  /**
+   * The unique identifier of the food item.
+   */
+  private Integer id;
+
+  /**
+   * The ID of the restaurant that the food item belongs to.
+   */
+  private Integer restaurantId;
+
+  /**
+   * The current price of the food item.
+   */
+  private BigDecimal price;
+}
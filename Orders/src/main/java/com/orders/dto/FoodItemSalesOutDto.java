@@ -0,0 +1,35 @@
+package com.orders.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Data Transfer Object for the sales of one food item of a restaurant, aggregated over its orders.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FoodItemSalesOutDto {
+  /**
+   * ID of the food item.
+   */
+  private Integer foodItemId;
+
+  /**
+   * Number of orders containing the food item.
+   */
+  private Long orderCount;
+
+  /**
+   * Total quantity of the food item ordered.
+   */
+  private Long quantitySold;
+
+  /**
+   * Total revenue of the food item.
+   */
+  private BigDecimal revenue;
+}
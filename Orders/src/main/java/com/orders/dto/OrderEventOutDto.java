@@ -0,0 +1,59 @@
+package com.orders.dto;
+
+import com.orders.utils.OrderEventType;
+import com.orders.utils.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Data Transfer Object for an order event pushed to a restaurant's order stream.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class OrderEventOutDto {
+
+  /**
+   * Identifier of the event, increasing in publication order; sent as the server-sent event ID.
+   */
+  private Long eventId;
+
+  /**
+   * What happened to the order.
+   */
+  private OrderEventType eventType;
+
+  /**
+   * ID of the order.
+   */
+  private Integer orderId;
+
+  /**
+   * ID of the user who placed the order.
+   */
+  private Integer userId;
+
+  /**
+   * ID of the restaurant the order was placed with.
+   */
+  private Integer restaurantId;
+
+  /**
+   * Status of the order after the event.
+   */
+  private OrderStatus orderStatus;
+
+  /**
+   * Total price of the order.
+   */
+  private BigDecimal totalPrice;
+
+  /**
+   * Timestamp when the order was placed.
+   */
+  private LocalDateTime orderTime;
+}
@@ -0,0 +1,26 @@
+package com.orders.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for one page of an order history.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderPageOutDto {
+
+  /**
+   * The orders of this page, most recent first.
+   */
+  private List<OrderOutDto> orders;
+
+  /**
+   * Cursor of the next page, or {@code null} if this is the last page.
+   */
+  private String nextCursor;
+}
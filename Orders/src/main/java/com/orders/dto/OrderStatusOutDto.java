@@ -0,0 +1,30 @@
+package com.orders.dto;
+
+import com.orders.utils.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object for the processing status of an order.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class OrderStatusOutDto {
+
+  /**
+   * The ID of the order.
+   */
+  private Integer orderId;
+
+  /**
+   * The current status of the order.
+   */
+  private OrderStatus orderStatus;
+
+  /**
+   * Why the order was rejected; {@code null} unless the status is {@code REJECTED}.
+   */
+  private String statusReason;
+}
@@ -0,0 +1,28 @@
+package com.orders.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object for representing a restaurant, as returned by the restaurant summary endpoint.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RestaurantOutDto {
+  /**
+   * The unique identifier of the restaurant.
+   */
+  private Integer id;
+
+  /**
+   * The ID of the user who owns the restaurant.
+   */
+  private Integer userId;
+
+  /**
+   * The name of the restaurant.
+   */
+  private String restaurantName;
+}
@@ -0,0 +1,51 @@
+package com.orders.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Data Transfer Object for the sales figures of a restaurant on one day.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RestaurantSalesOutDto {
+  /**
+   * ID of the restaurant.
+   */
+  private Integer restaurantId;
+
+  /**
+   * The day the figures cover.
+   */
+  private LocalDate date;
+
+  /**
+   * Number of orders placed on the day.
+   */
+  private Long orderCount;
+
+  /**
+   * Total price of the orders placed on the day, less the orders cancelled on it.
+   */
+  private BigDecimal revenue;
+
+  /**
+   * Number of orders completed on the day.
+   */
+  private Long completedCount;
+
+  /**
+   * Number of orders cancelled on the day.
+   */
+  private Long cancelledCount;
+
+  /**
+   * Cancelled orders as a fraction of the orders placed on the day; zero if none were placed.
+   */
+  private Double cancellationRate;
+}
@@ -0,0 +1,31 @@
+package com.orders.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Data Transfer Object for a wallet transaction sent to the User service.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WalletTransactionInDto {
+
+  /**
+   * The key identifying the transaction across redeliveries.
+   */
+  private String idempotencyKey;
+
+  /**
+   * The ID of the user whose wallet is updated.
+   */
+  private Integer userId;
+
+  /**
+   * The signed amount; negative to debit the wallet and positive to credit it.
+   */
+  private BigDecimal amount;
+}
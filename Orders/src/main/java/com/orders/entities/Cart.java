@@ -1,5 +1,6 @@
 package com.orders.entities;
 
+import com.orders.constants.OrderConstants;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -8,12 +9,18 @@ import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.SequenceGenerator;
+import javax.persistence.Table;
+import javax.persistence.UniqueConstraint;
 import java.math.BigDecimal;
 
 /**
  * Entity representing a cart item.
+ * A user has at most one cart row per restaurant and food item; repeated adds increase its quantity.
  */
 @Entity
+@Table(name = "cart", uniqueConstraints = @UniqueConstraint(name = "uk_cart_user_restaurant_food_item",
+  columnNames = {"userId", "restaurantId", "foodItemId"}))
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
@@ -22,7 +29,8 @@ public class Cart {
    * Unique identifier for the cart item.
    */
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "cart_seq")
+  @SequenceGenerator(name = "cart_seq", sequenceName = "cart_seq", allocationSize = OrderConstants.ID_ALLOCATION_SIZE)
   private Integer id;
 
   /**
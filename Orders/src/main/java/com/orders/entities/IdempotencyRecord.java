@@ -0,0 +1,79 @@
+package com.orders.entities;
+
+import com.orders.utils.IdempotencyStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Table;
+import javax.persistence.UniqueConstraint;
+import java.time.LocalDateTime;
+
+/**
+ * Entity representing a request made with an {@code Idempotency-Key} header and, once it succeeded, its response.
+ * <p>
+ * The unique constraint on user and key lets exactly one instance claim a key. A record in progress expires
+ * after a short lease so a key claimed by a crashed instance can be taken over; a completed record expires after
+ * the replay time to live and is then purged.
+ * </p>
+ */
+@Entity
+@Data
+@Table(name = "idempotency_records",
+  uniqueConstraints = @UniqueConstraint(name = "uk_idempotency_records_user_key", columnNames = {"userId", "idempotencyKey"}),
+  indexes = @Index(name = "idx_idempotency_records_expires_at", columnList = "expiresAt"))
+@AllArgsConstructor
+@NoArgsConstructor
+public class IdempotencyRecord {
+  /**
+   * Unique identifier for the record.
+   */
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Integer id;
+
+  /**
+   * ID of the user who sent the request; keys are only unique per user.
+   */
+  private Integer userId;
+
+  /**
+   * The idempotency key chosen by the client.
+   */
+  private String idempotencyKey;
+
+  /**
+   * Hash of the request body, used to detect a key reused for a different request.
+   */
+  private String requestHash;
+
+  /**
+   * State of the request.
+   */
+  @Enumerated(EnumType.STRING)
+  private IdempotencyStatus status;
+
+  /**
+   * JSON body of the stored response; set once the request completed.
+   */
+  @Column(columnDefinition = "TEXT")
+  private String responseBody;
+
+  /**
+   * Time at which the key was claimed.
+   */
+  private LocalDateTime createdAt;
+
+  /**
+   * Time after which the record is ignored and may be purged.
+   */
+  private LocalDateTime expiresAt;
+}
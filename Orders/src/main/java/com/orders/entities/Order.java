@@ -1,16 +1,20 @@
 package com.orders.entities;
 
+import com.orders.constants.OrderConstants;
 import com.orders.utils.OrderStatus;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.EnumType;
 import javax.persistence.Enumerated;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -20,7 +24,10 @@ import java.time.LocalDateTime;
  */
 @Entity
 @Data
-@Table(name = "orders")
+@Table(name = "orders", indexes = {
+  @Index(name = "idx_orders_user_id_order_time", columnList = "userId, orderTime, id"),
+  @Index(name = "idx_orders_restaurant_id_order_time", columnList = "restaurantId, orderTime, id")
+})
 @AllArgsConstructor
 @NoArgsConstructor
 public class Order {
@@ -29,7 +36,8 @@ public class Order {
    * Unique identifier for the order.
    */
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orders_seq")
+  @SequenceGenerator(name = "orders_seq", sequenceName = "orders_seq", allocationSize = OrderConstants.ID_ALLOCATION_SIZE)
   private Integer id;
   /**
    * Unique identifier for the order.
@@ -46,6 +54,7 @@ public class Order {
   private OrderStatus orderStatus;
   /**
    * JSON string representing the cart items associated with the order.
+   * Only set on orders placed before items were stored as {@link OrderItem} rows and not yet migrated.
    */
   private String cartItems;
   /**
@@ -60,6 +69,19 @@ public class Order {
    * ID of the restaurant where the order was placed.
    */
   private Integer restaurantId;
-
-
+  /**
+   * Why the system rejected the order during asynchronous intake; {@code null} otherwise.
+   */
+  private String statusReason;
+  /**
+   * JSON string of the cart items the client submitted with an order accepted for asynchronous intake.
+   * Kept until the order is placed, so an order queued again by recovery is still checked against them.
+   */
+  @Column(columnDefinition = "TEXT")
+  private String submittedItems;
+  /**
+   * Time the intake worker processing the order claimed it; identifies that claim while the order is
+   * {@code PROCESSING}.
+   */
+  private LocalDateTime processingStartedAt;
 }
@@ -0,0 +1,62 @@
+package com.orders.entities;
+
+import com.orders.constants.OrderConstants;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.SequenceGenerator;
+import javax.persistence.Table;
+import java.math.BigDecimal;
+
+/**
+ * Entity representing one food item line of an order.
+ */
+@Entity
+@Data
+@Table(name = "order_items", indexes = {
+  @Index(name = "idx_order_items_order_id", columnList = "orderId"),
+  @Index(name = "idx_order_items_restaurant_food_item", columnList = "restaurantId, foodItemId")
+})
+@AllArgsConstructor
+@NoArgsConstructor
+public class OrderItem {
+  /**
+   * Unique identifier for the order item.
+   */
+  @Id
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_items_seq")
+  @SequenceGenerator(name = "order_items_seq", sequenceName = "order_items_seq",
+    allocationSize = OrderConstants.ID_ALLOCATION_SIZE)
+  private Integer id;
+
+  /**
+   * ID of the order the item belongs to.
+   */
+  private Integer orderId;
+
+  /**
+   * ID of the restaurant the order was placed with.
+   */
+  private Integer restaurantId;
+
+  /**
+   * ID of the ordered food item.
+   */
+  private Integer foodItemId;
+
+  /**
+   * Ordered quantity of the food item.
+   */
+  private Integer quantity;
+
+  /**
+   * Price of the line, that is the unit price multiplied by the quantity, as held in the cart.
+   */
+  private BigDecimal price;
+}
@@ -0,0 +1,68 @@
+package com.orders.entities;
+
+import com.orders.utils.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import javax.persistence.UniqueConstraint;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Entity representing the number and value of a restaurant's orders that reached a status on one day.
+ * <p>
+ * Rows are only ever incremented, by upserts on the unique (restaurant, day, status) key, so every instance can
+ * flush its counters into the same row without reading it first.
+ * </p>
+ */
+@Entity
+@Data
+@Table(name = "restaurant_sales_rollups",
+  uniqueConstraints = @UniqueConstraint(name = "uk_restaurant_sales_rollups_key",
+    columnNames = {"restaurantId", "salesDate", "orderStatus"}))
+@AllArgsConstructor
+@NoArgsConstructor
+public class RestaurantSalesRollup {
+  /**
+   * Unique identifier for the rollup.
+   */
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Integer id;
+
+  /**
+   * ID of the restaurant.
+   */
+  private Integer restaurantId;
+
+  /**
+   * Day on which the orders reached the status.
+   */
+  private LocalDate salesDate;
+
+  /**
+   * The status the orders reached.
+   */
+  @Enumerated(EnumType.STRING)
+  private OrderStatus orderStatus;
+
+  /**
+   * Number of orders that reached the status.
+   */
+  private Long orderCount;
+
+  /**
+   * Total price of those orders.
+   */
+  @Column(precision = 19, scale = 2)
+  private BigDecimal revenue;
+}
@@ -0,0 +1,96 @@
+package com.orders.entities;
+
+import com.orders.utils.WalletOperation;
+import com.orders.utils.WalletOutboxStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Table;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Entity representing a wallet debit or refund waiting to be delivered to the User service.
+ * <p>
+ * Entries are written in the same transaction as the order they belong to and delivered later by the
+ * wallet outbox relay, so an order is never saved without its wallet update, or the other way round.
+ * </p>
+ */
+@Entity
+@Data
+@Table(name = "wallet_outbox", indexes = {
+  @Index(name = "idx_wallet_outbox_status_id", columnList = "status, id"),
+  @Index(name = "idx_wallet_outbox_user_id_status", columnList = "userId, status")
+})
+@AllArgsConstructor
+@NoArgsConstructor
+public class WalletOutboxEntry {
+  /**
+   * Unique identifier for the outbox entry.
+   */
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Integer id;
+
+  /**
+   * Key sent to the User service so a redelivered entry is applied only once.
+   */
+  @Column(nullable = false, unique = true)
+  private String idempotencyKey;
+
+  /**
+   * ID of the order the wallet update belongs to.
+   */
+  private Integer orderId;
+
+  /**
+   * ID of the user whose wallet is updated.
+   */
+  private Integer userId;
+
+  /**
+   * Whether the entry debits or refunds the wallet.
+   */
+  @Enumerated(EnumType.STRING)
+  private WalletOperation operation;
+
+  /**
+   * Unsigned amount of the update; the operation decides its sign.
+   */
+  private BigDecimal amount;
+
+  /**
+   * Delivery state of the entry.
+   */
+  @Enumerated(EnumType.STRING)
+  private WalletOutboxStatus status;
+
+  /**
+   * Number of delivery attempts that did not settle the entry.
+   */
+  private int attempts;
+
+  /**
+   * Error of the last failed delivery attempt, if any.
+   */
+  private String lastError;
+
+  /**
+   * Time at which the entry was written.
+   */
+  private LocalDateTime createdAt;
+
+  /**
+   * Time at which the entry was settled by the User service.
+   */
+  private LocalDateTime deliveredAt;
+}
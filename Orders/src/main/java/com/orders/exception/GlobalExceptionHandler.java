@@ -57,6 +57,20 @@ public class GlobalExceptionHandler {
     return new ErrorResponse(LocalDateTime.now(), HttpStatus.CONFLICT.value(), ex.getMessage(), request.getRequestURI());
   }
 
+  /**
+   * Handles {@link InvalidRequestException} and returns an appropriate error response.
+   *
+   * @param ex The exception that was thrown.
+   * @param request The HTTP request that resulted in the exception.
+   * @return An {@link ErrorResponse} with details about the error.
+   */
+  @ExceptionHandler(InvalidRequestException.class)
+  @ResponseStatus(HttpStatus.BAD_REQUEST)
+  @ResponseBody
+  public final ErrorResponse handleInvalidRequest(final InvalidRequestException ex, final HttpServletRequest request) {
+    return new ErrorResponse(LocalDateTime.now(), HttpStatus.BAD_REQUEST.value(), ex.getMessage(), request.getRequestURI());
+  }
+
   /**
    * Handles {@link MethodArgumentNotValidException} and returns validation error details.
    *
@@ -107,6 +121,22 @@ public class GlobalExceptionHandler {
     return new ErrorResponse(LocalDateTime.now(), HttpStatus.FORBIDDEN.value(), ex.getMessage(), request.getRequestURI());
   }
 
+  /**
+   * Handles {@link ServiceUnavailableException} and returns an appropriate error response.
+   *
+   * @param ex The exception that was thrown.
+   * @param request The HTTP request that resulted in the exception.
+   * @return An {@link ErrorResponse} with details about the error.
+   */
+  @ExceptionHandler(ServiceUnavailableException.class)
+  @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+  @ResponseBody
+  public final ErrorResponse handleServiceUnavailableException(final ServiceUnavailableException ex,
+                                                               final HttpServletRequest request) {
+    return new ErrorResponse(LocalDateTime.now(), HttpStatus.SERVICE_UNAVAILABLE.value(), ex.getMessage(),
+      request.getRequestURI());
+  }
+
   /**
    * Handles {@link FeignException} and returns an appropriate error response.
    * <p>
@@ -0,0 +1,16 @@
+package com.orders.exception;
+
+/**
+ * Exception thrown when a request carries parameters that cannot be processed.
+ */
+public class InvalidRequestException extends RuntimeException {
+
+  /**
+   * Constructs a new InvalidRequestException with the specified detail message.
+   *
+   * @param message The detail message.
+   */
+  public InvalidRequestException(final String message) {
+    super(message);
+  }
+}
@@ -0,0 +1,16 @@
+package com.orders.exception;
+
+/**
+ * Exception thrown when a downstream dependency does not answer in time or cannot accept more work.
+ */
+public class ServiceUnavailableException extends RuntimeException {
+
+  /**
+   * Constructs a new ServiceUnavailableException with the specified detail message.
+   *
+   * @param message The detail message.
+   */
+  public ServiceUnavailableException(final String message) {
+    super(message);
+  }
+}
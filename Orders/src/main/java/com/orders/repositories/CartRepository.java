@@ -2,9 +2,13 @@ package com.orders.repositories;
 
 import com.orders.entities.Cart;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
 import java.util.List;
-import java.util.Optional;
 
 /**
  * Repository for managing Cart entity persistence.
@@ -21,14 +25,29 @@ public interface CartRepository extends JpaRepository<Cart, Integer> {
   List<Cart> findByUserId(Integer userId);
 
   /**
-   * Finds a cart by user ID, food item ID, and restaurant ID.
+   * Adds one unit of a food item to a user's cart in a single statement.
+   * <p>
+   * A new row with quantity 1 is inserted, or, if the user already has the item in the cart, its quantity is
+   * incremented and its line price recomputed from the given unit price. Concurrent adds of the same item are
+   * serialized by the unique constraint on (user_id, restaurant_id, food_item_id) instead of creating duplicates.
+   * The ID is drawn from {@code cart_seq} directly. Hibernate's pooled optimizer only assigns the IDs just below
+   * the sequence values it fetched itself, so a value taken here never collides with a JPA insert.
+   * </p>
    *
    * @param userId       the user ID
    * @param foodItemId   the food item ID
    * @param restaurantId the restaurant ID
-   * @return an optional cart
+   * @param unitPrice    the current unit price of the food item
+   * @return the quantity of the item in the cart after the add
    */
-  Optional<Cart> findByUserIdAndFoodItemIdAndRestaurantId(Integer userId, Integer foodItemId, Integer restaurantId);
+  @Transactional
+  @Query(value = "INSERT INTO cart (id, user_id, food_item_id, restaurant_id, quantity, price) "
+    + "VALUES (nextval('cart_seq'), :userId, :foodItemId, :restaurantId, 1, :unitPrice) "
+    + "ON CONFLICT (user_id, restaurant_id, food_item_id) "
+    + "DO UPDATE SET quantity = cart.quantity + 1, price = EXCLUDED.price * (cart.quantity + 1) "
+    + "RETURNING quantity", nativeQuery = true)
+  Integer upsertItem(@Param("userId") Integer userId, @Param("foodItemId") Integer foodItemId,
+                     @Param("restaurantId") Integer restaurantId, @Param("unitPrice") BigDecimal unitPrice);
 
   /**
    * Finds carts by user ID and restaurant ID.
@@ -38,4 +57,17 @@ public interface CartRepository extends JpaRepository<Cart, Integer> {
    * @return list of carts
    */
   List<Cart> findByUserIdAndRestaurantId(Integer userId, Integer restaurantId);
+
+  /**
+   * Deletes all cart items of a user for a restaurant in a single statement, instead of loading them and
+   * deleting them one row at a time.
+   *
+   * @param userId       the user ID
+   * @param restaurantId the restaurant ID
+   * @return the number of cart items deleted
+   */
+  @Transactional
+  @Modifying
+  @Query("DELETE FROM Cart c WHERE c.userId = :userId AND c.restaurantId = :restaurantId")
+  int deleteByUserIdAndRestaurantId(@Param("userId") Integer userId, @Param("restaurantId") Integer restaurantId);
 }
@@ -0,0 +1,69 @@
+package com.orders.repositories;
+
+import com.orders.entities.IdempotencyRecord;
+import com.orders.utils.IdempotencyStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Repository for managing IdempotencyRecord entity persistence.
+ */
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, Integer> {
+
+  /**
+   * Finds the record of a user's idempotency key.
+   *
+   * @param userId         the user ID
+   * @param idempotencyKey the idempotency key
+   * @return the record, if any
+   */
+  Optional<IdempotencyRecord> findByUserIdAndIdempotencyKey(Integer userId, String idempotencyKey);
+
+  /**
+   * Marks a record as completed and stores its response.
+   *
+   * @param id              the record ID
+   * @param status          the completed status
+   * @param responseBody    the JSON body of the response
+   * @param expiresAt       the time until which the response is replayed
+   * @return 1 if the record was updated, otherwise 0
+   */
+  @Transactional
+  @Modifying
+  @Query("UPDATE IdempotencyRecord r SET r.status = :status, r.responseBody = :responseBody, "
+    + "r.expiresAt = :expiresAt WHERE r.id = :id")
+  int complete(@Param("id") Integer id, @Param("status") IdempotencyStatus status,
+               @Param("responseBody") String responseBody, @Param("expiresAt") LocalDateTime expiresAt);
+
+  /**
+   * Deletes the record of a user's idempotency key if it has expired.
+   *
+   * @param userId         the user ID
+   * @param idempotencyKey the idempotency key
+   * @param now            the current time
+   * @return the number of records deleted
+   */
+  @Transactional
+  @Modifying
+  @Query("DELETE FROM IdempotencyRecord r WHERE r.userId = :userId AND r.idempotencyKey = :idempotencyKey "
+    + "AND r.expiresAt < :now")
+  int deleteExpired(@Param("userId") Integer userId, @Param("idempotencyKey") String idempotencyKey,
+                    @Param("now") LocalDateTime now);
+
+  /**
+   * Deletes every expired record.
+   *
+   * @param now the current time
+   * @return the number of records deleted
+   */
+  @Transactional
+  @Modifying
+  @Query("DELETE FROM IdempotencyRecord r WHERE r.expiresAt < :now")
+  int deleteAllExpired(@Param("now") LocalDateTime now);
+}
@@ -0,0 +1,49 @@
+package com.orders.repositories;
+
+import com.orders.dto.FoodItemSalesOutDto;
+import com.orders.entities.OrderItem;
+import com.orders.utils.OrderStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository for managing OrderItem entity persistence.
+ */
+public interface OrderItemRepository extends JpaRepository<OrderItem, Integer> {
+
+  /**
+   * Finds the items of an order.
+   *
+   * @param orderId the order ID
+   * @return list of order items
+   */
+  List<OrderItem> findByOrderId(Integer orderId);
+
+  /**
+   * Finds the items of several orders with a single query.
+   *
+   * @param orderIds the order IDs
+   * @return list of order items of all the given orders
+   */
+  List<OrderItem> findByOrderIdIn(Collection<Integer> orderIds);
+
+  /**
+   * Aggregates, per food item, the order count, quantity and revenue of a restaurant's orders,
+   * ignoring orders in the excluded status. Results are ordered by quantity sold, highest first.
+   *
+   * @param restaurantId   the restaurant ID
+   * @param excludedStatus the order status whose orders are not counted
+   * @return list of per food item sales
+   */
+  @Query("SELECT new com.orders.dto.FoodItemSalesOutDto(i.foodItemId, COUNT(DISTINCT i.orderId), "
+    + "SUM(i.quantity), SUM(i.price)) "
+    + "FROM OrderItem i, Order o "
+    + "WHERE o.id = i.orderId AND i.restaurantId = :restaurantId AND o.orderStatus <> :excludedStatus "
+    + "GROUP BY i.foodItemId ORDER BY SUM(i.quantity) DESC")
+  List<FoodItemSalesOutDto> findFoodItemSalesByRestaurantId(@Param("restaurantId") Integer restaurantId,
+                                                            @Param("excludedStatus") OrderStatus excludedStatus);
+}
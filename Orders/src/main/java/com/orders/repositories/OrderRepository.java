@@ -1,9 +1,27 @@
 package com.orders.repositories;
 
+import com.orders.dto.OrderStatusOutDto;
 import com.orders.entities.Order;
+import com.orders.utils.OrderStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
 
 /**
  * Repository for managing Order entity persistence.
@@ -11,18 +29,321 @@ import java.util.List;
 public interface OrderRepository extends JpaRepository<Order, Integer> {
 
   /**
-   * Finds orders by user ID.
+   * Reads the status of an order from the database.
+   * <p>
+   * The status is selected as scalar values, so it is always read from the row, even when the order is already
+   * managed by the persistence context of the request with an older status.
+   * </p>
+   *
+   * @param id the order ID
+   * @return the status of the order, or empty if the order does not exist
+   */
+  @Query("SELECT new com.orders.dto.OrderStatusOutDto(o.id, o.orderStatus, o.statusReason) FROM Order o "
+    + "WHERE o.id = :id")
+  Optional<OrderStatusOutDto> findStatusById(@Param("id") Integer id);
+
+  /**
+   * Finds the most recent orders of a user, newest first.
    *
    * @param userId the user ID
-   * @return list of orders
+   * @param limit  the maximum number of orders returned
+   * @return list of orders ordered by order time and ID, descending
+   */
+  @Query(value = "SELECT * FROM orders WHERE user_id = :userId "
+    + "ORDER BY order_time DESC, id DESC LIMIT :limit", nativeQuery = true)
+  List<Order> findFirstPageByUserId(@Param("userId") Integer userId, @Param("limit") int limit);
+
+  /**
+   * Finds the orders of a user that sort after the given position, newest first.
+   *
+   * @param userId    the user ID
+   * @param orderTime the order time of the last order already returned
+   * @param id        the ID of the last order already returned
+   * @param limit     the maximum number of orders returned
+   * @return list of orders ordered by order time and ID, descending
+   */
+  @Query(value = "SELECT * FROM orders WHERE user_id = :userId AND (order_time, id) < (:orderTime, :id) "
+    + "ORDER BY order_time DESC, id DESC LIMIT :limit", nativeQuery = true)
+  List<Order> findPageByUserIdBefore(@Param("userId") Integer userId, @Param("orderTime") LocalDateTime orderTime,
+                                     @Param("id") Integer id, @Param("limit") int limit);
+
+  /**
+   * Finds the most recent orders of a restaurant, newest first.
+   *
+   * @param restaurantId the restaurant ID
+   * @param limit        the maximum number of orders returned
+   * @return list of orders ordered by order time and ID, descending
    */
-  List<Order> findByUserId(Integer userId);
+  @Query(value = "SELECT * FROM orders WHERE restaurant_id = :restaurantId "
+    + "ORDER BY order_time DESC, id DESC LIMIT :limit", nativeQuery = true)
+  List<Order> findFirstPageByRestaurantId(@Param("restaurantId") Integer restaurantId, @Param("limit") int limit);
 
   /**
-   * Finds orders by restaurant ID.
+   * Finds the orders of a restaurant that sort after the given position, newest first.
    *
    * @param restaurantId the restaurant ID
+   * @param orderTime    the order time of the last order already returned
+   * @param id           the ID of the last order already returned
+   * @param limit        the maximum number of orders returned
+   * @return list of orders ordered by order time and ID, descending
+   */
+  @Query(value = "SELECT * FROM orders WHERE restaurant_id = :restaurantId AND (order_time, id) < (:orderTime, :id) "
+    + "ORDER BY order_time DESC, id DESC LIMIT :limit", nativeQuery = true)
+  List<Order> findPageByRestaurantIdBefore(@Param("restaurantId") Integer restaurantId,
+                                           @Param("orderTime") LocalDateTime orderTime,
+                                           @Param("id") Integer id, @Param("limit") int limit);
+
+  /**
+   * Streams the orders of a restaurant placed in a time range, oldest first.
+   * <p>
+   * Rows are fetched from the database 500 at a time rather than all at once, so the stream must be consumed
+   * and closed inside a transaction.
+   * </p>
+   *
+   * @param restaurantId the restaurant ID
+   * @param from         the start of the range, inclusive
+   * @param to           the end of the range, exclusive
+   * @return stream of orders ordered by order time and ID
+   */
+  @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+  @Query("SELECT o FROM Order o WHERE o.restaurantId = :restaurantId "
+    + "AND o.orderTime >= :from AND o.orderTime < :to ORDER BY o.orderTime, o.id")
+  Stream<Order> streamByRestaurantIdAndOrderTimeRange(@Param("restaurantId") Integer restaurantId,
+                                                      @Param("from") LocalDateTime from,
+                                                      @Param("to") LocalDateTime to);
+
+  /**
+   * Finds orders that still store their items as a JSON string, starting after the given order ID.
+   *
+   * @param id       the order ID after which to start
+   * @param pageable the page size and sort order
+   * @return list of orders not yet migrated to order items
+   */
+  List<Order> findByCartItemsIsNotNullAndIdGreaterThan(Integer id, Pageable pageable);
+
+  /**
+   * Finds orders with the given status that were created before the given time.
+   *
+   * @param orderStatus the status
+   * @param orderTime   the time before which the orders were created
+   * @param pageable    the maximum number of orders, oldest first
+   * @return list of orders
+   */
+  List<Order> findByOrderStatusAndOrderTimeBefore(OrderStatus orderStatus, LocalDateTime orderTime, Pageable pageable);
+
+  /**
+   * Finds orders with the given status that were claimed by an intake worker before the given time.
+   *
+   * @param orderStatus         the status
+   * @param processingStartedAt the time before which the orders were claimed
+   * @param pageable            the maximum number of orders, oldest claim first
    * @return list of orders
    */
-  List<Order> findByRestaurantId(Integer restaurantId);
+  List<Order> findByOrderStatusAndProcessingStartedAtBefore(OrderStatus orderStatus, LocalDateTime processingStartedAt,
+                                                            Pageable pageable);
+
+  /**
+   * Finds orders with the given status, starting after the given order ID.
+   *
+   * @param orderStatus the status
+   * @param id          the order ID after which to start
+   * @param pageable    the page size and sort order
+   * @return list of orders
+   */
+  List<Order> findByOrderStatusAndIdGreaterThan(OrderStatus orderStatus, Integer id, Pageable pageable);
+
+  /**
+   * Finds orders with any of the given statuses, starting after the given order ID.
+   *
+   * @param orderStatuses the statuses
+   * @param id            the order ID after which to start
+   * @param pageable      the page size and sort order
+   * @return list of orders
+   */
+  List<Order> findByOrderStatusInAndIdGreaterThan(Collection<OrderStatus> orderStatuses, Integer id, Pageable pageable);
+
+  /**
+   * Finds and locks the orders among the given IDs that have the given status, so their status cannot change
+   * until the current transaction ends.
+   *
+   * @param ids         the order IDs
+   * @param orderStatus the status
+   * @return list of the matching orders
+   */
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  List<Order> findByIdInAndOrderStatus(Collection<Integer> ids, OrderStatus orderStatus);
+
+  /**
+   * Moves an order from one status to another in a single conditional update, following the order state machine.
+   * <p>
+   * The update only matches the row while the order still has the expected status, so of two concurrent
+   * transitions out of the same status exactly one succeeds.
+   * </p>
+   *
+   * @param id           the order ID
+   * @param expected     the status the order must have
+   * @param orderStatus  the new status
+   * @param statusReason the reason stored with the new status, or {@code null}
+   * @return {@code true} if the order was moved, {@code false} if its status was no longer the expected one
+   * @throws IllegalStateException if the state machine does not allow the transition
+   */
+  default boolean transition(final Integer id, final OrderStatus expected, final OrderStatus orderStatus,
+                             final String statusReason) {
+    if (!expected.canTransitionTo(orderStatus)) {
+      throw new IllegalStateException("Order cannot move from " + expected + " to " + orderStatus);
+    }
+    return updateStatusIf(id, expected, orderStatus, statusReason) == 1;
+  }
+
+  /**
+   * Claims a {@code PENDING} order for an intake worker, moving it to {@code PROCESSING} and recording the time of
+   * the claim. Of two workers claiming the same order exactly one succeeds.
+   *
+   * @param id        the order ID
+   * @param claimedAt the time of the claim, which identifies it afterwards
+   * @return {@code true} if the order was claimed, {@code false} if it was no longer pending
+   */
+  default boolean claim(final Integer id, final LocalDateTime claimedAt) {
+    return updateClaimIf(id, OrderStatus.PENDING, OrderStatus.PROCESSING, claimedAt) == 1;
+  }
+
+  /**
+   * Moves a {@code PROCESSING} order out of the given claim, following the order state machine.
+   * <p>
+   * The update only matches the row while the order is still held by that claim, so a worker whose order was
+   * returned to the queue and claimed again can no longer change it.
+   * </p>
+   *
+   * @param id           the order ID
+   * @param claimedAt    the time of the claim
+   * @param orderStatus  the new status
+   * @param statusReason the reason stored with the new status, or {@code null}
+   * @return {@code true} if the order was moved, {@code false} if it is no longer held by the claim
+   * @throws IllegalStateException if the state machine does not allow the transition
+   */
+  default boolean transitionClaimed(final Integer id, final LocalDateTime claimedAt, final OrderStatus orderStatus,
+                                    final String statusReason) {
+    if (!OrderStatus.PROCESSING.canTransitionTo(orderStatus)) {
+      throw new IllegalStateException("Order cannot move from " + OrderStatus.PROCESSING + " to " + orderStatus);
+    }
+    return updateClaimedStatusIf(id, OrderStatus.PROCESSING, claimedAt, orderStatus, statusReason) == 1;
+  }
+
+  /**
+   * Places a {@code PROCESSING} order held by the given claim, storing its total price and dropping its submitted
+   * items. The persistence context is cleared afterwards, so the order loaded before is detached rather than stale.
+   *
+   * @param id         the order ID
+   * @param claimedAt  the time of the claim
+   * @param totalPrice the total price of the order
+   * @return {@code true} if the order was placed, {@code false} if it is no longer held by the claim
+   */
+  default boolean placeClaimed(final Integer id, final LocalDateTime claimedAt, final BigDecimal totalPrice) {
+    return updateClaimedToPlacedIf(id, OrderStatus.PROCESSING, claimedAt, OrderStatus.PLACED, totalPrice) == 1;
+  }
+
+  /**
+   * Moves orders from one status to another in a single conditional update, following the order state machine.
+   * Orders no longer in the expected status are left unchanged.
+   *
+   * @param ids         the order IDs
+   * @param expected    the status the orders must have
+   * @param orderStatus the new status
+   * @return the number of orders moved
+   * @throws IllegalStateException if the state machine does not allow the transition
+   */
+  default int transitionAll(final Collection<Integer> ids, final OrderStatus expected, final OrderStatus orderStatus) {
+    if (!expected.canTransitionTo(orderStatus)) {
+      throw new IllegalStateException("Order cannot move from " + expected + " to " + orderStatus);
+    }
+    return ids.isEmpty() ? 0 : updateStatusIfIn(ids, expected, orderStatus);
+  }
+
+  /**
+   * Moves an order from one status to another, only if it still has the expected status.
+   * Callers go through {@link #transition(Integer, OrderStatus, OrderStatus, String)}.
+   *
+   * @param id           the order ID
+   * @param expected     the status the order must have
+   * @param orderStatus  the new status
+   * @param statusReason the reason stored with the new status, or {@code null}
+   * @return 1 if the order was updated, otherwise 0
+   */
+  @Transactional
+  @Modifying
+  @Query("UPDATE Order o SET o.orderStatus = :orderStatus, o.statusReason = :statusReason "
+    + "WHERE o.id = :id AND o.orderStatus = :expected")
+  int updateStatusIf(@Param("id") Integer id, @Param("expected") OrderStatus expected,
+                     @Param("orderStatus") OrderStatus orderStatus, @Param("statusReason") String statusReason);
+
+  /**
+   * Moves orders from one status to another, only for the orders that still have the expected status.
+   * The persistence context is cleared afterwards, so orders loaded before are detached rather than stale.
+   * Callers go through {@link #transitionAll(Collection, OrderStatus, OrderStatus)}.
+   *
+   * @param ids         the order IDs
+   * @param expected    the status the orders must have
+   * @param orderStatus the new status
+   * @return the number of orders updated
+   */
+  @Transactional
+  @Modifying(clearAutomatically = true)
+  @Query("UPDATE Order o SET o.orderStatus = :orderStatus WHERE o.id IN :ids AND o.orderStatus = :expected")
+  int updateStatusIfIn(@Param("ids") Collection<Integer> ids, @Param("expected") OrderStatus expected,
+                       @Param("orderStatus") OrderStatus orderStatus);
+
+  /**
+   * Moves an order from one status to another and records the time of the claim, only if it still has the
+   * expected status. Callers go through {@link #claim(Integer, LocalDateTime)}.
+   *
+   * @param id          the order ID
+   * @param expected    the status the order must have
+   * @param orderStatus the new status
+   * @param claimedAt   the time of the claim
+   * @return 1 if the order was updated, otherwise 0
+   */
+  @Transactional
+  @Modifying
+  @Query("UPDATE Order o SET o.orderStatus = :orderStatus, o.processingStartedAt = :claimedAt "
+    + "WHERE o.id = :id AND o.orderStatus = :expected")
+  int updateClaimIf(@Param("id") Integer id, @Param("expected") OrderStatus expected,
+                    @Param("orderStatus") OrderStatus orderStatus, @Param("claimedAt") LocalDateTime claimedAt);
+
+  /**
+   * Moves an order from one status to another, only if it still has the expected status and claim.
+   * Callers go through {@link #transitionClaimed(Integer, LocalDateTime, OrderStatus, String)}.
+   *
+   * @param id           the order ID
+   * @param expected     the status the order must have
+   * @param claimedAt    the time of the claim the order must be held by
+   * @param orderStatus  the new status
+   * @param statusReason the reason stored with the new status, or {@code null}
+   * @return 1 if the order was updated, otherwise 0
+   */
+  @Transactional
+  @Modifying
+  @Query("UPDATE Order o SET o.orderStatus = :orderStatus, o.statusReason = :statusReason "
+    + "WHERE o.id = :id AND o.orderStatus = :expected AND o.processingStartedAt = :claimedAt")
+  int updateClaimedStatusIf(@Param("id") Integer id, @Param("expected") OrderStatus expected,
+                            @Param("claimedAt") LocalDateTime claimedAt, @Param("orderStatus") OrderStatus orderStatus,
+                            @Param("statusReason") String statusReason);
+
+  /**
+   * Places an order, only if it still has the expected status and claim.
+   * Callers go through {@link #placeClaimed(Integer, LocalDateTime, BigDecimal)}.
+   *
+   * @param id          the order ID
+   * @param expected    the status the order must have
+   * @param claimedAt   the time of the claim the order must be held by
+   * @param orderStatus the new status
+   * @param totalPrice  the total price of the order
+   * @return 1 if the order was updated, otherwise 0
+   */
+  @Transactional
+  @Modifying(clearAutomatically = true)
+  @Query("UPDATE Order o SET o.orderStatus = :orderStatus, o.totalPrice = :totalPrice, o.submittedItems = NULL "
+    + "WHERE o.id = :id AND o.orderStatus = :expected AND o.processingStartedAt = :claimedAt")
+  int updateClaimedToPlacedIf(@Param("id") Integer id, @Param("expected") OrderStatus expected,
+                              @Param("claimedAt") LocalDateTime claimedAt, @Param("orderStatus") OrderStatus orderStatus,
+                              @Param("totalPrice") BigDecimal totalPrice);
 }
@@ -0,0 +1,52 @@
+package com.orders.repositories;
+
+import com.orders.entities.RestaurantSalesRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Repository for managing RestaurantSalesRollup entity persistence.
+ */
+public interface RestaurantSalesRollupRepository extends JpaRepository<RestaurantSalesRollup, Integer> {
+
+  /**
+   * Finds the rollups of a restaurant for one day, one per status reached that day.
+   *
+   * @param restaurantId the restaurant ID
+   * @param salesDate    the day
+   * @return the rollups of the day
+   */
+  List<RestaurantSalesRollup> findByRestaurantIdAndSalesDate(Integer restaurantId, LocalDate salesDate);
+
+  /**
+   * Adds to the rollup of a restaurant, day and status, creating it if needed.
+   * <p>
+   * Concurrent flushes of the same key are serialized by the unique constraint on
+   * (restaurant_id, sales_date, order_status), so no increment is lost.
+   * </p>
+   *
+   * @param restaurantId the restaurant ID
+   * @param salesDate    the day
+   * @param orderStatus  the name of the status
+   * @param orderCount   the number of orders to add
+   * @param revenue      the total price to add
+   * @return the number of rows written
+   */
+  @Transactional
+  @Modifying
+  @Query(value = "INSERT INTO restaurant_sales_rollups (restaurant_id, sales_date, order_status, order_count, revenue) "
+    + "VALUES (:restaurantId, :salesDate, :orderStatus, :orderCount, :revenue) "
+    + "ON CONFLICT (restaurant_id, sales_date, order_status) DO UPDATE SET "
+    + "order_count = restaurant_sales_rollups.order_count + EXCLUDED.order_count, "
+    + "revenue = restaurant_sales_rollups.revenue + EXCLUDED.revenue", nativeQuery = true)
+  int addToRollup(@Param("restaurantId") Integer restaurantId, @Param("salesDate") LocalDate salesDate,
+                  @Param("orderStatus") String orderStatus, @Param("orderCount") long orderCount,
+                  @Param("revenue") BigDecimal revenue);
+}
@@ -0,0 +1,81 @@
+package com.orders.repositories;
+
+import com.orders.entities.WalletOutboxEntry;
+import com.orders.utils.WalletOperation;
+import com.orders.utils.WalletOutboxStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository for managing WalletOutboxEntry entity persistence.
+ */
+public interface WalletOutboxRepository extends JpaRepository<WalletOutboxEntry, Integer> {
+
+  /**
+   * Locks and returns the oldest pending entries. Rows already locked by another relay are skipped,
+   * so several instances can relay concurrently without delivering the same entry twice.
+   *
+   * @param limit the maximum number of entries claimed
+   * @return the claimed entries, oldest first
+   */
+  @Query(value = "SELECT * FROM wallet_outbox WHERE status = 'PENDING' ORDER BY id LIMIT :limit "
+    + "FOR UPDATE SKIP LOCKED", nativeQuery = true)
+  List<WalletOutboxEntry> claimPending(@Param("limit") int limit);
+
+  /**
+   * Finds an entry by its idempotency key.
+   *
+   * @param idempotencyKey the idempotency key
+   * @return the entry, if any
+   */
+  Optional<WalletOutboxEntry> findByIdempotencyKey(String idempotencyKey);
+
+  /**
+   * Finds the oldest entry with the given status.
+   *
+   * @param status the status
+   * @return the oldest entry, if any
+   */
+  Optional<WalletOutboxEntry> findFirstByStatusOrderByIdAsc(WalletOutboxStatus status);
+
+  /**
+   * Counts the entries with the given status.
+   *
+   * @param status the status
+   * @return the number of entries
+   */
+  long countByStatus(WalletOutboxStatus status);
+
+  /**
+   * Sums the amounts of a user's entries with the given operation and status.
+   *
+   * @param userId    the user ID
+   * @param operation the operation
+   * @param status    the status
+   * @return the sum of the amounts, or zero if there are none
+   */
+  @Query("SELECT COALESCE(SUM(e.amount), 0) FROM WalletOutboxEntry e "
+    + "WHERE e.userId = :userId AND e.operation = :operation AND e.status = :status")
+  BigDecimal sumAmount(@Param("userId") Integer userId, @Param("operation") WalletOperation operation,
+                       @Param("status") WalletOutboxStatus status);
+
+  /**
+   * Moves an entry from one status to another, only if it still has the expected status.
+   *
+   * @param idempotencyKey the idempotency key of the entry
+   * @param expected       the status the entry must have
+   * @param status         the new status
+   * @return 1 if the entry was updated, otherwise 0
+   */
+  @Modifying
+  @Query("UPDATE WalletOutboxEntry e SET e.status = :status "
+    + "WHERE e.idempotencyKey = :idempotencyKey AND e.status = :expected")
+  int updateStatusIf(@Param("idempotencyKey") String idempotencyKey, @Param("expected") WalletOutboxStatus expected,
+                     @Param("status") WalletOutboxStatus status);
+}
@@ -59,6 +59,32 @@ public interface CartService {
    */
   List<Cart> getCartItemsByUserIdAndRestaurantId(Integer userId, Integer restaurantId);
 
+  /**
+   * Retrieves the cart items for a user and restaurant that the caller has already validated.
+   * <p>
+   * Unlike {@link #getCartItemsByUserIdAndRestaurantId(Integer, Integer)} this does not look up the user or the
+   * restaurant again, so it must only be used by internal callers such as order placement.
+   * </p>
+   *
+   * @param userId       the ID of the already validated user
+   * @param restaurantId the ID of the already validated restaurant
+   * @return a list of {@link Cart} items
+   */
+  List<Cart> getAuthorizedCartItems(Integer userId, Integer restaurantId);
+
+  /**
+   * Clears the cart of a user and restaurant that the caller has already validated.
+   * <p>
+   * Unlike {@link #clearCartAfterOrderPlaced(Integer, Integer)} this does not look up the user or the
+   * restaurant again, so it must only be used by internal callers such as order placement.
+   * </p>
+   *
+   * @param userId       the ID of the already validated user
+   * @param restaurantId the ID of the already validated restaurant
+   * @return a success message wrapped in {@link MessageOutDto}
+   */
+  MessageOutDto clearAuthorizedCart(Integer userId, Integer restaurantId);
+
   /**
    * Retrieves the cart by cart ID.
    *
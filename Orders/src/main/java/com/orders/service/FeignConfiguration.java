@@ -1,7 +1,13 @@
 package com.orders.service;
 
+import com.orders.utils.RemoteCallCounter;
 import feign.RequestInterceptor;
 import feign.RequestTemplate;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -11,6 +17,7 @@ import org.springframework.context.annotation.Configuration;
 public class FeignConfiguration {
   /**
    * Provides a request interceptor for logging Feign client requests.
+   * Each request is also recorded on the {@link RemoteCallCounter} of the incoming request being handled.
    *
    * @return an instance of {@link RequestInterceptor} that logs request details
    */
@@ -20,7 +27,54 @@ public class FeignConfiguration {
       @Override
       public void apply(final RequestTemplate template) {
         log.info("Feign Request to URL: {}", template.url());
+        if (template.methodMetadata() != null) {
+          RemoteCallCounter.record(template.methodMetadata().configKey());
+        }
       }
     };
   }
+
+  /**
+   * Provides the registry of the circuit breakers guarding the Feign clients, one per client.
+   *
+   * @return the circuit breaker registry
+   */
+  @Bean
+  public CircuitBreakerRegistry feignCircuitBreakerRegistry() {
+    return CircuitBreakerRegistry.ofDefaults();
+  }
+
+  /**
+   * Provides the registry of the bulkheads guarding the Feign clients, one per client.
+   *
+   * @return the bulkhead registry
+   */
+  @Bean
+  public BulkheadRegistry feignBulkheadRegistry() {
+    return BulkheadRegistry.ofDefaults();
+  }
+
+  /**
+   * Exports the state, failure rate and call outcomes of the circuit breakers
+   * ({@code resilience4j.circuitbreaker.*}, tagged with the client name).
+   *
+   * @param circuitBreakerRegistry the circuit breaker registry
+   * @return the metrics binder
+   */
+  @Bean
+  public MeterBinder feignCircuitBreakerMetrics(final CircuitBreakerRegistry circuitBreakerRegistry) {
+    return TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(circuitBreakerRegistry);
+  }
+
+  /**
+   * Exports the available and maximum concurrent calls of the bulkheads ({@code resilience4j.bulkhead.*}, tagged
+   * with the client name).
+   *
+   * @param bulkheadRegistry the bulkhead registry
+   * @return the metrics binder
+   */
+  @Bean
+  public MeterBinder feignBulkheadMetrics(final BulkheadRegistry bulkheadRegistry) {
+    return TaggedBulkheadMetrics.ofBulkheadRegistry(bulkheadRegistry);
+  }
 }
@@ -0,0 +1,36 @@
+package com.orders.service;
+
+import java.util.function.Supplier;
+
+/**
+ * Service interface for executing requests at most once per client-supplied idempotency key.
+ * <p>
+ * The response of a successful request is stored and replayed to retries with the same key. A retry that
+ * arrives while the first request is still running waits for its outcome instead of running again.
+ * </p>
+ */
+public interface IdempotencyService {
+
+  /**
+   * Executes an action at most once for a user's idempotency key.
+   *
+   * @param idempotencyKey the key supplied by the client
+   * @param userId         the ID of the user the key belongs to
+   * @param request        the request body, compared with the body first sent with the key
+   * @param responseType   the type of the response, used to read a stored response back
+   * @param action         the action executing the request
+   * @param <T>            the type of the response
+   * @return the response of the action, or the stored response of an earlier request with the same key
+   * @throws com.orders.exception.InvalidRequestException   if the key is blank or too long
+   * @throws com.orders.exception.ResourceConflictException if the key was used for a different request, or
+   *                                                        its first request did not finish in time
+   */
+  <T> T execute(String idempotencyKey, Integer userId, Object request, Class<T> responseType, Supplier<T> action);
+
+  /**
+   * Deletes the expired idempotency records.
+   *
+   * @return the number of records deleted
+   */
+  int purgeExpired();
+}
@@ -0,0 +1,58 @@
+package com.orders.service;
+
+import com.orders.dto.OrderOutDto;
+import com.orders.entities.Order;
+import com.orders.utils.OrderStatus;
+
+import java.util.List;
+
+/**
+ * Service interface for the in-memory kitchen queues: the active ({@code PLACED} or {@code CONFIRMED}) orders
+ * of each restaurant, oldest first, kept up to date by the order write paths.
+ */
+public interface KitchenQueueService {
+
+  /**
+   * Adds a placed order to the queue of its restaurant. When called in a transaction the order is added once
+   * the transaction commits.
+   *
+   * @param order the placed order, with its items
+   */
+  void add(OrderOutDto order);
+
+  /**
+   * Updates a queued order whose status changed, removing it from the queue once it is no longer active.
+   * When called in a transaction the queue is updated once the transaction commits.
+   *
+   * @param order       the order
+   * @param orderStatus the new status
+   */
+  void statusChanged(Order order, OrderStatus orderStatus);
+
+  /**
+   * Returns the oldest active orders of a restaurant.
+   *
+   * @param restaurantId the ID of the restaurant
+   * @param limit        the maximum number of orders returned
+   * @return the active orders, oldest first
+   */
+  List<OrderOutDto> getQueue(Integer restaurantId, int limit);
+
+  /**
+   * Starts rebuilding the queues from the database. Until {@link #endRebuild()}, status changes are remembered
+   * so that orders restored from an older read are not queued again.
+   */
+  void beginRebuild();
+
+  /**
+   * Restores active orders read from the database.
+   *
+   * @param orders the active orders, with their items
+   */
+  void restore(List<OrderOutDto> orders);
+
+  /**
+   * Ends rebuilding the queues and forgets the remembered status changes.
+   */
+  void endRebuild();
+}
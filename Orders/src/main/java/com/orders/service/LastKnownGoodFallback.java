@@ -0,0 +1,17 @@
+package com.orders.service;
+
+import com.orders.utils.LastKnownGoodCache;
+
+/**
+ * Fallback of a Feign client that serves the last successful responses of the remote service while it is
+ * unavailable. The responses are remembered by the client as they arrive.
+ */
+public interface LastKnownGoodFallback {
+
+  /**
+   * Returns the cache the client remembers its successful responses in.
+   *
+   * @return the last-known-good cache
+   */
+  LastKnownGoodCache getLastKnownGood();
+}
@@ -0,0 +1,61 @@
+package com.orders.service;
+
+import com.orders.entities.Order;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Service interface for closing the cancellation window of placed orders: once the window of its restaurant
+ * has passed, a {@code PLACED} order moves to {@code CONFIRMED} and can no longer be cancelled.
+ */
+public interface OrderConfirmationService {
+
+  /**
+   * Returns the cancellation window of a restaurant.
+   *
+   * @param restaurantId the ID of the restaurant
+   * @return the time after placement during which an order can be cancelled
+   */
+  Duration getCancellationWindow(Integer restaurantId);
+
+  /**
+   * Arranges for a placed order to be confirmed once its cancellation window closes. When called in a
+   * transaction the order is only scheduled once the transaction commits.
+   *
+   * @param order the placed order
+   */
+  void schedule(Order order);
+
+  /**
+   * Schedules the next batch of placed orders found in the database, so orders placed before a restart
+   * are confirmed as well.
+   *
+   * @param afterId   only orders with an ID greater than this are scheduled
+   * @param batchSize the maximum number of orders scheduled
+   * @return the ID of the last order scheduled, or {@code null} if no placed order remains after {@code afterId}
+   */
+  Integer scheduleBatch(Integer afterId, int batchSize);
+
+  /**
+   * Removes the orders whose cancellation window has closed from the schedule.
+   *
+   * @return the IDs of the orders due for confirmation
+   */
+  List<Integer> pollExpired();
+
+  /**
+   * Confirms the given orders that are still placed, in one transaction.
+   *
+   * @param orderIds the IDs of the orders due for confirmation
+   * @return the number of orders confirmed
+   */
+  int confirmBatch(List<Integer> orderIds);
+
+  /**
+   * Schedules orders again for confirmation on the next tick, after their batch failed.
+   *
+   * @param orderIds the IDs of the orders
+   */
+  void reschedule(List<Integer> orderIds);
+}
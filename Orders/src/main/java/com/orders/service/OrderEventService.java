@@ -0,0 +1,36 @@
+package com.orders.service;
+
+import com.orders.entities.Order;
+import com.orders.utils.OrderEventType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Service interface for the per-restaurant streams of order events, which push placed, cancelled and
+ * completed orders to restaurant dashboards as server-sent events.
+ */
+public interface OrderEventService {
+
+  /**
+   * Publishes an event about an order to the subscribers of its restaurant. When called in a transaction
+   * the event is published once the transaction commits, and dropped if it rolls back.
+   *
+   * @param order     the order, in its state after the event
+   * @param eventType what happened to the order
+   */
+  void publish(Order order, OrderEventType eventType);
+
+  /**
+   * Opens a stream of the order events of a restaurant.
+   *
+   * @param restaurantId the ID of the restaurant
+   * @param lastEventId  the ID of the last event the client received, or {@code null} for a new stream
+   * @return the emitter streaming the events
+   * @throws com.orders.exception.ResourceNotFoundException if the restaurant does not exist
+   */
+  SseEmitter subscribe(Integer restaurantId, String lastEventId);
+
+  /**
+   * Sends a comment to every open stream, which keeps idle connections open and detects closed ones.
+   */
+  void sendHeartbeats();
+}
@@ -0,0 +1,26 @@
+package com.orders.service;
+
+import com.orders.dto.OrderInDto;
+import com.orders.dto.OrderStatusOutDto;
+
+/**
+ * Service interface for asynchronous order intake, which accepts orders right away and validates,
+ * prices and charges them on a bounded pool of workers.
+ */
+public interface OrderIntakeService {
+
+  /**
+   * Saves an order as {@code PENDING} and queues it for processing.
+   *
+   * @param orderInDto DTO containing the details of the order to be placed
+   * @return the ID and status of the accepted order
+   */
+  OrderStatusOutDto submit(OrderInDto orderInDto);
+
+  /**
+   * Queues again the orders left behind by a restart or a full queue.
+   *
+   * @return the number of orders queued again
+   */
+  int recoverStalledOrders();
+}
@@ -0,0 +1,17 @@
+package com.orders.service;
+
+/**
+ * Service interface for migrating the items of legacy orders from the JSON {@code cartItems} column
+ * to the {@code order_items} table.
+ */
+public interface OrderItemBackfillService {
+
+  /**
+   * Migrates the next batch of legacy orders.
+   *
+   * @param afterId   only orders with an ID greater than this are migrated
+   * @param batchSize the maximum number of orders migrated
+   * @return the ID of the last order examined, or {@code null} if no legacy order remains after {@code afterId}
+   */
+  Integer migrateBatch(Integer afterId, int batchSize);
+}
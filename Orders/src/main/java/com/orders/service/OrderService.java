@@ -1,9 +1,19 @@
 package com.orders.service;
 
+import com.orders.dto.FoodItemSalesOutDto;
 import com.orders.dto.MessageOutDto;
 import com.orders.dto.OrderInDto;
 import com.orders.dto.OrderOutDto;
+import com.orders.dto.OrderPageOutDto;
+import com.orders.dto.OrderStatusOutDto;
+import com.orders.dto.RestaurantSalesOutDto;
+import com.orders.entities.Order;
+import com.orders.utils.ExportFormat;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface OrderService {
@@ -16,6 +26,32 @@ public interface OrderService {
    */
   MessageOutDto placeOrder(OrderInDto orderInDto);
 
+  /**
+   * Saves a {@code PENDING} order for asynchronous intake without validating it, together with the submitted
+   * cart items.
+   *
+   * @param orderInDto the DTO containing order details
+   * @return the saved order
+   */
+  Order createPendingOrder(OrderInDto orderInDto);
+
+  /**
+   * Validates, prices and charges an order claimed by an intake worker, moving it to {@code PLACED}.
+   *
+   * @param orderId   the ID of an order in {@code PROCESSING} status
+   * @param claimedAt the time the worker claimed the order
+   * @return {@code true} if the order was placed, {@code false} if the claim no longer holds the order
+   */
+  boolean processPendingOrder(Integer orderId, LocalDateTime claimedAt);
+
+  /**
+   * Retrieves the processing status of an order.
+   *
+   * @param orderId the ID of the order
+   * @return the status of the order and, if it was rejected, the reason
+   */
+  OrderStatusOutDto getOrderStatus(Integer orderId);
+
   /**
    * Cancels an order based on the order ID.
    *
@@ -25,20 +61,83 @@ public interface OrderService {
   MessageOutDto cancelOrder(Integer orderId);
 
   /**
-   * Retrieves all orders placed by a user.
+   * Retrieves one page of the orders placed by a user, most recent first.
    *
    * @param userId the ID of the user
-   * @return a list of {@link OrderOutDto} containing order details
+   * @param cursor the cursor returned with the previous page, or {@code null} for the first page
+   * @param limit  the requested page size, or {@code null} for the default
+   * @return an {@link OrderPageOutDto} containing the orders and the cursor of the next page
+   */
+  OrderPageOutDto getOrdersByUserId(Integer userId, String cursor, Integer limit);
+
+  /**
+   * Retrieves one page of the orders of a restaurant, most recent first.
+   *
+   * @param restaurantId the ID of the restaurant
+   * @param cursor       the cursor returned with the previous page, or {@code null} for the first page
+   * @param limit        the requested page size, or {@code null} for the default
+   * @return an {@link OrderPageOutDto} containing the orders and the cursor of the next page
+   */
+  OrderPageOutDto getOrdersByRestaurantId(Integer restaurantId, String cursor, Integer limit);
+
+  /**
+   * Retrieves the oldest active orders of a restaurant from its in-memory kitchen queue.
+   *
+   * @param restaurantId the ID of the restaurant
+   * @param limit        the requested number of orders, or {@code null} for the default
+   * @return the placed and confirmed orders of the restaurant, oldest first
+   */
+  List<OrderOutDto> getKitchenQueue(Integer restaurantId, Integer limit);
+
+  /**
+   * Restores the next batch of active orders into the kitchen queues.
+   *
+   * @param afterId   only orders with an ID greater than this are restored
+   * @param batchSize the maximum number of orders restored
+   * @return the ID of the last order restored, or {@code null} if no active order remains after {@code afterId}
+   */
+  Integer restoreKitchenQueueBatch(Integer afterId, int batchSize);
+
+  /**
+   * Retrieves per food item sales figures for a restaurant, excluding cancelled orders.
+   *
+   * @param restaurantId the ID of the restaurant
+   * @return a list of {@link FoodItemSalesOutDto}, best selling food item first
+   */
+  List<FoodItemSalesOutDto> getItemSalesByRestaurantId(Integer restaurantId);
+
+  /**
+   * Retrieves the order count, revenue and cancellation rate of a restaurant for one day, from the
+   * incrementally maintained sales counters.
+   *
+   * @param restaurantId the ID of the restaurant
+   * @param date         the day, or {@code null} for today
+   * @return the sales figures of the day
+   */
+  RestaurantSalesOutDto getDailySalesByRestaurantId(Integer restaurantId, LocalDate date);
+
+  /**
+   * Checks that the orders of a restaurant can be exported for the given date range.
+   *
+   * @param restaurantId the ID of the restaurant
+   * @param from         the first day of the range
+   * @param to           the last day of the range
    */
-  List<OrderOutDto> getOrdersByUserId(Integer userId);
+  void validateOrderExport(Integer restaurantId, LocalDate from, LocalDate to);
 
   /**
-   * Retrieves all orders for a restaurant.
+   * Writes the orders of a restaurant placed in a date range to a stream, oldest first.
    *
    * @param restaurantId the ID of the restaurant
-   * @return a list of {@link OrderOutDto} containing order details
+   * @param from         the first day of the range
+   * @param to           the last day of the range
+   * @param format       the format to write the orders in
+   * @param out          the stream to write to; it is flushed but not closed
+   * @return the number of orders written
+   * @throws IOException if writing to the stream fails
    */
-  List<OrderOutDto> getOrdersByRestaurantId(Integer restaurantId);
+  int exportOrdersByRestaurantId(Integer restaurantId, LocalDate from, LocalDate to, ExportFormat format,
+                                 OutputStream out) throws IOException;
 
   /**
    * Marks an order as completed based on the order ID and user ID.
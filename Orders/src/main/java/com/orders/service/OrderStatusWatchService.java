@@ -0,0 +1,32 @@
+package com.orders.service;
+
+import com.orders.dto.OrderStatusOutDto;
+import com.orders.utils.OrderStatus;
+import org.springframework.web.context.request.async.DeferredResult;
+
+/**
+ * Service interface for long-polling the status of an order: a watch completes as soon as the status
+ * of the order moves away from the status the client last saw.
+ */
+public interface OrderStatusWatchService {
+
+  /**
+   * Waits for the status of an order to differ from the given status.
+   *
+   * @param orderId the ID of the order
+   * @param since   the status the client last saw
+   * @return a result completed with the new status, or with the unchanged status once the wait times out
+   * @throws com.orders.exception.ResourceNotFoundException if the order does not exist
+   */
+  DeferredResult<OrderStatusOutDto> watch(Integer orderId, OrderStatus since);
+
+  /**
+   * Completes the watches of an order whose status changed. When called in a transaction the watches
+   * are completed once the transaction commits.
+   *
+   * @param orderId      the ID of the order
+   * @param orderStatus  the new status
+   * @param statusReason the reason stored with the new status, or {@code null}
+   */
+  void statusChanged(Integer orderId, OrderStatus orderStatus, String statusReason);
+}
@@ -0,0 +1,259 @@
+package com.orders.service;
+
+import com.orders.utils.CoalescingInvocationHandler;
+import com.orders.utils.FallbackInvocationHandler;
+import com.orders.utils.GuardedFeignClient;
+import feign.Capability;
+import feign.Client;
+import feign.InvocationHandlerFactory;
+import feign.Request;
+import feign.httpclient.ApacheHttpClient;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.PoolingHttpClientConnectionManagerMetricsBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+
+import java.lang.reflect.InvocationHandler;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HTTP transport of each Feign client: a pooled Apache HttpClient reusing keep-alive connections, so a burst
+ * of checkouts does not pay a TCP handshake per remote call.
+ * <p>
+ * Spring Cloud creates a child context per Feign client and applies this class to each of them as the default
+ * configuration, so every client gets its own pool and timeouts. The settings are read from
+ * {@code orders.feign.<client name>.*}, falling back to {@code orders.feign.default.*}.
+ * </p>
+ * <p>
+ * The class must stay out of the application context, where {@code feign.client.name} is not defined. It is
+ * therefore a top-level class without {@code @Configuration}: component scanning only picks up annotated
+ * classes, and a class nested in a configuration class would be registered along with it.
+ * </p>
+ * <p>
+ * Calls go through a per-client circuit breaker and semaphore bulkhead (see {@link GuardedFeignClient}), so a
+ * failing or slow downstream service is shed quickly instead of tying up request threads and connections.
+ * While the service is unavailable, the {@code fallback} of the {@link FeignClient} annotation answers from
+ * the last successful responses if it is a {@link LastKnownGoodFallback}. Concurrent identical lookups
+ * share one remote call.
+ * </p>
+ */
+@Slf4j
+public class PooledFeignClientConfiguration {
+
+  /**
+   * Prefix of the HTTP transport settings of the Feign clients.
+   */
+  static final String SETTINGS_PREFIX = "orders.feign.";
+
+  /**
+   * Creates the connection pool and HTTP client of a Feign client and registers the pool metrics
+   * ({@code httpcomponents.httpclient.pool.*}, tagged with the client name). Idle connections are closed
+   * once their keep-alive expires; the client is closed with the Feign client's context.
+   *
+   * @param clientName    the name of the Feign client
+   * @param environment   the environment holding the settings
+   * @param meterRegistry the registry of the pool metrics, if metrics are enabled
+   * @return the pooled HTTP client
+   */
+  @Bean(destroyMethod = "close")
+  public CloseableHttpClient pooledHttpClient(@Value("${feign.client.name}") final String clientName,
+                                              final Environment environment,
+                                              final ObjectProvider<MeterRegistry> meterRegistry) {
+    int maxConnections = setting(environment, clientName, "max-connections", 50);
+    long keepAliveMs = setting(environment, clientName, "keep-alive-ms", 30000);
+
+    PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+    connectionManager.setMaxTotal(maxConnections);
+    connectionManager.setDefaultMaxPerRoute(maxConnections);
+    meterRegistry.ifAvailable(registry ->
+      new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, clientName).bindTo(registry));
+    log.info("Feign client {} pooling up to {} connections kept alive for {} ms", clientName, maxConnections,
+      keepAliveMs);
+
+    return HttpClients.custom()
+      .setConnectionManager(connectionManager)
+      .setKeepAliveStrategy((response, context) -> {
+        long serverKeepAliveMs = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+        return serverKeepAliveMs > 0 ? Math.min(serverKeepAliveMs, keepAliveMs) : keepAliveMs;
+      })
+      .evictExpiredConnections()
+      .evictIdleConnections(keepAliveMs, TimeUnit.MILLISECONDS)
+      .disableCookieManagement()
+      .build();
+  }
+
+  /**
+   * Provides the Feign transport backed by the pooled HTTP client and guarded by the circuit breaker and the
+   * bulkhead of the client. State transitions of the circuit breaker are logged and counted in
+   * {@code orders.feign.circuitbreaker.transitions}; calls rejected by a full bulkhead are counted in
+   * {@code orders.feign.bulkhead.rejected}.
+   *
+   * @param clientName             the name of the Feign client
+   * @param pooledHttpClient       the pooled HTTP client of the Feign client
+   * @param environment            the environment holding the settings
+   * @param circuitBreakerRegistry the registry holding the circuit breaker of the client
+   * @param bulkheadRegistry       the registry holding the bulkhead of the client
+   * @param meterRegistry          the registry of the transition and rejection counters, if metrics are enabled
+   * @return the Feign transport
+   */
+  @Bean
+  public Client feignClient(@Value("${feign.client.name}") final String clientName,
+                            final CloseableHttpClient pooledHttpClient,
+                            final Environment environment,
+                            final CircuitBreakerRegistry circuitBreakerRegistry,
+                            final BulkheadRegistry bulkheadRegistry,
+                            final ObjectProvider<MeterRegistry> meterRegistry) {
+    CircuitBreaker circuitBreaker =
+      circuitBreakerRegistry.circuitBreaker(clientName, circuitBreakerConfig(environment, clientName));
+    Bulkhead bulkhead = bulkheadRegistry.bulkhead(clientName, bulkheadConfig(environment, clientName));
+
+    circuitBreaker.getEventPublisher().onStateTransition(event ->
+      log.warn("Circuit breaker of Feign client {} moved {}", clientName, event.getStateTransition()));
+    meterRegistry.ifAvailable(registry -> {
+      circuitBreaker.getEventPublisher().onStateTransition(event -> registry.counter(
+        "orders.feign.circuitbreaker.transitions", "name", clientName,
+        "from", event.getStateTransition().getFromState().name(),
+        "to", event.getStateTransition().getToState().name()).increment());
+      bulkhead.getEventPublisher().onCallRejected(event ->
+        registry.counter("orders.feign.bulkhead.rejected", "name", clientName).increment());
+    });
+
+    return new GuardedFeignClient(new ApacheHttpClient(pooledHttpClient), circuitBreaker, bulkhead);
+  }
+
+  /**
+   * Routes the calls of a Feign client through its last-known-good fallback (see
+   * {@link FallbackInvocationHandler}). Clients whose fallback is not a {@link LastKnownGoodFallback} are left
+   * unchanged. Spring Cloud's own fallback support needs its circuit breaker integration, which is not used
+   * since the transport is already guarded.
+   *
+   * @param clientName    the name of the Feign client
+   * @param beanFactory   the factory holding the fallback beans
+   * @param meterRegistry the registry of the fallback counters, if metrics are enabled
+   * @return the capability installing the fallback
+   */
+  @Bean
+  public Capability lastKnownGoodFallbackCapability(@Value("${feign.client.name}") final String clientName,
+                                                    final BeanFactory beanFactory,
+                                                    final ObjectProvider<MeterRegistry> meterRegistry) {
+    return new Capability() {
+      @Override
+      public InvocationHandlerFactory enrich(final InvocationHandlerFactory invocationHandlerFactory) {
+        return (target, dispatch) -> {
+          InvocationHandler handler = invocationHandlerFactory.create(target, dispatch);
+          Class<?> type = target.type();
+          FeignClient feignClient = type.getAnnotation(FeignClient.class);
+          if (feignClient == null || !LastKnownGoodFallback.class.isAssignableFrom(feignClient.fallback())) {
+            return handler;
+          }
+          LastKnownGoodFallback fallback = (LastKnownGoodFallback) beanFactory.getBean(feignClient.fallback());
+          return new FallbackInvocationHandler(handler, fallback, fallback.getLastKnownGood(), clientName,
+            meterRegistry.getIfAvailable());
+        };
+      }
+    };
+  }
+
+  /**
+   * Makes concurrent calls to the {@link com.orders.utils.Coalesced} methods of a Feign client with equal
+   * arguments share one remote call (see {@link CoalescingInvocationHandler}).
+   *
+   * @param clientName    the name of the Feign client
+   * @param meterRegistry the registry of the coalescing counters, if metrics are enabled
+   * @return the capability installing the coalescing
+   */
+  @Bean
+  public Capability singleFlightCapability(@Value("${feign.client.name}") final String clientName,
+                                           final ObjectProvider<MeterRegistry> meterRegistry) {
+    return new Capability() {
+      @Override
+      public InvocationHandlerFactory enrich(final InvocationHandlerFactory invocationHandlerFactory) {
+        return (target, dispatch) -> new CoalescingInvocationHandler(invocationHandlerFactory.create(target, dispatch),
+          target.type(), clientName, meterRegistry.getIfAvailable());
+      }
+    };
+  }
+
+  /**
+   * Provides the connect and read timeouts of a Feign client.
+   *
+   * @param clientName  the name of the Feign client
+   * @param environment the environment holding the settings
+   * @return the request options
+   */
+  @Bean
+  public Request.Options feignRequestOptions(@Value("${feign.client.name}") final String clientName,
+                                             final Environment environment) {
+    return new Request.Options(setting(environment, clientName, "connect-timeout-ms", 2000), TimeUnit.MILLISECONDS,
+      setting(environment, clientName, "read-timeout-ms", 10000), TimeUnit.MILLISECONDS, true);
+  }
+
+  /**
+   * Builds the circuit breaker settings of a Feign client. The circuit opens when, over the last
+   * {@code sliding-window-size} calls, the failure rate or the rate of calls slower than {@code slow-call-ms}
+   * reaches its threshold; after {@code open-state-ms} a few trial calls decide whether it closes again.
+   *
+   * @param environment the environment holding the settings
+   * @param clientName  the name of the Feign client
+   * @return the circuit breaker settings
+   */
+  static CircuitBreakerConfig circuitBreakerConfig(final Environment environment, final String clientName) {
+    return CircuitBreakerConfig.custom()
+      .slidingWindowType(CircuitBreakerConfig.SlidingWindowType.COUNT_BASED)
+      .slidingWindowSize(setting(environment, clientName, "circuit-breaker.sliding-window-size", 20))
+      .minimumNumberOfCalls(setting(environment, clientName, "circuit-breaker.minimum-calls", 10))
+      .failureRateThreshold(setting(environment, clientName, "circuit-breaker.failure-rate-threshold", 50))
+      .slowCallRateThreshold(setting(environment, clientName, "circuit-breaker.slow-call-rate-threshold", 80))
+      .slowCallDurationThreshold(Duration.ofMillis(setting(environment, clientName, "circuit-breaker.slow-call-ms",
+        3000)))
+      .waitDurationInOpenState(Duration.ofMillis(setting(environment, clientName, "circuit-breaker.open-state-ms",
+        10000)))
+      .permittedNumberOfCallsInHalfOpenState(setting(environment, clientName, "circuit-breaker.half-open-calls", 3))
+      .build();
+  }
+
+  /**
+   * Builds the bulkhead settings of a Feign client. Calls beyond {@code max-concurrent-calls} are rejected at
+   * once rather than queued.
+   *
+   * @param environment the environment holding the settings
+   * @param clientName  the name of the Feign client
+   * @return the bulkhead settings
+   */
+  static BulkheadConfig bulkheadConfig(final Environment environment, final String clientName) {
+    return BulkheadConfig.custom()
+      .maxConcurrentCalls(setting(environment, clientName, "bulkhead.max-concurrent-calls", 25))
+      .maxWaitDuration(Duration.ZERO)
+      .build();
+  }
+
+  /**
+   * Reads a transport setting of a Feign client, falling back to the default of all clients.
+   *
+   * @param environment  the environment holding the settings
+   * @param clientName   the name of the Feign client
+   * @param key          the setting key
+   * @param defaultValue the value used when neither the client nor the default setting is present
+   * @return the setting
+   */
+  static int setting(final Environment environment, final String clientName, final String key, final int defaultValue) {
+    Integer value = environment.getProperty(SETTINGS_PREFIX + clientName + "." + key, Integer.class);
+    return value != null ? value : environment.getProperty(SETTINGS_PREFIX + "default." + key, Integer.class, defaultValue);
+  }
+}
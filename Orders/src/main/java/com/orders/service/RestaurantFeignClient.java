@@ -1,29 +1,50 @@
 package com.orders.service;
 
 import com.orders.dto.FoodItemOutDto;
+import com.orders.dto.FoodItemPriceOutDto;
+import com.orders.dto.RestaurantOutDto;
 import com.orders.service.impl.RestaurantFeignClientFallback;
+import com.orders.utils.Coalesced;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+
+import java.util.List;
 
 @FeignClient(name = "restaurant-service", url = "${restaurant.microservice.url}", fallback = RestaurantFeignClientFallback.class)
 public interface RestaurantFeignClient {
 
   /**
    * Retrieves restaurant details by restaurant ID.
+   * Uses the summary endpoint, which never loads or transfers the restaurant image.
    *
    * @param id the ID of the restaurant
-   * @return the {@link FoodItemOutDto} containing restaurant details
+   * @return the {@link RestaurantOutDto} containing restaurant details
    */
-  @GetMapping("/restaurant/{id}")
-  FoodItemOutDto getRestaurantById(@PathVariable("id") Integer id);
+  @Coalesced
+  @GetMapping("/restaurant/{id}/summary")
+  RestaurantOutDto getRestaurantById(@PathVariable("id") Integer id);
 
   /**
    * Retrieves food item details by food item ID.
+   * Uses the summary endpoint, which never loads or transfers the food item image.
    *
    * @param id the ID of the food item
    * @return the {@link FoodItemOutDto} containing food item details
    */
-  @GetMapping("/foodItem/{id}")
+  @Coalesced
+  @GetMapping("/foodItem/{id}/summary")
   FoodItemOutDto getFoodItemById(@PathVariable("id") Integer id);
+
+  /**
+   * Retrieves the id, restaurant ID and price of several food items in a single round trip.
+   *
+   * @param ids the IDs of the food items
+   * @return a list of {@link FoodItemPriceOutDto}; IDs that do not exist are absent
+   */
+  @Coalesced
+  @PostMapping("/foodItem/prices")
+  List<FoodItemPriceOutDto> getFoodItemPrices(@RequestBody List<Integer> ids);
 }
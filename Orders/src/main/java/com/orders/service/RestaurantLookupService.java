@@ -0,0 +1,31 @@
+package com.orders.service;
+
+/**
+ * Cached existence checks for restaurants held by the Restaurant service.
+ * <p>
+ * Known restaurants are remembered for a while, and unknown ones for a shorter while, so repeated checks
+ * for the same restaurant do not each cost a call to the Restaurant service.
+ * </p>
+ */
+public interface RestaurantLookupService {
+
+  /**
+   * Ensures that a restaurant exists.
+   *
+   * @param restaurantId the ID of the restaurant
+   * @throws com.orders.exception.ResourceNotFoundException if the restaurant does not exist
+   */
+  void requireRestaurant(Integer restaurantId);
+
+  /**
+   * Removes the cached existence result of a restaurant.
+   *
+   * @param restaurantId the ID of the restaurant
+   */
+  void invalidate(Integer restaurantId);
+
+  /**
+   * Removes the cached existence result of every restaurant.
+   */
+  void invalidateAll();
+}
@@ -0,0 +1,40 @@
+package com.orders.service;
+
+import com.orders.dto.RestaurantSalesOutDto;
+import com.orders.entities.Order;
+import com.orders.utils.OrderStatus;
+
+import java.time.LocalDate;
+
+/**
+ * Service interface for the daily sales counters of each restaurant: the number and value of the orders placed,
+ * completed and cancelled per day, counted as the orders change status and periodically flushed to the
+ * {@code restaurant_sales_rollups} table.
+ */
+public interface SalesCounterService {
+
+  /**
+   * Counts an order that reached a status, on the day the order was placed. When called in a transaction the
+   * order is counted once the transaction commits.
+   *
+   * @param order       the order
+   * @param orderStatus the status it reached: {@code PLACED}, {@code COMPLETED} or {@code CANCELLED}
+   */
+  void record(Order order, OrderStatus orderStatus);
+
+  /**
+   * Returns the sales figures of the orders a restaurant received on one day.
+   *
+   * @param restaurantId the ID of the restaurant
+   * @param date         the day
+   * @return the figures of the day
+   */
+  RestaurantSalesOutDto getSales(Integer restaurantId, LocalDate date);
+
+  /**
+   * Adds the counts recorded since the previous flush to the rollup table.
+   *
+   * @return the number of rollups written
+   */
+  int flush();
+}
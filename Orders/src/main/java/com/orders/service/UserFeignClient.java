@@ -2,14 +2,16 @@ package com.orders.service;
 
 import com.orders.dto.AddressOutDto;
 import com.orders.dto.UserOutDto;
+import com.orders.dto.WalletTransactionInDto;
+import com.orders.dto.WalletTransactionOutDto;
 import com.orders.service.impl.UserFeignClientFallback;
+import com.orders.utils.Coalesced;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
-import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 
-import java.math.BigDecimal;
 import java.util.List;
 
 @FeignClient(name = "user-service", url = "${user.microservice.url}", fallback = UserFeignClientFallback.class)
@@ -21,17 +23,19 @@ public interface UserFeignClient {
    * @param id the ID of the user
    * @return the {@link UserOutDto} containing user details
    */
+  @Coalesced
   @GetMapping("/user/{id}")
   UserOutDto getUserById(@PathVariable("id") Integer id);
 
   /**
-   * Updates the wallet balance for a user.
+   * Applies a batch of wallet transactions. Transactions whose idempotency key was already processed
+   * are not applied again; their recorded outcome is returned instead.
    *
-   * @param id     the ID of the user
-   * @param amount the amount to update (positive for credit, negative for debit)
+   * @param transactions the wallet transactions (positive amounts credit, negative amounts debit)
+   * @return the outcome of every distinct idempotency key
    */
-  @PutMapping("/user/wallet/{id}")
-  void updateWalletBalance(@PathVariable("id") Integer id, @RequestBody BigDecimal amount);
+  @PostMapping("/user/wallet/transactions")
+  List<WalletTransactionOutDto> applyWalletTransactions(@RequestBody List<WalletTransactionInDto> transactions);
 
   /**
    * Retrieves all addresses associated with the user by user ID.
@@ -39,6 +43,7 @@ public interface UserFeignClient {
    * @param userId the ID of the user
    * @return the list of {@link AddressOutDto} containing address details
    */
+  @Coalesced
   @GetMapping("address/user/{userId}")
   List<AddressOutDto> getAddressesByUserId(@PathVariable("userId") Integer userId);
 
@@ -48,6 +53,7 @@ public interface UserFeignClient {
    * @param addressId the ID of the address
    * @return the {@link AddressOutDto} containing address details
    */
+  @Coalesced
   @GetMapping("/address/{addressId}")
   AddressOutDto getAddressById(@PathVariable("addressId") Integer addressId);
 }
@@ -0,0 +1,42 @@
+package com.orders.service;
+
+import com.orders.dto.UserOutDto;
+import com.orders.utils.UserRole;
+
+/**
+ * Read-through access to user data held by the User service.
+ * <p>
+ * Roles change rarely and are served from a local cache; wallet balances are always read from the User service.
+ * </p>
+ */
+public interface UserLookupService {
+
+  /**
+   * Retrieves the role of a user, from the local cache when a live entry exists.
+   *
+   * @param userId the ID of the user
+   * @return the role of the user
+   */
+  UserRole getUserRole(Integer userId);
+
+  /**
+   * Retrieves a user, including the current wallet balance, directly from the User service.
+   * The cached role of the user is refreshed from the response.
+   *
+   * @param userId the ID of the user
+   * @return the user with an up-to-date wallet balance
+   */
+  UserOutDto getUserWithBalance(Integer userId);
+
+  /**
+   * Removes the cached data of a user.
+   *
+   * @param userId the ID of the user
+   */
+  void invalidate(Integer userId);
+
+  /**
+   * Removes the cached data of every user.
+   */
+  void invalidateAll();
+}
@@ -0,0 +1,43 @@
+package com.orders.service;
+
+import com.orders.entities.Order;
+
+import java.math.BigDecimal;
+
+/**
+ * Service interface for the wallet outbox, which records wallet debits and refunds together with
+ * the orders they belong to and delivers them to the User service in the background.
+ */
+public interface WalletOutboxService {
+
+  /**
+   * Records the debit of a placed order. Must be called in the transaction that saves the order.
+   *
+   * @param order the saved order
+   */
+  void enqueueDebit(Order order);
+
+  /**
+   * Records the refund of a cancelled order. Must be called in the transaction that cancels the order.
+   * If the debit of the order has not been delivered yet it is withdrawn instead, and nothing is
+   * recorded if the debit was rejected.
+   *
+   * @param order the cancelled order
+   */
+  void enqueueRefund(Order order);
+
+  /**
+   * Returns the total of the debits of a user that have not been delivered yet.
+   *
+   * @param userId the user ID
+   * @return the total of the pending debits
+   */
+  BigDecimal getPendingDebitTotal(Integer userId);
+
+  /**
+   * Delivers the next batch of pending entries to the User service.
+   *
+   * @return the number of entries settled, either delivered or rejected
+   */
+  int relayPendingBatch();
+}
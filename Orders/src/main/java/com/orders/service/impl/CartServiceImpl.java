@@ -2,9 +2,8 @@ package com.orders.service.impl;
 
 import com.orders.constants.OrderConstants;
 import com.orders.dto.CartInDto;
-import com.orders.dto.FoodItemOutDto;
+import com.orders.dto.FoodItemPriceOutDto;
 import com.orders.dto.MessageOutDto;
-import com.orders.dto.UserOutDto;
 import com.orders.entities.Cart;
 import com.orders.exception.AccessDeniedException;
 import com.orders.exception.ResourceConflictException;
@@ -12,15 +11,16 @@ import com.orders.exception.ResourceNotFoundException;
 import com.orders.repositories.CartRepository;
 import com.orders.service.CartService;
 import com.orders.service.RestaurantFeignClient;
-import com.orders.service.UserFeignClient;
+import com.orders.service.RestaurantLookupService;
+import com.orders.service.UserLookupService;
 import com.orders.utils.UserRole;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
+import java.util.Collections;
 import java.util.List;
-import java.util.Optional;
 
 /**
  * Service implementation for Cart-related operations.
@@ -30,10 +30,10 @@ import java.util.Optional;
 public class CartServiceImpl implements CartService {
 
   /**
-   * Service layer dependency for user-related operations.
+   * Service layer dependency for cached user lookups.
    */
   @Autowired
-  private UserFeignClient userClient;
+  private UserLookupService userLookupService;
 
   /**
    * Service layer dependency for cart-related operations.
@@ -47,8 +47,15 @@ public class CartServiceImpl implements CartService {
   @Autowired
   private RestaurantFeignClient restaurantClient;
 
+  /**
+   * Service layer dependency for cached restaurant lookups.
+   */
+  @Autowired
+  private RestaurantLookupService restaurantLookupService;
+
   /**
    * Adds an item to the cart. If the item already exists in the cart, updates its quantity.
+   * The insert-or-increment is a single atomic statement, so concurrent adds cannot create duplicate rows.
    *
    * @param cartInDto Data transfer object containing cart details.
    * @return Success message indicating the action performed.
@@ -57,52 +64,42 @@ public class CartServiceImpl implements CartService {
   public MessageOutDto addItemToCart(final CartInDto cartInDto) {
     log.info("Adding item to cart for userId: {}, foodItemId: {}", cartInDto.getUserId(), cartInDto.getFoodItemId());
 
-    UserOutDto user = userClient.getUserById(cartInDto.getUserId());
-    if (!user.getUserRole().equals(UserRole.CUSTOMER)) {
+    if (!UserRole.CUSTOMER.equals(userLookupService.getUserRole(cartInDto.getUserId()))) {
       log.error("User is not a customer. userId: {}", cartInDto.getUserId());
       throw new AccessDeniedException(OrderConstants.CUSTOMER_NOT_FOUND);
     }
-    restaurantClient.getRestaurantById(cartInDto.getRestaurantId());
-    FoodItemOutDto foodItem = restaurantClient.getFoodItemById(cartInDto.getFoodItemId());
+    restaurantLookupService.requireRestaurant(cartInDto.getRestaurantId());
+    FoodItemPriceOutDto foodItem = getFoodItemPrice(cartInDto.getFoodItemId());
 
     if (foodItem.getPrice().compareTo(cartInDto.getPrice()) != 0) {
       throw new ResourceConflictException(OrderConstants.PRICE_MISMATCH);
     }
 
-    Optional<Cart> existingCart = cartRepository.findByUserIdAndFoodItemIdAndRestaurantId(
-      cartInDto.getUserId(),
-      cartInDto.getFoodItemId(),
-      cartInDto.getRestaurantId()
-    );
+    Integer quantity = cartRepository.upsertItem(cartInDto.getUserId(), cartInDto.getFoodItemId(),
+      cartInDto.getRestaurantId(), foodItem.getPrice());
 
-    if (existingCart.isPresent()) {
-      log.info("Item already in cart. Updating quantity for cartId: {}", existingCart.get().getId());
-      return updateCartItemQuantity(existingCart.get().getId(), 1);
-    } else {
-      log.info("Adding new item to cart for userId: {}", cartInDto.getUserId());
-      return addNewCartItem(cartInDto);
+    if (quantity == 1) {
+      log.info("Cart item added successfully for userId: {}", cartInDto.getUserId());
+      return new MessageOutDto(OrderConstants.CART_ADDED_SUCCESSFULLY);
     }
+    log.info("Item already in cart. Quantity updated to {} for userId: {}", quantity, cartInDto.getUserId());
+    return new MessageOutDto(OrderConstants.CART_UPDATED_SUCCESSFULLY);
   }
 
   /**
-   * Adds a new item to the cart.
+   * Looks up the current price of a food item through the batch price endpoint, which returns only
+   * the id, restaurant ID and price instead of the full food item.
    *
-   * @param cartInDto DTO containing cart details.
-   * @return Success message indicating the item has been added to the cart.
+   * @param foodItemId The ID of the food item.
+   * @return The pricing data of the food item.
+   * @throws ResourceNotFoundException If the food item does not exist.
    */
-  private MessageOutDto addNewCartItem(final CartInDto cartInDto) {
-    log.info("Creating new cart item for userId: {}, foodItemId: {}", cartInDto.getUserId(), cartInDto.getFoodItemId());
-
-    Cart newCart = new Cart();
-    newCart.setUserId(cartInDto.getUserId());
-    newCart.setFoodItemId(cartInDto.getFoodItemId());
-    newCart.setRestaurantId(cartInDto.getRestaurantId());
-    newCart.setQuantity(1);
-    newCart.setPrice(cartInDto.getPrice());
-
-    cartRepository.save(newCart);
-    log.info("Cart item added successfully for userId: {}", cartInDto.getUserId());
-    return new MessageOutDto(OrderConstants.CART_ADDED_SUCCESSFULLY);
+  private FoodItemPriceOutDto getFoodItemPrice(final Integer foodItemId) {
+    List<FoodItemPriceOutDto> prices = restaurantClient.getFoodItemPrices(Collections.singletonList(foodItemId));
+    if (prices == null || prices.isEmpty()) {
+      throw new ResourceNotFoundException(OrderConstants.FOOD_ITEM_NOT_FOUND);
+    }
+    return prices.get(0);
   }
 
   /**
@@ -161,16 +158,25 @@ public class CartServiceImpl implements CartService {
   @Override
   public MessageOutDto clearCartAfterOrderPlaced(final Integer userId, final Integer restaurantId) {
     log.info("Clearing cart for userId: {}, restaurantId: {}", userId, restaurantId);
-    UserOutDto user = userClient.getUserById(userId);
-    if (!user.getUserRole().equals(UserRole.CUSTOMER)) {
+    if (!UserRole.CUSTOMER.equals(userLookupService.getUserRole(userId))) {
       throw new AccessDeniedException(OrderConstants.CUSTOMER_NOT_FOUND);
     }
 
-    FoodItemOutDto restaurant = restaurantClient.getRestaurantById(restaurantId);
+    restaurantLookupService.requireRestaurant(restaurantId);
+    return clearAuthorizedCart(userId, restaurantId);
+  }
 
-    List<Cart> cartItems = cartRepository.findByUserIdAndRestaurantId(userId, restaurantId);
-    if (!cartItems.isEmpty()) {
-      cartRepository.deleteAll(cartItems);
+  /**
+   * Clears the cart of a user and restaurant that have already been validated by the caller, with one bulk
+   * delete whatever the number of items.
+   *
+   * @param userId       The already validated user ID whose cart should be cleared.
+   * @param restaurantId The already validated restaurant ID related to the cart.
+   * @return Success message indicating the cart has been cleared.
+   */
+  @Override
+  public MessageOutDto clearAuthorizedCart(final Integer userId, final Integer restaurantId) {
+    if (cartRepository.deleteByUserIdAndRestaurantId(userId, restaurantId) > 0) {
       log.info("Cart cleared successfully for userId: {}", userId);
       return new MessageOutDto(OrderConstants.CART_DELETED_SUCCESSFULLY);
     } else {
@@ -189,12 +195,24 @@ public class CartServiceImpl implements CartService {
   @Override
   public List<Cart> getCartItemsByUserIdAndRestaurantId(final Integer userId, final Integer restaurantId) {
     log.info("Retrieving cart items for userId: {}, restaurantId: {}", userId, restaurantId);
-    UserOutDto user = userClient.getUserById(userId);
-    if (!user.getUserRole().equals(UserRole.CUSTOMER)) {
+    if (!UserRole.CUSTOMER.equals(userLookupService.getUserRole(userId))) {
       throw new AccessDeniedException(OrderConstants.CUSTOMER_NOT_FOUND);
     }
 
-    FoodItemOutDto restaurant = restaurantClient.getRestaurantById(restaurantId);
+    restaurantLookupService.requireRestaurant(restaurantId);
+    return getAuthorizedCartItems(userId, restaurantId);
+  }
+
+  /**
+   * Retrieves all cart items for a user and restaurant that have already been validated by the caller.
+   *
+   * @param userId       The already validated user ID.
+   * @param restaurantId The already validated restaurant ID.
+   * @return List of cart items.
+   */
+  @Override
+  public List<Cart> getAuthorizedCartItems(final Integer userId, final Integer restaurantId) {
+    log.debug("Retrieving authorized cart items for userId: {}, restaurantId: {}", userId, restaurantId);
     return cartRepository.findByUserIdAndRestaurantId(userId, restaurantId);
   }
 
@@ -207,8 +225,7 @@ public class CartServiceImpl implements CartService {
   @Override
   public List<Cart> getCartByUserId(final Integer userId) {
     log.info("Retrieving cart items for userId: {}", userId);
-    UserOutDto user = userClient.getUserById(userId);
-    if (!user.getUserRole().equals(UserRole.CUSTOMER)) {
+    if (!UserRole.CUSTOMER.equals(userLookupService.getUserRole(userId))) {
       throw new AccessDeniedException(OrderConstants.CUSTOMER_NOT_FOUND);
     }
     return cartRepository.findByUserId(userId);
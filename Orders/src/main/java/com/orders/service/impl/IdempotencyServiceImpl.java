@@ -0,0 +1,418 @@
+package com.orders.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.orders.constants.OrderConstants;
+import com.orders.entities.IdempotencyRecord;
+import com.orders.exception.InvalidRequestException;
+import com.orders.exception.ResourceConflictException;
+import com.orders.repositories.IdempotencyRecordRepository;
+import com.orders.service.IdempotencyService;
+import com.orders.utils.ExpiringCache;
+import com.orders.utils.IdempotencyStatus;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Service implementation executing requests at most once per idempotency key.
+ * <p>
+ * Keys are claimed in the {@code idempotency_records} table, whose unique constraint on user and key decides which
+ * instance runs a request. Completed responses are kept there for a time to live and, in front of it, in a bounded
+ * in-memory cache. Duplicates arriving on the instance running the request wait on its in-flight result; duplicates
+ * arriving on another instance poll the record until it completes. A failed request releases its key so the client
+ * can retry it.
+ * </p>
+ */
+@Slf4j
+@Service
+public class IdempotencyServiceImpl implements IdempotencyService, MeterBinder {
+
+  /**
+   * Name of the response cache in exported metrics.
+   */
+  private static final String CACHE_NAME = "idempotency";
+
+  /**
+   * Used to serialize request bodies before hashing them, and to store and read back responses.
+   */
+  private final ObjectMapper objectMapper = new ObjectMapper();
+
+  /**
+   * Requests currently executed by this instance, keyed by user and idempotency key.
+   */
+  private final ConcurrentMap<String, InFlightRequest> inFlight = new ConcurrentHashMap<>();
+
+  /**
+   * Repository dependency for the idempotency records.
+   */
+  @Autowired
+  private IdempotencyRecordRepository idempotencyRecordRepository;
+
+  /**
+   * Time during which a completed response is replayed, in milliseconds.
+   */
+  @Value("${orders.idempotency.ttl-ms:86400000}")
+  private long ttlMs;
+
+  /**
+   * Time after which a claimed key whose request never completed may be taken over, in milliseconds.
+   */
+  @Value("${orders.idempotency.lease-ms:60000}")
+  private long leaseMs;
+
+  /**
+   * Longest time a duplicate waits for the first request with its key, in milliseconds.
+   */
+  @Value("${orders.idempotency.wait-timeout-ms:10000}")
+  private long waitTimeoutMs;
+
+  /**
+   * Delay between two reads of a record claimed by another instance, in milliseconds.
+   */
+  @Value("${orders.idempotency.poll-interval-ms:100}")
+  private long pollIntervalMs;
+
+  /**
+   * Maximum number of responses cached in memory.
+   */
+  @Value("${orders.idempotency.cache.max-size:10000}")
+  private int cacheMaxSize;
+
+  /**
+   * In-memory front of the completed records, keyed by user and idempotency key.
+   */
+  private ExpiringCache<String, StoredResponse> responseCache;
+
+  /**
+   * Creates the response cache once the configuration has been injected.
+   */
+  @PostConstruct
+  void initCache() {
+    responseCache = new ExpiringCache<>(ttlMs, cacheMaxSize);
+  }
+
+  /**
+   * Executes an action at most once for a user's idempotency key.
+   *
+   * @param idempotencyKey the key supplied by the client
+   * @param userId         the ID of the user the key belongs to
+   * @param request        the request body, compared with the body first sent with the key
+   * @param responseType   the type of the response, used to read a stored response back
+   * @param action         the action executing the request
+   * @param <T>            the type of the response
+   * @return the response of the action, or the stored response of an earlier request with the same key
+   * @throws InvalidRequestException   if the key is blank or too long
+   * @throws ResourceConflictException if the key was used for a different request, or its first request
+   *                                   did not finish in time
+   */
+  @Override
+  public <T> T execute(final String idempotencyKey, final Integer userId, final Object request,
+                       final Class<T> responseType, final Supplier<T> action) {
+    if (idempotencyKey == null || idempotencyKey.trim().isEmpty()
+      || idempotencyKey.length() > OrderConstants.MAX_IDEMPOTENCY_KEY_LENGTH) {
+      throw new InvalidRequestException(OrderConstants.INVALID_IDEMPOTENCY_KEY);
+    }
+    String scope = userId + ":" + idempotencyKey;
+    String requestHash = hash(request);
+
+    StoredResponse cached = responseCache.get(scope);
+    if (cached != null) {
+      requireSameRequest(cached.requestHash, requestHash);
+      log.info("Replaying cached response for idempotency key {} of userId: {}", idempotencyKey, userId);
+      return read(cached.body, responseType);
+    }
+
+    InFlightRequest mine = new InFlightRequest(requestHash);
+    InFlightRequest running = inFlight.putIfAbsent(scope, mine);
+    if (running != null) {
+      requireSameRequest(running.requestHash, requestHash);
+      log.info("Waiting for in-flight request with idempotency key {} of userId: {}", idempotencyKey, userId);
+      return read(awaitInFlight(running), responseType);
+    }
+    try {
+      T response = executeOnce(scope, idempotencyKey, userId, requestHash, responseType, action);
+      mine.result.complete(write(response));
+      return response;
+    } catch (RuntimeException e) {
+      mine.result.completeExceptionally(e);
+      throw e;
+    } finally {
+      inFlight.remove(scope, mine);
+    }
+  }
+
+  /**
+   * Deletes the expired idempotency records.
+   *
+   * @return the number of records deleted
+   */
+  @Override
+  public int purgeExpired() {
+    int deleted = idempotencyRecordRepository.deleteAllExpired(LocalDateTime.now());
+    if (deleted > 0) {
+      log.info("Purged {} expired idempotency records", deleted);
+    }
+    return deleted;
+  }
+
+  /**
+   * Registers the hit, miss and eviction counters and the size of the response cache.
+   *
+   * @param registry the registry to bind the metrics to
+   */
+  @Override
+  public void bindTo(final MeterRegistry registry) {
+    responseCache.registerMetrics(registry, CACHE_NAME);
+  }
+
+  /**
+   * Replays the stored response of a key, waits for another instance holding it, or claims it and runs the action.
+   *
+   * @param scope          the cache key of the user and idempotency key
+   * @param idempotencyKey the idempotency key
+   * @param userId         the user ID
+   * @param requestHash    the hash of the request body
+   * @param responseType   the type of the response
+   * @param action         the action executing the request
+   * @param <T>            the type of the response
+   * @return the response
+   */
+  private <T> T executeOnce(final String scope, final String idempotencyKey, final Integer userId,
+                            final String requestHash, final Class<T> responseType, final Supplier<T> action) {
+    long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(waitTimeoutMs);
+    while (true) {
+      LocalDateTime now = LocalDateTime.now();
+      Optional<IdempotencyRecord> existing = idempotencyRecordRepository.findByUserIdAndIdempotencyKey(userId, idempotencyKey);
+      if (existing.isPresent() && existing.get().getExpiresAt().isAfter(now)) {
+        IdempotencyRecord record = existing.get();
+        requireSameRequest(record.getRequestHash(), requestHash);
+        if (record.getStatus() == IdempotencyStatus.COMPLETED) {
+          log.info("Replaying stored response for idempotency key {} of userId: {}", idempotencyKey, userId);
+          responseCache.put(scope, new StoredResponse(requestHash, record.getResponseBody()));
+          return read(record.getResponseBody(), responseType);
+        }
+        pauseUntil(deadline);
+        continue;
+      }
+      if (existing.isPresent()) {
+        idempotencyRecordRepository.deleteExpired(userId, idempotencyKey, now);
+      }
+      IdempotencyRecord claimed = claim(idempotencyKey, userId, requestHash, now);
+      if (claimed != null) {
+        return run(claimed, scope, action);
+      }
+    }
+  }
+
+  /**
+   * Claims a key by inserting an in-progress record.
+   *
+   * @param idempotencyKey the idempotency key
+   * @param userId         the user ID
+   * @param requestHash    the hash of the request body
+   * @param now            the current time
+   * @return the claimed record, or {@code null} if another request claimed the key first
+   */
+  private IdempotencyRecord claim(final String idempotencyKey, final Integer userId, final String requestHash,
+                                  final LocalDateTime now) {
+    try {
+      return idempotencyRecordRepository.saveAndFlush(new IdempotencyRecord(null, userId, idempotencyKey, requestHash,
+        IdempotencyStatus.IN_PROGRESS, null, now, now.plusNanos(TimeUnit.MILLISECONDS.toNanos(leaseMs))));
+    } catch (DataIntegrityViolationException e) {
+      log.debug("Idempotency key {} of userId: {} was claimed concurrently", idempotencyKey, userId);
+      return null;
+    }
+  }
+
+  /**
+   * Runs the action of a claimed key and stores its response, or releases the key if it fails.
+   *
+   * @param claimed the claimed record
+   * @param scope   the cache key of the user and idempotency key
+   * @param action  the action executing the request
+   * @param <T>     the type of the response
+   * @return the response of the action
+   */
+  private <T> T run(final IdempotencyRecord claimed, final String scope, final Supplier<T> action) {
+    T response;
+    try {
+      response = action.get();
+    } catch (RuntimeException e) {
+      idempotencyRecordRepository.deleteById(claimed.getId());
+      throw e;
+    }
+    LocalDateTime expiresAt = LocalDateTime.now().plusNanos(TimeUnit.MILLISECONDS.toNanos(ttlMs));
+    String body = write(response);
+    idempotencyRecordRepository.complete(claimed.getId(), IdempotencyStatus.COMPLETED, body, expiresAt);
+    responseCache.put(scope, new StoredResponse(claimed.getRequestHash(), body));
+    return response;
+  }
+
+  /**
+   * Waits for the outcome of a request executed by this instance.
+   *
+   * @param running the in-flight request
+   * @return the JSON body of its response
+   * @throws ResourceConflictException if it does not finish in time
+   */
+  private String awaitInFlight(final InFlightRequest running) {
+    try {
+      return running.result.get(waitTimeoutMs, TimeUnit.MILLISECONDS);
+    } catch (ExecutionException e) {
+      throw (RuntimeException) e.getCause();
+    } catch (TimeoutException e) {
+      throw new ResourceConflictException(OrderConstants.IDEMPOTENT_REQUEST_IN_PROGRESS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new ResourceConflictException(OrderConstants.IDEMPOTENT_REQUEST_IN_PROGRESS);
+    }
+  }
+
+  /**
+   * Sleeps for one poll interval before the record of another instance is read again.
+   *
+   * @param deadline the {@link System#nanoTime()} value after which waiting is given up
+   * @throws ResourceConflictException if the deadline has passed or the thread is interrupted
+   */
+  private void pauseUntil(final long deadline) {
+    if (System.nanoTime() - deadline >= 0) {
+      throw new ResourceConflictException(OrderConstants.IDEMPOTENT_REQUEST_IN_PROGRESS);
+    }
+    try {
+      Thread.sleep(pollIntervalMs);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new ResourceConflictException(OrderConstants.IDEMPOTENT_REQUEST_IN_PROGRESS);
+    }
+  }
+
+  /**
+   * Ensures that a key is reused only for the request it was first sent with.
+   *
+   * @param storedHash  the hash of the request first sent with the key
+   * @param requestHash the hash of the current request
+   * @throws ResourceConflictException if the hashes differ
+   */
+  private void requireSameRequest(final String storedHash, final String requestHash) {
+    if (!storedHash.equals(requestHash)) {
+      throw new ResourceConflictException(OrderConstants.IDEMPOTENCY_KEY_REUSED);
+    }
+  }
+
+  /**
+   * Hashes the JSON form of a request body.
+   *
+   * @param request the request body
+   * @return the Base64 encoded SHA-256 hash
+   */
+  private String hash(final Object request) {
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      return Base64.getEncoder().encodeToString(digest.digest(objectMapper.writeValueAsBytes(request)));
+    } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+      throw new IllegalStateException("Unable to hash the request body", e);
+    }
+  }
+
+  /**
+   * Serializes a response to the JSON stored with its key.
+   *
+   * @param response the response
+   * @return its JSON form
+   */
+  private String write(final Object response) {
+    try {
+      return objectMapper.writeValueAsString(response);
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Unable to serialize the response", e);
+    }
+  }
+
+  /**
+   * Reads a stored response back. A fresh copy is returned on every replay, so callers cannot alter the stored one.
+   *
+   * @param body         the JSON form of the response
+   * @param responseType the type of the response
+   * @param <T>          the type of the response
+   * @return the response
+   */
+  private <T> T read(final String body, final Class<T> responseType) {
+    try {
+      return objectMapper.readValue(body, responseType);
+    } catch (IOException e) {
+      throw new IllegalStateException("Unable to read the stored response", e);
+    }
+  }
+
+  /**
+   * A completed response together with the hash of the request that produced it.
+   */
+  private static final class StoredResponse {
+
+    /**
+     * Hash of the request body.
+     */
+    private final String requestHash;
+
+    /**
+     * JSON body of the response.
+     */
+    private final String body;
+
+    /**
+     * Creates a stored response.
+     *
+     * @param requestHash the hash of the request body
+     * @param body        the JSON body of the response
+     */
+    StoredResponse(final String requestHash, final String body) {
+      this.requestHash = requestHash;
+      this.body = body;
+    }
+  }
+
+  /**
+   * A request being executed by this instance, which duplicates can wait on.
+   */
+  private static final class InFlightRequest {
+
+    /**
+     * Hash of the request body.
+     */
+    private final String requestHash;
+
+    /**
+     * Completed with the JSON body of the response, or exceptionally with the failure, of the request.
+     */
+    private final CompletableFuture<String> result = new CompletableFuture<>();
+
+    /**
+     * Creates an in-flight request.
+     *
+     * @param requestHash the hash of the request body
+     */
+    InFlightRequest(final String requestHash) {
+      this.requestHash = requestHash;
+    }
+  }
+}
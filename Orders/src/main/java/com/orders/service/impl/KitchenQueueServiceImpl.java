@@ -0,0 +1,234 @@
+package com.orders.service.impl;
+
+import com.orders.dto.OrderOutDto;
+import com.orders.entities.Order;
+import com.orders.service.KitchenQueueService;
+import com.orders.utils.AfterCommit;
+import com.orders.utils.OrderCursor;
+import com.orders.utils.OrderStatus;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Service implementation of the in-memory kitchen queues.
+ * <p>
+ * Each restaurant has a skip list of its active orders sorted by order time and ID, so reading the oldest
+ * {@code k} orders walks {@code k} entries without touching the database. Writes to a restaurant's queue run
+ * inside {@link ConcurrentMap#compute}, which locks only the map bin of that restaurant: writes for different
+ * restaurants proceed in parallel, writes for the same restaurant are serialized, and reads take no lock at all.
+ * Orders are found by ID for status changes, since an order read back from the database may carry a less precise
+ * order time. Queued orders are never mutated; a status change replaces the entry.
+ * </p>
+ */
+@Slf4j
+@Service
+public class KitchenQueueServiceImpl implements KitchenQueueService, MeterBinder {
+
+  /**
+   * Order of the entries of a queue: oldest first, ties broken by order ID.
+   */
+  private static final Comparator<OrderCursor> OLDEST_FIRST =
+    Comparator.comparing(OrderCursor::getOrderTime).thenComparing(OrderCursor::getId);
+
+  /**
+   * Active orders of each restaurant, keyed by restaurant ID.
+   */
+  private final ConcurrentMap<Integer, RestaurantQueue> queues = new ConcurrentHashMap<>();
+
+  /**
+   * Statuses of the orders changed while the queues are rebuilt, keyed by order ID; {@code null} outside a rebuild.
+   */
+  private volatile ConcurrentMap<Integer, OrderStatus> changedDuringRebuild;
+
+  /**
+   * Number of queued orders over all restaurants.
+   */
+  private final AtomicInteger queuedCount = new AtomicInteger();
+
+  /**
+   * Adds a placed order to the queue of its restaurant, after the current transaction commits if there is one.
+   *
+   * @param order the placed order, with its items
+   */
+  @Override
+  public void add(final OrderOutDto order) {
+    AfterCommit.run(() -> queues.compute(order.getRestaurantId(), (id, queue) -> put(queue, order)));
+  }
+
+  /**
+   * Updates a queued order whose status changed, after the current transaction commits if there is one.
+   *
+   * @param order       the order
+   * @param orderStatus the new status
+   */
+  @Override
+  public void statusChanged(final Order order, final OrderStatus orderStatus) {
+    Integer orderId = order.getId();
+    AfterCommit.run(() -> queues.compute(order.getRestaurantId(), (id, queue) -> {
+      ConcurrentMap<Integer, OrderStatus> changed = changedDuringRebuild;
+      if (changed != null) {
+        changed.put(orderId, orderStatus);
+      }
+      OrderCursor position = queue == null ? null : queue.positions.get(orderId);
+      if (position == null) {
+        return queue;
+      }
+      if (isActive(orderStatus)) {
+        queue.orders.put(position, withStatus(queue.orders.get(position), orderStatus));
+        return queue;
+      }
+      queue.orders.remove(position);
+      queue.positions.remove(orderId);
+      queuedCount.decrementAndGet();
+      return queue.positions.isEmpty() ? null : queue;
+    }));
+  }
+
+  /**
+   * Returns the oldest active orders of a restaurant.
+   *
+   * @param restaurantId the ID of the restaurant
+   * @param limit        the maximum number of orders returned
+   * @return the active orders, oldest first
+   */
+  @Override
+  public List<OrderOutDto> getQueue(final Integer restaurantId, final int limit) {
+    RestaurantQueue queue = queues.get(restaurantId);
+    if (queue == null) {
+      return Collections.emptyList();
+    }
+    List<OrderOutDto> oldest = new ArrayList<>(Math.min(limit, 64));
+    Iterator<OrderOutDto> entries = queue.orders.values().iterator();
+    while (entries.hasNext() && oldest.size() < limit) {
+      oldest.add(entries.next());
+    }
+    return oldest;
+  }
+
+  /**
+   * Starts remembering status changes for the rebuild.
+   */
+  @Override
+  public void beginRebuild() {
+    changedDuringRebuild = new ConcurrentHashMap<>();
+  }
+
+  /**
+   * Restores active orders read from the database. An order whose status changed since the rebuild began is
+   * restored with its new status, or skipped if it is no longer active. The check and the insert happen under
+   * the same per-restaurant lock as the status change, so no change is lost in between.
+   *
+   * @param orders the active orders, with their items
+   */
+  @Override
+  public void restore(final List<OrderOutDto> orders) {
+    for (OrderOutDto order : orders) {
+      queues.compute(order.getRestaurantId(), (id, queue) -> {
+        ConcurrentMap<Integer, OrderStatus> changed = changedDuringRebuild;
+        OrderStatus latest = changed == null ? null : changed.get(order.getId());
+        if (latest == null) {
+          return put(queue, order);
+        }
+        return isActive(latest) ? put(queue, withStatus(order, latest)) : queue;
+      });
+    }
+  }
+
+  /**
+   * Stops remembering status changes.
+   */
+  @Override
+  public void endRebuild() {
+    changedDuringRebuild = null;
+    log.info("Kitchen queues rebuilt with {} active orders", queuedCount.get());
+  }
+
+  /**
+   * Registers the number of queued orders.
+   *
+   * @param registry the registry to bind the metrics to
+   */
+  @Override
+  public void bindTo(final MeterRegistry registry) {
+    Gauge.builder("orders.kitchen.queued", queuedCount, AtomicInteger::get)
+      .description("Active orders held in the kitchen queues")
+      .register(registry);
+  }
+
+  /**
+   * Puts an order into a restaurant queue, creating the queue if needed. An order already queued keeps its
+   * position and is replaced.
+   *
+   * @param queue the queue, or {@code null} if the restaurant has none yet
+   * @param order the order
+   * @return the queue
+   */
+  private RestaurantQueue put(final RestaurantQueue queue, final OrderOutDto order) {
+    RestaurantQueue target = queue == null ? new RestaurantQueue() : queue;
+    OrderCursor position = target.positions.get(order.getId());
+    if (position == null) {
+      position = new OrderCursor(order.getOrderTime(), order.getId());
+      target.positions.put(order.getId(), position);
+      queuedCount.incrementAndGet();
+    }
+    target.orders.put(position, order);
+    return target;
+  }
+
+  /**
+   * Tells whether an order in the given status belongs in a kitchen queue.
+   *
+   * @param orderStatus the status
+   * @return {@code true} for placed and confirmed orders
+   */
+  private static boolean isActive(final OrderStatus orderStatus) {
+    return orderStatus == OrderStatus.PLACED || orderStatus == OrderStatus.CONFIRMED;
+  }
+
+  /**
+   * Returns a copy of a queued order with another status.
+   *
+   * @param order       the queued order
+   * @param orderStatus the new status
+   * @return the copy
+   */
+  private static OrderOutDto withStatus(final OrderOutDto order, final OrderStatus orderStatus) {
+    return new OrderOutDto(order.getId(), order.getUserId(), order.getDeliveryAddressId(), orderStatus,
+      order.getCartItems(), order.getOrderTime(), order.getTotalPrice(), order.getRestaurantId());
+  }
+
+  /**
+   * Active orders of one restaurant.
+   * <p>
+   * Only written inside {@link ConcurrentMap#compute} for the restaurant, which serializes the writers;
+   * readers walk {@link #orders} without locking.
+   * </p>
+   */
+  private static final class RestaurantQueue {
+
+    /**
+     * Active orders, oldest first.
+     */
+    private final ConcurrentSkipListMap<OrderCursor, OrderOutDto> orders = new ConcurrentSkipListMap<>(OLDEST_FIRST);
+
+    /**
+     * Position of each queued order in {@link #orders}, keyed by order ID.
+     */
+    private final Map<Integer, OrderCursor> positions = new HashMap<>();
+  }
+}
@@ -0,0 +1,239 @@
+package com.orders.service.impl;
+
+import com.orders.entities.Order;
+import com.orders.repositories.OrderRepository;
+import com.orders.service.KitchenQueueService;
+import com.orders.service.OrderConfirmationService;
+import com.orders.service.OrderEventService;
+import com.orders.service.OrderStatusWatchService;
+import com.orders.utils.AfterCommit;
+import com.orders.utils.OrderEventType;
+import com.orders.utils.OrderStatus;
+import com.orders.utils.TimingWheel;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.annotation.PostConstruct;
+import java.time.Duration;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Service implementation closing the cancellation window of placed orders.
+ * <p>
+ * Placed orders wait in an in-memory {@link TimingWheel} until the window of their restaurant closes, so no
+ * task or timer is created per order. Orders due for confirmation are locked, moved to {@code CONFIRMED} with
+ * one conditional update per batch and announced on the restaurant stream and to status watchers. An order
+ * cancelled or completed in the meantime is skipped. The wheel is rebuilt from the database at startup; an
+ * order scheduled twice is confirmed only once. The number of scheduled orders and of confirmed orders are
+ * exported as metrics.
+ * </p>
+ */
+@Slf4j
+@Service
+public class OrderConfirmationServiceImpl implements OrderConfirmationService, MeterBinder {
+
+  /**
+   * Repository dependency for order-related operations.
+   */
+  @Autowired
+  private OrderRepository orderRepository;
+
+  /**
+   * Service publishing order events to the restaurant order streams.
+   */
+  @Autowired
+  private OrderEventService orderEventService;
+
+  /**
+   * Service completing the long-polls waiting for an order status change.
+   */
+  @Autowired
+  private OrderStatusWatchService orderStatusWatchService;
+
+  /**
+   * Service holding the in-memory kitchen queues of the restaurants.
+   */
+  @Autowired
+  private KitchenQueueService kitchenQueueService;
+
+  /**
+   * Cancellation window of restaurants without their own, in seconds.
+   */
+  @Value("${orders.cancellation.window-seconds:30}")
+  private long defaultWindowSeconds;
+
+  /**
+   * Cancellation windows of individual restaurants in seconds, keyed by restaurant ID.
+   */
+  @Value("#{${orders.cancellation.restaurant-window-seconds:{:}}}")
+  private Map<Integer, Integer> restaurantWindowSeconds;
+
+  /**
+   * Length of a tick of the wheel, in milliseconds.
+   */
+  @Value("${orders.confirmation.tick-ms:1000}")
+  private long tickMs;
+
+  /**
+   * Number of buckets of the wheel.
+   */
+  @Value("${orders.confirmation.wheel-size:512}")
+  private int wheelSize;
+
+  /**
+   * Placed orders waiting for their cancellation window to close, by order ID.
+   */
+  private TimingWheel<Integer> wheel;
+
+  /**
+   * Number of orders confirmed; set once metrics are bound.
+   */
+  private Counter confirmedOrders;
+
+  /**
+   * Creates the wheel once the configuration has been injected.
+   */
+  @PostConstruct
+  void initWheel() {
+    wheel = new TimingWheel<>(wheelSize, tickMs, System.currentTimeMillis());
+  }
+
+  /**
+   * Returns the cancellation window of a restaurant.
+   *
+   * @param restaurantId the ID of the restaurant
+   * @return the window configured for the restaurant, or the default window
+   */
+  @Override
+  public Duration getCancellationWindow(final Integer restaurantId) {
+    Integer seconds = restaurantWindowSeconds == null ? null : restaurantWindowSeconds.get(restaurantId);
+    return Duration.ofSeconds(seconds == null ? defaultWindowSeconds : seconds);
+  }
+
+  /**
+   * Arranges for a placed order to be confirmed once its cancellation window closes, after the current
+   * transaction commits if there is one.
+   *
+   * @param order the placed order
+   */
+  @Override
+  public void schedule(final Order order) {
+    Integer orderId = order.getId();
+    long deadline = deadlineOf(order);
+    AfterCommit.run(() -> wheel.schedule(orderId, deadline));
+  }
+
+  /**
+   * Schedules the next batch of placed orders found in the database.
+   *
+   * @param afterId   only orders with an ID greater than this are scheduled
+   * @param batchSize the maximum number of orders scheduled
+   * @return the ID of the last order scheduled, or {@code null} if no placed order remains after {@code afterId}
+   */
+  @Override
+  public Integer scheduleBatch(final Integer afterId, final int batchSize) {
+    List<Order> placed = orderRepository.findByOrderStatusAndIdGreaterThan(OrderStatus.PLACED, afterId,
+      PageRequest.of(0, batchSize, Sort.by("id")));
+    if (placed.isEmpty()) {
+      return null;
+    }
+    for (Order order : placed) {
+      wheel.schedule(order.getId(), deadlineOf(order));
+    }
+    return placed.get(placed.size() - 1).getId();
+  }
+
+  /**
+   * Removes the orders whose cancellation window has closed from the wheel.
+   *
+   * @return the IDs of the orders due for confirmation
+   */
+  @Override
+  public List<Integer> pollExpired() {
+    return wheel.advance(System.currentTimeMillis());
+  }
+
+  /**
+   * Confirms the given orders that are still placed, in one transaction.
+   * <p>
+   * The orders are locked while they are read, so a concurrent cancel waits for the batch and then finds
+   * the order confirmed.
+   * </p>
+   *
+   * @param orderIds the IDs of the orders due for confirmation
+   * @return the number of orders confirmed
+   */
+  @Override
+  @Transactional
+  public int confirmBatch(final List<Integer> orderIds) {
+    List<Order> placed = orderRepository.findByIdInAndOrderStatus(orderIds, OrderStatus.PLACED);
+    if (placed.isEmpty()) {
+      return 0;
+    }
+    List<Integer> placedIds = placed.stream().map(Order::getId).collect(Collectors.toList());
+    int confirmed = orderRepository.transitionAll(placedIds, OrderStatus.PLACED, OrderStatus.CONFIRMED);
+
+    for (Order order : placed) {
+      order.setOrderStatus(OrderStatus.CONFIRMED);
+      orderEventService.publish(order, OrderEventType.CONFIRMED);
+      orderStatusWatchService.statusChanged(order.getId(), OrderStatus.CONFIRMED, null);
+      kitchenQueueService.statusChanged(order, OrderStatus.CONFIRMED);
+    }
+    if (confirmedOrders != null) {
+      confirmedOrders.increment(confirmed);
+    }
+    log.info("Confirmed {} orders past their cancellation window", confirmed);
+    return confirmed;
+  }
+
+  /**
+   * Schedules orders again for confirmation on the next tick.
+   *
+   * @param orderIds the IDs of the orders
+   */
+  @Override
+  public void reschedule(final List<Integer> orderIds) {
+    long now = System.currentTimeMillis();
+    for (Integer orderId : orderIds) {
+      wheel.schedule(orderId, now);
+    }
+  }
+
+  /**
+   * Registers the scheduled and confirmed order meters.
+   *
+   * @param registry the registry to bind the metrics to
+   */
+  @Override
+  public void bindTo(final MeterRegistry registry) {
+    Gauge.builder("orders.confirmation.scheduled", this, service -> service.wheel.size())
+      .description("Placed orders waiting for their cancellation window to close")
+      .register(registry);
+    confirmedOrders = Counter.builder("orders.confirmation.confirmed")
+      .description("Orders confirmed once their cancellation window closed")
+      .register(registry);
+  }
+
+  /**
+   * Returns the time at which the cancellation window of an order closes.
+   *
+   * @param order the order
+   * @return the deadline, in milliseconds since the epoch
+   */
+  private long deadlineOf(final Order order) {
+    return order.getOrderTime().plus(getCancellationWindow(order.getRestaurantId()))
+      .atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+  }
+}
@@ -0,0 +1,315 @@
+package com.orders.service.impl;
+
+import com.orders.dto.OrderEventOutDto;
+import com.orders.entities.Order;
+import com.orders.service.OrderEventService;
+import com.orders.service.RestaurantLookupService;
+import com.orders.utils.AfterCommit;
+import com.orders.utils.OrderEventType;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Service implementation of the per-restaurant order event streams.
+ * <p>
+ * Streams are {@link SseEmitter}s held in a registry keyed by restaurant; an open stream holds no thread, only
+ * its asynchronous response. Events are delivered by the single-threaded event executor, so publishers never
+ * wait on slow clients and every stream receives its events in publication order. The last events of each
+ * restaurant are kept so a client reconnecting with {@code Last-Event-ID} receives the events it missed.
+ * Event IDs start from the startup time in milliseconds, so they keep increasing across restarts; events
+ * published on other instances are not seen by the streams of this one.
+ * </p>
+ * <p>
+ * Work the event executor rejects because its queue is full is dropped and counted as
+ * {@code orders.events.dropped}, never run on the publishing thread. A dropped event is not numbered nor kept
+ * for replay, so streams miss it; the order endpoints stay the source of truth. A stream whose registration is
+ * dropped is closed at once, and the client reconnects with its {@code Last-Event-ID}.
+ * </p>
+ */
+@Slf4j
+@Service
+public class OrderEventServiceImpl implements OrderEventService, MeterBinder {
+
+  /**
+   * Open streams, keyed by restaurant ID.
+   */
+  private final ConcurrentMap<Integer, Set<SseEmitter>> subscribers = new ConcurrentHashMap<>();
+
+  /**
+   * Most recent events of each restaurant, oldest first; only accessed on the event executor.
+   */
+  private final Map<Integer, Deque<OrderEventOutDto>> recentEvents = new ConcurrentHashMap<>();
+
+  /**
+   * Source of the event IDs.
+   */
+  private final AtomicLong lastEventId = new AtomicLong(System.currentTimeMillis());
+
+  /**
+   * Number of tasks dropped because the event executor was full.
+   */
+  private final AtomicLong droppedCount = new AtomicLong();
+
+  /**
+   * Service layer dependency for cached restaurant lookups.
+   */
+  @Autowired
+  private RestaurantLookupService restaurantLookupService;
+
+  /**
+   * Single-threaded executor delivering the events.
+   */
+  @Autowired
+  @Qualifier("orderEventExecutor")
+  private Executor eventExecutor;
+
+  /**
+   * Time after which a stream is closed and the client has to reconnect, in milliseconds.
+   */
+  @Value("${orders.events.stream-timeout-ms:1800000}")
+  private long streamTimeoutMs;
+
+  /**
+   * Number of events kept per restaurant for clients resuming a stream.
+   */
+  @Value("${orders.events.replay-size:100}")
+  private int replaySize;
+
+  /**
+   * Publishes an event about an order to the subscribers of its restaurant, after the current
+   * transaction commits if there is one.
+   *
+   * @param order     the order, in its state after the event
+   * @param eventType what happened to the order
+   */
+  @Override
+  public void publish(final Order order, final OrderEventType eventType) {
+    OrderEventOutDto event = new OrderEventOutDto(null, eventType, order.getId(), order.getUserId(),
+      order.getRestaurantId(), order.getOrderStatus(), order.getTotalPrice(), order.getOrderTime());
+    AfterCommit.run(() -> dispatch(() -> deliver(event), "event of orderId " + order.getId()));
+  }
+
+  /**
+   * Opens a stream of the order events of a restaurant, first replaying the kept events published after
+   * the given event ID.
+   *
+   * @param restaurantId the ID of the restaurant
+   * @param lastEventId  the ID of the last event the client received, or {@code null} for a new stream
+   * @return the emitter streaming the events
+   */
+  @Override
+  public SseEmitter subscribe(final Integer restaurantId, final String lastEventId) {
+    restaurantLookupService.requireRestaurant(restaurantId);
+    SseEmitter emitter = new SseEmitter(streamTimeoutMs);
+    emitter.onCompletion(() -> unsubscribe(restaurantId, emitter));
+    emitter.onTimeout(emitter::complete);
+    emitter.onError(e -> unsubscribe(restaurantId, emitter));
+
+    Long resumeAfter = parseEventId(lastEventId);
+    boolean accepted = dispatch(() -> {
+      if (resumeAfter != null) {
+        for (OrderEventOutDto event : eventsAfter(restaurantId, resumeAfter)) {
+          if (!send(restaurantId, emitter, event)) {
+            return;
+          }
+        }
+      }
+      subscribers.compute(restaurantId, (id, emitters) -> {
+        Set<SseEmitter> registered = emitters == null ? ConcurrentHashMap.newKeySet() : emitters;
+        registered.add(emitter);
+        return registered;
+      });
+    }, "stream of restaurantId " + restaurantId);
+    if (!accepted) {
+      emitter.complete();
+      return emitter;
+    }
+    log.info("Order stream opened for restaurantId: {}", restaurantId);
+    return emitter;
+  }
+
+  /**
+   * Sends a comment to every open stream, dropping the streams whose connection is closed.
+   */
+  @Override
+  public void sendHeartbeats() {
+    dispatch(() -> subscribers.forEach((restaurantId, emitters) -> {
+      for (SseEmitter emitter : emitters) {
+        try {
+          emitter.send(SseEmitter.event().comment("heartbeat"));
+        } catch (IOException | IllegalStateException e) {
+          drop(restaurantId, emitter, e);
+        }
+      }
+    }), "heartbeats");
+  }
+
+  /**
+   * Registers the number of open streams and the number of tasks dropped because the event executor was full.
+   *
+   * @param registry the registry to bind the metrics to
+   */
+  @Override
+  public void bindTo(final MeterRegistry registry) {
+    Gauge.builder("orders.events.subscribers", this, OrderEventServiceImpl::subscriberCount)
+      .description("Open restaurant order streams")
+      .register(registry);
+    FunctionCounter.builder("orders.events.dropped", droppedCount, AtomicLong::get)
+      .description("Event deliveries, stream registrations and heartbeats dropped because the event queue was full")
+      .register(registry);
+  }
+
+  /**
+   * Returns the number of open streams.
+   *
+   * @return the number of streams
+   */
+  int subscriberCount() {
+    return subscribers.values().stream().mapToInt(Set::size).sum();
+  }
+
+  /**
+   * Hands work to the event executor, dropping it if the executor is full.
+   *
+   * @param task the work, run on the event executor
+   * @param what description of the work for the log
+   * @return {@code true} if the executor accepted the work
+   */
+  private boolean dispatch(final Runnable task, final String what) {
+    try {
+      eventExecutor.execute(task);
+      return true;
+    } catch (RejectedExecutionException e) {
+      droppedCount.incrementAndGet();
+      log.warn("Order event queue is full, dropping {}", what);
+      return false;
+    }
+  }
+
+  /**
+   * Numbers an event, keeps it for replay and sends it to the streams of its restaurant.
+   * Runs on the event executor.
+   *
+   * @param event the event, without an ID
+   */
+  private void deliver(final OrderEventOutDto event) {
+    event.setEventId(lastEventId.incrementAndGet());
+    Deque<OrderEventOutDto> recent = recentEvents.computeIfAbsent(event.getRestaurantId(), id -> new ArrayDeque<>());
+    recent.addLast(event);
+    while (recent.size() > replaySize) {
+      recent.removeFirst();
+    }
+    Set<SseEmitter> emitters = subscribers.get(event.getRestaurantId());
+    if (emitters != null) {
+      for (SseEmitter emitter : emitters) {
+        send(event.getRestaurantId(), emitter, event);
+      }
+    }
+  }
+
+  /**
+   * Returns the kept events of a restaurant published after the given event ID.
+   *
+   * @param restaurantId the ID of the restaurant
+   * @param eventId      the ID of the last event the client received
+   * @return the missed events, oldest first
+   */
+  private List<OrderEventOutDto> eventsAfter(final Integer restaurantId, final long eventId) {
+    List<OrderEventOutDto> missed = new ArrayList<>();
+    Deque<OrderEventOutDto> recent = recentEvents.get(restaurantId);
+    if (recent != null) {
+      for (OrderEventOutDto event : recent) {
+        if (event.getEventId() > eventId) {
+          missed.add(event);
+        }
+      }
+    }
+    return missed;
+  }
+
+  /**
+   * Sends an event to one stream, dropping the stream if its connection is closed.
+   *
+   * @param restaurantId the ID of the restaurant of the stream
+   * @param emitter      the stream
+   * @param event        the event
+   * @return {@code true} if the event was sent
+   */
+  private boolean send(final Integer restaurantId, final SseEmitter emitter, final OrderEventOutDto event) {
+    try {
+      emitter.send(SseEmitter.event()
+        .id(String.valueOf(event.getEventId()))
+        .name(event.getEventType().getEventName())
+        .data(event, MediaType.APPLICATION_JSON));
+      return true;
+    } catch (IOException | IllegalStateException e) {
+      drop(restaurantId, emitter, e);
+      return false;
+    }
+  }
+
+  /**
+   * Removes a stream whose connection failed and completes it.
+   *
+   * @param restaurantId the ID of the restaurant of the stream
+   * @param emitter      the stream
+   * @param cause        the failure
+   */
+  private void drop(final Integer restaurantId, final SseEmitter emitter, final Exception cause) {
+    log.debug("Dropping closed order stream of restaurantId: {}", restaurantId, cause);
+    unsubscribe(restaurantId, emitter);
+    emitter.completeWithError(cause);
+  }
+
+  /**
+   * Removes a stream from the registry.
+   *
+   * @param restaurantId the ID of the restaurant of the stream
+   * @param emitter      the stream
+   */
+  private void unsubscribe(final Integer restaurantId, final SseEmitter emitter) {
+    subscribers.computeIfPresent(restaurantId, (id, emitters) -> {
+      emitters.remove(emitter);
+      return emitters.isEmpty() ? null : emitters;
+    });
+  }
+
+  /**
+   * Parses the {@code Last-Event-ID} sent by a reconnecting client.
+   *
+   * @param lastEventId the header value, possibly {@code null}
+   * @return the event ID, or {@code null} if absent or malformed
+   */
+  private static Long parseEventId(final String lastEventId) {
+    if (lastEventId == null) {
+      return null;
+    }
+    try {
+      return Long.valueOf(lastEventId.trim());
+    } catch (NumberFormatException e) {
+      return null;
+    }
+  }
+}
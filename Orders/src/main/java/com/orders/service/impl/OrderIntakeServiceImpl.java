@@ -0,0 +1,251 @@
+package com.orders.service.impl;
+
+import com.orders.constants.OrderConstants;
+import com.orders.dto.OrderInDto;
+import com.orders.dto.OrderStatusOutDto;
+import com.orders.entities.Order;
+import com.orders.exception.ServiceUnavailableException;
+import com.orders.repositories.OrderRepository;
+import com.orders.service.OrderIntakeService;
+import com.orders.service.OrderService;
+import com.orders.service.OrderStatusWatchService;
+import com.orders.utils.OrderStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service implementation of asynchronous order intake.
+ * <p>
+ * An accepted order is saved as {@code PENDING}, with the cart items the client submitted, and handed to the
+ * bounded intake executor. A worker claims it by moving it to {@code PROCESSING} with a conditional update that
+ * records the time of the claim, so an order cancelled while it waited, or queued twice by recovery, is claimed
+ * once. The worker then runs the checks of synchronous placement and moves the order to {@code PLACED}, or to
+ * {@code REJECTED} with the reason. Both moves are conditional on the worker's claim, so a worker whose order was
+ * recovered and claimed again by another one leaves it alone. When the queue is full the order is
+ * discarded and the client is asked to retry, which keeps the wait of accepted orders bounded. The queue depth,
+ * busy workers, queue wait and rejections are exported as metrics.
+ * </p>
+ */
+@Slf4j
+@Service
+public class OrderIntakeServiceImpl implements OrderIntakeService, MeterBinder {
+
+  /**
+   * Longest rejection reason kept on an order.
+   */
+  private static final int MAX_REASON_LENGTH = 255;
+
+  /**
+   * Service layer dependency for order-related operations.
+   */
+  @Autowired
+  private OrderService orderService;
+
+  /**
+   * Repository dependency for order-related operations.
+   */
+  @Autowired
+  private OrderRepository orderRepository;
+
+  /**
+   * Service completing the long-polls waiting for an order status change.
+   */
+  @Autowired
+  private OrderStatusWatchService orderStatusWatchService;
+
+  /**
+   * Bounded executor running the intake workers.
+   */
+  @Autowired
+  @Qualifier("orderIntakeExecutor")
+  private ThreadPoolTaskExecutor intakeExecutor;
+
+  /**
+   * Time after which a {@code PENDING} order not claimed since its submission, or a {@code PROCESSING} order not
+   * finished since its claim, is considered stalled, in milliseconds.
+   */
+  @Value("${orders.intake.async.recovery-age-ms:300000}")
+  private long recoveryAgeMs;
+
+  /**
+   * Maximum number of stalled orders of each status handled per recovery run.
+   */
+  @Value("${orders.intake.async.recovery-batch-size:100}")
+  private int recoveryBatchSize;
+
+  /**
+   * Time accepted orders wait in the queue before a worker picks them up; set once metrics are bound.
+   */
+  private Timer queueWait;
+
+  /**
+   * Number of orders turned away because the queue was full; set once metrics are bound.
+   */
+  private Counter rejectedSubmissions;
+
+  /**
+   * Number of accepted orders that failed validation; set once metrics are bound.
+   */
+  private Counter rejectedOrders;
+
+  /**
+   * Saves an order as {@code PENDING} and queues it for processing.
+   *
+   * @param orderInDto DTO containing the details of the order to be placed
+   * @return the ID and status of the accepted order
+   * @throws ServiceUnavailableException if the intake queue is full
+   */
+  @Override
+  public OrderStatusOutDto submit(final OrderInDto orderInDto) {
+    Order order = orderService.createPendingOrder(orderInDto);
+    if (!dispatch(order.getId())) {
+      orderRepository.deleteById(order.getId());
+      log.warn("Intake queue full, order of userId: {} turned away", orderInDto.getUserId());
+      throw new ServiceUnavailableException(OrderConstants.ORDER_INTAKE_BUSY);
+    }
+    log.info("Order accepted for processing, orderId: {}", order.getId());
+    return new OrderStatusOutDto(order.getId(), OrderStatus.PENDING, null);
+  }
+
+  /**
+   * Queues again the orders left behind by a restart or a full queue.
+   * <p>
+   * A {@code PROCESSING} order claimed longer ago than the recovery age lost its worker and is returned to
+   * {@code PENDING}, as long as it is still held by the same claim. {@code PENDING} orders submitted longer ago than
+   * the recovery age are queued again while the queue has room, and are checked against the items stored with
+   * them. Should the first worker still be running, its claim no longer holds the order, so it can neither place
+   * nor reject it.
+   * </p>
+   *
+   * @return the number of orders queued again
+   */
+  @Override
+  public int recoverStalledOrders() {
+    LocalDateTime cutoff = LocalDateTime.now().minusNanos(TimeUnit.MILLISECONDS.toNanos(recoveryAgeMs));
+    PageRequest oldestClaimFirst = PageRequest.of(0, recoveryBatchSize, Sort.by("processingStartedAt"));
+    for (Order order : orderRepository.findByOrderStatusAndProcessingStartedAtBefore(OrderStatus.PROCESSING, cutoff,
+      oldestClaimFirst)) {
+      if (orderRepository.transitionClaimed(order.getId(), order.getProcessingStartedAt(), OrderStatus.PENDING, null)) {
+        orderStatusWatchService.statusChanged(order.getId(), OrderStatus.PENDING, null);
+        log.warn("Stalled orderId: {} returned to the intake queue", order.getId());
+      }
+    }
+
+    int requeued = 0;
+    PageRequest oldestFirst = PageRequest.of(0, recoveryBatchSize, Sort.by("orderTime"));
+    for (Order order : orderRepository.findByOrderStatusAndOrderTimeBefore(OrderStatus.PENDING, cutoff, oldestFirst)) {
+      if (!dispatch(order.getId())) {
+        break;
+      }
+      requeued++;
+    }
+    if (requeued > 0) {
+      log.info("Queued {} stalled orders again", requeued);
+    }
+    return requeued;
+  }
+
+  /**
+   * Registers the queue depth, busy workers, queue wait and rejection meters.
+   *
+   * @param registry the registry to bind the metrics to
+   */
+  @Override
+  public void bindTo(final MeterRegistry registry) {
+    Gauge.builder("orders.intake.queue.depth", intakeExecutor,
+        executor -> executor.getThreadPoolExecutor().getQueue().size())
+      .description("Accepted orders waiting for an intake worker")
+      .register(registry);
+    Gauge.builder("orders.intake.active", intakeExecutor, ThreadPoolTaskExecutor::getActiveCount)
+      .description("Intake workers processing an order")
+      .register(registry);
+    queueWait = Timer.builder("orders.intake.wait")
+      .description("Time accepted orders wait before an intake worker picks them up")
+      .register(registry);
+    rejectedSubmissions = Counter.builder("orders.intake.rejected")
+      .description("Orders turned away because the intake queue was full")
+      .register(registry);
+    rejectedOrders = Counter.builder("orders.intake.failed")
+      .description("Accepted orders rejected during processing")
+      .register(registry);
+  }
+
+  /**
+   * Hands an order to the intake executor.
+   *
+   * @param orderId the ID of the order
+   * @return {@code true} if the order was queued, {@code false} if the queue is full
+   */
+  private boolean dispatch(final Integer orderId) {
+    long queuedAt = System.nanoTime();
+    try {
+      intakeExecutor.execute(() -> process(orderId, queuedAt));
+      return true;
+    } catch (RejectedExecutionException e) {
+      if (rejectedSubmissions != null) {
+        rejectedSubmissions.increment();
+      }
+      return false;
+    }
+  }
+
+  /**
+   * Claims and processes a queued order on an intake worker.
+   *
+   * @param orderId  the ID of the order
+   * @param queuedAt the {@link System#nanoTime()} value at which the order was queued
+   */
+  void process(final Integer orderId, final long queuedAt) {
+    if (queueWait != null) {
+      queueWait.record(System.nanoTime() - queuedAt, TimeUnit.NANOSECONDS);
+    }
+    // Millisecond precision survives the round trip through any timestamp column, so the claim can be matched.
+    LocalDateTime claimedAt = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+    if (!orderRepository.claim(orderId, claimedAt)) {
+      log.info("OrderId: {} is no longer pending, skipping", orderId);
+      return;
+    }
+    orderStatusWatchService.statusChanged(orderId, OrderStatus.PROCESSING, null);
+    try {
+      if (orderService.processPendingOrder(orderId, claimedAt)) {
+        log.info("Order placed asynchronously, orderId: {}", orderId);
+      }
+    } catch (RuntimeException e) {
+      log.warn("Order rejected during intake, orderId: {}", orderId, e);
+      String reason = reason(e);
+      if (orderRepository.transitionClaimed(orderId, claimedAt, OrderStatus.REJECTED, reason)) {
+        orderStatusWatchService.statusChanged(orderId, OrderStatus.REJECTED, reason);
+      }
+      if (rejectedOrders != null) {
+        rejectedOrders.increment();
+      }
+    }
+  }
+
+  /**
+   * Returns the rejection reason stored for a failure.
+   *
+   * @param e the failure
+   * @return its message, truncated to fit the column
+   */
+  private static String reason(final RuntimeException e) {
+    String message = e.getMessage() == null ? e.getClass().getSimpleName() : e.getMessage();
+    return message.length() > MAX_REASON_LENGTH ? message.substring(0, MAX_REASON_LENGTH) : message;
+  }
+}
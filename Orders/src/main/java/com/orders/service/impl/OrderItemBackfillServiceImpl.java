@@ -0,0 +1,89 @@
+package com.orders.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+import com.orders.dto.CartItemDto;
+import com.orders.entities.Order;
+import com.orders.entities.OrderItem;
+import com.orders.repositories.OrderItemRepository;
+import com.orders.repositories.OrderRepository;
+import com.orders.service.OrderItemBackfillService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Service implementation that moves the items of legacy orders into the {@code order_items} table.
+ * <p>
+ * Each batch runs in its own transaction: the items of every order are inserted and the order's JSON column
+ * is cleared together, so an interrupted backfill can simply be restarted. Orders whose JSON cannot be parsed
+ * are logged and left untouched.
+ * </p>
+ */
+@Slf4j
+@Service
+public class OrderItemBackfillServiceImpl implements OrderItemBackfillService {
+
+  /**
+   * Used to parse the legacy JSON cart items.
+   */
+  private final ObjectMapper objectMapper = new ObjectMapper();
+
+  /**
+   * Repository dependency for order-related operations.
+   */
+  @Autowired
+  private OrderRepository orderRepository;
+
+  /**
+   * Repository dependency for the normalized order items.
+   */
+  @Autowired
+  private OrderItemRepository orderItemRepository;
+
+  /**
+   * Migrates the next batch of legacy orders.
+   *
+   * @param afterId   only orders with an ID greater than this are migrated
+   * @param batchSize the maximum number of orders migrated
+   * @return the ID of the last order examined, or {@code null} if no legacy order remains after {@code afterId}
+   */
+  @Override
+  @Transactional
+  public Integer migrateBatch(final Integer afterId, final int batchSize) {
+    List<Order> orders = orderRepository.findByCartItemsIsNotNullAndIdGreaterThan(afterId,
+      PageRequest.of(0, batchSize, Sort.by("id")));
+    if (orders.isEmpty()) {
+      return null;
+    }
+
+    List<OrderItem> orderItems = new ArrayList<>();
+    List<Order> migrated = new ArrayList<>();
+    for (Order order : orders) {
+      try {
+        List<CartItemDto> cartItems = objectMapper.readValue(order.getCartItems(),
+          TypeFactory.defaultInstance().constructCollectionType(List.class, CartItemDto.class));
+        for (CartItemDto cartItem : cartItems) {
+          orderItems.add(new OrderItem(null, order.getId(), order.getRestaurantId(), cartItem.getFoodItemId(),
+            cartItem.getQuantity(), cartItem.getPrice()));
+        }
+        order.setCartItems(null);
+        migrated.add(order);
+      } catch (JsonProcessingException e) {
+        log.error("Skipping order ID: {}, its cart items could not be parsed", order.getId(), e);
+      }
+    }
+    orderItemRepository.saveAll(orderItems);
+    orderRepository.saveAll(migrated);
+
+    log.info("Migrated {} of {} orders to order items", migrated.size(), orders.size());
+    return orders.get(orders.size() - 1).getId();
+  }
+}
@@ -2,36 +2,84 @@ package com.orders.service.impl;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.fasterxml.jackson.databind.type.TypeFactory;
 import com.orders.constants.OrderConstants;
 import com.orders.converter.DtoConversion;
 import com.orders.dto.AddressOutDto;
+import com.orders.dto.CartDiffDto;
 import com.orders.dto.CartItemDto;
-import com.orders.dto.FoodItemOutDto;
+import com.orders.dto.FoodItemSalesOutDto;
 import com.orders.dto.MessageOutDto;
 import com.orders.dto.OrderInDto;
 import com.orders.dto.OrderOutDto;
+import com.orders.dto.OrderPageOutDto;
+import com.orders.dto.OrderStatusOutDto;
+import com.orders.dto.RestaurantSalesOutDto;
 import com.orders.dto.UserOutDto;
 import com.orders.entities.Cart;
 import com.orders.entities.Order;
+import com.orders.entities.OrderItem;
 import com.orders.exception.AccessDeniedException;
+import com.orders.exception.InvalidRequestException;
 import com.orders.exception.ResourceConflictException;
 import com.orders.exception.ResourceNotFoundException;
+import com.orders.exception.ServiceUnavailableException;
+import com.orders.repositories.OrderItemRepository;
 import com.orders.repositories.OrderRepository;
 import com.orders.service.CartService;
+import com.orders.service.KitchenQueueService;
+import com.orders.service.OrderConfirmationService;
+import com.orders.service.OrderEventService;
 import com.orders.service.OrderService;
-import com.orders.service.RestaurantFeignClient;
+import com.orders.service.OrderStatusWatchService;
+import com.orders.service.RestaurantLookupService;
+import com.orders.service.SalesCounterService;
 import com.orders.service.UserFeignClient;
+import com.orders.service.UserLookupService;
+import com.orders.service.WalletOutboxService;
+import com.orders.utils.CartReconciler;
+import com.orders.utils.ExportFormat;
+import com.orders.utils.OrderCursor;
+import com.orders.utils.OrderEventType;
 import com.orders.utils.OrderStatus;
+import com.orders.utils.RemoteCallCounter;
 import com.orders.utils.UserRole;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
@@ -44,10 +92,35 @@ public class OrderServiceImpl implements OrderService {
   private final ObjectMapper objectMapper = new ObjectMapper();
 
   /**
-   * Service layer dependency for restaurant-related operations.
+   * Number of orders converted and written together during an export; matches the JDBC fetch size of the
+   * export query so each database round trip is followed by one order items query.
+   */
+  private static final int EXPORT_BATCH_SIZE = 500;
+
+  /**
+   * Header row of CSV exports.
+   */
+  private static final String CSV_HEADER = "id,userId,restaurantId,deliveryAddressId,orderStatus,orderTime,totalPrice,items";
+
+  /**
+   * {@link ObjectMapper} used to write NDJSON exports, with ISO-8601 dates.
+   */
+  private final ObjectMapper exportMapper = new ObjectMapper()
+    .registerModule(new JavaTimeModule())
+    .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+  /**
+   * Persistence context, cleared between export batches so exported orders do not accumulate in memory, and
+   * detaching orders whose status was changed by a conditional update.
+   */
+  @PersistenceContext
+  private EntityManager entityManager;
+
+  /**
+   * Service layer dependency for cached restaurant lookups.
    */
   @Autowired
-  private RestaurantFeignClient restaurantClient;
+  private RestaurantLookupService restaurantLookupService;
 
   /**
    * Service layer dependency for order-related operations.
@@ -55,6 +128,12 @@ public class OrderServiceImpl implements OrderService {
   @Autowired
   private OrderRepository orderRepository;
 
+  /**
+   * Repository dependency for the normalized order items.
+   */
+  @Autowired
+  private OrderItemRepository orderItemRepository;
+
   /**
    * Service layer dependency for cart-related operations.
    */
@@ -67,45 +146,319 @@ public class OrderServiceImpl implements OrderService {
   @Autowired
   private UserFeignClient userClient;
 
+  /**
+   * Service layer dependency for cached user lookups.
+   */
+  @Autowired
+  private UserLookupService userLookupService;
+
+  /**
+   * Service layer dependency for the wallet outbox.
+   */
+  @Autowired
+  private WalletOutboxService walletOutboxService;
+
+  /**
+   * Service publishing order events to the restaurant order streams.
+   */
+  @Autowired
+  private OrderEventService orderEventService;
+
+  /**
+   * Service completing the long-polls waiting for an order status change.
+   */
+  @Autowired
+  private OrderStatusWatchService orderStatusWatchService;
+
+  /**
+   * Service confirming placed orders once their cancellation window closes.
+   */
+  @Autowired
+  private OrderConfirmationService orderConfirmationService;
+
+  /**
+   * Service holding the in-memory kitchen queues of the restaurants.
+   */
+  @Autowired
+  private KitchenQueueService kitchenQueueService;
+
+  /**
+   * Service layer dependency for the daily sales counters.
+   */
+  @Autowired
+  private SalesCounterService salesCounterService;
+
+  /**
+   * Bounded executor used to run the order placement lookups concurrently.
+   */
+  @Autowired
+  @Qualifier("orderLookupExecutor")
+  private Executor lookupExecutor;
+
+  /**
+   * Whether the user, address and cart lookups of order placement run concurrently.
+   */
+  @Value("${orders.placement.async-lookups.enabled:false}")
+  private boolean asyncLookupsEnabled;
+
+  /**
+   * Overall deadline, in milliseconds, for the concurrent order placement lookups.
+   */
+  @Value("${orders.placement.async-lookups.timeout-ms:3000}")
+  private long lookupTimeoutMs;
+
   /**
    * Places an order based on the provided order details.
-   * Validates user role, address, and cart items. Calculates total price and updates wallet balance.
+   * Validates user role, address, restaurant and cart items. Calculates total price and queues the wallet debit.
    * Creates an order and clears the cart after order placement.
+   * <p>
+   * Each downstream resource is called at most once: the cart is read and cleared through the
+   * already-authorized {@link CartService} operations instead of re-validating the user and restaurant.
+   * The order is charged at the cart's current prices; see {@link #reconcileCartItems(List, List)}.
+   * The order and its items are written in one transaction, the items as rows of the {@code order_items} table.
+   * The wallet debit is written to the wallet outbox in the same transaction and delivered by the relay, so the
+   * balance check also counts the user's debits that have not been delivered yet.
+   * </p>
    *
    * @param orderInDto DTO containing the details of the order to be placed
    * @return A MessageOutDto indicating the success or failure of the operation
    */
   @Override
+  @Transactional
   public MessageOutDto placeOrder(final OrderInDto orderInDto) {
     log.info("Placing order for userId: {}", orderInDto.getUserId());
 
-    UserOutDto user = getUser(orderInDto.getUserId());
-    validateUserRole(user);
+    PlacementLookups lookups = resolveLookups(orderInDto);
+    BigDecimal totalPrice = priceOrder(lookups, orderInDto);
 
-    List<AddressOutDto> addresses = getAddresses(orderInDto.getUserId());
-    validateAddress(orderInDto.getDeliveryAddressId(), addresses);
+    Order order = orderRepository.save(createOrder(orderInDto, totalPrice));
+    completePlacement(order, lookups.getCartItems());
+    return new MessageOutDto(OrderConstants.ORDER_PLACED_SUCCESSFULLY);
+  }
 
-    List<Cart> cartItems = getCartItems(orderInDto);
-    validateCartItems(cartItems, orderInDto.getCartItems());
+  /**
+   * Saves a {@code PENDING} order for asynchronous intake without validating it.
+   * No remote call is made; the order is validated later by {@link #processPendingOrder(Integer, LocalDateTime)}.
+   * The submitted cart items are stored with the order, so whichever worker processes it reconciles them with the
+   * cart.
+   *
+   * @param orderInDto DTO containing the details of the order to be placed
+   * @return the saved order
+   */
+  @Override
+  public Order createPendingOrder(final OrderInDto orderInDto) {
+    Order order = createOrder(orderInDto, null);
+    order.setOrderStatus(OrderStatus.PENDING);
+    if (orderInDto.getCartItems() != null && !orderInDto.getCartItems().isEmpty()) {
+      try {
+        order.setSubmittedItems(objectMapper.writeValueAsString(orderInDto.getCartItems()));
+      } catch (JsonProcessingException e) {
+        log.error("Failed to store submitted cart items for userId: {}", orderInDto.getUserId(), e);
+        throw new RuntimeException("Failed to process cart items", e);
+      }
+    }
+    Order saved = orderRepository.save(order);
+    log.info("Pending order saved for userId: {}, orderId: {}", orderInDto.getUserId(), saved.getId());
+    return saved;
+  }
 
-    BigDecimal totalPrice = calculateTotalPrice(orderInDto.getCartItems());
-    validateWalletBalance(user, totalPrice);
+  /**
+   * Validates, prices and charges an order claimed by an intake worker, moving it to {@code PLACED}.
+   * Runs the same checks as {@link #placeOrder(OrderInDto)} in one transaction, reconciling the cart with the items
+   * stored when the order was submitted; if any of them fails the transaction rolls back and the order stays
+   * {@code PROCESSING} for the caller to reject.
+   * <p>
+   * The order is placed with a conditional update on the claim of the worker. If recovery returned the order to
+   * the queue and another worker claimed it meanwhile, the update matches nothing and this worker gives up before
+   * writing anything, so the order is charged once.
+   * </p>
+   *
+   * @param orderId   the ID of an order in {@code PROCESSING} status
+   * @param claimedAt the time the worker claimed the order
+   * @return {@code true} if the order was placed, {@code false} if the claim no longer holds the order
+   * @throws ResourceNotFoundException if the order does not exist
+   */
+  @Override
+  @Transactional
+  public boolean processPendingOrder(final Integer orderId, final LocalDateTime claimedAt) {
+    Order order = orderRepository.findById(orderId)
+      .orElseThrow(() -> new ResourceNotFoundException(OrderConstants.ORDER_NOT_FOUND));
+    if (order.getOrderStatus() != OrderStatus.PROCESSING || !claimedAt.equals(order.getProcessingStartedAt())) {
+      log.warn("Skipping orderId: {} in status {}, no longer held by this claim", orderId, order.getOrderStatus());
+      return false;
+    }
+    OrderInDto orderInDto = new OrderInDto(order.getUserId(), order.getDeliveryAddressId(), order.getRestaurantId(),
+      readSubmittedItems(order));
+
+    PlacementLookups lookups = resolveLookups(orderInDto);
+    BigDecimal totalPrice = priceOrder(lookups, orderInDto);
+    if (!orderRepository.placeClaimed(orderId, claimedAt, totalPrice)) {
+      log.warn("OrderId: {} was claimed again while being processed, giving up", orderId);
+      return false;
+    }
+    order.setTotalPrice(totalPrice);
+    order.setOrderStatus(OrderStatus.PLACED);
+    order.setSubmittedItems(null);
+    completePlacement(order, lookups.getCartItems());
+    return true;
+  }
+
+  /**
+   * Reads the cart items stored with a pending order.
+   *
+   * @param order the pending order
+   * @return the submitted items, or an empty list if none were submitted
+   */
+  private List<CartItemDto> readSubmittedItems(final Order order) {
+    if (order.getSubmittedItems() == null) {
+      return Collections.emptyList();
+    }
+    try {
+      return objectMapper.readValue(order.getSubmittedItems(),
+        TypeFactory.defaultInstance().constructCollectionType(List.class, CartItemDto.class));
+    } catch (JsonProcessingException e) {
+      log.error("Failed to process submitted cart items for order ID: {}", order.getId(), e);
+      throw new RuntimeException("Failed to process cart items", e);
+    }
+  }
+
+  /**
+   * Retrieves the processing status of an order.
+   *
+   * @param orderId The ID of the order
+   * @return the status of the order and, if it was rejected, the reason
+   * @throws ResourceNotFoundException if the order does not exist
+   */
+  @Override
+  public OrderStatusOutDto getOrderStatus(final Integer orderId) {
+    Order order = orderRepository.findById(orderId)
+      .orElseThrow(() -> new ResourceNotFoundException(OrderConstants.ORDER_NOT_FOUND));
+    return new OrderStatusOutDto(order.getId(), order.getOrderStatus(), order.getStatusReason());
+  }
+
+  /**
+   * Reconciles the submitted cart items with the cart and checks the wallet balance against the cart total,
+   * counting the user's debits that have not been delivered yet.
+   *
+   * @param lookups    the validated user and cart items
+   * @param orderInDto DTO containing the submitted cart items
+   * @return the total price of the order
+   */
+  private BigDecimal priceOrder(final PlacementLookups lookups, final OrderInDto orderInDto) {
+    UserOutDto user = lookups.getUser();
+    reconcileCartItems(lookups.getCartItems(), orderInDto.getCartItems());
 
-    updateWalletBalance(user, totalPrice);
+    BigDecimal totalPrice = calculateCartTotal(lookups.getCartItems());
+    validateWalletBalance(user, totalPrice.add(walletOutboxService.getPendingDebitTotal(user.getId())));
+    return totalPrice;
+  }
 
-    List<CartItemDto> cartItemDtos = cartItems.stream()
-      .map(cart -> new CartItemDto(cart.getFoodItemId(), cart.getQuantity(), cart.getPrice()))
+  /**
+   * Stores the items of a saved order, queues its wallet debit, clears the cart it was placed from, adds it to
+   * the kitchen queue of its restaurant, counts it in the daily sales and schedules its confirmation for when its
+   * cancellation window closes.
+   *
+   * @param order     the saved order
+   * @param cartItems the cart items the order was priced from
+   */
+  private void completePlacement(final Order order, final List<Cart> cartItems) {
+    List<OrderItem> orderItems = cartItems.stream()
+      .map(cart -> new OrderItem(null, order.getId(), cart.getRestaurantId(), cart.getFoodItemId(),
+        cart.getQuantity(), cart.getPrice()))
       .collect(Collectors.toList());
+    orderItemRepository.saveAll(orderItems);
+    walletOutboxService.enqueueDebit(order);
+
+    cartService.clearAuthorizedCart(order.getUserId(), order.getRestaurantId());
+    orderEventService.publish(order, OrderEventType.PLACED);
+    orderStatusWatchService.statusChanged(order.getId(), OrderStatus.PLACED, null);
+    OrderOutDto queued = DtoConversion.convertOrderToOrderOutDto(order);
+    queued.setCartItems(orderItems.stream().map(DtoConversion::convertOrderItemToCartItemDto).collect(Collectors.toList()));
+    kitchenQueueService.add(queued);
+    salesCounterService.record(order, OrderStatus.PLACED);
+    orderConfirmationService.schedule(order);
+    log.info("Order placed successfully for userId: {}, orderId: {}", order.getUserId(), order.getId());
+  }
+  /**
+   * Resolves the user, the delivery address, the restaurant and the cart items needed to place an order.
+   * <p>
+   * The lookups either run one after another or, when asynchronous lookups are enabled, concurrently on the
+   * lookup executor. In both modes the results are validated in the same order (user role, delivery address,
+   * restaurant, cart) so the first failing check decides the error returned to the caller.
+   * </p>
+   *
+   * @param orderInDto DTO containing the details of the order to be placed
+   * @return the validated user together with the cart items
+   */
+  private PlacementLookups resolveLookups(final OrderInDto orderInDto) {
+    if (!asyncLookupsEnabled) {
+      UserOutDto user = getUser(orderInDto.getUserId());
+      validateUserRole(user.getUserRole());
 
-    Order order = createOrder(orderInDto, totalPrice, cartItemDtos);
-    orderRepository.save(order);
+      List<AddressOutDto> addresses = getAddresses(orderInDto.getUserId());
+      validateAddress(orderInDto.getDeliveryAddressId(), addresses);
 
-    cartService.clearCartAfterOrderPlaced(orderInDto.getUserId(), orderInDto.getRestaurantId());
-    log.info("Order placed successfully for userId: {}, orderId: {}", orderInDto.getUserId(), order.getId());
-    return new MessageOutDto(OrderConstants.ORDER_PLACED_SUCCESSFULLY);
+      validateRestaurant(orderInDto.getRestaurantId());
+      return new PlacementLookups(user, getCartItems(orderInDto));
+    }
+
+    long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(lookupTimeoutMs);
+    CompletableFuture<UserOutDto> userFuture = CompletableFuture.supplyAsync(
+      RemoteCallCounter.propagate(() -> getUser(orderInDto.getUserId())), lookupExecutor);
+    CompletableFuture<List<AddressOutDto>> addressesFuture = CompletableFuture.supplyAsync(
+      RemoteCallCounter.propagate(() -> getAddresses(orderInDto.getUserId())), lookupExecutor);
+    CompletableFuture<Integer> restaurantFuture = CompletableFuture.supplyAsync(
+      RemoteCallCounter.propagate(() -> validateRestaurant(orderInDto.getRestaurantId())), lookupExecutor);
+    CompletableFuture<List<Cart>> cartFuture = CompletableFuture.supplyAsync(
+      RemoteCallCounter.propagate(() -> getCartItems(orderInDto)), lookupExecutor);
+    try {
+      UserOutDto user = awaitLookup(userFuture, deadline);
+      validateUserRole(user.getUserRole());
+
+      validateAddress(orderInDto.getDeliveryAddressId(), awaitLookup(addressesFuture, deadline));
+
+      awaitLookup(restaurantFuture, deadline);
+      return new PlacementLookups(user, awaitLookup(cartFuture, deadline));
+    } finally {
+      userFuture.cancel(false);
+      addressesFuture.cancel(false);
+      restaurantFuture.cancel(false);
+      cartFuture.cancel(false);
+    }
+  }
+
+  /**
+   * Waits for a lookup to complete without going past the overall deadline.
+   * Exceptions raised by the lookup are rethrown unchanged so callers see the same errors as in sequential mode.
+   *
+   * @param future   the running lookup
+   * @param deadline the {@link System#nanoTime()} value after which waiting is abandoned
+   * @param <T>      the type of the lookup result
+   * @return the result of the lookup
+   * @throws ServiceUnavailableException if the lookup does not complete before the deadline
+   */
+  private <T> T awaitLookup(final CompletableFuture<T> future, final long deadline) {
+    long remaining = Math.max(0L, deadline - System.nanoTime());
+    try {
+      return future.get(remaining, TimeUnit.NANOSECONDS);
+    } catch (TimeoutException e) {
+      log.error("Order placement lookup did not complete within {} ms", lookupTimeoutMs);
+      throw new ServiceUnavailableException(OrderConstants.ORDER_LOOKUP_TIMEOUT);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new ServiceUnavailableException(OrderConstants.ORDER_LOOKUP_TIMEOUT);
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      throw new IllegalStateException("Order placement lookup failed", cause);
+    }
   }
+
   /**
    * Retrieves a user by their ID.
+   * The user is always read from the User service so the wallet balance used by the order is current.
    *
    * @param userId The ID of the user to be fetched
    * @return UserOutDto representing the fetched user
@@ -113,17 +466,17 @@ public class OrderServiceImpl implements OrderService {
 
   private UserOutDto getUser(final Integer userId) {
     log.debug("Fetching user with userId: {}", userId);
-    return userClient.getUserById(userId);
+    return userLookupService.getUserWithBalance(userId);
   }
   /**
    * Validates the role of the user.
    * Throws an exception if the user is not a customer.
    *
-   * @param user The user to be validated
+   * @param userRole The role of the user to be validated
    */
-  private void validateUserRole(final UserOutDto user) {
-    log.debug("Validating user role for userId: {}", user.getId());
-    if (!user.getUserRole().equals(UserRole.CUSTOMER)) {
+  private void validateUserRole(final UserRole userRole) {
+    log.debug("Validating user role: {}", userRole);
+    if (!UserRole.CUSTOMER.equals(userRole)) {
       throw new AccessDeniedException(OrderConstants.CUSTOMER_NOT_FOUND);
     }
   }
@@ -153,7 +506,20 @@ public class OrderServiceImpl implements OrderService {
     }
   }
   /**
-   * Retrieves cart items for a user and restaurant.
+   * Confirms that the restaurant of the order exists.
+   *
+   * @param restaurantId The ID of the restaurant
+   * @return the validated restaurant ID
+   * @throws ResourceNotFoundException if the restaurant does not exist
+   */
+  private Integer validateRestaurant(final Integer restaurantId) {
+    log.debug("Validating restaurant with restaurantId: {}", restaurantId);
+    restaurantLookupService.requireRestaurant(restaurantId);
+    return restaurantId;
+  }
+
+  /**
+   * Retrieves cart items for a user and restaurant that have already been validated.
    * Throws an exception if the cart is empty.
    *
    * @param orderInDto DTO containing order details
@@ -163,8 +529,7 @@ public class OrderServiceImpl implements OrderService {
     log.info("Fetching cart items for user ID: {} and restaurant ID: {}", orderInDto.getUserId(),
       orderInDto.getRestaurantId());
 
-    List<Cart> cartItems = cartService.getCartItemsByUserIdAndRestaurantId(orderInDto.getUserId(),
-      orderInDto.getRestaurantId());
+    List<Cart> cartItems = cartService.getAuthorizedCartItems(orderInDto.getUserId(), orderInDto.getRestaurantId());
 
     if (cartItems.isEmpty()) {
       log.error("No items found in the cart for user ID: {} and restaurant ID: {}",
@@ -175,39 +540,63 @@ public class OrderServiceImpl implements OrderService {
   }
 
   /**
-   * Validates that the cart items match the provided cart items DTO.
-   * Logs a warning if some items do not match but proceeds without error.
+   * Compares the cart items with the items submitted with the order.
    *
    * @param cartItems List of Cart entities representing the items in the cart
-   * @param cartItemsDto List of CartItemDto representing the cart items to be validated
+   * @param cartItemsDto List of CartItemDto representing the submitted items
+   * @return The differences between the submitted items and the cart
    */
-  public void validateCartItems(final List<Cart> cartItems, final List<CartItemDto> cartItemsDto) {
-    boolean allItemsValid = cartItemsDto.stream()
-      .allMatch(cartItemDto -> cartItems.stream()
-        .anyMatch(cartItem -> cartItem.getFoodItemId().equals(cartItemDto.getFoodItemId())
-          && cartItem.getQuantity().equals(cartItemDto.getQuantity())
-          && cartItem.getPrice().compareTo(cartItemDto.getPrice()) == 0));
-
-    if (allItemsValid) {
+  public CartDiffDto validateCartItems(final List<Cart> cartItems, final List<CartItemDto> cartItemsDto) {
+    CartDiffDto diff = CartReconciler.reconcile(cartItems, cartItemsDto);
+    if (diff.isEmpty()) {
       log.info("All cart items validated successfully.");
     } else {
-      log.error("Some cart items do not match but proceeding without errors.");
+      log.warn("Submitted items differ from the cart: {}", diff);
+    }
+    return diff;
+  }
+
+  /**
+   * Reconciles the submitted items with the cart before an order is charged.
+   * <p>
+   * An order whose items or quantities no longer match the cart is rejected, since the customer would
+   * receive something other than what they confirmed. Price differences alone do not reject the order:
+   * the order is re-priced from the cart, which holds the prices verified when the items were added.
+   * An empty submission carries no snapshot to compare against and the cart is taken as is.
+   * </p>
+   *
+   * @param cartItems List of Cart entities representing the items in the cart
+   * @param cartItemsDto List of CartItemDto representing the submitted items
+   * @throws ResourceConflictException if items are missing, extra or have a different quantity
+   */
+  private void reconcileCartItems(final List<Cart> cartItems, final List<CartItemDto> cartItemsDto) {
+    if (cartItemsDto == null || cartItemsDto.isEmpty()) {
+      return;
+    }
+    CartDiffDto diff = validateCartItems(cartItems, cartItemsDto);
+    if (diff.hasItemChanges()) {
+      throw new ResourceConflictException(OrderConstants.CART_ITEMS_CHANGED);
+    }
+    if (!diff.getPriceChanges().isEmpty()) {
+      log.info("Re-pricing {} items from the cart", diff.getPriceChanges().size());
     }
   }
+
   /**
-   * Calculates the total price of the cart items.
+   * Calculates the total price of the items in the cart from their line prices.
    *
-   * @param cartItems List of CartItemDto representing the items in the cart
+   * @param cartItems List of Cart entities representing the items in the cart
    * @return BigDecimal representing the total price
    */
-  public BigDecimal calculateTotalPrice(final List<CartItemDto> cartItems) {
+  public BigDecimal calculateCartTotal(final List<Cart> cartItems) {
     BigDecimal totalPrice = cartItems.stream()
-      .map(item -> item.getPrice().multiply(BigDecimal.valueOf(item.getQuantity())))
+      .map(Cart::getPrice)
       .reduce(BigDecimal.ZERO, BigDecimal::add);
 
     log.info("Total price calculated: {}", totalPrice);
     return totalPrice;
   }
+
   /**
    * Validates that the user has sufficient wallet balance to place the order.
    * Throws an exception if the balance is insufficient.
@@ -223,137 +612,416 @@ public class OrderServiceImpl implements OrderService {
     log.info("Wallet balance validated successfully.");
   }
   /**
-   * Updates the user's wallet balance by deducting the order total.
-   *
-   * @param user The user whose wallet balance is to be updated
-   * @param totalPrice The total price to be deducted
-   */
-  private void updateWalletBalance(final UserOutDto user, final BigDecimal totalPrice) {
-    userClient.updateWalletBalance(user.getId(), totalPrice.negate());
-    log.info("Wallet balance updated for userId: {}. Amount deducted: {}", user.getId(), totalPrice);
-  }
-
-  /**
-   * Creates an order entity from the provided order details and cart items.
+   * Creates an order entity from the provided order details.
+   * The ordered items are not part of the entity; they are stored separately as {@link OrderItem} rows.
    *
    * @param orderInDto DTO containing order details
    * @param totalPrice The total price of the order
-   * @param validCartItems List of CartItemDto representing the valid cart items
    * @return Order entity with the specified details
    */
-  public Order createOrder(final OrderInDto orderInDto, final BigDecimal totalPrice, final List<CartItemDto> validCartItems) {
+  public Order createOrder(final OrderInDto orderInDto, final BigDecimal totalPrice) {
     Order order = DtoConversion.convertOrderInDtoToOrder(orderInDto);
     order.setRestaurantId(orderInDto.getRestaurantId());
     order.setOrderStatus(OrderStatus.PLACED);
     order.setOrderTime(LocalDateTime.now());
-    try {
-      order.setCartItems(objectMapper.writeValueAsString(validCartItems));
-    } catch (JsonProcessingException e) {
-      log.error("Failed to process cart items", e);
-      throw new RuntimeException("Failed to process cart items", e);
-    }
+    order.setCartItems(null);
     order.setTotalPrice(totalPrice);
     log.info("Order created with ID: {}", order.getId());
     return order;
   }
 
   /**
-   * Cancels an existing order if it is within the allowed cancellation time.
-   * Updates the order status to CANCELLED and refunds the total price to the user's wallet.
+   * Cancels an existing order if it is within the cancellation window of its restaurant.
+   * Moves the order to CANCELLED with a conditional update and queues the refund of the total price in the same
+   * transaction; a debit that has not been delivered yet is withdrawn instead. Of a concurrent cancel and complete
+   * only one moves the order, so the refund is queued at most once. An order still waiting for an intake worker
+   * is cancelled without any wallet update; one being processed or already rejected cannot be cancelled.
    *
    * @param orderId The ID of the order to be cancelled
    * @return A MessageOutDto indicating the success of the cancellation
    * @throws ResourceNotFoundException if the order with the given ID is not found
-   * @throws ResourceConflictException if the cancellation time has expired (more than 30 seconds since order creation)
+   * @throws ResourceConflictException if the cancellation window has closed or the order was confirmed, the order
+   *                                   is being processed, or its status no longer allows cancelling it
    */
   @Override
+  @Transactional
   public MessageOutDto cancelOrder(final Integer orderId) {
     Order order = orderRepository.findById(orderId)
       .orElseThrow(() -> new ResourceNotFoundException(OrderConstants.ORDER_NOT_FOUND));
 
-    if (order.getOrderTime().plusSeconds(30).isBefore(LocalDateTime.now())) {
+    Duration window = orderConfirmationService.getCancellationWindow(order.getRestaurantId());
+    if (order.getOrderStatus() == OrderStatus.CONFIRMED || order.getOrderTime().plus(window).isBefore(LocalDateTime.now())) {
       log.error("Order cancellation time exceeded for orderId: {}", orderId);
       throw new ResourceConflictException(OrderConstants.ORDER_CANCELLED_FAILURE);
     }
+    if (order.getOrderStatus() == OrderStatus.PENDING || order.getOrderStatus() == OrderStatus.PROCESSING) {
+      if (!orderRepository.transition(orderId, OrderStatus.PENDING, OrderStatus.CANCELLED, null)) {
+        throw new ResourceConflictException(OrderConstants.ORDER_BEING_PROCESSED);
+      }
+      orderStatusWatchService.statusChanged(orderId, OrderStatus.CANCELLED, null);
+      log.info("Pending order cancelled before processing with ID: {}", orderId);
+      return new MessageOutDto(OrderConstants.ORDER_CANCELLED_SUCCESSFULLY);
+    }
+    if (order.getOrderStatus() != OrderStatus.PLACED
+      || !orderRepository.transition(orderId, OrderStatus.PLACED, OrderStatus.CANCELLED, null)) {
+      log.warn("OrderId: {} in status {} cannot be cancelled", orderId, order.getOrderStatus());
+      throw new ResourceConflictException(OrderConstants.ORDER_NOT_CANCELLABLE);
+    }
 
-    userClient.updateWalletBalance(order.getUserId(), order.getTotalPrice());
-
-    order.setOrderStatus(OrderStatus.CANCELLED);
-    orderRepository.save(order);
+    markTransitioned(order, OrderStatus.CANCELLED);
+    walletOutboxService.enqueueRefund(order);
+    orderEventService.publish(order, OrderEventType.CANCELLED);
+    orderStatusWatchService.statusChanged(orderId, OrderStatus.CANCELLED, null);
+    kitchenQueueService.statusChanged(order, OrderStatus.CANCELLED);
+    salesCounterService.record(order, OrderStatus.CANCELLED);
 
     log.info("Order cancelled successfully with ID: {}", orderId);
     return new MessageOutDto(OrderConstants.ORDER_CANCELLED_SUCCESSFULLY);
   }
+
   /**
-   * Retrieves all orders associated with a specific user.
-   * Validates the user's role and fetches orders based on the user's ID.
+   * Retrieves one page of the orders associated with a specific user, most recent first.
+   * Validates the user's role and fetches the page after the given cursor.
    *
    * @param userId The ID of the user whose orders are to be retrieved
-   * @return A list of OrderOutDto representing the orders for the specified user
+   * @param cursor The cursor returned with the previous page, or null for the first page
+   * @param limit The requested page size, or null for the default; capped at the maximum page size
+   * @return An OrderPageOutDto with the orders of the page and the cursor of the next page
    * @throws ResourceNotFoundException if the user with the given ID is not found
    * @throws AccessDeniedException if the user does not have the appropriate role (not CUSTOMER)
+   * @throws InvalidRequestException if the cursor or page size is invalid
    */
   @Override
-  public List<OrderOutDto> getOrdersByUserId(final Integer userId) {
-    UserOutDto user = getUser(userId);
-    validateUserRole(user);
-    List<Order> orders = orderRepository.findByUserId(userId);
-    List<OrderOutDto> orderOutDtos = orders.stream()
-      .map(this::convertOrderToOrderOutDto)
-      .collect(Collectors.toList());
+  public OrderPageOutDto getOrdersByUserId(final Integer userId, final String cursor, final Integer limit) {
+    validateUserRole(userLookupService.getUserRole(userId));
+    int pageSize = resolvePageSize(limit);
 
-    log.info("Retrieved {} orders for userId: {}", orderOutDtos.size(), userId);
-    return orderOutDtos;
+    List<Order> orders;
+    if (cursor == null) {
+      orders = orderRepository.findFirstPageByUserId(userId, pageSize + 1);
+    } else {
+      OrderCursor position = OrderCursor.decode(cursor);
+      orders = orderRepository.findPageByUserIdBefore(userId, position.getOrderTime(), position.getId(), pageSize + 1);
+    }
+    OrderPageOutDto page = toPage(orders, pageSize);
+
+    log.info("Retrieved {} orders for userId: {}", page.getOrders().size(), userId);
+    return page;
   }
 
   /**
-   * Retrieves all orders associated with a specific restaurant.
-   * Fetches orders based on the restaurant's ID.
+   * Retrieves one page of the orders associated with a specific restaurant, most recent first.
    *
    * @param restaurantId The ID of the restaurant whose orders are to be retrieved
-   * @return A list of OrderOutDto representing the orders for the specified restaurant
+   * @param cursor The cursor returned with the previous page, or null for the first page
+   * @param limit The requested page size, or null for the default; capped at the maximum page size
+   * @return An OrderPageOutDto with the orders of the page and the cursor of the next page
    * @throws ResourceNotFoundException if the restaurant with the given ID is not found
+   * @throws InvalidRequestException if the cursor or page size is invalid
    */
   @Override
-  public List<OrderOutDto> getOrdersByRestaurantId(final Integer restaurantId) {
-    FoodItemOutDto restaurant = restaurantClient.getRestaurantById(restaurantId);
+  public OrderPageOutDto getOrdersByRestaurantId(final Integer restaurantId, final String cursor, final Integer limit) {
+    restaurantLookupService.requireRestaurant(restaurantId);
+    int pageSize = resolvePageSize(limit);
 
-    List<Order> orders = orderRepository.findByRestaurantId(restaurantId);
-    List<OrderOutDto> orderOutDtos = orders.stream()
-      .map(this::convertOrderToOrderOutDto)
-      .collect(Collectors.toList());
+    List<Order> orders;
+    if (cursor == null) {
+      orders = orderRepository.findFirstPageByRestaurantId(restaurantId, pageSize + 1);
+    } else {
+      OrderCursor position = OrderCursor.decode(cursor);
+      orders = orderRepository.findPageByRestaurantIdBefore(restaurantId, position.getOrderTime(), position.getId(),
+        pageSize + 1);
+    }
+    OrderPageOutDto page = toPage(orders, pageSize);
+
+    log.info("Retrieved {} orders for restaurantId: {}", page.getOrders().size(), restaurantId);
+    return page;
+  }
+
+  /**
+   * Retrieves the oldest active orders of a restaurant from its in-memory kitchen queue, without reading
+   * the database.
+   *
+   * @param restaurantId The ID of the restaurant
+   * @param limit The requested number of orders, or null for the default; capped at the maximum page size
+   * @return The placed and confirmed orders of the restaurant, oldest first
+   * @throws ResourceNotFoundException if the restaurant does not exist
+   * @throws InvalidRequestException if the limit is invalid
+   */
+  @Override
+  public List<OrderOutDto> getKitchenQueue(final Integer restaurantId, final Integer limit) {
+    restaurantLookupService.requireRestaurant(restaurantId);
+    List<OrderOutDto> queue = kitchenQueueService.getQueue(restaurantId, resolvePageSize(limit));
+    log.info("Retrieved {} queued orders for restaurantId: {}", queue.size(), restaurantId);
+    return queue;
+  }
+
+  /**
+   * Restores the next batch of placed and confirmed orders into the kitchen queues, loading the items of the
+   * batch with a single query.
+   *
+   * @param afterId   only orders with an ID greater than this are restored
+   * @param batchSize the maximum number of orders restored
+   * @return the ID of the last order restored, or {@code null} if no active order remains after {@code afterId}
+   */
+  @Override
+  public Integer restoreKitchenQueueBatch(final Integer afterId, final int batchSize) {
+    List<Order> orders = orderRepository.findByOrderStatusInAndIdGreaterThan(
+      Arrays.asList(OrderStatus.PLACED, OrderStatus.CONFIRMED), afterId, PageRequest.of(0, batchSize, Sort.by("id")));
+    if (orders.isEmpty()) {
+      return null;
+    }
+    kitchenQueueService.restore(convertOrdersToOrderOutDtos(orders));
+    return orders.get(orders.size() - 1).getId();
+  }
+
+  /**
+   * Resolves the page size of an order listing.
+   *
+   * @param limit The requested page size, or null for the default
+   * @return The page size to use, never larger than {@link OrderConstants#MAX_ORDER_PAGE_SIZE}
+   * @throws InvalidRequestException if the requested page size is not positive
+   */
+  private int resolvePageSize(final Integer limit) {
+    if (limit == null) {
+      return OrderConstants.DEFAULT_ORDER_PAGE_SIZE;
+    }
+    if (limit < 1) {
+      throw new InvalidRequestException(OrderConstants.INVALID_PAGE_SIZE);
+    }
+    return Math.min(limit, OrderConstants.MAX_ORDER_PAGE_SIZE);
+  }
+
+  /**
+   * Builds a page from orders fetched with one more row than the page size; the extra row only signals
+   * that a further page exists and is not returned.
+   *
+   * @param orders The fetched orders, at most one more than the page size
+   * @param pageSize The page size
+   * @return The page, with a next cursor positioned at its last order if more orders exist
+   */
+  private OrderPageOutDto toPage(final List<Order> orders, final int pageSize) {
+    boolean hasMore = orders.size() > pageSize;
+    List<Order> pageOrders = hasMore ? orders.subList(0, pageSize) : orders;
+    String nextCursor = hasMore ? OrderCursor.of(pageOrders.get(pageSize - 1)).encode() : null;
+    return new OrderPageOutDto(convertOrdersToOrderOutDtos(pageOrders), nextCursor);
+  }
+  /**
+   * Retrieves per food item sales figures of a restaurant, aggregated in the database over the
+   * {@code order_items} table. Cancelled orders are not counted.
+   *
+   * @param restaurantId The ID of the restaurant
+   * @return A list of FoodItemSalesOutDto, best selling food item first
+   * @throws ResourceNotFoundException if the restaurant with the given ID is not found
+   */
+  @Override
+  public List<FoodItemSalesOutDto> getItemSalesByRestaurantId(final Integer restaurantId) {
+    restaurantLookupService.requireRestaurant(restaurantId);
+
+    List<FoodItemSalesOutDto> sales = orderItemRepository.findFoodItemSalesByRestaurantId(restaurantId, OrderStatus.CANCELLED);
+    log.info("Retrieved sales of {} food items for restaurantId: {}", sales.size(), restaurantId);
+    return sales;
+  }
+
+  /**
+   * Retrieves the sales figures of a restaurant for one day from the in-memory sales counters and their
+   * rollups, without reading the restaurant's orders.
+   *
+   * @param restaurantId The ID of the restaurant
+   * @param date The day, or null for today
+   * @return The order count, revenue and cancellation rate of the day
+   * @throws ResourceNotFoundException if the restaurant with the given ID is not found
+   */
+  @Override
+  public RestaurantSalesOutDto getDailySalesByRestaurantId(final Integer restaurantId, final LocalDate date) {
+    restaurantLookupService.requireRestaurant(restaurantId);
+
+    RestaurantSalesOutDto sales = salesCounterService.getSales(restaurantId, date == null ? LocalDate.now() : date);
+    log.info("Retrieved sales of {} for restaurantId: {}", sales.getDate(), restaurantId);
+    return sales;
+  }
+
+  /**
+   * Checks that the orders of a restaurant can be exported for the given date range.
+   * Runs before the response is committed, so failures still produce a regular error response.
+   *
+   * @param restaurantId The ID of the restaurant
+   * @param from The first day of the range
+   * @param to The last day of the range
+   * @throws InvalidRequestException if the range is missing or ends before it starts
+   * @throws ResourceNotFoundException if the restaurant with the given ID is not found
+   */
+  @Override
+  public void validateOrderExport(final Integer restaurantId, final LocalDate from, final LocalDate to) {
+    if (from == null || to == null || from.isAfter(to)) {
+      throw new InvalidRequestException(OrderConstants.INVALID_EXPORT_RANGE);
+    }
+    restaurantLookupService.requireRestaurant(restaurantId);
+  }
+
+  /**
+   * Writes the orders of a restaurant placed in a date range to a stream, oldest first.
+   * <p>
+   * Orders are read through a database cursor and handled in batches: each batch has its items loaded with a
+   * single query, is written out, and is then evicted from the persistence context. Memory use therefore
+   * depends on the batch size only, not on the number of exported orders.
+   * </p>
+   *
+   * @param restaurantId The ID of the restaurant
+   * @param from The first day of the range
+   * @param to The last day of the range, inclusive
+   * @param format The format to write the orders in
+   * @param out The stream to write to; it is flushed but not closed
+   * @return The number of orders written
+   * @throws IOException if writing to the stream fails
+   */
+  @Override
+  @Transactional(readOnly = true)
+  public int exportOrdersByRestaurantId(final Integer restaurantId, final LocalDate from, final LocalDate to,
+                                        final ExportFormat format, final OutputStream out) throws IOException {
+    Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+    if (format == ExportFormat.CSV) {
+      writer.write(CSV_HEADER);
+      writer.write('\n');
+    }
+
+    int exported = 0;
+    try (Stream<Order> orders = orderRepository.streamByRestaurantIdAndOrderTimeRange(restaurantId,
+      from.atStartOfDay(), to.plusDays(1).atStartOfDay())) {
+      Iterator<Order> iterator = orders.iterator();
+      List<Order> batch = new ArrayList<>(EXPORT_BATCH_SIZE);
+      while (iterator.hasNext()) {
+        batch.add(iterator.next());
+        if (batch.size() == EXPORT_BATCH_SIZE || !iterator.hasNext()) {
+          for (OrderOutDto order : convertOrdersToOrderOutDtos(batch)) {
+            writeExportRow(order, format, writer);
+          }
+          exported += batch.size();
+          batch.clear();
+          entityManager.clear();
+        }
+      }
+    }
+    writer.flush();
 
-    log.info("Retrieved {} orders for restaurantId: {}", orderOutDtos.size(), restaurantId);
-    return orderOutDtos;
+    log.info("Exported {} orders for restaurantId: {} from {} to {}", exported, restaurantId, from, to);
+    return exported;
+  }
+
+  /**
+   * Writes one order as a line of an export.
+   *
+   * @param order The order to write
+   * @param format The format of the export
+   * @param writer The writer of the export
+   * @throws IOException if writing fails
+   */
+  private void writeExportRow(final OrderOutDto order, final ExportFormat format, final Writer writer) throws IOException {
+    if (format == ExportFormat.NDJSON) {
+      writer.write(exportMapper.writeValueAsString(order));
+    } else {
+      String items = order.getCartItems().stream()
+        .map(item -> item.getFoodItemId() + ":" + item.getQuantity() + ":" + item.getPrice())
+        .collect(Collectors.joining(";"));
+      writer.write(order.getId() + "," + order.getUserId() + "," + order.getRestaurantId() + ","
+        + order.getDeliveryAddressId() + "," + order.getOrderStatus() + "," + order.getOrderTime() + ","
+        + order.getTotalPrice() + "," + items);
+    }
+    writer.write('\n');
   }
+
   /**
-   * Marks an order as completed and updates its status in the repository.
+   * Marks a placed or confirmed order as completed with a conditional update, so an order cancelled concurrently
+   * is never completed as well. A placed order confirmed in the meantime is completed from its confirmed status.
    *
    * @param orderId The ID of the order to be marked as completed
    * @param userId The ID of the user performing the action
    * @return A MessageOutDto indicating the success of the operation
    * @throws ResourceNotFoundException if the order with the given ID is not found
+   * @throws ResourceConflictException if the order is neither placed nor confirmed
    */
   @Override
+  @Transactional
   public MessageOutDto markOrderAsCompleted(final Integer orderId, final Integer userId) {
     Order order = orderRepository.findById(orderId)
       .orElseThrow(() -> new ResourceNotFoundException(OrderConstants.ORDER_NOT_FOUND));
 
-    order.setOrderStatus(OrderStatus.COMPLETED);
-    orderRepository.save(order);
+    OrderStatus status = order.getOrderStatus();
+    boolean completed = status == OrderStatus.PLACED
+      && orderRepository.transition(orderId, OrderStatus.PLACED, OrderStatus.COMPLETED, null);
+    if (!completed && (status == OrderStatus.PLACED || status == OrderStatus.CONFIRMED)) {
+      completed = orderRepository.transition(orderId, OrderStatus.CONFIRMED, OrderStatus.COMPLETED, null);
+    }
+    if (!completed) {
+      log.warn("OrderId: {} in status {} cannot be completed", orderId, order.getOrderStatus());
+      throw new ResourceConflictException(OrderConstants.ORDER_NOT_COMPLETABLE);
+    }
+    markTransitioned(order, OrderStatus.COMPLETED);
+    orderEventService.publish(order, OrderEventType.COMPLETED);
+    orderStatusWatchService.statusChanged(orderId, OrderStatus.COMPLETED, null);
+    kitchenQueueService.statusChanged(order, OrderStatus.COMPLETED);
+    salesCounterService.record(order, OrderStatus.COMPLETED);
 
     log.info("Order marked as completed with ID: {}", orderId);
     return new MessageOutDto(OrderConstants.ORDER_COMPLETED_SUCCESSFULLY);
   }
 
+  /**
+   * Brings a loaded order in line with a status change already written by a conditional update.
+   * The order is detached first, so the change is not written a second time when the transaction flushes.
+   *
+   * @param order       the loaded order
+   * @param orderStatus the status the order was moved to
+   */
+  private void markTransitioned(final Order order, final OrderStatus orderStatus) {
+    entityManager.detach(order);
+    order.setOrderStatus(orderStatus);
+  }
+
+  /**
+   * Converts a list of Order entities to OrderOutDtos, loading the items of all the orders with a single query.
+   *
+   * @param orders The Order entities to be converted
+   * @return A list of OrderOutDto in the same order as the given entities
+   */
+  private List<OrderOutDto> convertOrdersToOrderOutDtos(final List<Order> orders) {
+    List<Integer> orderIds = orders.stream()
+      .filter(order -> order.getCartItems() == null)
+      .map(Order::getId)
+      .collect(Collectors.toList());
+    Map<Integer, List<CartItemDto>> itemsByOrderId = orderIds.isEmpty() ? Collections.emptyMap()
+      : orderItemRepository.findByOrderIdIn(orderIds).stream()
+        .collect(Collectors.groupingBy(OrderItem::getOrderId,
+          Collectors.mapping(DtoConversion::convertOrderItemToCartItemDto, Collectors.toList())));
+
+    return orders.stream()
+      .map(order -> {
+        if (order.getCartItems() != null) {
+          return convertOrderToOrderOutDto(order);
+        }
+        OrderOutDto dto = DtoConversion.convertOrderToOrderOutDto(order);
+        dto.setCartItems(itemsByOrderId.getOrDefault(order.getId(), Collections.emptyList()));
+        return dto;
+      })
+      .collect(Collectors.toList());
+  }
+
   /**
    * Converts an Order entity to an OrderOutDto.
+   * Orders not yet migrated to the {@code order_items} table still carry their items as a JSON string,
+   * which is parsed instead.
    *
    * @param order The Order entity to be converted
    * @return An OrderOutDto representing the converted order
    */
   public OrderOutDto convertOrderToOrderOutDto(final Order order) {
     OrderOutDto dto = DtoConversion.convertOrderToOrderOutDto(order);
+    if (order.getCartItems() == null) {
+      dto.setCartItems(orderItemRepository.findByOrderId(order.getId()).stream()
+        .map(DtoConversion::convertOrderItemToCartItemDto)
+        .collect(Collectors.toList()));
+      return dto;
+    }
     try {
       List<CartItemDto> cartItems = objectMapper.readValue(order.getCartItems(),
         TypeFactory.defaultInstance().constructCollectionType(List.class, CartItemDto.class));
@@ -364,4 +1032,49 @@ public class OrderServiceImpl implements OrderService {
     }
     return dto;
   }
+
+  /**
+   * Results of the lookups performed before an order is placed.
+   */
+  private static final class PlacementLookups {
+
+    /**
+     * The user placing the order.
+     */
+    private final UserOutDto user;
+
+    /**
+     * The cart items of the user for the ordered restaurant.
+     */
+    private final List<Cart> cartItems;
+
+    /**
+     * Creates a holder for the placement lookups.
+     *
+     * @param user      the user placing the order
+     * @param cartItems the cart items of the user for the ordered restaurant
+     */
+    PlacementLookups(final UserOutDto user, final List<Cart> cartItems) {
+      this.user = user;
+      this.cartItems = cartItems;
+    }
+
+    /**
+     * Returns the user placing the order.
+     *
+     * @return the user
+     */
+    UserOutDto getUser() {
+      return user;
+    }
+
+    /**
+     * Returns the cart items of the user for the ordered restaurant.
+     *
+     * @return the cart items
+     */
+    List<Cart> getCartItems() {
+      return cartItems;
+    }
+  }
 }
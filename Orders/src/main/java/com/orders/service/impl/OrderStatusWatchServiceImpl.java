@@ -0,0 +1,158 @@
+package com.orders.service.impl;
+
+import com.orders.constants.OrderConstants;
+import com.orders.dto.OrderStatusOutDto;
+import com.orders.exception.ResourceNotFoundException;
+import com.orders.repositories.OrderRepository;
+import com.orders.service.OrderStatusWatchService;
+import com.orders.utils.AfterCommit;
+import com.orders.utils.OrderStatus;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Service implementation of order status long-polling.
+ * <p>
+ * Waiting requests are {@link DeferredResult}s indexed by order ID, so a status change completes exactly the
+ * requests watching that order and a waiting request holds no thread. A watch is registered before the status is
+ * read again, so a change committed in between is never missed. Both reads select the status columns directly:
+ * with the session held open for the whole request, reading the entity again would return the instance
+ * cached by the first read. The number of watches is bounded; beyond it a
+ * watch completes right away with the current status and the client simply polls again.
+ * </p>
+ */
+@Slf4j
+@Service
+public class OrderStatusWatchServiceImpl implements OrderStatusWatchService, MeterBinder {
+
+  /**
+   * Waiting requests, keyed by order ID.
+   */
+  private final ConcurrentMap<Integer, Set<DeferredResult<OrderStatusOutDto>>> watches = new ConcurrentHashMap<>();
+
+  /**
+   * Number of waiting requests.
+   */
+  private final AtomicInteger watchCount = new AtomicInteger();
+
+  /**
+   * Repository dependency for order-related operations.
+   */
+  @Autowired
+  private OrderRepository orderRepository;
+
+  /**
+   * Longest time a request waits for a status change, in milliseconds.
+   */
+  @Value("${orders.status-watch.timeout-ms:30000}")
+  private long timeoutMs;
+
+  /**
+   * Maximum number of waiting requests.
+   */
+  @Value("${orders.status-watch.max-watches:10000}")
+  private int maxWatches;
+
+  /**
+   * Waits for the status of an order to differ from the given status.
+   *
+   * @param orderId the ID of the order
+   * @param since   the status the client last saw
+   * @return a result completed with the new status, or with the unchanged status once the wait times out
+   * @throws ResourceNotFoundException if the order does not exist
+   */
+  @Override
+  public DeferredResult<OrderStatusOutDto> watch(final Integer orderId, final OrderStatus since) {
+    OrderStatusOutDto current = readStatus(orderId);
+    DeferredResult<OrderStatusOutDto> result = new DeferredResult<>(timeoutMs, () -> current);
+    if (current.getOrderStatus() != since || watchCount.get() >= maxWatches) {
+      result.setResult(current);
+      return result;
+    }
+
+    watchCount.incrementAndGet();
+    watches.compute(orderId, (id, waiting) -> {
+      Set<DeferredResult<OrderStatusOutDto>> registered = waiting == null ? ConcurrentHashMap.newKeySet() : waiting;
+      registered.add(result);
+      return registered;
+    });
+    result.onCompletion(() -> unregister(orderId, result));
+
+    OrderStatusOutDto latest = readStatus(orderId);
+    if (latest.getOrderStatus() != since) {
+      result.setResult(latest);
+    }
+    log.debug("Watching status of orderId: {} since {}", orderId, since);
+    return result;
+  }
+
+  /**
+   * Completes the watches of an order whose status changed, after the current transaction commits if there is one.
+   *
+   * @param orderId      the ID of the order
+   * @param orderStatus  the new status
+   * @param statusReason the reason stored with the new status, or {@code null}
+   */
+  @Override
+  public void statusChanged(final Integer orderId, final OrderStatus orderStatus, final String statusReason) {
+    OrderStatusOutDto changed = new OrderStatusOutDto(orderId, orderStatus, statusReason);
+    AfterCommit.run(() -> {
+      Set<DeferredResult<OrderStatusOutDto>> waiting = watches.get(orderId);
+      if (waiting != null) {
+        for (DeferredResult<OrderStatusOutDto> result : waiting) {
+          result.setResult(changed);
+        }
+      }
+    });
+  }
+
+  /**
+   * Registers the number of waiting requests.
+   *
+   * @param registry the registry to bind the metrics to
+   */
+  @Override
+  public void bindTo(final MeterRegistry registry) {
+    Gauge.builder("orders.status.watches", watchCount, AtomicInteger::get)
+      .description("Requests waiting for an order status change")
+      .register(registry);
+  }
+
+  /**
+   * Reads the current status of an order from the database.
+   *
+   * @param orderId the ID of the order
+   * @return the status of the order
+   * @throws ResourceNotFoundException if the order does not exist
+   */
+  private OrderStatusOutDto readStatus(final Integer orderId) {
+    return orderRepository.findStatusById(orderId)
+      .orElseThrow(() -> new ResourceNotFoundException(OrderConstants.ORDER_NOT_FOUND));
+  }
+
+  /**
+   * Removes a completed watch from the registry.
+   *
+   * @param orderId the ID of the order
+   * @param result  the completed watch
+   */
+  private void unregister(final Integer orderId, final DeferredResult<OrderStatusOutDto> result) {
+    watches.computeIfPresent(orderId, (id, waiting) -> {
+      if (waiting.remove(result)) {
+        watchCount.decrementAndGet();
+      }
+      return waiting.isEmpty() ? null : waiting;
+    });
+  }
+}
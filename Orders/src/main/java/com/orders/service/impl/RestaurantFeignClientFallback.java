@@ -1,55 +1,170 @@
 package com.orders.service.impl;
 
+import com.orders.constants.OrderConstants;
 import com.orders.dto.FoodItemOutDto;
+import com.orders.dto.FoodItemPriceOutDto;
+import com.orders.dto.RestaurantOutDto;
+import com.orders.exception.ServiceUnavailableException;
+import com.orders.service.LastKnownGoodFallback;
 import com.orders.service.RestaurantFeignClient;
+import com.orders.utils.LastKnownGoodCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
 
-import java.math.BigDecimal;
+import javax.annotation.PostConstruct;
+import java.util.Arrays;
+import java.util.List;
 
 /**
  * Fallback implementation of {@link RestaurantFeignClient} to handle cases where the Restaurant service is unavailable.
  * <p>
- * This class provides default responses for the methods in {@link RestaurantFeignClient} when the main service fails.
+ * Lookups are answered from the last successful responses of the Restaurant service, as long as they are not
+ * older than the maximum staleness configured for the data served. Prices are never served from the cache:
+ * a food item returned by the fallback has no price, and price lookups fail. Lookups with no recent enough
+ * response fail with a {@link ServiceUnavailableException}.
  * </p>
  */
 @Slf4j
-public class RestaurantFeignClientFallback implements RestaurantFeignClient {
+@Component
+public class RestaurantFeignClientFallback implements RestaurantFeignClient, LastKnownGoodFallback, MeterBinder {
+
+  /**
+   * Name of the Restaurant service in error messages.
+   */
+  private static final String SERVICE_NAME = "Restaurant service";
+
+  /**
+   * Name of the last-known-good cache in exported metrics.
+   */
+  private static final String CACHE_NAME = "restaurant-fallback";
+
+  /**
+   * Time after which a remembered response is dropped, in milliseconds.
+   */
+  @Value("${orders.fallback.retention-ms:3600000}")
+  private long retentionMs;
+
+  /**
+   * Maximum number of remembered responses.
+   */
+  @Value("${orders.fallback.max-size:10000}")
+  private int maxSize;
+
+  /**
+   * Maximum age of a restaurant served by the fallback, in milliseconds.
+   */
+  @Value("${orders.fallback.max-staleness-ms.restaurant:1800000}")
+  private long restaurantMaxStalenessMs;
+
+  /**
+   * Maximum age of the details of a food item served by the fallback, in milliseconds.
+   */
+  @Value("${orders.fallback.max-staleness-ms.food-item:1800000}")
+  private long foodItemMaxStalenessMs;
+
+  /**
+   * Last successful responses of the Restaurant service.
+   */
+  private LastKnownGoodCache lastKnownGood;
+
+  /**
+   * Creates the last-known-good cache once the configuration has been injected.
+   */
+  @PostConstruct
+  void initCache() {
+    lastKnownGood = new LastKnownGoodCache(Arrays.asList("getRestaurantById", "getFoodItemById"), retentionMs, maxSize);
+  }
+
+  /**
+   * Returns the cache the Restaurant service responses are remembered in.
+   *
+   * @return the last-known-good cache
+   */
+  @Override
+  public LastKnownGoodCache getLastKnownGood() {
+    return lastKnownGood;
+  }
 
   /**
    * Fallback method for retrieving a restaurant by its ID.
-   * <p>
-   * Provides a default response when the Restaurant service is down or unreachable.
-   * </p>
    *
    * @param id The ID of the restaurant.
-   * @return A {@link FoodItemOutDto} object with default values.
+   * @return The last known {@link RestaurantOutDto}.
+   * @throws ServiceUnavailableException if no recent enough response is known for the restaurant
    */
   @Override
-  public FoodItemOutDto getRestaurantById(final Integer id) {
-    log.error("Fallback method for getRestaurantById called. RestaurantId: {}", id);
-    FoodItemOutDto fallbackRestaurant = new FoodItemOutDto();
-    fallbackRestaurant.setId(id);
-    fallbackRestaurant.setItemName("Fallback Restaurant");
-    fallbackRestaurant.setPrice(BigDecimal.ZERO);
-    return fallbackRestaurant;
+  public RestaurantOutDto getRestaurantById(final Integer id) {
+    RestaurantOutDto lastKnown = lastKnownGood.recall("getRestaurantById", restaurantMaxStalenessMs,
+      RestaurantOutDto.class, id);
+    if (lastKnown == null) {
+      log.error("Fallback for getRestaurantById has no recent data. RestaurantId: {}", id);
+      throw unavailable();
+    }
+    log.warn("Fallback serving last known restaurant for getRestaurantById. RestaurantId: {}", id);
+    return lastKnown;
   }
 
   /**
    * Fallback method for retrieving a food item by its ID.
    * <p>
-   * Provides a default response when the Restaurant service is down or unreachable.
+   * Returns the last known details of the food item without its price, since a stale price must never be
+   * charged.
    * </p>
    *
    * @param id The ID of the food item.
-   * @return A {@link FoodItemOutDto} object with default values.
+   * @return A {@link FoodItemOutDto} with the last known details and no price.
+   * @throws ServiceUnavailableException if no recent enough response is known for the food item
    */
   @Override
   public FoodItemOutDto getFoodItemById(final Integer id) {
-    log.error("Fallback method for getFoodItemById called. FoodItemId: {}", id);
+    FoodItemOutDto lastKnown = lastKnownGood.recall("getFoodItemById", foodItemMaxStalenessMs, FoodItemOutDto.class, id);
+    if (lastKnown == null) {
+      log.error("Fallback for getFoodItemById has no recent data. FoodItemId: {}", id);
+      throw unavailable();
+    }
+    log.warn("Fallback serving last known food item without price for getFoodItemById. FoodItemId: {}", id);
     FoodItemOutDto fallbackFoodItem = new FoodItemOutDto();
     fallbackFoodItem.setId(id);
-    fallbackFoodItem.setItemName("Fallback Food Item");
-    fallbackFoodItem.setPrice(BigDecimal.ZERO);
+    fallbackFoodItem.setRestaurantId(lastKnown.getRestaurantId());
+    fallbackFoodItem.setItemName(lastKnown.getItemName());
     return fallbackFoodItem;
   }
+
+  /**
+   * Fallback method for retrieving the prices of several food items.
+   * <p>
+   * Prices are never served from the cache, so this always fails.
+   * </p>
+   *
+   * @param ids The IDs of the food items.
+   * @return never returns normally
+   * @throws ServiceUnavailableException always
+   */
+  @Override
+  public List<FoodItemPriceOutDto> getFoodItemPrices(final List<Integer> ids) {
+    log.error("Fallback refuses to serve stale prices for getFoodItemPrices. FoodItemIds: {}", ids);
+    throw unavailable();
+  }
+
+  /**
+   * Registers the hit, miss and eviction counters and the size of the last-known-good cache.
+   *
+   * @param registry the registry to bind the metrics to
+   */
+  @Override
+  public void bindTo(final MeterRegistry registry) {
+    lastKnownGood.registerMetrics(registry, CACHE_NAME);
+  }
+
+  /**
+   * Creates the error raised when the fallback has nothing recent enough to serve.
+   *
+   * @return the error
+   */
+  private static ServiceUnavailableException unavailable() {
+    return new ServiceUnavailableException(String.format(OrderConstants.DOWNSTREAM_UNAVAILABLE, SERVICE_NAME));
+  }
 }
@@ -0,0 +1,139 @@
+package com.orders.service.impl;
+
+import com.orders.constants.OrderConstants;
+import com.orders.exception.ResourceNotFoundException;
+import com.orders.service.RestaurantFeignClient;
+import com.orders.service.RestaurantLookupService;
+import com.orders.utils.ExpiringCache;
+import feign.FeignException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Implementation of {@link RestaurantLookupService} backed by the {@link RestaurantFeignClient}.
+ * <p>
+ * A restaurant found by the Restaurant service is cached as existing for the configured time to live.
+ * A restaurant reported as not found is cached as missing for a much shorter time, so a bad id cannot
+ * hammer the Restaurant service while a newly created restaurant still becomes usable quickly.
+ * </p>
+ */
+@Service
+@Slf4j
+public class RestaurantLookupServiceImpl implements RestaurantLookupService, MeterBinder {
+
+  /**
+   * Name of the restaurant existence cache in exported metrics.
+   */
+  private static final String CACHE_NAME = "restaurant";
+
+  /**
+   * Client used to call the Restaurant service.
+   */
+  @Autowired
+  private RestaurantFeignClient restaurantClient;
+
+  /**
+   * Time to live of a cached existing restaurant, in milliseconds.
+   */
+  @Value("${orders.cache.restaurant.ttl-ms:300000}")
+  private long ttlMs;
+
+  /**
+   * Time to live of a cached missing restaurant, in milliseconds.
+   */
+  @Value("${orders.cache.restaurant.negative-ttl-ms:10000}")
+  private long negativeTtlMs;
+
+  /**
+   * Maximum number of cached restaurant ids.
+   */
+  @Value("${orders.cache.restaurant.max-size:5000}")
+  private int maxSize;
+
+  /**
+   * Cache of existence results keyed by restaurant ID; {@code true} for existing, {@code false} for missing.
+   */
+  private ExpiringCache<Integer, Boolean> existenceCache;
+
+  /**
+   * Creates the existence cache once the configuration has been injected.
+   */
+  @PostConstruct
+  void initCache() {
+    existenceCache = new ExpiringCache<>(ttlMs, maxSize);
+  }
+
+  /**
+   * Ensures that a restaurant exists, calling the Restaurant service only on a cache miss.
+   *
+   * @param restaurantId the ID of the restaurant
+   * @throws ResourceNotFoundException if the restaurant does not exist
+   */
+  @Override
+  public void requireRestaurant(final Integer restaurantId) {
+    Boolean exists = existenceCache.get(restaurantId);
+    if (exists == null) {
+      log.debug("Restaurant cache miss for restaurantId: {}", restaurantId);
+      exists = loadExistence(restaurantId);
+    }
+    if (!exists) {
+      log.error("Restaurant not found for restaurantId: {}", restaurantId);
+      throw new ResourceNotFoundException(OrderConstants.RESTAURANT_NOT_FOUND);
+    }
+  }
+
+  /**
+   * Removes the cached existence result of a restaurant.
+   *
+   * @param restaurantId the ID of the restaurant
+   */
+  @Override
+  public void invalidate(final Integer restaurantId) {
+    log.info("Invalidating cached restaurant for restaurantId: {}", restaurantId);
+    existenceCache.invalidate(restaurantId);
+  }
+
+  /**
+   * Removes the cached existence result of every restaurant.
+   */
+  @Override
+  public void invalidateAll() {
+    log.info("Invalidating all cached restaurants");
+    existenceCache.invalidateAll();
+  }
+
+  /**
+   * Registers the hit, miss and eviction counters and the size of the existence cache.
+   *
+   * @param registry the registry to bind the metrics to
+   */
+  @Override
+  public void bindTo(final MeterRegistry registry) {
+    existenceCache.registerMetrics(registry, CACHE_NAME);
+  }
+
+  /**
+   * Asks the Restaurant service whether a restaurant exists and caches the answer.
+   * Errors other than "not found" are not cached and propagate to the caller.
+   *
+   * @param restaurantId the ID of the restaurant
+   * @return {@code true} if the restaurant exists
+   */
+  private boolean loadExistence(final Integer restaurantId) {
+    try {
+      restaurantClient.getRestaurantById(restaurantId);
+    } catch (FeignException.NotFound e) {
+      existenceCache.put(restaurantId, Boolean.FALSE, negativeTtlMs, TimeUnit.MILLISECONDS);
+      return false;
+    }
+    existenceCache.put(restaurantId, Boolean.TRUE);
+    return true;
+  }
+}
@@ -0,0 +1,291 @@
+package com.orders.service.impl;
+
+import com.orders.dto.RestaurantSalesOutDto;
+import com.orders.entities.Order;
+import com.orders.entities.RestaurantSalesRollup;
+import com.orders.repositories.RestaurantSalesRollupRepository;
+import com.orders.service.SalesCounterService;
+import com.orders.utils.AfterCommit;
+import com.orders.utils.OrderStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Service implementation of the daily sales counters.
+ * <p>
+ * Each (restaurant, day, status) key has a pair of {@link LongAdder}s for the order count and the revenue in
+ * cents. A {@code LongAdder} spreads contended increments over per-thread cells, so order threads hitting the
+ * same restaurant do not retry on one shared value, and recording an order takes no lock. The adders are never
+ * reset: a flush writes the difference between their sums and what it wrote before, which loses no increment
+ * made while it runs. Reads add the counts not flushed yet to the rollup rows, so figures recorded on this
+ * instance show up at once and those of other instances after their next flush.
+ * </p>
+ * <p>
+ * Counters of past days are dropped once fully flushed. An order of a past day is therefore added to its counter
+ * inside {@link ConcurrentHashMap#compute}, and the flush drops that counter inside
+ * {@link ConcurrentHashMap#computeIfPresent} after checking it again, so the two hold the same bin lock and an
+ * order can neither be added to a dropped counter nor be dropped unflushed. Orders of today keep the lock-free
+ * path: their counters are only dropped once the day is older than {@link #RETAINED_DAYS}.
+ * </p>
+ * <p>
+ * Every status is counted on the day the order was placed, not the day it changed status. A day's figures
+ * therefore describe the orders placed that day: the revenue nets out their cancellations and the cancellation
+ * rate is the share of them that were cancelled, even when an order is cancelled or completed after midnight.
+ * </p>
+ */
+@Slf4j
+@Service
+public class SalesCounterServiceImpl implements SalesCounterService {
+
+  /**
+   * Number of days before today whose counters are kept in memory; older fully flushed counters are dropped.
+   */
+  private static final int RETAINED_DAYS = 1;
+
+  /**
+   * Repository holding the flushed counts.
+   */
+  @Autowired
+  private RestaurantSalesRollupRepository rollupRepository;
+
+  /**
+   * Counters of each restaurant, day and status.
+   */
+  private final ConcurrentMap<SalesKey, SalesCounter> counters = new ConcurrentHashMap<>();
+
+  /**
+   * Counts an order that reached a status, on the day the order was placed, once the transaction commits.
+   *
+   * @param order       the order
+   * @param orderStatus the status it reached
+   */
+  @Override
+  public void record(final Order order, final OrderStatus orderStatus) {
+    Integer restaurantId = order.getRestaurantId();
+    LocalDate orderDate = order.getOrderTime().toLocalDate();
+    long cents = toCents(order.getTotalPrice());
+    AfterCommit.run(() -> add(new SalesKey(restaurantId, orderDate, orderStatus), cents));
+  }
+
+  /**
+   * Returns the sales figures of a restaurant for one day: the flushed rollups plus the counts of this
+   * instance not flushed yet.
+   *
+   * @param restaurantId the ID of the restaurant
+   * @param date         the day
+   * @return the figures of the day
+   */
+  @Override
+  public RestaurantSalesOutDto getSales(final Integer restaurantId, final LocalDate date) {
+    Map<OrderStatus, long[]> totals = new EnumMap<>(OrderStatus.class);
+    for (RestaurantSalesRollup rollup : rollupRepository.findByRestaurantIdAndSalesDate(restaurantId, date)) {
+      totals.put(rollup.getOrderStatus(), new long[] {rollup.getOrderCount(), toCents(rollup.getRevenue())});
+    }
+    for (OrderStatus status : new OrderStatus[] {OrderStatus.PLACED, OrderStatus.COMPLETED, OrderStatus.CANCELLED}) {
+      SalesCounter counter = counters.get(new SalesKey(restaurantId, date, status));
+      long[] total = totals.computeIfAbsent(status, s -> new long[2]);
+      if (counter != null) {
+        total[0] += counter.count.sum() - counter.flushedCount;
+        total[1] += counter.cents.sum() - counter.flushedCents;
+      }
+    }
+    long placed = totals.get(OrderStatus.PLACED)[0];
+    long cancelled = totals.get(OrderStatus.CANCELLED)[0];
+    long revenueCents = totals.get(OrderStatus.PLACED)[1] - totals.get(OrderStatus.CANCELLED)[1];
+    return new RestaurantSalesOutDto(restaurantId, date, placed, BigDecimal.valueOf(revenueCents, 2),
+      totals.get(OrderStatus.COMPLETED)[0], cancelled, placed == 0 ? 0.0 : (double) cancelled / placed);
+  }
+
+  /**
+   * Adds the counts recorded since the previous flush to the rollup table, one upsert per changed key, and
+   * drops the counters of past days once they are fully flushed. Stops at the first failed upsert; the
+   * remaining counts are written by the next flush.
+   *
+   * @return the number of rollups written
+   */
+  @Override
+  public synchronized int flush() {
+    LocalDate oldestRetained = LocalDate.now().minusDays(RETAINED_DAYS);
+    int written = 0;
+    for (Map.Entry<SalesKey, SalesCounter> entry : counters.entrySet()) {
+      SalesKey key = entry.getKey();
+      SalesCounter counter = entry.getValue();
+      long count = counter.count.sum();
+      long cents = counter.cents.sum();
+      if (count != counter.flushedCount || cents != counter.flushedCents) {
+        rollupRepository.addToRollup(key.restaurantId, key.date, key.orderStatus.name(), count - counter.flushedCount,
+          BigDecimal.valueOf(cents - counter.flushedCents, 2));
+        counter.flushedCount = count;
+        counter.flushedCents = cents;
+        written++;
+      } else if (key.date.isBefore(oldestRetained)) {
+        counters.computeIfPresent(key, (k, current) -> current == counter && current.isFlushed() ? null : current);
+      }
+    }
+    if (written > 0) {
+      log.info("Flushed {} sales rollups", written);
+    }
+    return written;
+  }
+
+  /**
+   * Writes the remaining counts before the application stops.
+   */
+  @PreDestroy
+  public void flushOnShutdown() {
+    try {
+      flush();
+    } catch (RuntimeException e) {
+      log.error("Flushing sales counters on shutdown failed", e);
+    }
+  }
+
+  /**
+   * Adds an order to the counter of a key. Orders of today go through the lock-free counter lookup; orders of
+   * past days are added under the bin lock the flush takes to drop their counter.
+   *
+   * @param key        the key
+   * @param orderCents the total price of the order, in cents
+   */
+  private void add(final SalesKey key, final long orderCents) {
+    if (!key.date.isBefore(LocalDate.now())) {
+      counterFor(key).add(orderCents);
+      return;
+    }
+    counters.compute(key, (k, counter) -> {
+      SalesCounter current = counter != null ? counter : new SalesCounter();
+      current.add(orderCents);
+      return current;
+    });
+  }
+
+  /**
+   * Returns the counter of a key, creating it on first use. The lookup is tried first, since
+   * {@link ConcurrentHashMap#computeIfAbsent} locks the bin even when the key is present.
+   *
+   * @param key the key
+   * @return the counter
+   */
+  private SalesCounter counterFor(final SalesKey key) {
+    SalesCounter counter = counters.get(key);
+    return counter != null ? counter : counters.computeIfAbsent(key, k -> new SalesCounter());
+  }
+
+  /**
+   * Converts an amount to cents.
+   *
+   * @param amount the amount, or {@code null} for none
+   * @return the amount in cents, rounded half up
+   */
+  private static long toCents(final BigDecimal amount) {
+    return amount == null ? 0 : amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+  }
+
+  /**
+   * Counts of one restaurant, day and status.
+   */
+  private static final class SalesCounter {
+
+    /**
+     * Number of orders recorded.
+     */
+    private final LongAdder count = new LongAdder();
+
+    /**
+     * Total price of the orders recorded, in cents.
+     */
+    private final LongAdder cents = new LongAdder();
+
+    /**
+     * Number of orders already written to the rollup table; only written by {@link #flush()}.
+     */
+    private volatile long flushedCount;
+
+    /**
+     * Cents already written to the rollup table; only written by {@link #flush()}.
+     */
+    private volatile long flushedCents;
+
+    /**
+     * Records one order.
+     *
+     * @param orderCents the total price of the order, in cents
+     */
+    void add(final long orderCents) {
+      count.increment();
+      cents.add(orderCents);
+    }
+
+    /**
+     * Tells whether every order recorded has been written to the rollup table.
+     *
+     * @return whether the counter is fully flushed
+     */
+    boolean isFlushed() {
+      return count.sum() == flushedCount && cents.sum() == flushedCents;
+    }
+  }
+
+  /**
+   * Key of a counter: a restaurant, a day and a status.
+   */
+  private static final class SalesKey {
+
+    /**
+     * ID of the restaurant.
+     */
+    private final Integer restaurantId;
+
+    /**
+     * The day.
+     */
+    private final LocalDate date;
+
+    /**
+     * The status reached.
+     */
+    private final OrderStatus orderStatus;
+
+    /**
+     * Creates a key.
+     *
+     * @param restaurantId the ID of the restaurant
+     * @param date         the day
+     * @param orderStatus  the status reached
+     */
+    SalesKey(final Integer restaurantId, final LocalDate date, final OrderStatus orderStatus) {
+      this.restaurantId = restaurantId;
+      this.date = date;
+      this.orderStatus = orderStatus;
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+      if (this == other) {
+        return true;
+      }
+      if (!(other instanceof SalesKey)) {
+        return false;
+      }
+      SalesKey key = (SalesKey) other;
+      return Objects.equals(restaurantId, key.restaurantId) && date.equals(key.date) && orderStatus == key.orderStatus;
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(restaurantId, date, orderStatus);
+    }
+  }
+}
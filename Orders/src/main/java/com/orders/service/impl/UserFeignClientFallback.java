@@ -1,91 +1,191 @@
 package com.orders.service.impl;
 
+import com.orders.constants.OrderConstants;
 import com.orders.dto.AddressOutDto;
 import com.orders.dto.UserOutDto;
+import com.orders.dto.WalletTransactionInDto;
+import com.orders.dto.WalletTransactionOutDto;
+import com.orders.exception.ServiceUnavailableException;
+import com.orders.service.LastKnownGoodFallback;
 import com.orders.service.UserFeignClient;
-import com.orders.utils.UserRole;
+import com.orders.utils.LastKnownGoodCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
 
-import java.math.BigDecimal;
+import javax.annotation.PostConstruct;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
 /**
  * Fallback implementation of {@link UserFeignClient} to handle scenarios where the User service is unavailable.
  * <p>
- * This class provides default responses for the methods in {@link UserFeignClient} when the main service fails.
+ * Lookups are answered from the last successful responses of the User service, as long as they are not older
+ * than the maximum staleness configured for the data served. Wallet balances are never served from the cache:
+ * a user returned by the fallback carries its last known role but no balance. Lookups with no recent enough
+ * response fail with a {@link ServiceUnavailableException}.
  * </p>
  */
 @Slf4j
-public class UserFeignClientFallback implements UserFeignClient {
+@Component
+public class UserFeignClientFallback implements UserFeignClient, LastKnownGoodFallback, MeterBinder {
+
+  /**
+   * Name of the User service in error messages.
+   */
+  private static final String SERVICE_NAME = "User service";
+
+  /**
+   * Name of the last-known-good cache in exported metrics.
+   */
+  private static final String CACHE_NAME = "user-fallback";
+
+  /**
+   * Time after which a remembered response is dropped, in milliseconds.
+   */
+  @Value("${orders.fallback.retention-ms:3600000}")
+  private long retentionMs;
+
+  /**
+   * Maximum number of remembered responses.
+   */
+  @Value("${orders.fallback.max-size:10000}")
+  private int maxSize;
+
+  /**
+   * Maximum age of a user role served by the fallback, in milliseconds.
+   */
+  @Value("${orders.fallback.max-staleness-ms.user-role:600000}")
+  private long roleMaxStalenessMs;
+
+  /**
+   * Maximum age of an address served by the fallback, in milliseconds.
+   */
+  @Value("${orders.fallback.max-staleness-ms.address:3600000}")
+  private long addressMaxStalenessMs;
+
+  /**
+   * Last successful responses of the User service.
+   */
+  private LastKnownGoodCache lastKnownGood;
+
+  /**
+   * Creates the last-known-good cache once the configuration has been injected.
+   */
+  @PostConstruct
+  void initCache() {
+    lastKnownGood = new LastKnownGoodCache(Arrays.asList("getUserById", "getAddressesByUserId", "getAddressById"),
+      retentionMs, maxSize);
+  }
+
+  /**
+   * Returns the cache the User service responses are remembered in.
+   *
+   * @return the last-known-good cache
+   */
+  @Override
+  public LastKnownGoodCache getLastKnownGood() {
+    return lastKnownGood;
+  }
 
   /**
    * Fallback method for retrieving a user by their ID.
    * <p>
-   * Provides a default response when the User service is down or unreachable.
+   * Returns the last known role of the user. The wallet balance is left empty, since a stale balance must
+   * never be used to accept an order.
    * </p>
    *
    * @param id The ID of the user.
-   * @return A {@link UserOutDto} object with default values.
+   * @return A {@link UserOutDto} with the last known role and no wallet balance.
+   * @throws ServiceUnavailableException if no recent enough response is known for the user
    */
   @Override
   public UserOutDto getUserById(final Integer id) {
-    log.error("Fallback triggered for getUserById with id: {}", id);
+    UserOutDto lastKnown = lastKnownGood.recall("getUserById", roleMaxStalenessMs, UserOutDto.class, id);
+    if (lastKnown == null) {
+      log.error("Fallback for getUserById has no recent data for id: {}", id);
+      throw unavailable();
+    }
+    log.warn("Fallback serving last known role for getUserById with id: {}", id);
     UserOutDto fallbackUser = new UserOutDto();
     fallbackUser.setId(id);
-    fallbackUser.setUserRole(UserRole.CUSTOMER);
-    fallbackUser.setWalletBalance(BigDecimal.ZERO);
+    fallbackUser.setUserRole(lastKnown.getUserRole());
     return fallbackUser;
   }
 
   /**
-   * Fallback method for updating the wallet balance of a user.
+   * Fallback method for applying a batch of wallet transactions.
    * <p>
-   * This method does not perform any operation in fallback mode as it's not possible to update the balance
-   * without the main service.
+   * Returns no outcomes, so the wallet outbox keeps every entry pending and retries it later.
    * </p>
    *
-   * @param id     The ID of the user whose wallet balance is to be updated.
-   * @param amount The amount to be added to the wallet balance.
+   * @param transactions The wallet transactions that could not be delivered.
+   * @return An empty list of {@link WalletTransactionOutDto}.
    */
   @Override
-  public void updateWalletBalance(final Integer id, final BigDecimal amount) {
-    log.error("Fallback triggered for updateWalletBalance with user id: {}", id);
+  public List<WalletTransactionOutDto> applyWalletTransactions(final List<WalletTransactionInDto> transactions) {
+    log.error("Fallback triggered for applyWalletTransactions with {} transactions", transactions.size());
+    return Collections.emptyList();
   }
 
   /**
    * Fallback method for retrieving addresses by user ID.
-   * <p>
-   * Provides an empty list as a fallback response when the User service is down or unreachable.
-   * </p>
    *
    * @param userId The ID of the user whose addresses are to be retrieved.
-   * @return An empty list of {@link AddressOutDto}.
+   * @return The last known addresses of the user.
+   * @throws ServiceUnavailableException if no recent enough response is known for the user
    */
   @Override
+  @SuppressWarnings("unchecked")
   public List<AddressOutDto> getAddressesByUserId(final Integer userId) {
-    log.error("Fallback triggered for getAddressesByUserId with user id: {}", userId);
-    return Collections.emptyList();
+    List<AddressOutDto> lastKnown =
+      lastKnownGood.recall("getAddressesByUserId", addressMaxStalenessMs, List.class, userId);
+    if (lastKnown == null) {
+      log.error("Fallback for getAddressesByUserId has no recent data for user id: {}", userId);
+      throw unavailable();
+    }
+    log.warn("Fallback serving last known addresses for getAddressesByUserId with user id: {}", userId);
+    return lastKnown;
   }
 
   /**
    * Fallback method for retrieving an address by its ID.
-   * <p>
-   * Provides a default response when the User service is down or unreachable.
-   * </p>
    *
    * @param addressId The ID of the address.
-   * @return An {@link AddressOutDto} object with default values.
+   * @return The last known {@link AddressOutDto}.
+   * @throws ServiceUnavailableException if no recent enough response is known for the address
    */
   @Override
   public AddressOutDto getAddressById(final Integer addressId) {
-    log.error("Fallback triggered for getAddressById with address id: {}", addressId);
-    AddressOutDto fallbackAddress = new AddressOutDto();
-    fallbackAddress.setId(addressId);
-    fallbackAddress.setStreet("Fallback Street");
-    fallbackAddress.setCity("Fallback City");
-    fallbackAddress.setState("Fallback State");
-    fallbackAddress.setPincode(000000);
-    return fallbackAddress;
+    AddressOutDto lastKnown = lastKnownGood.recall("getAddressById", addressMaxStalenessMs, AddressOutDto.class,
+      addressId);
+    if (lastKnown == null) {
+      log.error("Fallback for getAddressById has no recent data for address id: {}", addressId);
+      throw unavailable();
+    }
+    log.warn("Fallback serving last known address for getAddressById with address id: {}", addressId);
+    return lastKnown;
+  }
+
+  /**
+   * Registers the hit, miss and eviction counters and the size of the last-known-good cache.
+   *
+   * @param registry the registry to bind the metrics to
+   */
+  @Override
+  public void bindTo(final MeterRegistry registry) {
+    lastKnownGood.registerMetrics(registry, CACHE_NAME);
+  }
+
+  /**
+   * Creates the error raised when the fallback has nothing recent enough to serve.
+   *
+   * @return the error
+   */
+  private static ServiceUnavailableException unavailable() {
+    return new ServiceUnavailableException(String.format(OrderConstants.DOWNSTREAM_UNAVAILABLE, SERVICE_NAME));
   }
 }
@@ -0,0 +1,149 @@
+package com.orders.service.impl;
+
+import com.orders.constants.OrderConstants;
+import com.orders.dto.UserOutDto;
+import com.orders.exception.ServiceUnavailableException;
+import com.orders.service.UserFeignClient;
+import com.orders.service.UserLookupService;
+import com.orders.utils.ExpiringCache;
+import com.orders.utils.UserRole;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+
+/**
+ * Implementation of {@link UserLookupService} backed by the {@link UserFeignClient}.
+ * <p>
+ * User roles are cached with a time to live and a maximum size. Wallet balances are never cached, so
+ * the balance check of order placement always sees the value held by the User service. A user answered by
+ * the {@link UserFeignClientFallback} carries no balance: its role is returned but not cached, so a stale role
+ * is not kept longer than the fallback allows, and balance lookups fail.
+ * </p>
+ */
+@Service
+@Slf4j
+public class UserLookupServiceImpl implements UserLookupService, MeterBinder {
+
+  /**
+   * Name of the user role cache in exported metrics.
+   */
+  private static final String CACHE_NAME = "user-role";
+
+  /**
+   * Client used to call the User service.
+   */
+  @Autowired
+  private UserFeignClient userClient;
+
+  /**
+   * Time to live of a cached user role, in milliseconds.
+   */
+  @Value("${orders.cache.user-role.ttl-ms:60000}")
+  private long roleTtlMs;
+
+  /**
+   * Maximum number of cached user roles.
+   */
+  @Value("${orders.cache.user-role.max-size:10000}")
+  private int roleMaxSize;
+
+  /**
+   * Cache of user roles keyed by user ID.
+   */
+  private ExpiringCache<Integer, UserRole> roleCache;
+
+  /**
+   * Creates the role cache once the configuration has been injected.
+   */
+  @PostConstruct
+  void initCache() {
+    roleCache = new ExpiringCache<>(roleTtlMs, roleMaxSize);
+  }
+
+  /**
+   * Retrieves the role of a user, calling the User service only on a cache miss.
+   *
+   * @param userId the ID of the user
+   * @return the role of the user
+   */
+  @Override
+  public UserRole getUserRole(final Integer userId) {
+    UserRole role = roleCache.get(userId);
+    if (role != null) {
+      return role;
+    }
+    log.debug("User role cache miss for userId: {}", userId);
+    return cacheRole(userId, userClient.getUserById(userId));
+  }
+
+  /**
+   * Retrieves a user with the current wallet balance from the User service and refreshes the cached role.
+   *
+   * @param userId the ID of the user
+   * @return the user with an up-to-date wallet balance
+   * @throws ServiceUnavailableException if the User service is unavailable and only a stale user is known
+   */
+  @Override
+  public UserOutDto getUserWithBalance(final Integer userId) {
+    UserOutDto user = userClient.getUserById(userId);
+    if (user != null && user.getWalletBalance() == null) {
+      log.error("Wallet balance unavailable for userId: {}", userId);
+      throw new ServiceUnavailableException(OrderConstants.WALLET_BALANCE_UNAVAILABLE);
+    }
+    cacheRole(userId, user);
+    return user;
+  }
+
+  /**
+   * Removes the cached role of a user.
+   *
+   * @param userId the ID of the user
+   */
+  @Override
+  public void invalidate(final Integer userId) {
+    log.info("Invalidating cached user data for userId: {}", userId);
+    roleCache.invalidate(userId);
+  }
+
+  /**
+   * Removes the cached role of every user.
+   */
+  @Override
+  public void invalidateAll() {
+    log.info("Invalidating all cached user data");
+    roleCache.invalidateAll();
+  }
+
+  /**
+   * Registers the hit, miss and eviction counters and the size of the role cache.
+   *
+   * @param registry the registry to bind the metrics to
+   */
+  @Override
+  public void bindTo(final MeterRegistry registry) {
+    roleCache.registerMetrics(registry, CACHE_NAME);
+  }
+
+  /**
+   * Caches the role carried by a user response. A user without a wallet balance was served by the fallback
+   * and its role is not cached.
+   *
+   * @param userId the ID of the user
+   * @param user   the user returned by the User service
+   * @return the role of the user
+   */
+  private UserRole cacheRole(final Integer userId, final UserOutDto user) {
+    if (user == null) {
+      return null;
+    }
+    if (user.getUserRole() != null && user.getWalletBalance() != null) {
+      roleCache.put(userId, user.getUserRole());
+    }
+    return user.getUserRole();
+  }
+}
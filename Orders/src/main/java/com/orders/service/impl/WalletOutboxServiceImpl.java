@@ -0,0 +1,355 @@
+package com.orders.service.impl;
+
+import com.orders.dto.WalletTransactionInDto;
+import com.orders.dto.WalletTransactionOutDto;
+import com.orders.entities.Order;
+import com.orders.entities.WalletOutboxEntry;
+import com.orders.repositories.OrderRepository;
+import com.orders.repositories.WalletOutboxRepository;
+import com.orders.service.KitchenQueueService;
+import com.orders.service.OrderEventService;
+import com.orders.service.OrderStatusWatchService;
+import com.orders.service.SalesCounterService;
+import com.orders.service.UserFeignClient;
+import com.orders.service.WalletOutboxService;
+import com.orders.utils.OrderEventType;
+import com.orders.utils.OrderStatus;
+import com.orders.utils.WalletOperation;
+import com.orders.utils.WalletOutboxStatus;
+import com.orders.utils.WalletTransactionStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Service implementation of the wallet outbox.
+ * <p>
+ * Debits and refunds are written to the {@code wallet_outbox} table in the caller's transaction and
+ * delivered in batches by {@link #relayPendingBatch()}. Every entry carries an idempotency key derived from
+ * its order, so an entry redelivered after a timeout is applied only once by the User service. The backlog
+ * depth, the age of the oldest pending entry and the delivery latency are exported as metrics.
+ * </p>
+ */
+@Slf4j
+@Service
+public class WalletOutboxServiceImpl implements WalletOutboxService, MeterBinder {
+
+  /**
+   * Longest error message kept on an entry.
+   */
+  private static final int MAX_ERROR_LENGTH = 255;
+
+  /**
+   * Repository dependency for the outbox entries.
+   */
+  @Autowired
+  private WalletOutboxRepository walletOutboxRepository;
+
+  /**
+   * Repository dependency for order-related operations.
+   */
+  @Autowired
+  private OrderRepository orderRepository;
+
+  /**
+   * Persistence context, detaching orders whose status was changed by a conditional update.
+   */
+  @PersistenceContext
+  private EntityManager entityManager;
+
+  /**
+   * Service publishing order events to the restaurant order streams.
+   */
+  @Autowired
+  private OrderEventService orderEventService;
+
+  /**
+   * Service completing the long-polls waiting for an order status change.
+   */
+  @Autowired
+  private OrderStatusWatchService orderStatusWatchService;
+
+  /**
+   * Service holding the in-memory kitchen queues of the restaurants.
+   */
+  @Autowired
+  private KitchenQueueService kitchenQueueService;
+
+  /**
+   * Service maintaining the daily sales counters of the restaurants.
+   */
+  @Autowired
+  private SalesCounterService salesCounterService;
+
+  /**
+   * Client used to deliver the entries to the User service.
+   */
+  @Autowired
+  private UserFeignClient userClient;
+
+  /**
+   * Maximum number of entries delivered per batch.
+   */
+  @Value("${orders.wallet-outbox.batch-size:100}")
+  private int batchSize;
+
+  /**
+   * Time from writing an entry to its settlement by the User service; set once metrics are bound.
+   */
+  private Timer deliveryLatency;
+
+  /**
+   * Number of entries rejected by the User service; set once metrics are bound.
+   */
+  private Counter rejectedEntries;
+
+  /**
+   * Records the debit of a placed order in the caller's transaction.
+   *
+   * @param order the saved order
+   */
+  @Override
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void enqueueDebit(final Order order) {
+    walletOutboxRepository.save(newEntry(order, WalletOperation.DEBIT));
+    log.info("Wallet debit of {} queued for orderId: {}", order.getTotalPrice(), order.getId());
+  }
+
+  /**
+   * Records the refund of a cancelled order in the caller's transaction.
+   * <p>
+   * A debit that is still pending is withdrawn with a conditional update instead: if the relay holds it at
+   * that moment, the update waits for the relay's transaction and then sees the delivered status, in which
+   * case a refund is queued after all. Nothing is queued when the debit was rejected or withdrawn. Orders
+   * placed before the outbox existed have no debit entry and are always refunded. An order is refunded at most once.
+   * </p>
+   *
+   * @param order the cancelled order
+   */
+  @Override
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void enqueueRefund(final Order order) {
+    String refundKey = idempotencyKey(order.getId(), WalletOperation.REFUND);
+    if (walletOutboxRepository.findByIdempotencyKey(refundKey).isPresent()) {
+      log.info("Wallet refund already queued for orderId: {}", order.getId());
+      return;
+    }
+    String debitKey = idempotencyKey(order.getId(), WalletOperation.DEBIT);
+    if (walletOutboxRepository.updateStatusIf(debitKey, WalletOutboxStatus.PENDING, WalletOutboxStatus.CANCELLED) == 1) {
+      log.info("Pending wallet debit withdrawn for cancelled orderId: {}", order.getId());
+      return;
+    }
+    Optional<WalletOutboxEntry> debit = walletOutboxRepository.findByIdempotencyKey(debitKey);
+    if (debit.isPresent() && debit.get().getStatus() != WalletOutboxStatus.DELIVERED) {
+      log.info("No refund needed for orderId: {}, debit is {}", order.getId(), debit.get().getStatus());
+      return;
+    }
+    walletOutboxRepository.save(newEntry(order, WalletOperation.REFUND));
+    log.info("Wallet refund of {} queued for orderId: {}", order.getTotalPrice(), order.getId());
+  }
+
+  /**
+   * Returns the total of the debits of a user that have not been delivered yet.
+   *
+   * @param userId the user ID
+   * @return the total of the pending debits
+   */
+  @Override
+  public BigDecimal getPendingDebitTotal(final Integer userId) {
+    return walletOutboxRepository.sumAmount(userId, WalletOperation.DEBIT, WalletOutboxStatus.PENDING);
+  }
+
+  /**
+   * Delivers the next batch of pending entries to the User service in a single call.
+   * <p>
+   * The entries stay locked until the outcome is recorded. Acknowledged entries are marked delivered or
+   * rejected; a rejected debit cancels its order. If the call fails, or an entry is missing from the
+   * response, the entry stays pending and is retried by a later batch with the same idempotency key.
+   * </p>
+   *
+   * @return the number of entries settled, either delivered or rejected
+   */
+  @Override
+  @Transactional
+  public int relayPendingBatch() {
+    List<WalletOutboxEntry> entries = walletOutboxRepository.claimPending(batchSize);
+    if (entries.isEmpty()) {
+      return 0;
+    }
+
+    List<WalletTransactionInDto> transactions = entries.stream()
+      .map(entry -> new WalletTransactionInDto(entry.getIdempotencyKey(), entry.getUserId(), signedAmount(entry)))
+      .collect(Collectors.toList());
+    List<WalletTransactionOutDto> outcomes;
+    try {
+      outcomes = userClient.applyWalletTransactions(transactions);
+    } catch (RuntimeException e) {
+      log.warn("Delivering {} wallet outbox entries failed: {}", entries.size(), e.getMessage());
+      entries.forEach(entry -> recordFailedAttempt(entry, e.getMessage()));
+      return 0;
+    }
+
+    Map<String, WalletTransactionStatus> statusByKey = new HashMap<>();
+    if (outcomes != null) {
+      outcomes.forEach(outcome -> statusByKey.put(outcome.getIdempotencyKey(), outcome.getStatus()));
+    }
+    int settled = 0;
+    LocalDateTime now = LocalDateTime.now();
+    for (WalletOutboxEntry entry : entries) {
+      WalletTransactionStatus status = statusByKey.get(entry.getIdempotencyKey());
+      if (status == null) {
+        recordFailedAttempt(entry, "Not acknowledged by the User service");
+        continue;
+      }
+      settled++;
+      entry.setDeliveredAt(now);
+      recordLatency(entry, now);
+      if (status == WalletTransactionStatus.APPLIED) {
+        entry.setStatus(WalletOutboxStatus.DELIVERED);
+      } else {
+        entry.setStatus(WalletOutboxStatus.REJECTED);
+        handleRejection(entry);
+      }
+    }
+    log.info("Settled {} of {} wallet outbox entries", settled, entries.size());
+    return settled;
+  }
+
+  /**
+   * Registers the backlog depth, the age of the oldest pending entry, the delivery latency and the
+   * number of rejected entries.
+   *
+   * @param registry the registry to bind the metrics to
+   */
+  @Override
+  public void bindTo(final MeterRegistry registry) {
+    Gauge.builder("orders.wallet.outbox.backlog", walletOutboxRepository,
+        repository -> repository.countByStatus(WalletOutboxStatus.PENDING))
+      .description("Wallet outbox entries waiting to be delivered")
+      .register(registry);
+    Gauge.builder("orders.wallet.outbox.oldest.age", this, WalletOutboxServiceImpl::oldestPendingAgeSeconds)
+      .description("Age of the oldest pending wallet outbox entry")
+      .baseUnit("seconds")
+      .register(registry);
+    deliveryLatency = Timer.builder("orders.wallet.outbox.delivery.latency")
+      .description("Time from writing a wallet outbox entry to its settlement")
+      .register(registry);
+    rejectedEntries = Counter.builder("orders.wallet.outbox.rejected")
+      .description("Wallet outbox entries rejected by the User service")
+      .register(registry);
+  }
+
+  /**
+   * Returns the idempotency key of an order's wallet operation.
+   *
+   * @param orderId   the order ID
+   * @param operation the operation
+   * @return the idempotency key
+   */
+  static String idempotencyKey(final Integer orderId, final WalletOperation operation) {
+    return "order-" + orderId + "-" + operation.name().toLowerCase();
+  }
+
+  /**
+   * Creates a pending entry for an order.
+   *
+   * @param order     the order
+   * @param operation the operation
+   * @return the new entry
+   */
+  private WalletOutboxEntry newEntry(final Order order, final WalletOperation operation) {
+    return new WalletOutboxEntry(null, idempotencyKey(order.getId(), operation), order.getId(), order.getUserId(),
+      operation, order.getTotalPrice(), WalletOutboxStatus.PENDING, 0, null, LocalDateTime.now(), null);
+  }
+
+  /**
+   * Returns the amount of an entry signed for the User service: negative for debits.
+   *
+   * @param entry the entry
+   * @return the signed amount
+   */
+  private BigDecimal signedAmount(final WalletOutboxEntry entry) {
+    return entry.getOperation() == WalletOperation.DEBIT ? entry.getAmount().negate() : entry.getAmount();
+  }
+
+  /**
+   * Counts a delivery attempt that did not settle an entry.
+   *
+   * @param entry the entry
+   * @param error the reason the attempt failed
+   */
+  private void recordFailedAttempt(final WalletOutboxEntry entry, final String error) {
+    entry.setAttempts(entry.getAttempts() + 1);
+    entry.setLastError(error == null || error.length() <= MAX_ERROR_LENGTH ? error : error.substring(0, MAX_ERROR_LENGTH));
+  }
+
+  /**
+   * Records the delivery latency of a settled entry.
+   *
+   * @param entry the entry
+   * @param now   the settlement time
+   */
+  private void recordLatency(final WalletOutboxEntry entry, final LocalDateTime now) {
+    if (deliveryLatency != null && entry.getCreatedAt() != null) {
+      deliveryLatency.record(Duration.between(entry.getCreatedAt(), now));
+    }
+  }
+
+  /**
+   * Handles an entry rejected by the User service. A rejected debit means the order was never paid for,
+   * so the order is cancelled with a conditional update if it is still placed or confirmed.
+   *
+   * @param entry the rejected entry
+   */
+  private void handleRejection(final WalletOutboxEntry entry) {
+    if (rejectedEntries != null) {
+      rejectedEntries.increment();
+    }
+    log.error("Wallet {} rejected for orderId: {}, userId: {}", entry.getOperation(), entry.getOrderId(), entry.getUserId());
+    if (entry.getOperation() != WalletOperation.DEBIT) {
+      return;
+    }
+    orderRepository.findById(entry.getOrderId())
+      .filter(order -> order.getOrderStatus() == OrderStatus.PLACED || order.getOrderStatus() == OrderStatus.CONFIRMED)
+      .filter(order -> orderRepository.transition(order.getId(), order.getOrderStatus(), OrderStatus.CANCELLED, null))
+      .ifPresent(order -> {
+        entityManager.detach(order);
+        order.setOrderStatus(OrderStatus.CANCELLED);
+        orderEventService.publish(order, OrderEventType.CANCELLED);
+        orderStatusWatchService.statusChanged(order.getId(), OrderStatus.CANCELLED, null);
+        kitchenQueueService.statusChanged(order, OrderStatus.CANCELLED);
+        salesCounterService.record(order, OrderStatus.CANCELLED);
+        log.info("Order cancelled after its wallet debit was rejected, orderId: {}", order.getId());
+      });
+  }
+
+  /**
+   * Returns the age of the oldest pending entry.
+   *
+   * @return the age in seconds, or zero if nothing is pending
+   */
+  private double oldestPendingAgeSeconds() {
+    return walletOutboxRepository.findFirstByStatusOrderByIdAsc(WalletOutboxStatus.PENDING)
+      .map(entry -> (double) Duration.between(entry.getCreatedAt(), LocalDateTime.now()).getSeconds())
+      .orElse(0.0);
+  }
+}
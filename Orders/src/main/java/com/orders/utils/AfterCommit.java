@@ -0,0 +1,40 @@
+package com.orders.utils;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Defers work until the current transaction commits.
+ * <p>
+ * Used for side effects that must only be seen once the data they describe is visible to other readers,
+ * such as notifying clients of a new order status. Outside a transaction the work runs right away.
+ * </p>
+ */
+public final class AfterCommit {
+
+  /**
+   * Prevents instantiation of this utility class.
+   */
+  private AfterCommit() {
+    throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+  }
+
+  /**
+   * Runs the given work once the current transaction commits, or right away if there is none.
+   * The work is dropped if the transaction rolls back.
+   *
+   * @param work the work to run
+   */
+  public static void run(final Runnable work) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      work.run();
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        work.run();
+      }
+    });
+  }
+}
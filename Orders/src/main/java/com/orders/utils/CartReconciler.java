@@ -0,0 +1,72 @@
+package com.orders.utils;
+
+import com.orders.dto.CartDiffDto;
+import com.orders.dto.CartItemChangeDto;
+import com.orders.dto.CartItemDto;
+import com.orders.entities.Cart;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compares the items submitted with an order against the user's cart.
+ * <p>
+ * Cart items are indexed by food item ID, so each submitted item is matched with a single lookup and the
+ * whole comparison is linear in the number of items. Prices are line prices and are compared by value,
+ * ignoring scale.
+ * </p>
+ */
+public final class CartReconciler {
+
+  /**
+   * Prevents instantiation of this utility class.
+   */
+  private CartReconciler() {
+    throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+  }
+
+  /**
+   * Computes the differences between the submitted items and the cart.
+   *
+   * @param cartItems      the items currently in the cart
+   * @param submittedItems the items submitted with the order
+   * @return the differences; empty if both describe the same items, quantities and prices
+   */
+  public static CartDiffDto reconcile(final List<Cart> cartItems, final List<CartItemDto> submittedItems) {
+    Map<Integer, Cart> cartByFoodItemId = new HashMap<>(cartItems.size() * 2);
+    for (Cart cart : cartItems) {
+      cartByFoodItemId.put(cart.getFoodItemId(), cart);
+    }
+
+    CartDiffDto diff = new CartDiffDto();
+    for (CartItemDto submitted : submittedItems) {
+      Cart cart = cartByFoodItemId.remove(submitted.getFoodItemId());
+      if (cart == null) {
+        diff.getMissingItems().add(submitted);
+      } else if (!cart.getQuantity().equals(submitted.getQuantity())) {
+        diff.getQuantityChanges().add(toChange(submitted, cart));
+      } else if (submitted.getPrice() == null || cart.getPrice().compareTo(submitted.getPrice()) != 0) {
+        diff.getPriceChanges().add(toChange(submitted, cart));
+      }
+    }
+    for (Cart cart : cartItems) {
+      if (cartByFoodItemId.containsKey(cart.getFoodItemId())) {
+        diff.getExtraItems().add(new CartItemDto(cart.getFoodItemId(), cart.getQuantity(), cart.getPrice()));
+      }
+    }
+    return diff;
+  }
+
+  /**
+   * Describes how a submitted item differs from its cart item.
+   *
+   * @param submitted the submitted item
+   * @param cart      the matching cart item
+   * @return the change
+   */
+  private static CartItemChangeDto toChange(final CartItemDto submitted, final Cart cart) {
+    return new CartItemChangeDto(submitted.getFoodItemId(), submitted.getQuantity(), cart.getQuantity(),
+      submitted.getPrice(), cart.getPrice());
+  }
+}
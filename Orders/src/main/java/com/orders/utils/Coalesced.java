@@ -0,0 +1,20 @@
+package com.orders.utils;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a read-only Feign client method whose concurrent calls with equal arguments share one remote call.
+ * <p>
+ * Only methods without side effects may be marked: callers arriving while a call is in flight receive its
+ * result instead of making their own call (see {@link CoalescingInvocationHandler}).
+ * </p>
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Coalesced {
+}
@@ -0,0 +1,113 @@
+package com.orders.utils;
+
+import feign.Feign;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Invocation handler of a Feign client that coalesces concurrent identical lookups.
+ * <p>
+ * Calls to a method marked {@link Coalesced} go through a {@link SingleFlight} keyed by their arguments, so
+ * requests for the same key arriving while a call is in flight share its result instead of each calling the
+ * remote service. Shared results are the same objects for every caller and must not be modified. Other methods
+ * are passed through unchanged. The number of requests that joined a call in flight is exported per method as
+ * {@code orders.feign.coalesced.calls}, tagged with the client and the call. Each of those requests is also
+ * recorded as a joined call on the {@link RemoteCallCounter} of the incoming request it belongs to, under the
+ * Feign config key the remote call would have been recorded with.
+ * </p>
+ */
+public final class CoalescingInvocationHandler implements InvocationHandler {
+
+  /**
+   * The handler doing the remote calls.
+   */
+  private final InvocationHandler delegate;
+
+  /**
+   * Calls in flight of each coalesced method, keyed by method.
+   */
+  private final Map<Method, SingleFlight<List<Object>, Object>> singleFlights;
+
+  /**
+   * Feign config keys of the coalesced methods, keyed by method.
+   */
+  private final Map<Method, String> configKeys;
+
+  /**
+   * Creates the handler.
+   *
+   * @param delegate      the handler doing the remote calls
+   * @param clientType    the client interface
+   * @param clientName    the name of the Feign client
+   * @param meterRegistry the registry of the coalescing counters, or {@code null} if metrics are disabled
+   */
+  public CoalescingInvocationHandler(final InvocationHandler delegate, final Class<?> clientType,
+                                     final String clientName, final MeterRegistry meterRegistry) {
+    this.delegate = delegate;
+    Map<Method, SingleFlight<List<Object>, Object>> flights = new HashMap<>();
+    Map<Method, String> keys = new HashMap<>();
+    for (Method method : clientType.getMethods()) {
+      if (!method.isAnnotationPresent(Coalesced.class)) {
+        continue;
+      }
+      SingleFlight<List<Object>, Object> singleFlight = new SingleFlight<>();
+      flights.put(method, singleFlight);
+      keys.put(method, Feign.configKey(clientType, method));
+      if (meterRegistry != null) {
+        FunctionCounter.builder("orders.feign.coalesced.calls", singleFlight, SingleFlight::coalescedCount)
+          .description("Requests that shared a remote call already in flight")
+          .tag("client", clientName)
+          .tag("call", method.getName())
+          .register(meterRegistry);
+      }
+    }
+    this.singleFlights = Collections.unmodifiableMap(flights);
+    this.configKeys = Collections.unmodifiableMap(keys);
+  }
+
+  /**
+   * Calls the remote service, sharing the call in flight for the same arguments if the method is coalesced.
+   * A shared call is recorded as joined on the remote call counter of the caller.
+   *
+   * @param proxy  the client proxy
+   * @param method the client method
+   * @param args   the arguments of the call
+   * @return the response of the remote call
+   * @throws Throwable the error of the remote call
+   */
+  @Override
+  public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+    SingleFlight<List<Object>, Object> singleFlight = singleFlights.get(method);
+    if (singleFlight == null) {
+      return delegate.invoke(proxy, method, args);
+    }
+    List<Object> key = args == null ? Collections.emptyList() : Arrays.asList(args);
+    AtomicBoolean called = new AtomicBoolean();
+    try {
+      return singleFlight.execute(key, () -> {
+        called.set(true);
+        try {
+          return delegate.invoke(proxy, method, args);
+        } catch (Exception | Error e) {
+          throw e;
+        } catch (Throwable t) {
+          throw new UndeclaredThrowableException(t);
+        }
+      });
+    } finally {
+      if (!called.get()) {
+        RemoteCallCounter.recordJoined(configKeys.get(method));
+      }
+    }
+  }
+}
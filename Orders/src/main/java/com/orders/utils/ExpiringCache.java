@@ -0,0 +1,265 @@
+package com.orders.utils;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Small in-memory cache whose entries expire after a fixed time to live and whose size is bounded.
+ * <p>
+ * Entries are kept in access order; once the maximum size is reached the least recently used entry is evicted,
+ * in constant time, as the new entry goes in. Expired entries are dropped lazily when they are read; one that is
+ * no longer read drifts to the least recently used end and is the next to be evicted.
+ * All operations are synchronized, which is adequate for the small, read-mostly lookups it fronts.
+ * Hit, miss and eviction counts are kept so callers can expose them as metrics.
+ * </p>
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the cached values
+ */
+public final class ExpiringCache<K, V> {
+
+  /**
+   * The cached entries, in least-recently-accessed-first order.
+   */
+  private final EntryMap entries = new EntryMap();
+
+  /**
+   * Default time to live of an entry, in nanoseconds.
+   */
+  private final long ttlNanos;
+
+  /**
+   * Maximum number of entries kept.
+   */
+  private final int maxSize;
+
+  /**
+   * Source of the current time, in nanoseconds.
+   */
+  private final LongSupplier clock;
+
+  /**
+   * Number of reads answered from the cache.
+   */
+  private final AtomicLong hits = new AtomicLong();
+
+  /**
+   * Number of reads that found no live entry.
+   */
+  private final AtomicLong misses = new AtomicLong();
+
+  /**
+   * Number of entries removed because they expired or because the cache was full.
+   */
+  private final AtomicLong evictions = new AtomicLong();
+
+  /**
+   * Creates a cache using the system clock.
+   *
+   * @param ttlMillis default time to live of an entry, in milliseconds
+   * @param maxSize   maximum number of entries kept
+   */
+  public ExpiringCache(final long ttlMillis, final int maxSize) {
+    this(ttlMillis, maxSize, System::nanoTime);
+  }
+
+  /**
+   * Creates a cache using the given clock.
+   *
+   * @param ttlMillis default time to live of an entry, in milliseconds
+   * @param maxSize   maximum number of entries kept
+   * @param clock     source of the current time, in nanoseconds
+   */
+  public ExpiringCache(final long ttlMillis, final int maxSize, final LongSupplier clock) {
+    if (ttlMillis < 0 || maxSize < 1) {
+      throw new IllegalArgumentException("ttlMillis must not be negative and maxSize must be positive");
+    }
+    this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+    this.maxSize = maxSize;
+    this.clock = clock;
+  }
+
+  /**
+   * Returns the live value cached for the given key.
+   *
+   * @param key the key to look up
+   * @return the cached value, or {@code null} if there is none or it has expired
+   */
+  public synchronized V get(final K key) {
+    Entry<V> entry = entries.get(key);
+    if (entry != null && entry.expiresAt - clock.getAsLong() <= 0) {
+      entries.remove(key);
+      evictions.incrementAndGet();
+      entry = null;
+    }
+    if (entry == null) {
+      misses.incrementAndGet();
+      return null;
+    }
+    hits.incrementAndGet();
+    return entry.value;
+  }
+
+  /**
+   * Caches a value for the default time to live.
+   *
+   * @param key   the key
+   * @param value the value to cache; must not be {@code null}
+   */
+  public void put(final K key, final V value) {
+    put(key, value, ttlNanos, TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * Caches a value for the given time to live.
+   *
+   * @param key   the key
+   * @param value the value to cache; must not be {@code null}
+   * @param ttl   the time to live of this entry
+   * @param unit  the unit of {@code ttl}
+   */
+  public synchronized void put(final K key, final V value, final long ttl, final TimeUnit unit) {
+    if (value == null) {
+      throw new IllegalArgumentException("Cached values must not be null");
+    }
+    entries.put(key, new Entry<>(value, clock.getAsLong() + unit.toNanos(ttl)));
+  }
+
+  /**
+   * Removes the entry for the given key, if any.
+   *
+   * @param key the key to remove
+   */
+  public synchronized void invalidate(final K key) {
+    entries.remove(key);
+  }
+
+  /**
+   * Removes all entries.
+   */
+  public synchronized void invalidateAll() {
+    entries.clear();
+  }
+
+  /**
+   * Returns the number of entries currently held, including expired ones not yet dropped.
+   *
+   * @return the number of entries
+   */
+  public synchronized int size() {
+    return entries.size();
+  }
+
+  /**
+   * Returns the number of reads answered from the cache.
+   *
+   * @return the hit count
+   */
+  public long hitCount() {
+    return hits.get();
+  }
+
+  /**
+   * Returns the number of reads that found no live entry.
+   *
+   * @return the miss count
+   */
+  public long missCount() {
+    return misses.get();
+  }
+
+  /**
+   * Returns the number of entries removed because they expired or because the cache was full.
+   *
+   * @return the eviction count
+   */
+  public long evictionCount() {
+    return evictions.get();
+  }
+
+  /**
+   * Registers the hit, miss and eviction counters and the size of this cache as {@code orders.cache.*} meters.
+   *
+   * @param registry  the registry to register the meters with
+   * @param cacheName the value of the {@code cache} tag identifying this cache
+   */
+  public void registerMetrics(final MeterRegistry registry, final String cacheName) {
+    FunctionCounter.builder("orders.cache.hits", this, ExpiringCache::hitCount)
+      .tag("cache", cacheName).register(registry);
+    FunctionCounter.builder("orders.cache.misses", this, ExpiringCache::missCount)
+      .tag("cache", cacheName).register(registry);
+    FunctionCounter.builder("orders.cache.evictions", this, ExpiringCache::evictionCount)
+      .tag("cache", cacheName).register(registry);
+    Gauge.builder("orders.cache.size", this, ExpiringCache::size)
+      .tag("cache", cacheName).register(registry);
+  }
+
+  /**
+   * Access-ordered map of the entries that evicts its least recently used entry once it grows past the maximum size.
+   */
+  private final class EntryMap extends LinkedHashMap<K, Entry<V>> {
+
+    /**
+     * Serialization version of the map.
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Creates an empty access-ordered map.
+     */
+    EntryMap() {
+      super(16, 0.75f, true);
+    }
+
+    /**
+     * Evicts the least recently used entry after an insertion took the map past the maximum size.
+     *
+     * @param eldest the least recently used entry
+     * @return whether to remove it
+     */
+    @Override
+    protected boolean removeEldestEntry(final Map.Entry<K, Entry<V>> eldest) {
+      if (size() <= maxSize) {
+        return false;
+      }
+      evictions.incrementAndGet();
+      return true;
+    }
+  }
+
+  /**
+   * A cached value together with its expiry time.
+   *
+   * @param <V> the type of the cached value
+   */
+  private static final class Entry<V> {
+
+    /**
+     * The cached value.
+     */
+    private final V value;
+
+    /**
+     * The {@link System#nanoTime()} value at which the entry expires.
+     */
+    private final long expiresAt;
+
+    /**
+     * Creates an entry.
+     *
+     * @param value     the cached value
+     * @param expiresAt the time at which the entry expires, in nanoseconds
+     */
+    Entry(final V value, final long expiresAt) {
+      this.value = value;
+      this.expiresAt = expiresAt;
+    }
+  }
+}
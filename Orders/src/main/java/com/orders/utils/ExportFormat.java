@@ -0,0 +1,56 @@
+package com.orders.utils;
+
+/**
+ * File formats in which orders can be exported.
+ */
+public enum ExportFormat {
+
+  /**
+   * One JSON object per line.
+   */
+  NDJSON("application/x-ndjson", "ndjson"),
+
+  /**
+   * Comma-separated values with a header row.
+   */
+  CSV("text/csv", "csv");
+
+  /**
+   * MIME type of the exported file.
+   */
+  private final String contentType;
+
+  /**
+   * File name extension of the exported file.
+   */
+  private final String extension;
+
+  /**
+   * Creates a format.
+   *
+   * @param contentType the MIME type of the exported file
+   * @param extension   the file name extension of the exported file
+   */
+  ExportFormat(final String contentType, final String extension) {
+    this.contentType = contentType;
+    this.extension = extension;
+  }
+
+  /**
+   * Returns the MIME type of the exported file.
+   *
+   * @return the content type
+   */
+  public String getContentType() {
+    return contentType;
+  }
+
+  /**
+   * Returns the file name extension of the exported file.
+   *
+   * @return the extension, without a leading dot
+   */
+  public String getExtension() {
+    return extension;
+  }
+}
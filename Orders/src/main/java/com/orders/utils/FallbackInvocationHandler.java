@@ -0,0 +1,139 @@
+package com.orders.utils;
+
+import com.orders.exception.ServiceUnavailableException;
+import feign.FeignException;
+import feign.RetryableException;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+/**
+ * Invocation handler of a Feign client that remembers successful responses and turns to the fallback of the
+ * client while the remote service is unavailable.
+ * <p>
+ * The remote service counts as unavailable when the call is rejected by the circuit breaker or the bulkhead,
+ * fails on the network, or is answered with a {@code 5xx} status. Other errors, such as a {@code 404} for an
+ * unknown ID, are business answers and propagate unchanged. Every successful response is handed to the
+ * {@link LastKnownGoodCache} of the fallback, which decides whether it is worth remembering. Calls to the
+ * fallback are counted in {@code orders.feign.fallback.calls}, tagged with the outcome: {@code served} when
+ * the fallback answered and {@code refused} when it threw.
+ * </p>
+ */
+@Slf4j
+public final class FallbackInvocationHandler implements InvocationHandler {
+
+  /**
+   * Lowest HTTP status meaning the remote service failed.
+   */
+  private static final int SERVER_ERROR = 500;
+
+  /**
+   * The handler doing the remote calls.
+   */
+  private final InvocationHandler delegate;
+
+  /**
+   * The fallback implementation of the client interface.
+   */
+  private final Object fallback;
+
+  /**
+   * Cache of the successful responses served by the fallback.
+   */
+  private final LastKnownGoodCache lastKnownGood;
+
+  /**
+   * Name of the Feign client.
+   */
+  private final String clientName;
+
+  /**
+   * Registry of the fallback counters, or {@code null} if metrics are disabled.
+   */
+  private final MeterRegistry meterRegistry;
+
+  /**
+   * Creates the handler.
+   *
+   * @param delegate      the handler doing the remote calls
+   * @param fallback      the fallback implementation of the client interface
+   * @param lastKnownGood the cache of the successful responses served by the fallback
+   * @param clientName    the name of the Feign client
+   * @param meterRegistry the registry of the fallback counters, or {@code null} if metrics are disabled
+   */
+  public FallbackInvocationHandler(final InvocationHandler delegate, final Object fallback,
+                                   final LastKnownGoodCache lastKnownGood, final String clientName,
+                                   final MeterRegistry meterRegistry) {
+    this.delegate = delegate;
+    this.fallback = fallback;
+    this.lastKnownGood = lastKnownGood;
+    this.clientName = clientName;
+    this.meterRegistry = meterRegistry;
+  }
+
+  /**
+   * Calls the remote service, remembering the response, or the fallback if the service is unavailable.
+   *
+   * @param proxy  the client proxy
+   * @param method the client method
+   * @param args   the arguments of the call
+   * @return the response of the remote service or of the fallback
+   * @throws Throwable the error of the remote call if the service is available, otherwise the error of the fallback
+   */
+  @Override
+  public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+    if (method.getDeclaringClass() == Object.class) {
+      return delegate.invoke(proxy, method, args);
+    }
+    Object response;
+    try {
+      response = delegate.invoke(proxy, method, args);
+    } catch (ServiceUnavailableException | RetryableException e) {
+      return callFallback(method, args, e);
+    } catch (FeignException e) {
+      if (e.status() < SERVER_ERROR) {
+        throw e;
+      }
+      return callFallback(method, args, e);
+    }
+    lastKnownGood.remember(method.getName(), args, response);
+    return response;
+  }
+
+  /**
+   * Calls the fallback for a failed remote call.
+   *
+   * @param method the client method
+   * @param args   the arguments of the call
+   * @param cause  the error of the remote call
+   * @return the response of the fallback
+   * @throws Throwable the error of the fallback
+   */
+  private Object callFallback(final Method method, final Object[] args, final RuntimeException cause) throws Throwable {
+    log.warn("{} unavailable for {}, using fallback: {}", clientName, method.getName(), cause.getMessage());
+    try {
+      Object response = method.invoke(fallback, args);
+      count(method, "served");
+      return response;
+    } catch (InvocationTargetException e) {
+      count(method, "refused");
+      throw e.getCause();
+    }
+  }
+
+  /**
+   * Counts a call to the fallback.
+   *
+   * @param method  the client method
+   * @param outcome {@code served} or {@code refused}
+   */
+  private void count(final Method method, final String outcome) {
+    if (meterRegistry != null) {
+      meterRegistry.counter("orders.feign.fallback.calls", "client", clientName, "call", method.getName(),
+        "outcome", outcome).increment();
+    }
+  }
+}
@@ -0,0 +1,98 @@
+package com.orders.utils;
+
+import com.orders.constants.OrderConstants;
+import com.orders.exception.ServiceUnavailableException;
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import org.apache.http.client.HttpResponseException;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Feign transport guarded by a circuit breaker and a bulkhead.
+ * <p>
+ * Every call first asks the circuit breaker of the downstream service for permission, then takes a slot of its
+ * semaphore bulkhead, so an open circuit or a saturated downstream is answered at once with a
+ * {@link ServiceUnavailableException} instead of holding a request thread and a pooled connection. The outcome
+ * of each call is reported to the circuit breaker: I/O errors and {@code 5xx} responses count as failures, every
+ * other response as a success, and calls slower than the configured threshold as slow calls.
+ * </p>
+ */
+public final class GuardedFeignClient implements Client {
+
+  /**
+   * Lowest HTTP status counted as a failure of the downstream service.
+   */
+  private static final int SERVER_ERROR = 500;
+
+  /**
+   * The transport doing the actual calls.
+   */
+  private final Client delegate;
+
+  /**
+   * Circuit breaker of the downstream service.
+   */
+  private final CircuitBreaker circuitBreaker;
+
+  /**
+   * Bulkhead capping the concurrent calls to the downstream service.
+   */
+  private final Bulkhead bulkhead;
+
+  /**
+   * Creates a guarded transport.
+   *
+   * @param delegate       the transport doing the actual calls
+   * @param circuitBreaker the circuit breaker of the downstream service
+   * @param bulkhead       the bulkhead capping the concurrent calls to the downstream service
+   */
+  public GuardedFeignClient(final Client delegate, final CircuitBreaker circuitBreaker, final Bulkhead bulkhead) {
+    this.delegate = delegate;
+    this.circuitBreaker = circuitBreaker;
+    this.bulkhead = bulkhead;
+  }
+
+  /**
+   * Executes a request if both the circuit breaker and the bulkhead let it through.
+   *
+   * @param request the request
+   * @param options the timeouts of the request
+   * @return the response of the downstream service
+   * @throws IOException                 if the call fails on the network
+   * @throws ServiceUnavailableException if the circuit is open or the bulkhead is full
+   */
+  @Override
+  public Response execute(final Request request, final Request.Options options) throws IOException {
+    if (!circuitBreaker.tryAcquirePermission()) {
+      throw new ServiceUnavailableException(String.format(OrderConstants.DOWNSTREAM_CIRCUIT_OPEN,
+        circuitBreaker.getName()));
+    }
+    if (!bulkhead.tryAcquirePermission()) {
+      circuitBreaker.releasePermission();
+      throw new ServiceUnavailableException(String.format(OrderConstants.DOWNSTREAM_BUSY, bulkhead.getName()));
+    }
+
+    long start = System.nanoTime();
+    try {
+      Response response = delegate.execute(request, options);
+      long duration = System.nanoTime() - start;
+      if (response.status() >= SERVER_ERROR) {
+        circuitBreaker.onError(duration, TimeUnit.NANOSECONDS,
+          new HttpResponseException(response.status(), response.reason()));
+      } else {
+        circuitBreaker.onSuccess(duration, TimeUnit.NANOSECONDS);
+      }
+      return response;
+    } catch (IOException | RuntimeException e) {
+      circuitBreaker.onError(System.nanoTime() - start, TimeUnit.NANOSECONDS, e);
+      throw e;
+    } finally {
+      bulkhead.onComplete();
+    }
+  }
+}
@@ -0,0 +1,20 @@
+package com.orders.utils;
+
+/**
+ * Enum representing the state of a request recorded under an idempotency key.
+ * <ul>
+ *   <li>{@code IN_PROGRESS} - The first request with the key is still being executed.</li>
+ *   <li>{@code COMPLETED} - The request succeeded and its response is stored for replay.</li>
+ * </ul>
+ */
+public enum IdempotencyStatus {
+  /**
+   * The first request with the key is still being executed.
+   */
+  IN_PROGRESS,
+
+  /**
+   * The request succeeded and its response is stored for replay.
+   */
+  COMPLETED
+}
@@ -0,0 +1,153 @@
+package com.orders.utils;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounded cache of the last successful responses of a remote service, served while the service is unavailable.
+ * <p>
+ * Responses are keyed by the name of the remote call and its arguments and remembered together with the time
+ * they were received. Only the calls named at construction are remembered, so write calls and calls whose data
+ * must never be served stale are left out. A response is recalled only if it is not older than the maximum
+ * staleness the caller accepts, and is dropped once older than the retention period. The underlying
+ * {@link ExpiringCache} bounds the number of responses and evicts the least recently used one when full.
+ * </p>
+ */
+public final class LastKnownGoodCache {
+
+  /**
+   * Names of the remote calls whose responses are remembered.
+   */
+  private final Set<String> rememberedCalls;
+
+  /**
+   * Remembered responses keyed by call name followed by the call arguments.
+   */
+  private final ExpiringCache<List<Object>, Snapshot> snapshots;
+
+  /**
+   * Source of the current time, in nanoseconds.
+   */
+  private final LongSupplier clock;
+
+  /**
+   * Creates a cache using the system clock.
+   *
+   * @param rememberedCalls names of the remote calls whose responses are remembered
+   * @param retentionMillis time after which a remembered response is dropped, in milliseconds
+   * @param maxSize         maximum number of responses kept
+   */
+  public LastKnownGoodCache(final Collection<String> rememberedCalls, final long retentionMillis, final int maxSize) {
+    this(rememberedCalls, retentionMillis, maxSize, System::nanoTime);
+  }
+
+  /**
+   * Creates a cache using the given clock.
+   *
+   * @param rememberedCalls names of the remote calls whose responses are remembered
+   * @param retentionMillis time after which a remembered response is dropped, in milliseconds
+   * @param maxSize         maximum number of responses kept
+   * @param clock           source of the current time, in nanoseconds
+   */
+  public LastKnownGoodCache(final Collection<String> rememberedCalls, final long retentionMillis, final int maxSize,
+                            final LongSupplier clock) {
+    this.rememberedCalls = Collections.unmodifiableSet(new HashSet<>(rememberedCalls));
+    this.snapshots = new ExpiringCache<>(retentionMillis, maxSize, clock);
+    this.clock = clock;
+  }
+
+  /**
+   * Remembers the successful response of a remote call. Calls that are not remembered and {@code null}
+   * responses are ignored.
+   *
+   * @param call     the name of the remote call
+   * @param args     the arguments of the call, or {@code null} if it has none
+   * @param response the response
+   */
+  public void remember(final String call, final Object[] args, final Object response) {
+    if (response != null && rememberedCalls.contains(call)) {
+      snapshots.put(key(call, args), new Snapshot(response, clock.getAsLong()));
+    }
+  }
+
+  /**
+   * Returns the last response of a remote call if it is recent enough.
+   *
+   * @param call               the name of the remote call
+   * @param maxStalenessMillis the maximum accepted age of the response, in milliseconds
+   * @param type               the type of the response
+   * @param args               the arguments of the call
+   * @param <T>                the type of the response
+   * @return the remembered response, or {@code null} if there is none or it is too old
+   */
+  public <T> T recall(final String call, final long maxStalenessMillis, final Class<T> type, final Object... args) {
+    Snapshot snapshot = snapshots.get(key(call, args));
+    if (snapshot == null
+      || clock.getAsLong() - snapshot.receivedAt > TimeUnit.MILLISECONDS.toNanos(maxStalenessMillis)) {
+      return null;
+    }
+    return type.cast(snapshot.response);
+  }
+
+  /**
+   * Registers the hit, miss and eviction counters and the size of this cache as {@code orders.cache.*} meters.
+   *
+   * @param registry  the registry to bind the metrics to
+   * @param cacheName the value of the {@code cache} tag
+   */
+  public void registerMetrics(final MeterRegistry registry, final String cacheName) {
+    snapshots.registerMetrics(registry, cacheName);
+  }
+
+  /**
+   * Builds the key of a remote call.
+   *
+   * @param call the name of the remote call
+   * @param args the arguments of the call, or {@code null} if it has none
+   * @return the call name followed by the arguments
+   */
+  private static List<Object> key(final String call, final Object[] args) {
+    List<Object> key = new ArrayList<>();
+    key.add(call);
+    if (args != null) {
+      key.addAll(Arrays.asList(args));
+    }
+    return key;
+  }
+
+  /**
+   * A remembered response together with the time it was received.
+   */
+  private static final class Snapshot {
+
+    /**
+     * The response.
+     */
+    private final Object response;
+
+    /**
+     * The time the response was received, in nanoseconds.
+     */
+    private final long receivedAt;
+
+    /**
+     * Creates a snapshot.
+     *
+     * @param response   the response
+     * @param receivedAt the time the response was received, in nanoseconds
+     */
+    private Snapshot(final Object response, final long receivedAt) {
+      this.response = response;
+      this.receivedAt = receivedAt;
+    }
+  }
+}
@@ -0,0 +1,105 @@
+package com.orders.utils;
+
+import com.orders.constants.OrderConstants;
+import com.orders.entities.Order;
+import com.orders.exception.InvalidRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position of an order in an order history sorted by order time and ID, both descending.
+ * <p>
+ * The position is handed to clients as an opaque URL-safe token; the next page is the set of orders that sort
+ * strictly after it, which the database answers with an index range scan instead of skipping an offset.
+ * </p>
+ */
+public final class OrderCursor {
+
+  /**
+   * Separator between the order time and the order ID in the decoded token.
+   */
+  private static final String SEPARATOR = ",";
+
+  /**
+   * Order time of the last order of the previous page.
+   */
+  private final LocalDateTime orderTime;
+
+  /**
+   * ID of the last order of the previous page.
+   */
+  private final Integer id;
+
+  /**
+   * Creates a cursor.
+   *
+   * @param orderTime the order time of the last order of the previous page
+   * @param id        the ID of the last order of the previous page
+   */
+  public OrderCursor(final LocalDateTime orderTime, final Integer id) {
+    this.orderTime = orderTime;
+    this.id = id;
+  }
+
+  /**
+   * Creates the cursor positioned at the given order.
+   *
+   * @param order the last order of a page
+   * @return the cursor of the following page
+   */
+  public static OrderCursor of(final Order order) {
+    return new OrderCursor(order.getOrderTime(), order.getId());
+  }
+
+  /**
+   * Decodes a token produced by {@link #encode()}.
+   *
+   * @param token the token sent by the client
+   * @return the decoded cursor
+   * @throws InvalidRequestException if the token is malformed
+   */
+  public static OrderCursor decode(final String token) {
+    try {
+      String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+      int separator = value.lastIndexOf(SEPARATOR);
+      if (separator < 0) {
+        throw new InvalidRequestException(OrderConstants.INVALID_CURSOR);
+      }
+      return new OrderCursor(LocalDateTime.parse(value.substring(0, separator)),
+        Integer.valueOf(value.substring(separator + 1)));
+    } catch (IllegalArgumentException | DateTimeParseException e) {
+      throw new InvalidRequestException(OrderConstants.INVALID_CURSOR);
+    }
+  }
+
+  /**
+   * Encodes this cursor as an opaque URL-safe token.
+   *
+   * @return the token
+   */
+  public String encode() {
+    String value = orderTime + SEPARATOR + id;
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Returns the order time of the last order of the previous page.
+   *
+   * @return the order time
+   */
+  public LocalDateTime getOrderTime() {
+    return orderTime;
+  }
+
+  /**
+   * Returns the ID of the last order of the previous page.
+   *
+   * @return the order ID
+   */
+  public Integer getId() {
+    return id;
+  }
+}
@@ -0,0 +1,50 @@
+package com.orders.utils;
+
+/**
+ * Kinds of order events pushed to restaurant order streams.
+ */
+public enum OrderEventType {
+
+  /**
+   * An order was placed with the restaurant.
+   */
+  PLACED("order-placed"),
+
+  /**
+   * The cancellation window of a placed order closed; the order can no longer be cancelled.
+   */
+  CONFIRMED("order-confirmed"),
+
+  /**
+   * A placed order was cancelled.
+   */
+  CANCELLED("order-cancelled"),
+
+  /**
+   * An order was completed by the restaurant.
+   */
+  COMPLETED("order-completed");
+
+  /**
+   * Name of the server-sent event.
+   */
+  private final String eventName;
+
+  /**
+   * Creates an event type.
+   *
+   * @param eventName the name of the server-sent event
+   */
+  OrderEventType(final String eventName) {
+    this.eventName = eventName;
+  }
+
+  /**
+   * Returns the name of the server-sent event.
+   *
+   * @return the event name
+   */
+  public String getEventName() {
+    return eventName;
+  }
+}
@@ -5,19 +5,44 @@ package com.orders.utils;
  * <p>
  * The {@code OrderStatus} enum defines the various states an order can be in throughout its lifecycle.
  * These statuses help in tracking the current state of an order and managing order processing.
+ * The allowed moves between them are given by {@link #canTransitionTo(OrderStatus)}.
  * </p>
  * <ul>
+ *   <li>{@code PENDING} - Indicates that the order was accepted by asynchronous intake and waits for a worker.</li>
+ *   <li>{@code PROCESSING} - Indicates that a worker is validating and charging the order.</li>
+ *   <li>{@code REJECTED} - Indicates that asynchronous intake could not place the order.</li>
  *   <li>{@code PLACED} - Indicates that the order has been successfully placed but not yet processed.</li>
+ *   <li>{@code CONFIRMED} - Indicates that the cancellation window of a placed order has closed.</li>
  *   <li>{@code CANCELLED} - Indicates that the order has been cancelled and will not be processed further.</li>
  *   <li>{@code COMPLETED} - Indicates that the order has been processed and completed successfully.</li>
  * </ul>
  */
 public enum OrderStatus {
+  /**
+   * Order has been accepted by asynchronous intake but not yet validated.
+   */
+  PENDING,
+
+  /**
+   * Order is being validated and charged by an intake worker.
+   */
+  PROCESSING,
+
+  /**
+   * Order could not be placed by asynchronous intake; the reason is kept with the order.
+   */
+  REJECTED,
+
   /**
    * Order has been placed but not yet processed.
    */
   PLACED,
 
+  /**
+   * Order is past its cancellation window and can be prepared by the kitchen.
+   */
+  CONFIRMED,
+
   /**
    * Order has been cancelled and will not be processed.
    */
@@ -26,5 +51,33 @@ public enum OrderStatus {
   /**
    * Order has been processed and completed successfully.
    */
-  COMPLETED
+  COMPLETED;
+
+  /**
+   * Tells whether an order in this status may move to the given status.
+   * <ul>
+   *   <li>{@code PENDING} may be claimed by a worker or cancelled.</li>
+   *   <li>{@code PROCESSING} may be placed, rejected, or returned to {@code PENDING} by recovery.</li>
+   *   <li>{@code PLACED} may be cancelled, completed, or confirmed once its cancellation window closes.</li>
+   *   <li>{@code CONFIRMED} may be completed, or cancelled when its payment is rejected.</li>
+   *   <li>{@code REJECTED}, {@code CANCELLED} and {@code COMPLETED} are final.</li>
+   * </ul>
+   *
+   * @param next the status to move to
+   * @return {@code true} if the transition is allowed
+   */
+  public boolean canTransitionTo(final OrderStatus next) {
+    switch (this) {
+      case PENDING:
+        return next == PROCESSING || next == CANCELLED;
+      case PROCESSING:
+        return next == PENDING || next == PLACED || next == REJECTED;
+      case PLACED:
+        return next == CONFIRMED || next == CANCELLED || next == COMPLETED;
+      case CONFIRMED:
+        return next == COMPLETED || next == CANCELLED;
+      default:
+        return false;
+    }
+  }
 }
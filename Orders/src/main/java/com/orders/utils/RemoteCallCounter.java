@@ -0,0 +1,217 @@
+package com.orders.utils;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Counts the remote calls made while handling a single incoming request.
+ * <p>
+ * A counter is bound to the request thread for the duration of the request and every outgoing Feign call
+ * records the downstream resource it targets. Work handed to other threads must be wrapped with
+ * {@link #propagate(Supplier)} so its calls are attributed to the originating request.
+ * </p>
+ * <p>
+ * Lookups that joined an identical call already in flight (see {@link CoalescingInvocationHandler}) make no
+ * remote call of their own. They are counted separately as joined calls, so {@link #total()} still matches the
+ * traffic sent downstream. {@link #maxPerResource()} counts both, since the budget it is checked against is
+ * about the lookups a request issues, however they are served.
+ * </p>
+ */
+public final class RemoteCallCounter {
+
+  /**
+   * The counter bound to the current thread, if any.
+   */
+  private static final ThreadLocal<RemoteCallCounter> CURRENT = new ThreadLocal<>();
+
+  /**
+   * Number of calls made per downstream resource.
+   */
+  private final Map<String, AtomicInteger> calls = new ConcurrentHashMap<>();
+
+  /**
+   * Number of calls per downstream resource that shared a call already in flight.
+   */
+  private final Map<String, AtomicInteger> joinedCalls = new ConcurrentHashMap<>();
+
+  /**
+   * Binds a new counter to the current thread.
+   *
+   * @return the counter now bound to the current thread
+   */
+  public static RemoteCallCounter start() {
+    RemoteCallCounter counter = new RemoteCallCounter();
+    CURRENT.set(counter);
+    return counter;
+  }
+
+  /**
+   * Removes the counter bound to the current thread.
+   */
+  public static void stop() {
+    CURRENT.remove();
+  }
+
+  /**
+   * Returns the counter bound to the current thread.
+   *
+   * @return the current counter, or {@code null} if the thread is not handling a counted request
+   */
+  public static RemoteCallCounter current() {
+    return CURRENT.get();
+  }
+
+  /**
+   * Records a call to the given downstream resource on the counter of the current thread, if any.
+   *
+   * @param resource the downstream resource being called
+   */
+  public static void record(final String resource) {
+    RemoteCallCounter counter = CURRENT.get();
+    if (counter != null) {
+      counter.increment(resource);
+    }
+  }
+
+  /**
+   * Records, on the counter of the current thread if any, a call to the given downstream resource that
+   * shared the response of an identical call already in flight instead of calling the resource.
+   *
+   * @param resource the downstream resource whose call was joined
+   */
+  public static void recordJoined(final String resource) {
+    RemoteCallCounter counter = CURRENT.get();
+    if (counter != null) {
+      counter.incrementJoined(resource);
+    }
+  }
+
+  /**
+   * Wraps a supplier so that it runs with the counter of the calling thread bound.
+   *
+   * @param supplier the work to run, typically on another thread
+   * @param <T>      the type of the result
+   * @return a supplier attributing its remote calls to the calling thread's counter
+   */
+  public static <T> Supplier<T> propagate(final Supplier<T> supplier) {
+    RemoteCallCounter counter = CURRENT.get();
+    return () -> {
+      RemoteCallCounter previous = CURRENT.get();
+      if (counter != null) {
+        CURRENT.set(counter);
+      }
+      try {
+        return supplier.get();
+      } finally {
+        if (previous != null) {
+          CURRENT.set(previous);
+        } else {
+          CURRENT.remove();
+        }
+      }
+    };
+  }
+
+  /**
+   * Records one call to the given downstream resource.
+   *
+   * @param resource the downstream resource being called
+   */
+  public void increment(final String resource) {
+    calls.computeIfAbsent(resource, key -> new AtomicInteger()).incrementAndGet();
+  }
+
+  /**
+   * Records one joined call to the given downstream resource.
+   *
+   * @param resource the downstream resource whose call was joined
+   */
+  public void incrementJoined(final String resource) {
+    joinedCalls.computeIfAbsent(resource, key -> new AtomicInteger()).incrementAndGet();
+  }
+
+  /**
+   * Returns the number of calls made to the given downstream resource.
+   *
+   * @param resource the downstream resource
+   * @return the number of calls recorded for it
+   */
+  public int count(final String resource) {
+    AtomicInteger count = calls.get(resource);
+    return count == null ? 0 : count.get();
+  }
+
+  /**
+   * Returns the number of joined calls to the given downstream resource.
+   *
+   * @param resource the downstream resource
+   * @return the number of joined calls recorded for it
+   */
+  public int joinedCount(final String resource) {
+    AtomicInteger count = joinedCalls.get(resource);
+    return count == null ? 0 : count.get();
+  }
+
+  /**
+   * Returns the total number of remote calls recorded, joined calls excluded.
+   *
+   * @return the total number of calls
+   */
+  public int total() {
+    return calls.values().stream().mapToInt(AtomicInteger::get).sum();
+  }
+
+  /**
+   * Returns the total number of joined calls recorded.
+   *
+   * @return the total number of joined calls
+   */
+  public int totalJoined() {
+    return joinedCalls.values().stream().mapToInt(AtomicInteger::get).sum();
+  }
+
+  /**
+   * Returns the highest number of calls, made or joined, to any single downstream resource.
+   *
+   * @return the maximum per-resource call count
+   */
+  public int maxPerResource() {
+    Map<String, Integer> issued = new TreeMap<>(snapshot());
+    joinedSnapshot().forEach((resource, count) -> issued.merge(resource, count, Integer::sum));
+    return issued.values().stream().mapToInt(Integer::intValue).max().orElse(0);
+  }
+
+  /**
+   * Returns a sorted snapshot of the calls recorded so far, joined calls excluded.
+   *
+   * @return an unmodifiable map of resource to call count
+   */
+  public Map<String, Integer> snapshot() {
+    return snapshot(calls);
+  }
+
+  /**
+   * Returns a sorted snapshot of the joined calls recorded so far.
+   *
+   * @return an unmodifiable map of resource to joined call count
+   */
+  public Map<String, Integer> joinedSnapshot() {
+    return snapshot(joinedCalls);
+  }
+
+  /**
+   * Copies call counts into a sorted, unmodifiable map.
+   *
+   * @param counts the call counts per resource
+   * @return an unmodifiable map of resource to call count
+   */
+  private static Map<String, Integer> snapshot(final Map<String, AtomicInteger> counts) {
+    Map<String, Integer> snapshot = new TreeMap<>();
+    counts.forEach((resource, count) -> snapshot.put(resource, count.get()));
+    return Collections.unmodifiableMap(snapshot);
+  }
+}
@@ -0,0 +1,98 @@
+package com.orders.utils;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Coalesces concurrent executions of the same call.
+ * <p>
+ * The first caller for a key runs the call; callers arriving with the same key while it is in flight wait for
+ * it and receive the same result, or the same exception. Nothing is cached: once the call completes, the next
+ * caller for the key runs it again. Waiters do not time out on their own, so the call must bound its own
+ * duration, as a remote call does with its read timeout.
+ * </p>
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the results
+ */
+public final class SingleFlight<K, V> {
+
+  /**
+   * Result of the call in flight for each key.
+   */
+  private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+  /**
+   * Number of callers that joined a call already in flight.
+   */
+  private final AtomicLong coalesced = new AtomicLong();
+
+  /**
+   * Runs the call for the given key, or waits for the one already in flight.
+   *
+   * @param key  the key identifying the call
+   * @param call the call
+   * @return the result of the call
+   * @throws Exception the exception thrown by the call
+   */
+  public V execute(final K key, final Callable<V> call) throws Exception {
+    CompletableFuture<V> own = new CompletableFuture<>();
+    CompletableFuture<V> running = inFlight.putIfAbsent(key, own);
+    if (running != null) {
+      coalesced.incrementAndGet();
+      return await(running);
+    }
+    try {
+      V result = call.call();
+      own.complete(result);
+      return result;
+    } catch (Exception | Error e) {
+      own.completeExceptionally(e);
+      throw e;
+    } finally {
+      inFlight.remove(key, own);
+    }
+  }
+
+  /**
+   * Returns the number of callers that joined a call already in flight.
+   *
+   * @return the number of coalesced callers
+   */
+  public long coalescedCount() {
+    return coalesced.get();
+  }
+
+  /**
+   * Returns the number of calls currently in flight.
+   *
+   * @return the number of calls in flight
+   */
+  public int inFlightCount() {
+    return inFlight.size();
+  }
+
+  /**
+   * Waits for a call run by another caller.
+   *
+   * @param running the result of the call
+   * @param <V>     the type of the result
+   * @return the result of the call
+   * @throws Exception the exception thrown by the call
+   */
+  private static <V> V await(final CompletableFuture<V> running) throws Exception {
+    try {
+      return running.join();
+    } catch (CompletionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      throw (Exception) cause;
+    }
+  }
+}
@@ -0,0 +1,148 @@
+package com.orders.utils;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Hashed timing wheel holding items until their deadline passes.
+ * <p>
+ * Time is cut into ticks of a fixed length and an item is kept in the bucket of the tick its deadline falls in,
+ * modulo the number of buckets. Scheduling an item is constant time, and advancing the wheel only visits the
+ * buckets of the ticks that elapsed, so many items can wait without one timer or task each. Items fire at most
+ * one tick after their deadline, never before it.
+ * </p>
+ *
+ * @param <T> the type of the items
+ */
+public final class TimingWheel<T> {
+
+  /**
+   * Buckets of the wheel, each holding the items whose deadline tick maps to it.
+   */
+  private final List<List<Entry<T>>> buckets;
+
+  /**
+   * Length of a tick, in milliseconds.
+   */
+  private final long tickMillis;
+
+  /**
+   * Time at which tick zero starts, in milliseconds since the epoch.
+   */
+  private final long startMillis;
+
+  /**
+   * Next tick to be processed.
+   */
+  private long currentTick;
+
+  /**
+   * Number of items waiting in the wheel.
+   */
+  private int size;
+
+  /**
+   * Creates an empty wheel.
+   *
+   * @param wheelSize   the number of buckets
+   * @param tickMillis  the length of a tick, in milliseconds
+   * @param startMillis the time at which the wheel starts, in milliseconds since the epoch
+   * @throws IllegalArgumentException if the wheel size or the tick length is not positive
+   */
+  public TimingWheel(final int wheelSize, final long tickMillis, final long startMillis) {
+    if (wheelSize <= 0 || tickMillis <= 0) {
+      throw new IllegalArgumentException("wheelSize and tickMillis must be positive");
+    }
+    this.buckets = new ArrayList<>(wheelSize);
+    for (int i = 0; i < wheelSize; i++) {
+      buckets.add(new ArrayList<>());
+    }
+    this.tickMillis = tickMillis;
+    this.startMillis = startMillis;
+  }
+
+  /**
+   * Adds an item that fires once the given deadline has passed. An item whose deadline has already passed
+   * fires with the next tick.
+   *
+   * @param item           the item
+   * @param deadlineMillis the deadline, in milliseconds since the epoch
+   */
+  public synchronized void schedule(final T item, final long deadlineMillis) {
+    long elapsed = Math.max(deadlineMillis - startMillis, 0);
+    long tick = Math.max((elapsed + tickMillis - 1) / tickMillis, currentTick);
+    buckets.get((int) (tick % buckets.size())).add(new Entry<>(item, tick));
+    size++;
+  }
+
+  /**
+   * Advances the wheel to the given time and removes the items whose deadline has passed.
+   * <p>
+   * Each elapsed tick visits one bucket; once a whole turn has elapsed every bucket has been visited, so a long
+   * pause costs at most one turn of the wheel.
+   * </p>
+   *
+   * @param nowMillis the current time, in milliseconds since the epoch
+   * @return the expired items, in no particular order
+   */
+  public synchronized List<T> advance(final long nowMillis) {
+    List<T> expired = new ArrayList<>();
+    long lastTick = (nowMillis - startMillis) / tickMillis;
+    if (lastTick < currentTick) {
+      return expired;
+    }
+    long steps = Math.min(lastTick - currentTick + 1, buckets.size());
+    for (long step = 0; step < steps; step++) {
+      Iterator<Entry<T>> entries = buckets.get((int) ((currentTick + step) % buckets.size())).iterator();
+      while (entries.hasNext()) {
+        Entry<T> entry = entries.next();
+        if (entry.tick <= lastTick) {
+          expired.add(entry.item);
+          entries.remove();
+        }
+      }
+    }
+    currentTick = lastTick + 1;
+    size -= expired.size();
+    return expired;
+  }
+
+  /**
+   * Returns the number of items waiting in the wheel.
+   *
+   * @return the number of items
+   */
+  public synchronized int size() {
+    return size;
+  }
+
+  /**
+   * An item and the tick its deadline falls in.
+   *
+   * @param <T> the type of the item
+   */
+  private static final class Entry<T> {
+
+    /**
+     * The scheduled item.
+     */
+    private final T item;
+
+    /**
+     * The tick the deadline of the item falls in.
+     */
+    private final long tick;
+
+    /**
+     * Creates an entry.
+     *
+     * @param item the scheduled item
+     * @param tick the tick the deadline of the item falls in
+     */
+    private Entry(final T item, final long tick) {
+      this.item = item;
+      this.tick = tick;
+    }
+  }
+}
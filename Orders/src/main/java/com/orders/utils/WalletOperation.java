@@ -0,0 +1,20 @@
+package com.orders.utils;
+
+/**
+ * Enum representing the wallet operations recorded in the wallet outbox.
+ * <ul>
+ *   <li>{@code DEBIT} - Charges the total price of a placed order to the user's wallet.</li>
+ *   <li>{@code REFUND} - Credits the total price of a cancelled order back to the user's wallet.</li>
+ * </ul>
+ */
+public enum WalletOperation {
+  /**
+   * Charges the total price of a placed order to the user's wallet.
+   */
+  DEBIT,
+
+  /**
+   * Credits the total price of a cancelled order back to the user's wallet.
+   */
+  REFUND
+}
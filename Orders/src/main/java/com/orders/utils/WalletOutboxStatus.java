@@ -0,0 +1,32 @@
+package com.orders.utils;
+
+/**
+ * Enum representing the delivery state of a wallet outbox entry.
+ * <ul>
+ *   <li>{@code PENDING} - The entry has not yet been acknowledged by the User service.</li>
+ *   <li>{@code DELIVERED} - The User service applied the entry.</li>
+ *   <li>{@code REJECTED} - The User service refused the entry, for instance because of an insufficient balance.</li>
+ *   <li>{@code CANCELLED} - The entry was withdrawn before it was delivered.</li>
+ * </ul>
+ */
+public enum WalletOutboxStatus {
+  /**
+   * The entry has not yet been acknowledged by the User service.
+   */
+  PENDING,
+
+  /**
+   * The User service applied the entry.
+   */
+  DELIVERED,
+
+  /**
+   * The User service refused the entry.
+   */
+  REJECTED,
+
+  /**
+   * The entry was withdrawn before it was delivered.
+   */
+  CANCELLED
+}
@@ -0,0 +1,88 @@
+package com.orders.controller;
+
+import com.orders.constants.OrderConstants;
+import com.orders.service.RestaurantLookupService;
+import com.orders.service.UserLookupService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Unit test for {@link CacheAdminController}.
+ */
+public class CacheAdminControllerTest {
+
+  /**
+   * Mock instance of {@link RestaurantLookupService}.
+   */
+  @Mock
+  private RestaurantLookupService restaurantLookupService;
+
+  /**
+   * Mock instance of {@link UserLookupService}.
+   */
+  @Mock
+  private UserLookupService userLookupService;
+
+  /**
+   * Instance of {@link CacheAdminController} with the mocked services injected.
+   */
+  @InjectMocks
+  private CacheAdminController cacheAdminController;
+
+  /**
+   * MockMvc instance for performing and testing HTTP requests.
+   */
+  private MockMvc mockMvc;
+
+  /**
+   * Initializes the mocks and the {@code MockMvc} instance.
+   */
+  @BeforeEach
+  void setUp() {
+    MockitoAnnotations.openMocks(this);
+    mockMvc = MockMvcBuilders.standaloneSetup(cacheAdminController).build();
+  }
+
+  @Test
+  void invalidateRestaurant() throws Exception {
+    mockMvc.perform(delete("/admin/cache/restaurants/1"))
+      .andExpect(status().isOk())
+      .andExpect(jsonPath("$.message").value(OrderConstants.CACHE_INVALIDATED));
+
+    verify(restaurantLookupService).invalidate(1);
+  }
+
+  @Test
+  void invalidateAllRestaurants() throws Exception {
+    mockMvc.perform(delete("/admin/cache/restaurants"))
+      .andExpect(status().isOk());
+
+    verify(restaurantLookupService).invalidateAll();
+  }
+
+  @Test
+  void invalidateUser() throws Exception {
+    mockMvc.perform(delete("/admin/cache/users/1"))
+      .andExpect(status().isOk());
+
+    verify(userLookupService).invalidate(1);
+  }
+
+  @Test
+  void invalidateAllUsers() throws Exception {
+    mockMvc.perform(delete("/admin/cache/users"))
+      .andExpect(status().isOk());
+
+    verify(userLookupService).invalidateAll();
+  }
+}
@@ -1,29 +1,65 @@
 package com.orders.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.orders.constants.OrderConstants;
+import com.orders.dto.FoodItemSalesOutDto;
 import com.orders.dto.MessageOutDto;
 import com.orders.dto.OrderInDto;
 import com.orders.dto.OrderOutDto;
+import com.orders.dto.OrderPageOutDto;
+import com.orders.dto.OrderStatusOutDto;
+import com.orders.dto.RestaurantSalesOutDto;
+import com.orders.exception.InvalidRequestException;
+import com.orders.service.IdempotencyService;
+import com.orders.service.OrderEventService;
+import com.orders.service.OrderIntakeService;
 import com.orders.service.OrderService;
+import com.orders.service.OrderStatusWatchService;
+import com.orders.utils.ExportFormat;
+import com.orders.utils.OrderStatus;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Supplier;
+import java.util.zip.GZIPInputStream;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 /**
@@ -47,6 +83,30 @@ public class OrderControllerTest {
   @Mock
   private OrderService orderService;
 
+  /**
+   * Mock instance of {@link IdempotencyService}, used when an idempotency key is sent.
+   */
+  @Mock
+  private IdempotencyService idempotencyService;
+
+  /**
+   * Mock instance of {@link OrderIntakeService}, used when asynchronous intake is enabled.
+   */
+  @Mock
+  private OrderIntakeService orderIntakeService;
+
+  /**
+   * Mock instance of {@link OrderEventService}, holding the restaurant order streams.
+   */
+  @Mock
+  private OrderEventService orderEventService;
+
+  /**
+   * Mock instance of {@link OrderStatusWatchService}, answering order status long-polls.
+   */
+  @Mock
+  private OrderStatusWatchService orderStatusWatchService;
+
   /**
    * Instance of {@link OrderController} with dependencies injected.
    * <p>
@@ -98,6 +158,93 @@ public class OrderControllerTest {
       .andExpect(jsonPath("$.message").value("Order placed successfully"));
   }
 
+  @Test
+  @SuppressWarnings("unchecked")
+  void testPlaceOrderWithIdempotencyKey() throws Exception {
+    OrderInDto orderInDto = new OrderInDto(1, 1, 1, Collections.emptyList());
+    MessageOutDto response = new MessageOutDto("Order placed successfully");
+    when(orderService.placeOrder(any(OrderInDto.class))).thenReturn(response);
+    when(idempotencyService.execute(eq("key-1"), eq(1), any(OrderInDto.class), eq(MessageOutDto.class),
+      any(Supplier.class))).thenAnswer(invocation -> ((Supplier<MessageOutDto>) invocation.getArgument(4)).get());
+
+    mockMvc.perform(post("/orders")
+        .header(OrderConstants.IDEMPOTENCY_KEY_HEADER, "key-1")
+        .contentType(MediaType.APPLICATION_JSON)
+        .content(new ObjectMapper().writeValueAsString(orderInDto)))
+      .andExpect(status().isCreated())
+      .andExpect(jsonPath("$.message").value("Order placed successfully"));
+
+    verify(orderService).placeOrder(any(OrderInDto.class));
+  }
+
+  @Test
+  void testPlaceOrderWithoutIdempotencyKeySkipsIdempotencyService() throws Exception {
+    OrderInDto orderInDto = new OrderInDto(1, 1, 1, Collections.emptyList());
+    when(orderService.placeOrder(any(OrderInDto.class))).thenReturn(new MessageOutDto("Order placed successfully"));
+
+    mockMvc.perform(post("/orders")
+        .contentType(MediaType.APPLICATION_JSON)
+        .content(new ObjectMapper().writeValueAsString(orderInDto)))
+      .andExpect(status().isCreated());
+
+    verify(idempotencyService, never()).execute(any(), any(), any(), any(), any());
+  }
+
+  @Test
+  void testPlaceOrderWithAsyncIntakeReturnsAccepted() throws Exception {
+    ReflectionTestUtils.setField(orderController, "asyncIntakeEnabled", true);
+    OrderInDto orderInDto = new OrderInDto(1, 1, 1, Collections.emptyList());
+    when(orderIntakeService.submit(any(OrderInDto.class))).thenReturn(new OrderStatusOutDto(7, OrderStatus.PENDING, null));
+
+    mockMvc.perform(post("/orders")
+        .contentType(MediaType.APPLICATION_JSON)
+        .content(new ObjectMapper().writeValueAsString(orderInDto)))
+      .andExpect(status().isAccepted())
+      .andExpect(header().string("Location", "http://localhost/orders/7/status"))
+      .andExpect(jsonPath("$.orderId").value(7))
+      .andExpect(jsonPath("$.orderStatus").value("PENDING"));
+
+    verify(orderService, never()).placeOrder(any());
+  }
+
+  @Test
+  void testGetOrderStatus() throws Exception {
+    when(orderService.getOrderStatus(7)).thenReturn(new OrderStatusOutDto(7, OrderStatus.REJECTED, "Insufficient balance"));
+
+    mockMvc.perform(get("/orders/7/status"))
+      .andExpect(status().isOk())
+      .andExpect(jsonPath("$.orderStatus").value("REJECTED"))
+      .andExpect(jsonPath("$.statusReason").value("Insufficient balance"));
+  }
+
+  @Test
+  void testStreamOrdersByRestaurantIdPassesLastEventId() throws Exception {
+    when(orderEventService.subscribe(3, "42")).thenReturn(new SseEmitter());
+
+    mockMvc.perform(get("/orders/restaurant/3/stream")
+        .header(OrderConstants.LAST_EVENT_ID_HEADER, "42")
+        .accept(MediaType.TEXT_EVENT_STREAM))
+      .andExpect(request().asyncStarted());
+
+    verify(orderEventService).subscribe(3, "42");
+  }
+
+  @Test
+  void testAwaitOrderStatusReturnsChangedStatus() throws Exception {
+    DeferredResult<OrderStatusOutDto> changed = new DeferredResult<>();
+    changed.setResult(new OrderStatusOutDto(7, OrderStatus.CANCELLED, null));
+    when(orderStatusWatchService.watch(7, OrderStatus.PLACED)).thenReturn(changed);
+
+    MvcResult result = mockMvc.perform(get("/orders/7/status").param("since", "PLACED"))
+      .andExpect(request().asyncStarted())
+      .andReturn();
+
+    mockMvc.perform(asyncDispatch(result))
+      .andExpect(status().isOk())
+      .andExpect(jsonPath("$.orderStatus").value("CANCELLED"));
+    verify(orderService, never()).getOrderStatus(any());
+  }
+
   @Test
   void testCancelOrder() throws Exception {
     int orderId = 1;
@@ -117,10 +264,12 @@ public class OrderControllerTest {
     orderOutDto.setId(1);
     List<OrderOutDto> orders = Collections.singletonList(orderOutDto);
 
-    when(orderService.getOrdersByUserId(anyInt())).thenReturn(orders);
+    when(orderService.getOrdersByUserId(userId, null, null)).thenReturn(new OrderPageOutDto(orders, null));
 
     mockMvc.perform(get("/orders/user/" + userId))
-      .andExpect(status().isOk());
+      .andExpect(status().isOk())
+      .andExpect(jsonPath("$[0].id").value(1))
+      .andExpect(header().doesNotExist(OrderConstants.NEXT_CURSOR_HEADER));
   }
 
   @Test
@@ -130,12 +279,71 @@ public class OrderControllerTest {
     orderOutDto.setId(1);
     List<OrderOutDto> orders = Collections.singletonList(orderOutDto);
 
-    when(orderService.getOrdersByRestaurantId(anyInt())).thenReturn(orders);
+    when(orderService.getOrdersByRestaurantId(restaurantId, null, null)).thenReturn(new OrderPageOutDto(orders, null));
 
     mockMvc.perform(get("/orders/restaurant/" + restaurantId))
       .andExpect(status().isOk());
   }
 
+  @Test
+  void testGetOrdersByRestaurantIdWithCursorReturnsNextCursorHeader() throws Exception {
+    int restaurantId = 1;
+    OrderOutDto orderOutDto = new OrderOutDto();
+    orderOutDto.setId(5);
+    List<OrderOutDto> orders = Collections.singletonList(orderOutDto);
+
+    when(orderService.getOrdersByRestaurantId(restaurantId, "abc", 1)).thenReturn(new OrderPageOutDto(orders, "def"));
+
+    mockMvc.perform(get("/orders/restaurant/" + restaurantId).param("cursor", "abc").param("limit", "1"))
+      .andExpect(status().isOk())
+      .andExpect(jsonPath("$[0].id").value(5))
+      .andExpect(header().string(OrderConstants.NEXT_CURSOR_HEADER, "def"));
+  }
+
+  @Test
+  void testGetKitchenQueue() throws Exception {
+    int restaurantId = 1;
+    OrderOutDto orderOutDto = new OrderOutDto();
+    orderOutDto.setId(4);
+    orderOutDto.setOrderStatus(OrderStatus.CONFIRMED);
+
+    when(orderService.getKitchenQueue(restaurantId, 5)).thenReturn(Collections.singletonList(orderOutDto));
+
+    mockMvc.perform(get("/orders/restaurant/" + restaurantId + "/queue").param("limit", "5"))
+      .andExpect(status().isOk())
+      .andExpect(jsonPath("$[0].id").value(4))
+      .andExpect(jsonPath("$[0].orderStatus").value("CONFIRMED"));
+  }
+
+  @Test
+  void testGetItemSalesByRestaurantId() throws Exception {
+    int restaurantId = 1;
+    List<FoodItemSalesOutDto> sales = Collections.singletonList(
+      new FoodItemSalesOutDto(7, 3L, 5L, BigDecimal.valueOf(150)));
+
+    when(orderService.getItemSalesByRestaurantId(restaurantId)).thenReturn(sales);
+
+    mockMvc.perform(get("/orders/restaurant/" + restaurantId + "/item-sales"))
+      .andExpect(status().isOk())
+      .andExpect(jsonPath("$[0].foodItemId").value(7))
+      .andExpect(jsonPath("$[0].quantitySold").value(5));
+  }
+
+  @Test
+  void testGetDailySalesByRestaurantId() throws Exception {
+    int restaurantId = 1;
+    LocalDate date = LocalDate.of(2024, 3, 1);
+    RestaurantSalesOutDto sales = new RestaurantSalesOutDto(restaurantId, date, 4L, BigDecimal.valueOf(90), 2L, 1L, 0.25);
+
+    when(orderService.getDailySalesByRestaurantId(restaurantId, date)).thenReturn(sales);
+
+    mockMvc.perform(get("/orders/restaurant/" + restaurantId + "/sales").param("date", "2024-03-01"))
+      .andExpect(status().isOk())
+      .andExpect(jsonPath("$.orderCount").value(4))
+      .andExpect(jsonPath("$.cancelledCount").value(1))
+      .andExpect(jsonPath("$.cancellationRate").value(0.25));
+  }
+
   @Test
   void testMarkOrderAsCompleted() throws Exception {
     int orderId = 1;
@@ -143,4 +351,79 @@ public class OrderControllerTest {
     mockMvc.perform(post("/orders/complete/" + orderId + "/user/" + userId))
       .andExpect(status().isOk());
   }
+
+  @Test
+  void testExportOrdersByRestaurantIdStreamsCsv() throws Exception {
+    LocalDate from = LocalDate.of(2024, 1, 1);
+    LocalDate to = LocalDate.of(2024, 1, 31);
+    when(orderService.exportOrdersByRestaurantId(eq(1), eq(from), eq(to), eq(ExportFormat.CSV), any()))
+      .thenAnswer(invocation -> {
+        invocation.getArgument(4, OutputStream.class).write("id\n1\n".getBytes(StandardCharsets.UTF_8));
+        return 1;
+      });
+
+    MvcResult result = mockMvc.perform(get("/orders/restaurant/1/export")
+        .param("from", "2024-01-01").param("to", "2024-01-31").param("format", "CSV"))
+      .andExpect(request().asyncStarted())
+      .andReturn();
+
+    mockMvc.perform(asyncDispatch(result))
+      .andExpect(status().isOk())
+      .andExpect(header().string("Content-Type", "text/csv"))
+      .andExpect(header().string("Content-Disposition", "attachment; filename=\"orders-1-2024-01-01-2024-01-31.csv\""))
+      .andExpect(content().string("id\n1\n"));
+    verify(orderService).validateOrderExport(1, from, to);
+  }
+
+  @Test
+  void testExportOrdersByRestaurantIdCompressesWithGzip() throws Exception {
+    when(orderService.exportOrdersByRestaurantId(eq(1), any(), any(), eq(ExportFormat.NDJSON), any()))
+      .thenAnswer(invocation -> {
+        invocation.getArgument(4, OutputStream.class).write("{\"id\":1}\n".getBytes(StandardCharsets.UTF_8));
+        return 1;
+      });
+
+    MvcResult result = mockMvc.perform(get("/orders/restaurant/1/export")
+        .param("from", "2024-01-01").param("to", "2024-01-01").param("gzip", "true"))
+      .andExpect(request().asyncStarted())
+      .andReturn();
+    MvcResult dispatched = mockMvc.perform(asyncDispatch(result))
+      .andExpect(status().isOk())
+      .andExpect(header().string("Content-Encoding", "gzip"))
+      .andReturn();
+
+    try (GZIPInputStream in = new GZIPInputStream(
+      new ByteArrayInputStream(dispatched.getResponse().getContentAsByteArray()))) {
+      assertEquals("{\"id\":1}\n", new String(readAll(in), StandardCharsets.UTF_8));
+    }
+  }
+
+  @Test
+  void testExportOrdersByRestaurantIdInvalidRangeDoesNotStream() throws Exception {
+    LocalDate from = LocalDate.of(2024, 2, 1);
+    LocalDate to = LocalDate.of(2024, 1, 1);
+    doThrow(new InvalidRequestException(OrderConstants.INVALID_EXPORT_RANGE))
+      .when(orderService).validateOrderExport(1, from, to);
+
+    assertThrows(Exception.class, () -> mockMvc.perform(get("/orders/restaurant/1/export")
+      .param("from", "2024-02-01").param("to", "2024-01-01")));
+    verify(orderService, never()).exportOrdersByRestaurantId(any(), any(), any(), any(), any());
+  }
+
+  /**
+   * Reads a stream to its end.
+   *
+   * @param in the stream to read
+   * @return the bytes read
+   * @throws IOException if reading fails
+   */
+  private static byte[] readAll(final InputStream in) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    byte[] buffer = new byte[1024];
+    int read;
+    while ((read = in.read(buffer)) != -1) {
+      out.write(buffer, 0, read);
+    }
+    return out.toByteArray();
+  }
 }
@@ -0,0 +1,67 @@
+package com.orders.dto;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for {@link CartDiffDto}.
+ */
+public class CartDiffDtoTest {
+
+  /**
+   * Tests that a new diff is empty.
+   */
+  @Test
+  public void testNewDiffIsEmpty() {
+    CartDiffDto diff = new CartDiffDto();
+
+    assertTrue(diff.isEmpty());
+    assertFalse(diff.hasItemChanges());
+  }
+
+  /**
+   * Tests that price changes make a diff non-empty without counting as item changes.
+   */
+  @Test
+  public void testPriceChangesAreNotItemChanges() {
+    CartDiffDto diff = new CartDiffDto();
+    diff.getPriceChanges().add(new CartItemChangeDto(1, 1, 1, BigDecimal.ONE, BigDecimal.TEN));
+
+    assertFalse(diff.isEmpty());
+    assertFalse(diff.hasItemChanges());
+  }
+
+  /**
+   * Tests that missing, extra and quantity-changed items count as item changes.
+   */
+  @Test
+  public void testItemChanges() {
+    CartDiffDto missing = new CartDiffDto();
+    missing.getMissingItems().add(new CartItemDto(1, 1, BigDecimal.ONE));
+    CartDiffDto extra = new CartDiffDto();
+    extra.getExtraItems().add(new CartItemDto(1, 1, BigDecimal.ONE));
+    CartDiffDto quantity = new CartDiffDto();
+    quantity.getQuantityChanges().add(new CartItemChangeDto(1, 2, 1, BigDecimal.ONE, BigDecimal.ONE));
+
+    assertTrue(missing.hasItemChanges());
+    assertTrue(extra.hasItemChanges());
+    assertTrue(quantity.hasItemChanges());
+  }
+
+  /**
+   * Tests the {@code equals()} and {@code hashCode()} methods.
+   */
+  @Test
+  public void testEqualsAndHashCode() {
+    CartDiffDto diff1 = new CartDiffDto();
+    CartDiffDto diff2 = new CartDiffDto();
+
+    assertEquals(diff1, diff2);
+    assertEquals(diff1.hashCode(), diff2.hashCode());
+  }
+}
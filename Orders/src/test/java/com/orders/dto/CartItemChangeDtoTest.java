@@ -0,0 +1,43 @@
+package com.orders.dto;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+/**
+ * Unit tests for {@link CartItemChangeDto}.
+ */
+public class CartItemChangeDtoTest {
+
+  /**
+   * Tests the all-args constructor and the getters.
+   */
+  @Test
+  public void testAllArgsConstructorAndGetters() {
+    CartItemChangeDto dto = new CartItemChangeDto(1, 2, 3, new BigDecimal("20.00"), new BigDecimal("30.00"));
+
+    assertEquals(1, dto.getFoodItemId());
+    assertEquals(2, dto.getSubmittedQuantity());
+    assertEquals(3, dto.getCartQuantity());
+    assertEquals(new BigDecimal("20.00"), dto.getSubmittedPrice());
+    assertEquals(new BigDecimal("30.00"), dto.getCartPrice());
+  }
+
+  /**
+   * Tests the {@code equals()} and {@code hashCode()} methods.
+   */
+  @Test
+  public void testEqualsAndHashCode() {
+    CartItemChangeDto dto1 = new CartItemChangeDto(1, 2, 3, BigDecimal.ONE, BigDecimal.TEN);
+    CartItemChangeDto dto2 = new CartItemChangeDto(1, 2, 3, BigDecimal.ONE, BigDecimal.TEN);
+
+    assertEquals(dto1, dto2);
+    assertEquals(dto1.hashCode(), dto2.hashCode());
+
+    dto2.setCartQuantity(4);
+    assertNotEquals(dto1, dto2);
+  }
+}
@@ -0,0 +1,41 @@
+package com.orders.dto;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+/**
+ * Unit tests for {@link FoodItemPriceOutDto}.
+ */
+public class FoodItemPriceOutDtoTest {
+
+  /**
+   * Tests the all-args constructor and the getters.
+   */
+  @Test
+  public void testAllArgsConstructorAndGetters() {
+    FoodItemPriceOutDto dto = new FoodItemPriceOutDto(1, 2, new BigDecimal("9.99"));
+
+    assertEquals(1, dto.getId());
+    assertEquals(2, dto.getRestaurantId());
+    assertEquals(new BigDecimal("9.99"), dto.getPrice());
+  }
+
+  /**
+   * Tests the {@code equals()} and {@code hashCode()} methods.
+   */
+  @Test
+  public void testEqualsAndHashCode() {
+    FoodItemPriceOutDto dto1 = new FoodItemPriceOutDto(1, 2, new BigDecimal("9.99"));
+    FoodItemPriceOutDto dto2 = new FoodItemPriceOutDto(1, 2, new BigDecimal("9.99"));
+
+    assertEquals(dto1, dto2);
+    assertEquals(dto1.hashCode(), dto2.hashCode());
+
+    dto2.setPrice(new BigDecimal("5.99"));
+    assertNotEquals(dto1, dto2);
+  }
+}
@@ -0,0 +1,42 @@
+package com.orders.dto;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+/**
+ * Unit tests for {@link FoodItemSalesOutDto}.
+ */
+public class FoodItemSalesOutDtoTest {
+
+  /**
+   * Tests the all-args constructor and the getters.
+   */
+  @Test
+  public void testAllArgsConstructorAndGetters() {
+    FoodItemSalesOutDto dto = new FoodItemSalesOutDto(1, 2L, 5L, new BigDecimal("49.95"));
+
+    assertEquals(1, dto.getFoodItemId());
+    assertEquals(2L, dto.getOrderCount());
+    assertEquals(5L, dto.getQuantitySold());
+    assertEquals(new BigDecimal("49.95"), dto.getRevenue());
+  }
+
+  /**
+   * Tests the {@code equals()} and {@code hashCode()} methods.
+   */
+  @Test
+  public void testEqualsAndHashCode() {
+    FoodItemSalesOutDto dto1 = new FoodItemSalesOutDto(1, 2L, 5L, new BigDecimal("49.95"));
+    FoodItemSalesOutDto dto2 = new FoodItemSalesOutDto(1, 2L, 5L, new BigDecimal("49.95"));
+
+    assertEquals(dto1, dto2);
+    assertEquals(dto1.hashCode(), dto2.hashCode());
+
+    dto2.setQuantitySold(6L);
+    assertNotEquals(dto1, dto2);
+  }
+}
@@ -0,0 +1,57 @@
+package com.orders.dto;
+
+import com.orders.utils.OrderEventType;
+import com.orders.utils.OrderStatus;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+/**
+ * Unit tests for {@link OrderEventOutDto}.
+ */
+public class OrderEventOutDtoTest {
+
+  /**
+   * Fixed order time used by the tests.
+   */
+  private static final LocalDateTime ORDER_TIME = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+  /**
+   * Tests the all-args constructor and the getters.
+   */
+  @Test
+  public void testAllArgsConstructorAndGetters() {
+    OrderEventOutDto dto = new OrderEventOutDto(7L, OrderEventType.PLACED, 1, 2, 3, OrderStatus.PLACED,
+      BigDecimal.TEN, ORDER_TIME);
+
+    assertEquals(7L, dto.getEventId());
+    assertEquals(OrderEventType.PLACED, dto.getEventType());
+    assertEquals(1, dto.getOrderId());
+    assertEquals(2, dto.getUserId());
+    assertEquals(3, dto.getRestaurantId());
+    assertEquals(OrderStatus.PLACED, dto.getOrderStatus());
+    assertEquals(BigDecimal.TEN, dto.getTotalPrice());
+    assertEquals(ORDER_TIME, dto.getOrderTime());
+  }
+
+  /**
+   * Tests the {@code equals()} and {@code hashCode()} methods.
+   */
+  @Test
+  public void testEqualsAndHashCode() {
+    OrderEventOutDto dto1 = new OrderEventOutDto(7L, OrderEventType.PLACED, 1, 2, 3, OrderStatus.PLACED,
+      BigDecimal.TEN, ORDER_TIME);
+    OrderEventOutDto dto2 = new OrderEventOutDto(7L, OrderEventType.PLACED, 1, 2, 3, OrderStatus.PLACED,
+      BigDecimal.TEN, ORDER_TIME);
+
+    assertEquals(dto1, dto2);
+    assertEquals(dto1.hashCode(), dto2.hashCode());
+
+    dto2.setEventType(OrderEventType.CANCELLED);
+    assertNotEquals(dto1, dto2);
+  }
+}
@@ -0,0 +1,44 @@
+package com.orders.dto;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Unit tests for {@link OrderPageOutDto}.
+ */
+public class OrderPageOutDtoTest {
+
+  /**
+   * Tests the all-args constructor and the getters.
+   */
+  @Test
+  public void testAllArgsConstructorAndGetters() {
+    OrderOutDto order = new OrderOutDto();
+    order.setId(1);
+    OrderPageOutDto dto = new OrderPageOutDto(Collections.singletonList(order), "cursor");
+
+    assertEquals(Collections.singletonList(order), dto.getOrders());
+    assertEquals("cursor", dto.getNextCursor());
+  }
+
+  /**
+   * Tests the {@code equals()} and {@code hashCode()} methods.
+   */
+  @Test
+  public void testEqualsAndHashCode() {
+    OrderPageOutDto dto1 = new OrderPageOutDto(Collections.emptyList(), "cursor");
+    OrderPageOutDto dto2 = new OrderPageOutDto(Collections.emptyList(), "cursor");
+
+    assertEquals(dto1, dto2);
+    assertEquals(dto1.hashCode(), dto2.hashCode());
+
+    dto2.setNextCursor(null);
+    assertNull(dto2.getNextCursor());
+    assertNotEquals(dto1, dto2);
+  }
+}
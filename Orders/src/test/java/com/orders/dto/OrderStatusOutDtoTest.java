@@ -0,0 +1,53 @@
+package com.orders.dto;
+
+import com.orders.utils.OrderStatus;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Unit tests for {@link OrderStatusOutDto}.
+ */
+public class OrderStatusOutDtoTest {
+
+  /**
+   * Tests the all-args constructor and the getters.
+   */
+  @Test
+  public void testAllArgsConstructorAndGetters() {
+    OrderStatusOutDto dto = new OrderStatusOutDto(1, OrderStatus.REJECTED, "Insufficient balance");
+
+    assertEquals(1, dto.getOrderId());
+    assertEquals(OrderStatus.REJECTED, dto.getOrderStatus());
+    assertEquals("Insufficient balance", dto.getStatusReason());
+  }
+
+  /**
+   * Tests the no-args constructor, which leaves every field unset.
+   */
+  @Test
+  public void testNoArgsConstructor() {
+    OrderStatusOutDto dto = new OrderStatusOutDto();
+
+    assertNull(dto.getOrderId());
+    assertNull(dto.getOrderStatus());
+    assertNull(dto.getStatusReason());
+  }
+
+  /**
+   * Tests the {@code equals()} and {@code hashCode()} methods.
+   */
+  @Test
+  public void testEqualsAndHashCode() {
+    OrderStatusOutDto dto1 = new OrderStatusOutDto(1, OrderStatus.PENDING, null);
+    OrderStatusOutDto dto2 = new OrderStatusOutDto(1, OrderStatus.PENDING, null);
+
+    assertEquals(dto1, dto2);
+    assertEquals(dto1.hashCode(), dto2.hashCode());
+
+    dto2.setOrderStatus(OrderStatus.PLACED);
+    assertNotEquals(dto1, dto2);
+  }
+}
@@ -0,0 +1,45 @@
+package com.orders.dto;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Unit tests for {@link RestaurantOutDto}.
+ */
+public class RestaurantOutDtoTest {
+
+  /**
+   * Tests the getters and setters of the {@link RestaurantOutDto} class.
+   */
+  @Test
+  public void testGettersAndSetters() {
+    RestaurantOutDto dto = new RestaurantOutDto();
+
+    assertNull(dto.getId());
+    dto.setId(1);
+    dto.setUserId(2);
+    dto.setRestaurantName("Test Restaurant");
+
+    assertEquals(1, dto.getId());
+    assertEquals(2, dto.getUserId());
+    assertEquals("Test Restaurant", dto.getRestaurantName());
+  }
+
+  /**
+   * Tests the {@code equals()} and {@code hashCode()} methods.
+   */
+  @Test
+  public void testEqualsAndHashCode() {
+    RestaurantOutDto dto1 = new RestaurantOutDto(1, 2, "Test Restaurant");
+    RestaurantOutDto dto2 = new RestaurantOutDto(1, 2, "Test Restaurant");
+
+    assertEquals(dto1, dto2);
+    assertEquals(dto1.hashCode(), dto2.hashCode());
+
+    dto2.setRestaurantName("Other Restaurant");
+    assertNotEquals(dto1, dto2);
+  }
+}
@@ -0,0 +1,51 @@
+package com.orders.dto;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+/**
+ * Unit tests for {@link RestaurantSalesOutDto}.
+ */
+public class RestaurantSalesOutDtoTest {
+
+  /**
+   * Day covered by the test figures.
+   */
+  private static final LocalDate DATE = LocalDate.of(2024, 3, 1);
+
+  /**
+   * Tests the all-args constructor and the getters.
+   */
+  @Test
+  public void testAllArgsConstructorAndGetters() {
+    RestaurantSalesOutDto dto = new RestaurantSalesOutDto(1, DATE, 4L, new BigDecimal("90.00"), 2L, 1L, 0.25);
+
+    assertEquals(1, dto.getRestaurantId());
+    assertEquals(DATE, dto.getDate());
+    assertEquals(4L, dto.getOrderCount());
+    assertEquals(new BigDecimal("90.00"), dto.getRevenue());
+    assertEquals(2L, dto.getCompletedCount());
+    assertEquals(1L, dto.getCancelledCount());
+    assertEquals(0.25, dto.getCancellationRate());
+  }
+
+  /**
+   * Tests the {@code equals()} and {@code hashCode()} methods.
+   */
+  @Test
+  public void testEqualsAndHashCode() {
+    RestaurantSalesOutDto dto1 = new RestaurantSalesOutDto(1, DATE, 4L, new BigDecimal("90.00"), 2L, 1L, 0.25);
+    RestaurantSalesOutDto dto2 = new RestaurantSalesOutDto(1, DATE, 4L, new BigDecimal("90.00"), 2L, 1L, 0.25);
+
+    assertEquals(dto1, dto2);
+    assertEquals(dto1.hashCode(), dto2.hashCode());
+
+    dto2.setCancelledCount(2L);
+    assertNotEquals(dto1, dto2);
+  }
+}
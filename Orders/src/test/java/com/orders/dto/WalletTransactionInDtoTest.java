@@ -0,0 +1,41 @@
+package com.orders.dto;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+/**
+ * Unit tests for {@link WalletTransactionInDto}.
+ */
+public class WalletTransactionInDtoTest {
+
+  /**
+   * Tests the all-args constructor and the getters.
+   */
+  @Test
+  public void testAllArgsConstructorAndGetters() {
+    WalletTransactionInDto dto = new WalletTransactionInDto("order-1-debit", 2, new BigDecimal("-49.95"));
+
+    assertEquals("order-1-debit", dto.getIdempotencyKey());
+    assertEquals(2, dto.getUserId());
+    assertEquals(new BigDecimal("-49.95"), dto.getAmount());
+  }
+
+  /**
+   * Tests the {@code equals()} and {@code hashCode()} methods.
+   */
+  @Test
+  public void testEqualsAndHashCode() {
+    WalletTransactionInDto dto1 = new WalletTransactionInDto("order-1-debit", 2, new BigDecimal("-49.95"));
+    WalletTransactionInDto dto2 = new WalletTransactionInDto("order-1-debit", 2, new BigDecimal("-49.95"));
+
+    assertEquals(dto1, dto2);
+    assertEquals(dto1.hashCode(), dto2.hashCode());
+
+    dto2.setAmount(new BigDecimal("49.95"));
+    assertNotEquals(dto1, dto2);
+  }
+}
@@ -0,0 +1,39 @@
+package com.orders.dto;
+
+import com.orders.utils.WalletTransactionStatus;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+/**
+ * Unit tests for {@link WalletTransactionOutDto}.
+ */
+public class WalletTransactionOutDtoTest {
+
+  /**
+   * Tests the all-args constructor and the getters.
+   */
+  @Test
+  public void testAllArgsConstructorAndGetters() {
+    WalletTransactionOutDto dto = new WalletTransactionOutDto("order-1-debit", WalletTransactionStatus.APPLIED);
+
+    assertEquals("order-1-debit", dto.getIdempotencyKey());
+    assertEquals(WalletTransactionStatus.APPLIED, dto.getStatus());
+  }
+
+  /**
+   * Tests the {@code equals()} and {@code hashCode()} methods.
+   */
+  @Test
+  public void testEqualsAndHashCode() {
+    WalletTransactionOutDto dto1 = new WalletTransactionOutDto("order-1-debit", WalletTransactionStatus.APPLIED);
+    WalletTransactionOutDto dto2 = new WalletTransactionOutDto("order-1-debit", WalletTransactionStatus.APPLIED);
+
+    assertEquals(dto1, dto2);
+    assertEquals(dto1.hashCode(), dto2.hashCode());
+
+    dto2.setStatus(WalletTransactionStatus.REJECTED);
+    assertNotEquals(dto1, dto2);
+  }
+}
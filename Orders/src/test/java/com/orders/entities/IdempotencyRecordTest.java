@@ -0,0 +1,63 @@
+package com.orders.entities;
+
+import com.orders.utils.IdempotencyStatus;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Unit tests for {@link IdempotencyRecord}.
+ */
+public class IdempotencyRecordTest {
+
+  /**
+   * Time used as creation and expiry time.
+   */
+  private static final LocalDateTime NOW = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+  /**
+   * Tests the getter and setter methods of {@link IdempotencyRecord}.
+   */
+  @Test
+  public void testGettersAndSetters() {
+    IdempotencyRecord record = new IdempotencyRecord();
+
+    assertNull(record.getId());
+    record.setId(1);
+    record.setUserId(2);
+    record.setIdempotencyKey("key-1");
+    record.setRequestHash("hash");
+    record.setStatus(IdempotencyStatus.COMPLETED);
+    record.setResponseBody("{\"message\":\"Order placed successfully\"}");
+    record.setCreatedAt(NOW);
+    record.setExpiresAt(NOW.plusDays(1));
+
+    assertEquals(1, record.getId());
+    assertEquals(2, record.getUserId());
+    assertEquals("key-1", record.getIdempotencyKey());
+    assertEquals("hash", record.getRequestHash());
+    assertEquals(IdempotencyStatus.COMPLETED, record.getStatus());
+    assertEquals("{\"message\":\"Order placed successfully\"}", record.getResponseBody());
+    assertEquals(NOW, record.getCreatedAt());
+    assertEquals(NOW.plusDays(1), record.getExpiresAt());
+  }
+
+  /**
+   * Tests the {@code equals()} and {@code hashCode()} methods of {@link IdempotencyRecord}.
+   */
+  @Test
+  public void testEqualsAndHashCode() {
+    IdempotencyRecord record1 = new IdempotencyRecord(1, 2, "key-1", "hash", IdempotencyStatus.IN_PROGRESS, null, NOW, NOW);
+    IdempotencyRecord record2 = new IdempotencyRecord(1, 2, "key-1", "hash", IdempotencyStatus.IN_PROGRESS, null, NOW, NOW);
+
+    assertEquals(record1, record2);
+    assertEquals(record1.hashCode(), record2.hashCode());
+
+    record2.setStatus(IdempotencyStatus.COMPLETED);
+    assertNotEquals(record1, record2);
+  }
+}
@@ -0,0 +1,53 @@
+package com.orders.entities;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Unit tests for {@link OrderItem}.
+ */
+public class OrderItemTest {
+
+  /**
+   * Tests the getter and setter methods of {@link OrderItem}.
+   */
+  @Test
+  public void testGettersAndSetters() {
+    OrderItem orderItem = new OrderItem();
+
+    assertNull(orderItem.getId());
+    orderItem.setId(1);
+    orderItem.setOrderId(2);
+    orderItem.setRestaurantId(3);
+    orderItem.setFoodItemId(4);
+    orderItem.setQuantity(5);
+    orderItem.setPrice(new BigDecimal("52.50"));
+
+    assertEquals(1, orderItem.getId());
+    assertEquals(2, orderItem.getOrderId());
+    assertEquals(3, orderItem.getRestaurantId());
+    assertEquals(4, orderItem.getFoodItemId());
+    assertEquals(5, orderItem.getQuantity());
+    assertEquals(new BigDecimal("52.50"), orderItem.getPrice());
+  }
+
+  /**
+   * Tests the {@code equals()} and {@code hashCode()} methods of {@link OrderItem}.
+   */
+  @Test
+  public void testEqualsAndHashCode() {
+    OrderItem item1 = new OrderItem(1, 2, 3, 4, 5, new BigDecimal("52.50"));
+    OrderItem item2 = new OrderItem(1, 2, 3, 4, 5, new BigDecimal("52.50"));
+
+    assertEquals(item1, item2);
+    assertEquals(item1.hashCode(), item2.hashCode());
+
+    item2.setQuantity(6);
+    assertNotEquals(item1, item2);
+  }
+}
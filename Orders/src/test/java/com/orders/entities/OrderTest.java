@@ -32,7 +32,8 @@ class OrderTest {
     order.setRestaurantId(1);
 
     String expectedString = "Order(id=1, userId=1, deliveryAddressId=1, orderStatus=PLACED, cartItems=[], orderTime="
-      + order.getOrderTime() + ", totalPrice=100.0, restaurantId=1)";
+      + order.getOrderTime() + ", totalPrice=100.0, restaurantId=1, statusReason=null, submittedItems=null, "
+      + "processingStartedAt=null)";
     assertThat(order.toString()).contains(expectedString);
   }
 
@@ -43,13 +44,14 @@ class OrderTest {
    */
   @Test
   void testEqualsAndHashCode() {
+    LocalDateTime orderTime = LocalDateTime.now();
     Order order1 = new Order();
     order1.setId(1);
     order1.setUserId(1);
     order1.setDeliveryAddressId(1);
     order1.setOrderStatus(OrderStatus.PLACED);
     order1.setCartItems("[]");
-    order1.setOrderTime(LocalDateTime.now());
+    order1.setOrderTime(orderTime);
     order1.setTotalPrice(BigDecimal.valueOf(100.00));
     order1.setRestaurantId(1);
 
@@ -59,7 +61,7 @@ class OrderTest {
     order2.setDeliveryAddressId(1);
     order2.setOrderStatus(OrderStatus.PLACED);
     order2.setCartItems("[]");
-    order2.setOrderTime(LocalDateTime.now());
+    order2.setOrderTime(orderTime);
     order2.setTotalPrice(BigDecimal.valueOf(100.00));
     order2.setRestaurantId(1);
 
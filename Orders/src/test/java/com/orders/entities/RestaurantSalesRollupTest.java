@@ -0,0 +1,60 @@
+package com.orders.entities;
+
+import com.orders.utils.OrderStatus;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Unit tests for {@link RestaurantSalesRollup}.
+ */
+public class RestaurantSalesRollupTest {
+
+  /**
+   * Day of the test rollups.
+   */
+  private static final LocalDate DATE = LocalDate.of(2024, 3, 1);
+
+  /**
+   * Tests the getter and setter methods of {@link RestaurantSalesRollup}.
+   */
+  @Test
+  public void testGettersAndSetters() {
+    RestaurantSalesRollup rollup = new RestaurantSalesRollup();
+
+    assertNull(rollup.getId());
+    rollup.setId(1);
+    rollup.setRestaurantId(2);
+    rollup.setSalesDate(DATE);
+    rollup.setOrderStatus(OrderStatus.CANCELLED);
+    rollup.setOrderCount(3L);
+    rollup.setRevenue(new BigDecimal("45.00"));
+
+    assertEquals(1, rollup.getId());
+    assertEquals(2, rollup.getRestaurantId());
+    assertEquals(DATE, rollup.getSalesDate());
+    assertEquals(OrderStatus.CANCELLED, rollup.getOrderStatus());
+    assertEquals(3L, rollup.getOrderCount());
+    assertEquals(new BigDecimal("45.00"), rollup.getRevenue());
+  }
+
+  /**
+   * Tests the {@code equals()} and {@code hashCode()} methods of {@link RestaurantSalesRollup}.
+   */
+  @Test
+  public void testEqualsAndHashCode() {
+    RestaurantSalesRollup rollup1 = new RestaurantSalesRollup(1, 2, DATE, OrderStatus.PLACED, 3L, new BigDecimal("45.00"));
+    RestaurantSalesRollup rollup2 = new RestaurantSalesRollup(1, 2, DATE, OrderStatus.PLACED, 3L, new BigDecimal("45.00"));
+
+    assertEquals(rollup1, rollup2);
+    assertEquals(rollup1.hashCode(), rollup2.hashCode());
+
+    rollup2.setOrderCount(4L);
+    assertNotEquals(rollup1, rollup2);
+  }
+}
@@ -0,0 +1,73 @@
+package com.orders.entities;
+
+import com.orders.utils.WalletOperation;
+import com.orders.utils.WalletOutboxStatus;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Unit tests for {@link WalletOutboxEntry}.
+ */
+public class WalletOutboxEntryTest {
+
+  /**
+   * Time used as creation and delivery time.
+   */
+  private static final LocalDateTime NOW = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+  /**
+   * Tests the getter and setter methods of {@link WalletOutboxEntry}.
+   */
+  @Test
+  public void testGettersAndSetters() {
+    WalletOutboxEntry entry = new WalletOutboxEntry();
+
+    assertNull(entry.getId());
+    entry.setId(1);
+    entry.setIdempotencyKey("order-2-debit");
+    entry.setOrderId(2);
+    entry.setUserId(3);
+    entry.setOperation(WalletOperation.DEBIT);
+    entry.setAmount(new BigDecimal("52.50"));
+    entry.setStatus(WalletOutboxStatus.PENDING);
+    entry.setAttempts(4);
+    entry.setLastError("timeout");
+    entry.setCreatedAt(NOW);
+    entry.setDeliveredAt(NOW);
+
+    assertEquals(1, entry.getId());
+    assertEquals("order-2-debit", entry.getIdempotencyKey());
+    assertEquals(2, entry.getOrderId());
+    assertEquals(3, entry.getUserId());
+    assertEquals(WalletOperation.DEBIT, entry.getOperation());
+    assertEquals(new BigDecimal("52.50"), entry.getAmount());
+    assertEquals(WalletOutboxStatus.PENDING, entry.getStatus());
+    assertEquals(4, entry.getAttempts());
+    assertEquals("timeout", entry.getLastError());
+    assertEquals(NOW, entry.getCreatedAt());
+    assertEquals(NOW, entry.getDeliveredAt());
+  }
+
+  /**
+   * Tests the {@code equals()} and {@code hashCode()} methods of {@link WalletOutboxEntry}.
+   */
+  @Test
+  public void testEqualsAndHashCode() {
+    WalletOutboxEntry entry1 = new WalletOutboxEntry(1, "order-2-debit", 2, 3, WalletOperation.DEBIT,
+      new BigDecimal("52.50"), WalletOutboxStatus.PENDING, 0, null, NOW, null);
+    WalletOutboxEntry entry2 = new WalletOutboxEntry(1, "order-2-debit", 2, 3, WalletOperation.DEBIT,
+      new BigDecimal("52.50"), WalletOutboxStatus.PENDING, 0, null, NOW, null);
+
+    assertEquals(entry1, entry2);
+    assertEquals(entry1.hashCode(), entry2.hashCode());
+
+    entry2.setStatus(WalletOutboxStatus.DELIVERED);
+    assertNotEquals(entry1, entry2);
+  }
+}
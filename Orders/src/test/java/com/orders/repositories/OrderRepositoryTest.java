@@ -0,0 +1,115 @@
+package com.orders.repositories;
+
+import com.orders.dto.OrderStatusOutDto;
+import com.orders.entities.Order;
+import com.orders.utils.OrderStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+import javax.persistence.EntityManager;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests of the queries of {@link OrderRepository} on an in-memory database.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+class OrderRepositoryTest {
+
+  /**
+   * The repository under test.
+   */
+  @Autowired
+  private OrderRepository orderRepository;
+
+  /**
+   * Entity manager used to flush the writes.
+   */
+  @Autowired
+  private EntityManager entityManager;
+
+  @Test
+  void findStatusByIdReadsStatusChangedAfterOrderWasLoaded() {
+    Order order = orderRepository.save(new Order(null, 1, 3, OrderStatus.PLACED, null, LocalDateTime.now(),
+      BigDecimal.TEN, 2, null, null, null));
+    entityManager.flush();
+    Integer orderId = order.getId();
+
+    assertEquals(OrderStatus.PLACED, orderRepository.findById(orderId).get().getOrderStatus());
+    assertTrue(orderRepository.transition(orderId, OrderStatus.PLACED, OrderStatus.CANCELLED, null));
+
+    assertEquals(OrderStatus.PLACED, orderRepository.findById(orderId).get().getOrderStatus());
+    assertEquals(new OrderStatusOutDto(orderId, OrderStatus.CANCELLED, null),
+      orderRepository.findStatusById(orderId).get());
+  }
+
+  @Test
+  void recentClaimOfOrderSubmittedLongAgoIsNotStalled() {
+    Integer orderId = savePendingOrder(LocalDateTime.now().minusHours(1));
+
+    assertTrue(orderRepository.claim(orderId, LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS)));
+
+    assertTrue(orderRepository.findByOrderStatusAndProcessingStartedAtBefore(OrderStatus.PROCESSING,
+      LocalDateTime.now().minusMinutes(5), PageRequest.of(0, 10)).isEmpty());
+  }
+
+  @Test
+  void claimedOrderCanOnlyBeMovedByTheClaimHoldingIt() {
+    Integer orderId = savePendingOrder(LocalDateTime.now().minusHours(1));
+    LocalDateTime firstClaim = LocalDateTime.now().minusMinutes(10).truncatedTo(ChronoUnit.MILLIS);
+    LocalDateTime secondClaim = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+
+    assertTrue(orderRepository.claim(orderId, firstClaim));
+    assertFalse(orderRepository.claim(orderId, secondClaim));
+    assertTrue(orderRepository.transitionClaimed(orderId, firstClaim, OrderStatus.PENDING, null));
+    assertTrue(orderRepository.claim(orderId, secondClaim));
+
+    assertFalse(orderRepository.placeClaimed(orderId, firstClaim, BigDecimal.TEN));
+    assertFalse(orderRepository.transitionClaimed(orderId, firstClaim, OrderStatus.REJECTED, "lost"));
+    assertTrue(orderRepository.placeClaimed(orderId, secondClaim, BigDecimal.TEN));
+
+    Order placed = orderRepository.findById(orderId).get();
+    assertEquals(OrderStatus.PLACED, placed.getOrderStatus());
+    assertEquals(0, BigDecimal.TEN.compareTo(placed.getTotalPrice()));
+    assertNull(placed.getSubmittedItems());
+    assertNull(placed.getStatusReason());
+  }
+
+  @Test
+  void findStatusByIdIsEmptyForUnknownOrder() {
+    assertFalse(orderRepository.findStatusById(-1).isPresent());
+  }
+
+  /**
+   * Saves a pending order with submitted items.
+   *
+   * @param orderTime the time the order was submitted
+   * @return the ID of the order
+   */
+  private Integer savePendingOrder(final LocalDateTime orderTime) {
+    Order order = orderRepository.save(new Order(null, 1, 3, OrderStatus.PENDING, null, orderTime, null, 2, null,
+      "[{\"foodItemId\":1,\"quantity\":2,\"price\":20}]", null));
+    entityManager.flush();
+    return order.getId();
+  }
+
+  /**
+   * Persistence configuration of the test, limited to the entities and repositories of the service.
+   */
+  @Configuration
+  @EntityScan(basePackageClasses = Order.class)
+  @EnableJpaRepositories(basePackageClasses = OrderRepository.class)
+  static class PersistenceConfiguration {
+  }
+}
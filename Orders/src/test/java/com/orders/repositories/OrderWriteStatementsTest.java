@@ -0,0 +1,148 @@
+package com.orders.repositories;
+
+import com.orders.constants.OrderConstants;
+import com.orders.entities.Cart;
+import com.orders.entities.OrderItem;
+import org.hibernate.BaseSessionEventListener;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+import javax.persistence.EntityManager;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Counts the JDBC statements and batches issued by the order and cart writes of a checkout, with the batching
+ * settings of the application, on an in-memory database.
+ */
+@DataJpaTest(properties = {
+  "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+  "spring.jpa.properties.hibernate.session.events.auto="
+    + "com.orders.repositories.OrderWriteStatementsTest$JdbcCountingListener"
+})
+class OrderWriteStatementsTest {
+
+  /**
+   * Number of items in the checkout, enough to span several JDBC batches and ID allocations.
+   */
+  private static final int ITEMS = 120;
+
+  /**
+   * JDBC batch size set by {@code hibernate.jdbc.batch_size} in the application properties.
+   */
+  private static final int JDBC_BATCH_SIZE = 50;
+
+  /**
+   * Repository of the order items under test.
+   */
+  @Autowired
+  private OrderItemRepository orderItemRepository;
+
+  /**
+   * Repository of the cart items under test.
+   */
+  @Autowired
+  private CartRepository cartRepository;
+
+  /**
+   * Entity manager used to flush the writes.
+   */
+  @Autowired
+  private EntityManager entityManager;
+
+  /**
+   * Resets the JDBC counters before each test.
+   */
+  @BeforeEach
+  void setUp() {
+    JdbcCountingListener.reset();
+  }
+
+  @Test
+  void orderItemsAreInsertedInBatchesWithPooledIds() {
+    List<OrderItem> items = new ArrayList<>();
+    for (int i = 0; i < ITEMS; i++) {
+      items.add(new OrderItem(null, 1, 2, i, 1, BigDecimal.TEN));
+    }
+
+    orderItemRepository.saveAll(items);
+    entityManager.flush();
+
+    int allocationSize = OrderConstants.ID_ALLOCATION_SIZE;
+    assertEquals((ITEMS + JDBC_BATCH_SIZE - 1) / JDBC_BATCH_SIZE, JdbcCountingListener.BATCHES.get());
+    // One sequence call per allocation, plus the first call the pooled optimizer makes to set up its range.
+    assertEquals((ITEMS + allocationSize - 1) / allocationSize + 1, JdbcCountingListener.STATEMENTS.get());
+  }
+
+  @Test
+  void cartIsClearedWithASingleStatement() {
+    for (int i = 0; i < ITEMS; i++) {
+      cartRepository.save(new Cart(null, 1, i, 1, BigDecimal.TEN, 2));
+    }
+    entityManager.flush();
+    entityManager.clear();
+    JdbcCountingListener.reset();
+
+    assertEquals(ITEMS, cartRepository.deleteByUserIdAndRestaurantId(1, 2));
+    assertEquals(1, JdbcCountingListener.STATEMENTS.get());
+    assertEquals(0, JdbcCountingListener.BATCHES.get());
+  }
+
+  /**
+   * Persistence configuration of the test, limited to the entities and repositories of the service.
+   */
+  @Configuration
+  @EntityScan(basePackageClasses = OrderItem.class)
+  @EnableJpaRepositories(basePackageClasses = OrderItemRepository.class)
+  static class PersistenceConfiguration {
+  }
+
+  /**
+   * Session listener counting the JDBC statements and batches executed, across all sessions.
+   */
+  public static class JdbcCountingListener extends BaseSessionEventListener {
+
+    /**
+     * Number of statements executed on their own.
+     */
+    static final AtomicInteger STATEMENTS = new AtomicInteger();
+
+    /**
+     * Number of batches executed.
+     */
+    static final AtomicInteger BATCHES = new AtomicInteger();
+
+    /**
+     * Resets both counters.
+     */
+    static void reset() {
+      STATEMENTS.set(0);
+      BATCHES.set(0);
+    }
+
+    /**
+     * Counts a statement executed on its own.
+     */
+    @Override
+    public void jdbcExecuteStatementEnd() {
+      STATEMENTS.incrementAndGet();
+    }
+
+    /**
+     * Counts a batch executed.
+     */
+    @Override
+    public void jdbcExecuteBatchEnd() {
+      BATCHES.incrementAndGet();
+    }
+  }
+}
@@ -0,0 +1,170 @@
+package com.orders.service;
+
+import com.orders.utils.GuardedFeignClient;
+import feign.Client;
+import feign.Request;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.context.PropertyPlaceholderAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.cloud.openfeign.FeignClientSpecification;
+import org.springframework.cloud.openfeign.FeignContext;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.io.IOException;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for {@link PooledFeignClientConfiguration}, the per-client HTTP transport of the Feign clients.
+ */
+class PooledFeignClientConfigurationTest {
+
+  /**
+   * The per-client configuration under test.
+   */
+  private final PooledFeignClientConfiguration configuration = new PooledFeignClientConfiguration();
+
+  /**
+   * Settings with a default for all clients and an override for the user service.
+   */
+  private final MockEnvironment environment = new MockEnvironment()
+    .withProperty("orders.feign.default.max-connections", "10")
+    .withProperty("orders.feign.user-service.max-connections", "3")
+    .withProperty("orders.feign.user-service.read-timeout-ms", "1500")
+    .withProperty("orders.feign.user-service.bulkhead.max-concurrent-calls", "1")
+    .withProperty("orders.feign.default.circuit-breaker.sliding-window-size", "8");
+
+  /**
+   * Runs contexts holding the Feign configuration classes of the application, with placeholders resolved strictly
+   * as in the application.
+   */
+  private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+    .withConfiguration(AutoConfigurations.of(PropertyPlaceholderAutoConfiguration.class));
+
+  @Test
+  void applicationContextStartsWithoutPerClientBeans() {
+    contextRunner.withUserConfiguration(ScannedConfigurations.class).run(context -> {
+      assertThat(context).hasNotFailed();
+      assertThat(context).hasSingleBean(FeignConfiguration.class);
+      assertThat(context).doesNotHaveBean(PooledFeignClientConfiguration.class);
+      assertThat(context).doesNotHaveBean(CloseableHttpClient.class);
+      assertThat(context).doesNotHaveBean(Client.class);
+    });
+  }
+
+  @Test
+  void feignContextGivesEachClientItsOwnGuardedTransport() {
+    contextRunner.withUserConfiguration(FeignConfiguration.class).run(context -> {
+      FeignContext feignContext = new FeignContext();
+      feignContext.setApplicationContext(context);
+      feignContext.setConfigurations(Collections.singletonList(new FeignClientSpecification("default.OrdersApplication",
+        new Class<?>[] {PooledFeignClientConfiguration.class})));
+      try {
+        assertTrue(feignContext.getInstance("user-service", Client.class) instanceof GuardedFeignClient);
+        assertNotSame(feignContext.getInstance("user-service", CloseableHttpClient.class),
+          feignContext.getInstance("restaurant-service", CloseableHttpClient.class));
+      } finally {
+        feignContext.destroy();
+      }
+    });
+  }
+
+  @Test
+  void clientSettingOverridesDefault() {
+    assertEquals(3, PooledFeignClientConfiguration.setting(environment, "user-service", "max-connections", 50));
+    assertEquals(10, PooledFeignClientConfiguration.setting(environment, "restaurant-service",
+      "max-connections", 50));
+    assertEquals(30000, PooledFeignClientConfiguration.setting(environment, "user-service",
+      "keep-alive-ms", 30000));
+  }
+
+  @Test
+  void pooledHttpClientExposesPoolMetricsPerClient() throws IOException {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    ObjectProvider<MeterRegistry> provider =
+      new StaticListableBeanFactory(Collections.singletonMap("meterRegistry", registry)).getBeanProvider(MeterRegistry.class);
+
+    try (CloseableHttpClient userClient = configuration.pooledHttpClient("user-service", environment, provider);
+         CloseableHttpClient restaurantClient = configuration.pooledHttpClient("restaurant-service", environment, provider)) {
+      assertEquals(3.0, registry.get("httpcomponents.httpclient.pool.total.max").tag("httpclient", "user-service")
+        .gauge().value());
+      assertEquals(10.0, registry.get("httpcomponents.httpclient.pool.total.max").tag("httpclient", "restaurant-service")
+        .gauge().value());
+    }
+  }
+
+  @Test
+  void requestOptionsUseClientTimeouts() {
+    Request.Options options = configuration.feignRequestOptions("user-service", environment);
+
+    assertEquals(2000, options.connectTimeoutMillis());
+    assertEquals(1500, options.readTimeoutMillis());
+  }
+
+  @Test
+  void resilienceSettingsFollowClientAndDefault() {
+    assertEquals(1, PooledFeignClientConfiguration.bulkheadConfig(environment, "user-service")
+      .getMaxConcurrentCalls());
+    assertEquals(25, PooledFeignClientConfiguration.bulkheadConfig(environment, "restaurant-service")
+      .getMaxConcurrentCalls());
+    assertEquals(8, PooledFeignClientConfiguration.circuitBreakerConfig(environment, "user-service")
+      .getSlidingWindowSize());
+  }
+
+  @Test
+  void feignClientExportsTransitionsAndRejections() throws IOException {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    ObjectProvider<MeterRegistry> provider =
+      new StaticListableBeanFactory(Collections.singletonMap("meterRegistry", registry)).getBeanProvider(MeterRegistry.class);
+    FeignConfiguration feignConfiguration = new FeignConfiguration();
+    CircuitBreakerRegistry circuitBreakerRegistry = feignConfiguration.feignCircuitBreakerRegistry();
+    BulkheadRegistry bulkheadRegistry = feignConfiguration.feignBulkheadRegistry();
+    feignConfiguration.feignCircuitBreakerMetrics(circuitBreakerRegistry).bindTo(registry);
+
+    try (CloseableHttpClient httpClient = configuration.pooledHttpClient("user-service", environment, provider)) {
+      configuration.feignClient("user-service", httpClient, environment, circuitBreakerRegistry, bulkheadRegistry,
+        provider);
+      CircuitBreaker circuitBreaker = circuitBreakerRegistry.circuitBreaker("user-service");
+      Bulkhead bulkhead = bulkheadRegistry.bulkhead("user-service");
+
+      circuitBreaker.transitionToOpenState();
+      assertFalse(circuitBreaker.tryAcquirePermission());
+      bulkhead.tryAcquirePermission();
+      assertFalse(bulkhead.tryAcquirePermission());
+    }
+
+    assertEquals(1.0, registry.get("orders.feign.circuitbreaker.transitions").tag("name", "user-service")
+      .tag("from", "CLOSED").tag("to", "OPEN").counter().count());
+    assertEquals(1.0, registry.get("resilience4j.circuitbreaker.state").tag("name", "user-service").tag("state", "open")
+      .gauge().value());
+    assertEquals(1.0, registry.get("resilience4j.circuitbreaker.not.permitted.calls").tag("name", "user-service")
+      .counter().count());
+    assertEquals(1.0, registry.get("orders.feign.bulkhead.rejected").tag("name", "user-service").counter().count());
+  }
+
+  /**
+   * Registers the configuration classes of this package the way component scanning of the application does.
+   */
+  @Configuration
+  @ComponentScan(basePackageClasses = FeignConfiguration.class, useDefaultFilters = false,
+    includeFilters = @ComponentScan.Filter(Configuration.class))
+  static class ScannedConfigurations {
+  }
+}
@@ -2,7 +2,7 @@ package com.orders.service.impl;
 
 import com.orders.constants.OrderConstants;
 import com.orders.dto.CartInDto;
-import com.orders.dto.FoodItemOutDto;
+import com.orders.dto.FoodItemPriceOutDto;
 import com.orders.dto.MessageOutDto;
 import com.orders.dto.UserOutDto;
 import com.orders.entities.Cart;
@@ -11,7 +11,8 @@ import com.orders.exception.ResourceConflictException;
 import com.orders.exception.ResourceNotFoundException;
 import com.orders.repositories.CartRepository;
 import com.orders.service.RestaurantFeignClient;
-import com.orders.service.UserFeignClient;
+import com.orders.service.RestaurantLookupService;
+import com.orders.service.UserLookupService;
 import com.orders.utils.UserRole;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -29,9 +30,10 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.Mockito.anyInt;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 /**
@@ -44,10 +46,10 @@ import static org.mockito.Mockito.when;
 class CartServiceImplTest {
 
   /**
-   * Mock for the UserFeignClient used to interact with user-related services.
+   * Mock for the UserLookupService used to look up user roles.
    */
   @Mock
-  private UserFeignClient userClient;
+  private UserLookupService userLookupService;
 
   /**
    * Mock for the CartRepository used for cart-related database operations.
@@ -61,6 +63,12 @@ class CartServiceImplTest {
   @Mock
   private RestaurantFeignClient restaurantClient;
 
+  /**
+   * Mock for the RestaurantLookupService used to check that restaurants exist.
+   */
+  @Mock
+  private RestaurantLookupService restaurantLookupService;
+
   /**
    * Instance of {@link CartServiceImpl} to be tested.
    */
@@ -78,9 +86,9 @@ class CartServiceImplTest {
   private UserOutDto userOutDto;
 
   /**
-   * Data Transfer Object for food item output.
+   * Data Transfer Object for food item pricing output.
    */
-  private FoodItemOutDto foodItemOutDto;
+  private FoodItemPriceOutDto foodItemPriceOutDto;
 
   /**
    * Cart entity instance for use in tests.
@@ -102,8 +110,7 @@ class CartServiceImplTest {
     userOutDto = new UserOutDto();
     userOutDto.setUserRole(UserRole.CUSTOMER);
 
-    foodItemOutDto = new FoodItemOutDto();
-    foodItemOutDto.setPrice(new BigDecimal("10.00"));
+    foodItemPriceOutDto = new FoodItemPriceOutDto(1, 1, new BigDecimal("10.00"));
 
     cart = new Cart();
     cart.setId(1);
@@ -116,38 +123,63 @@ class CartServiceImplTest {
 
   @Test
   void addItemToCartSuccess() {
-    when(userClient.getUserById(cartInDto.getUserId())).thenReturn(userOutDto);
-    when(cartRepository.findByUserIdAndFoodItemIdAndRestaurantId(anyInt(), anyInt(), anyInt()))
-      .thenReturn(Optional.empty());
-    when(restaurantClient.getRestaurantById(cartInDto.getRestaurantId())).thenReturn(null);
-    when(restaurantClient.getFoodItemById(cartInDto.getFoodItemId())).thenReturn(foodItemOutDto);
-    when(cartRepository.save(any(Cart.class))).thenReturn(cart);
+    when(userLookupService.getUserRole(cartInDto.getUserId())).thenReturn(userOutDto.getUserRole());
+    when(restaurantClient.getFoodItemPrices(Collections.singletonList(cartInDto.getFoodItemId())))
+      .thenReturn(Collections.singletonList(foodItemPriceOutDto));
+    when(cartRepository.upsertItem(1, 1, 1, new BigDecimal("10.00"))).thenReturn(1);
 
     MessageOutDto result = cartService.addItemToCart(cartInDto);
 
     assertNotNull(result);
     assertEquals(OrderConstants.CART_ADDED_SUCCESSFULLY, result.getMessage());
-    verify(cartRepository, times(1)).save(any(Cart.class));
+    verify(cartRepository, times(1)).upsertItem(1, 1, 1, new BigDecimal("10.00"));
+    verify(cartRepository, never()).save(any(Cart.class));
+  }
+
+  @Test
+  void addItemToCartExistingItemIncrementsQuantity() {
+    when(userLookupService.getUserRole(cartInDto.getUserId())).thenReturn(userOutDto.getUserRole());
+    when(restaurantClient.getFoodItemPrices(Collections.singletonList(cartInDto.getFoodItemId())))
+      .thenReturn(Collections.singletonList(foodItemPriceOutDto));
+    when(cartRepository.upsertItem(1, 1, 1, new BigDecimal("10.00"))).thenReturn(3);
+
+    MessageOutDto result = cartService.addItemToCart(cartInDto);
+
+    assertEquals(OrderConstants.CART_UPDATED_SUCCESSFULLY, result.getMessage());
+    verify(cartRepository, never()).findById(any());
   }
 
   @Test
   void addItemToCartThrowsAccessDeniedException() {
     userOutDto.setUserRole(UserRole.RESTAURANT_OWNER);
-    when(userClient.getUserById(cartInDto.getUserId())).thenReturn(userOutDto);
+    when(userLookupService.getUserRole(cartInDto.getUserId())).thenReturn(userOutDto.getUserRole());
 
     assertThrows(AccessDeniedException.class, () -> cartService.addItemToCart(cartInDto));
-    verify(userClient, times(1)).getUserById(cartInDto.getUserId());
+    verify(userLookupService, times(1)).getUserRole(cartInDto.getUserId());
   }
 
   @Test
   void addItemToCartThrowsPriceMismatchException() {
-    foodItemOutDto.setPrice(new BigDecimal("12.00"));
-    when(userClient.getUserById(cartInDto.getUserId())).thenReturn(userOutDto);
-    when(restaurantClient.getRestaurantById(cartInDto.getRestaurantId())).thenReturn(null);
-    when(restaurantClient.getFoodItemById(cartInDto.getFoodItemId())).thenReturn(foodItemOutDto);
+    foodItemPriceOutDto.setPrice(new BigDecimal("12.00"));
+    when(userLookupService.getUserRole(cartInDto.getUserId())).thenReturn(userOutDto.getUserRole());
+    when(restaurantClient.getFoodItemPrices(Collections.singletonList(cartInDto.getFoodItemId())))
+      .thenReturn(Collections.singletonList(foodItemPriceOutDto));
 
     assertThrows(ResourceConflictException.class, () -> cartService.addItemToCart(cartInDto));
-    verify(restaurantClient, times(1)).getFoodItemById(cartInDto.getFoodItemId());
+    verify(restaurantClient, times(1)).getFoodItemPrices(Collections.singletonList(cartInDto.getFoodItemId()));
+    verify(cartRepository, never()).upsertItem(any(), any(), any(), any());
+  }
+
+  @Test
+  void addItemToCartThrowsFoodItemNotFoundException() {
+    when(userLookupService.getUserRole(cartInDto.getUserId())).thenReturn(userOutDto.getUserRole());
+    when(restaurantClient.getFoodItemPrices(Collections.singletonList(cartInDto.getFoodItemId())))
+      .thenReturn(Collections.emptyList());
+
+    ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class,
+      () -> cartService.addItemToCart(cartInDto));
+    assertEquals(OrderConstants.FOOD_ITEM_NOT_FOUND, exception.getMessage());
+    verify(cartRepository, never()).save(any(Cart.class));
   }
 
   @Test
@@ -191,35 +223,31 @@ class CartServiceImplTest {
   }
   @Test
   void clearCartAfterOrderPlacedSuccess() {
-    when(userClient.getUserById(1)).thenReturn(userOutDto);
-    when(restaurantClient.getRestaurantById(1)).thenReturn(null);
-    when(cartRepository.findByUserIdAndRestaurantId(1, 1))
-      .thenReturn(Collections.singletonList(cart));
+    when(userLookupService.getUserRole(1)).thenReturn(userOutDto.getUserRole());
+    when(cartRepository.deleteByUserIdAndRestaurantId(1, 1)).thenReturn(2);
 
     MessageOutDto result = cartService.clearCartAfterOrderPlaced(1, 1);
 
     assertNotNull(result);
     assertEquals(OrderConstants.CART_DELETED_SUCCESSFULLY, result.getMessage());
-    verify(cartRepository, times(1)).deleteAll(Collections.singletonList(cart));
+    verify(cartRepository, never()).findByUserIdAndRestaurantId(any(), any());
+    verify(cartRepository, never()).deleteAll(any());
   }
 
   @Test
   void clearCartAfterOrderPlacedCartAlreadyEmpty() {
-    when(userClient.getUserById(1)).thenReturn(userOutDto);
-    when(restaurantClient.getRestaurantById(1)).thenReturn(null);
-    when(cartRepository.findByUserIdAndRestaurantId(1, 1)).thenReturn(Collections.emptyList());
+    when(userLookupService.getUserRole(1)).thenReturn(userOutDto.getUserRole());
+    when(cartRepository.deleteByUserIdAndRestaurantId(1, 1)).thenReturn(0);
 
     MessageOutDto result = cartService.clearCartAfterOrderPlaced(1, 1);
 
     assertNotNull(result);
     assertEquals(OrderConstants.CART_ALREADY_EMPTY, result.getMessage());
-    verify(cartRepository, times(0)).deleteAll(any());
   }
 
   @Test
   void getCartItemsByUserIdAndRestaurantIdSuccess() {
-    when(userClient.getUserById(1)).thenReturn(userOutDto);
-    when(restaurantClient.getRestaurantById(1)).thenReturn(null);
+    when(userLookupService.getUserRole(1)).thenReturn(userOutDto.getUserRole());
     when(cartRepository.findByUserIdAndRestaurantId(1, 1))
       .thenReturn(Collections.singletonList(cart));
 
@@ -230,9 +258,29 @@ class CartServiceImplTest {
     assertEquals(cart, result.get(0));
   }
 
+  @Test
+  void getAuthorizedCartItemsSkipsRemoteValidation() {
+    when(cartRepository.findByUserIdAndRestaurantId(1, 1)).thenReturn(Collections.singletonList(cart));
+
+    List<Cart> result = cartService.getAuthorizedCartItems(1, 1);
+
+    assertEquals(1, result.size());
+    verifyNoInteractions(userLookupService, restaurantClient, restaurantLookupService);
+  }
+
+  @Test
+  void clearAuthorizedCartSkipsRemoteValidation() {
+    when(cartRepository.deleteByUserIdAndRestaurantId(1, 1)).thenReturn(1);
+
+    MessageOutDto result = cartService.clearAuthorizedCart(1, 1);
+
+    assertEquals(OrderConstants.CART_DELETED_SUCCESSFULLY, result.getMessage());
+    verifyNoInteractions(userLookupService, restaurantClient, restaurantLookupService);
+  }
+
   @Test
   void getCartByUserIdSuccess() {
-    when(userClient.getUserById(1)).thenReturn(userOutDto);
+    when(userLookupService.getUserRole(1)).thenReturn(userOutDto.getUserRole());
     when(cartRepository.findByUserId(1)).thenReturn(Collections.singletonList(cart));
 
     List<Cart> result = cartService.getCartByUserId(1);
@@ -0,0 +1,225 @@
+package com.orders.service.impl;
+
+import com.orders.constants.OrderConstants;
+import com.orders.dto.MessageOutDto;
+import com.orders.dto.OrderInDto;
+import com.orders.entities.IdempotencyRecord;
+import com.orders.exception.InvalidRequestException;
+import com.orders.exception.ResourceConflictException;
+import com.orders.repositories.IdempotencyRecordRepository;
+import com.orders.utils.IdempotencyStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link IdempotencyServiceImpl}.
+ */
+@ExtendWith(MockitoExtension.class)
+class IdempotencyServiceImplTest {
+
+  /**
+   * The service under test.
+   */
+  @InjectMocks
+  private IdempotencyServiceImpl idempotencyService;
+
+  /**
+   * Mocked IdempotencyRecordRepository.
+   */
+  @Mock
+  private IdempotencyRecordRepository idempotencyRecordRepository;
+
+  /**
+   * Request body sent with the idempotency key.
+   */
+  private OrderInDto orderInDto;
+
+  /**
+   * Configures short timeouts and creates the response cache.
+   */
+  @BeforeEach
+  void setUp() {
+    ReflectionTestUtils.setField(idempotencyService, "ttlMs", 60000L);
+    ReflectionTestUtils.setField(idempotencyService, "leaseMs", 60000L);
+    ReflectionTestUtils.setField(idempotencyService, "waitTimeoutMs", 100L);
+    ReflectionTestUtils.setField(idempotencyService, "pollIntervalMs", 10L);
+    ReflectionTestUtils.setField(idempotencyService, "cacheMaxSize", 10);
+    idempotencyService.initCache();
+    orderInDto = new OrderInDto(1, 2, 3, new ArrayList<>());
+  }
+
+  @Test
+  void executeRejectsBlankKey() {
+    assertThrows(InvalidRequestException.class,
+      () -> idempotencyService.execute(" ", 1, orderInDto, MessageOutDto.class, () -> new MessageOutDto("placed")));
+  }
+
+  @Test
+  void executeRunsFirstRequestAndReplaysRetryFromCache() {
+    when(idempotencyRecordRepository.findByUserIdAndIdempotencyKey(1, "key-1")).thenReturn(Optional.empty());
+    when(idempotencyRecordRepository.saveAndFlush(any(IdempotencyRecord.class))).thenAnswer(invocation -> {
+      IdempotencyRecord record = invocation.getArgument(0);
+      record.setId(7);
+      return record;
+    });
+    AtomicInteger runs = new AtomicInteger();
+
+    MessageOutDto first = idempotencyService.execute("key-1", 1, orderInDto, MessageOutDto.class,
+      () -> new MessageOutDto("placed " + runs.incrementAndGet()));
+    MessageOutDto retry = idempotencyService.execute("key-1", 1, orderInDto, MessageOutDto.class,
+      () -> new MessageOutDto("placed " + runs.incrementAndGet()));
+
+    assertEquals("placed 1", first.getMessage());
+    assertEquals("placed 1", retry.getMessage());
+    assertEquals(1, runs.get());
+    verify(idempotencyRecordRepository).complete(eq(7), eq(IdempotencyStatus.COMPLETED), eq("{\"message\":\"placed 1\"}"),
+      any(LocalDateTime.class));
+    verify(idempotencyRecordRepository, times(1)).findByUserIdAndIdempotencyKey(1, "key-1");
+  }
+
+  @Test
+  void executeRejectsKeyReusedForDifferentRequest() {
+    when(idempotencyRecordRepository.findByUserIdAndIdempotencyKey(1, "key-1")).thenReturn(Optional.empty());
+    when(idempotencyRecordRepository.saveAndFlush(any(IdempotencyRecord.class)))
+      .thenAnswer(invocation -> invocation.getArgument(0));
+    idempotencyService.execute("key-1", 1, orderInDto, MessageOutDto.class, () -> new MessageOutDto("placed"));
+    OrderInDto otherOrder = new OrderInDto(1, 2, 4, new ArrayList<>());
+
+    ResourceConflictException exception = assertThrows(ResourceConflictException.class,
+      () -> idempotencyService.execute("key-1", 1, otherOrder, MessageOutDto.class, () -> new MessageOutDto("placed")));
+
+    assertEquals(OrderConstants.IDEMPOTENCY_KEY_REUSED, exception.getMessage());
+  }
+
+  @Test
+  void executeReplaysResponseStoredByAnotherInstance() {
+    when(idempotencyRecordRepository.findByUserIdAndIdempotencyKey(1, "key-1")).thenReturn(Optional.empty());
+    when(idempotencyRecordRepository.saveAndFlush(any(IdempotencyRecord.class)))
+      .thenAnswer(invocation -> invocation.getArgument(0));
+    idempotencyService.execute("key-1", 1, orderInDto, MessageOutDto.class, () -> new MessageOutDto("placed"));
+    ArgumentCaptor<IdempotencyRecord> recordCaptor = ArgumentCaptor.forClass(IdempotencyRecord.class);
+    verify(idempotencyRecordRepository).saveAndFlush(recordCaptor.capture());
+    IdempotencyRecord stored = recordCaptor.getValue();
+    when(idempotencyRecordRepository.findByUserIdAndIdempotencyKey(2, "key-1")).thenReturn(Optional.of(
+      new IdempotencyRecord(8, 2, "key-1", stored.getRequestHash(), IdempotencyStatus.COMPLETED,
+        "{\"message\":\"placed elsewhere\"}", LocalDateTime.now(), LocalDateTime.now().plusHours(1))));
+
+    MessageOutDto response = idempotencyService.execute("key-1", 2, orderInDto, MessageOutDto.class,
+      () -> new MessageOutDto("placed again"));
+
+    assertEquals("placed elsewhere", response.getMessage());
+  }
+
+  @Test
+  void executeReleasesKeyWhenRequestFails() {
+    when(idempotencyRecordRepository.findByUserIdAndIdempotencyKey(1, "key-1")).thenReturn(Optional.empty());
+    when(idempotencyRecordRepository.saveAndFlush(any(IdempotencyRecord.class))).thenAnswer(invocation -> {
+      IdempotencyRecord record = invocation.getArgument(0);
+      record.setId(7);
+      return record;
+    });
+
+    assertThrows(ResourceConflictException.class, () -> idempotencyService.execute("key-1", 1, orderInDto,
+      MessageOutDto.class, () -> {
+        throw new ResourceConflictException(OrderConstants.INSUFFICIENT_BALANCE);
+      }));
+    MessageOutDto retry = idempotencyService.execute("key-1", 1, orderInDto, MessageOutDto.class,
+      () -> new MessageOutDto("placed"));
+
+    verify(idempotencyRecordRepository).deleteById(7);
+    assertEquals("placed", retry.getMessage());
+  }
+
+  @Test
+  void executeGivesUpWaitingForRequestOfAnotherInstance() {
+    when(idempotencyRecordRepository.findByUserIdAndIdempotencyKey(1, "key-1")).thenReturn(Optional.empty());
+    when(idempotencyRecordRepository.saveAndFlush(any(IdempotencyRecord.class)))
+      .thenAnswer(invocation -> invocation.getArgument(0));
+    idempotencyService.execute("key-1", 1, orderInDto, MessageOutDto.class, () -> new MessageOutDto("placed"));
+    ArgumentCaptor<IdempotencyRecord> recordCaptor = ArgumentCaptor.forClass(IdempotencyRecord.class);
+    verify(idempotencyRecordRepository).saveAndFlush(recordCaptor.capture());
+    when(idempotencyRecordRepository.findByUserIdAndIdempotencyKey(2, "key-1")).thenReturn(Optional.of(
+      new IdempotencyRecord(8, 2, "key-1", recordCaptor.getValue().getRequestHash(), IdempotencyStatus.IN_PROGRESS,
+        null, LocalDateTime.now(), LocalDateTime.now().plusMinutes(1))));
+
+    ResourceConflictException exception = assertThrows(ResourceConflictException.class,
+      () -> idempotencyService.execute("key-1", 2, orderInDto, MessageOutDto.class, () -> new MessageOutDto("placed again")));
+
+    assertEquals(OrderConstants.IDEMPOTENT_REQUEST_IN_PROGRESS, exception.getMessage());
+  }
+
+  @Test
+  void executeLetsConcurrentDuplicateWaitForInFlightRequest() throws Exception {
+    when(idempotencyRecordRepository.findByUserIdAndIdempotencyKey(1, "key-1")).thenReturn(Optional.empty());
+    when(idempotencyRecordRepository.saveAndFlush(any(IdempotencyRecord.class)))
+      .thenAnswer(invocation -> invocation.getArgument(0));
+    ReflectionTestUtils.setField(idempotencyService, "waitTimeoutMs", 5000L);
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    AtomicInteger runs = new AtomicInteger();
+
+    CompletableFuture<MessageOutDto> first = CompletableFuture.supplyAsync(() ->
+      idempotencyService.execute("key-1", 1, orderInDto, MessageOutDto.class, () -> {
+        runs.incrementAndGet();
+        started.countDown();
+        awaitQuietly(release);
+        return new MessageOutDto("placed");
+      }));
+    assertTrue(started.await(5, TimeUnit.SECONDS));
+    CompletableFuture<MessageOutDto> duplicate = CompletableFuture.supplyAsync(() ->
+      idempotencyService.execute("key-1", 1, orderInDto, MessageOutDto.class, () -> {
+        runs.incrementAndGet();
+        return new MessageOutDto("placed twice");
+      }));
+    release.countDown();
+
+    assertEquals("placed", first.get(5, TimeUnit.SECONDS).getMessage());
+    assertEquals("placed", duplicate.get(5, TimeUnit.SECONDS).getMessage());
+    assertEquals(1, runs.get());
+  }
+
+  @Test
+  void purgeExpiredDeletesExpiredRecords() {
+    when(idempotencyRecordRepository.deleteAllExpired(any(LocalDateTime.class))).thenReturn(3);
+
+    assertEquals(3, idempotencyService.purgeExpired());
+    verify(idempotencyRecordRepository, never()).deleteById(any());
+  }
+
+  /**
+   * Waits for a latch, ignoring interruptions.
+   *
+   * @param latch the latch
+   */
+  private static void awaitQuietly(final CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,149 @@
+package com.orders.service.impl;
+
+import com.orders.dto.OrderOutDto;
+import com.orders.entities.Order;
+import com.orders.utils.OrderStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for {@link KitchenQueueServiceImpl}.
+ */
+class KitchenQueueServiceImplTest {
+
+  /**
+   * Base order time used by the tests.
+   */
+  private static final LocalDateTime BASE_TIME = LocalDateTime.of(2024, 3, 1, 12, 0);
+
+  /**
+   * The service under test.
+   */
+  private final KitchenQueueServiceImpl kitchenQueueService = new KitchenQueueServiceImpl();
+
+  @Test
+  void queueReturnsOldestOrdersFirstUpToLimit() {
+    kitchenQueueService.add(queued(3, 5, 2));
+    kitchenQueueService.add(queued(1, 5, 0));
+    kitchenQueueService.add(queued(2, 5, 1));
+    kitchenQueueService.add(queued(4, 6, 0));
+
+    assertEquals(Arrays.asList(1, 2), ids(kitchenQueueService.getQueue(5, 2)));
+    assertEquals(Arrays.asList(1, 2, 3), ids(kitchenQueueService.getQueue(5, 10)));
+    assertTrue(kitchenQueueService.getQueue(7, 10).isEmpty());
+  }
+
+  @Test
+  void confirmedOrderStaysQueuedWithNewStatus() {
+    kitchenQueueService.add(queued(1, 5, 0));
+
+    kitchenQueueService.statusChanged(order(1, 5, 0), OrderStatus.CONFIRMED);
+
+    assertEquals(OrderStatus.CONFIRMED, kitchenQueueService.getQueue(5, 10).get(0).getOrderStatus());
+  }
+
+  @Test
+  void completedAndCancelledOrdersLeaveQueue() {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    kitchenQueueService.bindTo(registry);
+    kitchenQueueService.add(queued(1, 5, 0));
+    kitchenQueueService.add(queued(2, 5, 1));
+
+    kitchenQueueService.statusChanged(order(1, 5, 0), OrderStatus.COMPLETED);
+    assertEquals(Collections.singletonList(2), ids(kitchenQueueService.getQueue(5, 10)));
+    kitchenQueueService.statusChanged(order(2, 5, 1), OrderStatus.CANCELLED);
+
+    assertTrue(kitchenQueueService.getQueue(5, 10).isEmpty());
+    assertEquals(0.0, registry.get("orders.kitchen.queued").gauge().value());
+  }
+
+  @Test
+  void orderReadBackWithLessPreciseTimeIsStillRemoved() {
+    OrderOutDto placed = queued(1, 5, 0);
+    placed.setOrderTime(BASE_TIME.plusNanos(123456789));
+    kitchenQueueService.add(placed);
+
+    Order readBack = order(1, 5, 0);
+    readBack.setOrderTime(BASE_TIME.plusNanos(123456000));
+    kitchenQueueService.statusChanged(readBack, OrderStatus.COMPLETED);
+
+    assertTrue(kitchenQueueService.getQueue(5, 10).isEmpty());
+  }
+
+  @Test
+  void rebuildSkipsOrdersChangedWhileReading() {
+    kitchenQueueService.beginRebuild();
+    kitchenQueueService.statusChanged(order(1, 5, 0), OrderStatus.CANCELLED);
+    kitchenQueueService.statusChanged(order(2, 5, 1), OrderStatus.CONFIRMED);
+
+    kitchenQueueService.restore(Arrays.asList(queued(1, 5, 0), queued(2, 5, 1), queued(3, 5, 2)));
+    kitchenQueueService.endRebuild();
+
+    List<OrderOutDto> queue = kitchenQueueService.getQueue(5, 10);
+    assertEquals(Arrays.asList(2, 3), ids(queue));
+    assertEquals(OrderStatus.CONFIRMED, queue.get(0).getOrderStatus());
+  }
+
+  @Test
+  void orderAddedInTransactionIsQueuedAfterCommit() {
+    TransactionSynchronizationManager.initSynchronization();
+    try {
+      kitchenQueueService.add(queued(1, 5, 0));
+      assertTrue(kitchenQueueService.getQueue(5, 10).isEmpty());
+
+      TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+    } finally {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    assertEquals(Collections.singletonList(1), ids(kitchenQueueService.getQueue(5, 10)));
+  }
+
+  /**
+   * Creates a placed order as queued for the kitchen.
+   *
+   * @param orderId      the order ID
+   * @param restaurantId the restaurant ID
+   * @param minutes      minutes after the base time at which the order was placed
+   * @return the queued order
+   */
+  private OrderOutDto queued(final Integer orderId, final Integer restaurantId, final int minutes) {
+    return new OrderOutDto(orderId, 1, 2, OrderStatus.PLACED, Collections.emptyList(), BASE_TIME.plusMinutes(minutes),
+      BigDecimal.TEN, restaurantId);
+  }
+
+  /**
+   * Creates the entity of a placed order.
+   *
+   * @param orderId      the order ID
+   * @param restaurantId the restaurant ID
+   * @param minutes      minutes after the base time at which the order was placed
+   * @return the order
+   */
+  private Order order(final Integer orderId, final Integer restaurantId, final int minutes) {
+    return new Order(orderId, 1, 2, OrderStatus.PLACED, null, BASE_TIME.plusMinutes(minutes), BigDecimal.TEN,
+      restaurantId, null, null, null);
+  }
+
+  /**
+   * Returns the IDs of the given orders.
+   *
+   * @param orders the orders
+   * @return their IDs, in the same order
+   */
+  private List<Integer> ids(final List<OrderOutDto> orders) {
+    return orders.stream().map(OrderOutDto::getId).collect(Collectors.toList());
+  }
+}
@@ -0,0 +1,162 @@
+package com.orders.service.impl;
+
+import com.orders.entities.Order;
+import com.orders.repositories.OrderRepository;
+import com.orders.service.KitchenQueueService;
+import com.orders.service.OrderEventService;
+import com.orders.service.OrderStatusWatchService;
+import com.orders.utils.OrderEventType;
+import com.orders.utils.OrderStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link OrderConfirmationServiceImpl}.
+ */
+@ExtendWith(MockitoExtension.class)
+class OrderConfirmationServiceImplTest {
+
+  /**
+   * The service under test.
+   */
+  @InjectMocks
+  private OrderConfirmationServiceImpl orderConfirmationService;
+
+  /**
+   * Mocked OrderRepository.
+   */
+  @Mock
+  private OrderRepository orderRepository;
+
+  /**
+   * Mocked OrderEventService.
+   */
+  @Mock
+  private OrderEventService orderEventService;
+
+  /**
+   * Mocked OrderStatusWatchService.
+   */
+  @Mock
+  private OrderStatusWatchService orderStatusWatchService;
+
+  /**
+   * Mocked KitchenQueueService.
+   */
+  @Mock
+  private KitchenQueueService kitchenQueueService;
+
+  /**
+   * Sets up the windows and creates the wheel.
+   */
+  @BeforeEach
+  void setUp() {
+    ReflectionTestUtils.setField(orderConfirmationService, "defaultWindowSeconds", 30L);
+    ReflectionTestUtils.setField(orderConfirmationService, "restaurantWindowSeconds", Collections.singletonMap(7, 120));
+    ReflectionTestUtils.setField(orderConfirmationService, "tickMs", 10L);
+    ReflectionTestUtils.setField(orderConfirmationService, "wheelSize", 64);
+    orderConfirmationService.initWheel();
+  }
+
+  @Test
+  void cancellationWindowFallsBackToDefault() {
+    assertEquals(Duration.ofSeconds(120), orderConfirmationService.getCancellationWindow(7));
+    assertEquals(Duration.ofSeconds(30), orderConfirmationService.getCancellationWindow(3));
+  }
+
+  @Test
+  void scheduledOrderExpiresOnlyAfterItsWindow() {
+    orderConfirmationService.schedule(order(1, 3, LocalDateTime.now().minusSeconds(31)));
+    orderConfirmationService.schedule(order(2, 3, LocalDateTime.now()));
+    orderConfirmationService.schedule(order(3, 7, LocalDateTime.now().minusSeconds(31)));
+
+    assertEquals(Collections.singletonList(1), orderConfirmationService.pollExpired());
+    assertTrue(orderConfirmationService.pollExpired().isEmpty());
+  }
+
+  @Test
+  void scheduleBatchSchedulesPlacedOrdersFromDatabase() {
+    when(orderRepository.findByOrderStatusAndIdGreaterThan(eq(OrderStatus.PLACED), eq(0), any(Pageable.class)))
+      .thenReturn(Arrays.asList(order(4, 3, LocalDateTime.now().minusMinutes(5)), order(6, 3, LocalDateTime.now())));
+    when(orderRepository.findByOrderStatusAndIdGreaterThan(eq(OrderStatus.PLACED), eq(6), any(Pageable.class)))
+      .thenReturn(Collections.emptyList());
+
+    assertEquals(6, orderConfirmationService.scheduleBatch(0, 2));
+    assertNull(orderConfirmationService.scheduleBatch(6, 2));
+    assertEquals(Collections.singletonList(4), orderConfirmationService.pollExpired());
+  }
+
+  @Test
+  void confirmBatchConfirmsOrdersStillPlaced() {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    orderConfirmationService.bindTo(registry);
+    Order placed = order(1, 3, LocalDateTime.now().minusMinutes(1));
+    List<Integer> placedIds = Collections.singletonList(1);
+    when(orderRepository.findByIdInAndOrderStatus(Arrays.asList(1, 2), OrderStatus.PLACED))
+      .thenReturn(Collections.singletonList(placed));
+    when(orderRepository.transitionAll(placedIds, OrderStatus.PLACED, OrderStatus.CONFIRMED)).thenReturn(1);
+
+    assertEquals(1, orderConfirmationService.confirmBatch(Arrays.asList(1, 2)));
+
+    assertEquals(OrderStatus.CONFIRMED, placed.getOrderStatus());
+    verify(orderEventService).publish(placed, OrderEventType.CONFIRMED);
+    verify(orderStatusWatchService).statusChanged(1, OrderStatus.CONFIRMED, null);
+    verify(kitchenQueueService).statusChanged(placed, OrderStatus.CONFIRMED);
+    assertEquals(1.0, registry.get("orders.confirmation.confirmed").counter().count());
+  }
+
+  @Test
+  void confirmBatchSkipsOrdersNoLongerPlaced() {
+    when(orderRepository.findByIdInAndOrderStatus(Collections.singletonList(1), OrderStatus.PLACED))
+      .thenReturn(Collections.emptyList());
+
+    assertEquals(0, orderConfirmationService.confirmBatch(Collections.singletonList(1)));
+
+    verify(orderRepository, never()).transitionAll(anyCollection(), any(), any());
+    verify(orderEventService, never()).publish(any(), any());
+  }
+
+  @Test
+  void rescheduledOrdersExpireWithNextTick() throws InterruptedException {
+    orderConfirmationService.reschedule(Arrays.asList(8, 9));
+    Thread.sleep(20);
+
+    assertEquals(Arrays.asList(8, 9), orderConfirmationService.pollExpired());
+  }
+
+  /**
+   * Creates a placed order.
+   *
+   * @param orderId      the order ID
+   * @param restaurantId the restaurant ID
+   * @param orderTime    the time the order was placed
+   * @return the order
+   */
+  private Order order(final Integer orderId, final Integer restaurantId, final LocalDateTime orderTime) {
+    return new Order(orderId, 1, 2, OrderStatus.PLACED, null, orderTime, BigDecimal.TEN, restaurantId, null, null, null);
+  }
+}
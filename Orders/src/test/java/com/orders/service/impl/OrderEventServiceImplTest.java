@@ -0,0 +1,225 @@
+package com.orders.service.impl;
+
+import com.orders.config.AsyncConfig;
+import com.orders.constants.OrderConstants;
+import com.orders.controller.OrderController;
+import com.orders.entities.Order;
+import com.orders.exception.ResourceNotFoundException;
+import com.orders.service.RestaurantLookupService;
+import com.orders.utils.OrderEventType;
+import com.orders.utils.OrderStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.doThrow;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+/**
+ * Unit tests for {@link OrderEventServiceImpl}.
+ * <p>
+ * Streams are opened through {@link OrderController} on a mock MVC environment, so the events written to them
+ * can be read back from the response.
+ * </p>
+ */
+@ExtendWith(MockitoExtension.class)
+class OrderEventServiceImplTest {
+
+  /**
+   * The service under test.
+   */
+  @InjectMocks
+  private OrderEventServiceImpl orderEventService;
+
+  /**
+   * Mocked RestaurantLookupService.
+   */
+  @Mock
+  private RestaurantLookupService restaurantLookupService;
+
+  /**
+   * MockMvc instance serving the order streams.
+   */
+  private MockMvc mockMvc;
+
+  /**
+   * Sets up a direct event executor, the stream settings and the mock MVC environment.
+   */
+  @BeforeEach
+  void setUp() {
+    ReflectionTestUtils.setField(orderEventService, "eventExecutor", (Executor) Runnable::run);
+    ReflectionTestUtils.setField(orderEventService, "streamTimeoutMs", 60000L);
+    ReflectionTestUtils.setField(orderEventService, "replaySize", 10);
+    ReflectionTestUtils.setField(orderEventService, "lastEventId", new AtomicLong(100));
+    OrderController controller = new OrderController();
+    ReflectionTestUtils.setField(controller, "orderEventService", orderEventService);
+    mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+  }
+
+  @Test
+  void subscribeRejectsUnknownRestaurant() {
+    doThrow(new ResourceNotFoundException(OrderConstants.RESTAURANT_NOT_FOUND))
+      .when(restaurantLookupService).requireRestaurant(9);
+
+    assertThrows(ResourceNotFoundException.class, () -> orderEventService.subscribe(9, null));
+  }
+
+  @Test
+  void publishStreamsEventToSubscribersOfRestaurantOnly() throws Exception {
+    MvcResult stream = openStream(3, null);
+
+    orderEventService.publish(order(5, 3), OrderEventType.PLACED);
+    orderEventService.publish(order(6, 4), OrderEventType.PLACED);
+
+    String body = stream.getResponse().getContentAsString();
+    assertTrue(body.contains("id:101\nevent:order-placed\n"));
+    assertTrue(body.contains("\"orderId\":5"));
+    assertFalse(body.contains("\"orderId\":6"));
+  }
+
+  @Test
+  void subscribeReplaysEventsAfterLastEventId() throws Exception {
+    orderEventService.publish(order(5, 3), OrderEventType.PLACED);
+    orderEventService.publish(order(5, 3), OrderEventType.CANCELLED);
+
+    String body = openStream(3, "101").getResponse().getContentAsString();
+
+    assertFalse(body.contains("id:101\n"));
+    assertTrue(body.contains("id:102\nevent:order-cancelled\n"));
+  }
+
+  @Test
+  void publishInTransactionWaitsForCommit() throws Exception {
+    MvcResult stream = openStream(3, null);
+    TransactionSynchronizationManager.initSynchronization();
+    try {
+      orderEventService.publish(order(5, 3), OrderEventType.COMPLETED);
+      assertFalse(stream.getResponse().getContentAsString().contains("order-completed"));
+
+      TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+    } finally {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    assertTrue(stream.getResponse().getContentAsString().contains("event:order-completed"));
+  }
+
+  @Test
+  void sendHeartbeatsWritesCommentToOpenStreams() throws Exception {
+    MvcResult stream = openStream(3, null);
+
+    orderEventService.sendHeartbeats();
+
+    assertTrue(stream.getResponse().getContentAsString().contains(":heartbeat"));
+  }
+
+  @Test
+  void bindToCountsOpenStreams() throws Exception {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    orderEventService.bindTo(registry);
+
+    openStream(3, null);
+    openStream(4, null);
+
+    assertEquals(2.0, registry.get("orders.events.subscribers").gauge().value());
+  }
+
+  @Test
+  void fullEventQueueDropsWorkInsteadOfRunningItOnThePublisher() throws Exception {
+    AsyncConfig asyncConfig = new AsyncConfig();
+    ReflectionTestUtils.setField(asyncConfig, "eventQueueCapacity", 1);
+    ThreadPoolTaskExecutor executor = asyncConfig.orderEventExecutor();
+    ReflectionTestUtils.setField(orderEventService, "eventExecutor", executor);
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    orderEventService.bindTo(registry);
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    try {
+      executor.execute(() -> {
+        started.countDown();
+        awaitQuietly(release);
+      });
+      assertTrue(started.await(5, TimeUnit.SECONDS));
+      orderEventService.publish(order(5, 3), OrderEventType.PLACED);
+
+      orderEventService.publish(order(6, 3), OrderEventType.PLACED);
+      orderEventService.sendHeartbeats();
+
+      assertEquals(2.0, registry.get("orders.events.dropped").functionCounter().count());
+      assertEquals(100L, ((AtomicLong) ReflectionTestUtils.getField(orderEventService, "lastEventId")).get());
+    } finally {
+      release.countDown();
+      // Shut the pool down without discarding the queued publish, which executor.shutdown() would.
+      executor.getThreadPoolExecutor().shutdown();
+    }
+    assertTrue(executor.getThreadPoolExecutor().awaitTermination(5, TimeUnit.SECONDS));
+    assertEquals(101L, ((AtomicLong) ReflectionTestUtils.getField(orderEventService, "lastEventId")).get());
+  }
+
+  /**
+   * Waits for a latch, ignoring interruptions.
+   *
+   * @param latch the latch
+   */
+  private static void awaitQuietly(final CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * Opens the order stream of a restaurant.
+   *
+   * @param restaurantId the ID of the restaurant
+   * @param lastEventId  the {@code Last-Event-ID} header to send, or {@code null}
+   * @return the result holding the streamed response
+   * @throws Exception if the request fails
+   */
+  private MvcResult openStream(final Integer restaurantId, final String lastEventId) throws Exception {
+    if (lastEventId == null) {
+      return mockMvc.perform(get("/orders/restaurant/" + restaurantId + "/stream").accept(MediaType.TEXT_EVENT_STREAM))
+        .andExpect(request().asyncStarted()).andReturn();
+    }
+    return mockMvc.perform(get("/orders/restaurant/" + restaurantId + "/stream").accept(MediaType.TEXT_EVENT_STREAM)
+        .header(OrderConstants.LAST_EVENT_ID_HEADER, lastEventId))
+      .andExpect(request().asyncStarted()).andReturn();
+  }
+
+  /**
+   * Creates a placed order.
+   *
+   * @param orderId      the order ID
+   * @param restaurantId the restaurant ID
+   * @return the order
+   */
+  private Order order(final Integer orderId, final Integer restaurantId) {
+    return new Order(orderId, 1, 2, OrderStatus.PLACED, null, LocalDateTime.now(), BigDecimal.TEN,
+      restaurantId, null, null, null);
+  }
+}
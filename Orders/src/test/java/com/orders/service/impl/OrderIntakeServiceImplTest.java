@@ -0,0 +1,231 @@
+package com.orders.service.impl;
+
+import com.orders.constants.OrderConstants;
+import com.orders.dto.CartItemDto;
+import com.orders.dto.OrderInDto;
+import com.orders.dto.OrderStatusOutDto;
+import com.orders.entities.Order;
+import com.orders.exception.ResourceConflictException;
+import com.orders.exception.ServiceUnavailableException;
+import com.orders.repositories.OrderRepository;
+import com.orders.service.OrderService;
+import com.orders.service.OrderStatusWatchService;
+import com.orders.utils.OrderStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link OrderIntakeServiceImpl}.
+ */
+@ExtendWith(MockitoExtension.class)
+class OrderIntakeServiceImplTest {
+
+  /**
+   * The service under test.
+   */
+  @InjectMocks
+  private OrderIntakeServiceImpl orderIntakeService;
+
+  /**
+   * Mocked OrderService.
+   */
+  @Mock
+  private OrderService orderService;
+
+  /**
+   * Mocked OrderRepository.
+   */
+  @Mock
+  private OrderRepository orderRepository;
+
+  /**
+   * Mocked OrderStatusWatchService.
+   */
+  @Mock
+  private OrderStatusWatchService orderStatusWatchService;
+
+  /**
+   * Mocked intake executor.
+   */
+  @Mock
+  private ThreadPoolTaskExecutor intakeExecutor;
+
+  /**
+   * Order submitted by the tests.
+   */
+  private OrderInDto orderInDto;
+
+  /**
+   * Pending order saved for the submission.
+   */
+  private Order pendingOrder;
+
+  /**
+   * Sets up the recovery settings and the test order.
+   */
+  @BeforeEach
+  void setUp() {
+    ReflectionTestUtils.setField(orderIntakeService, "recoveryAgeMs", 60000L);
+    ReflectionTestUtils.setField(orderIntakeService, "recoveryBatchSize", 10);
+    orderInDto = new OrderInDto(1, 2, 3, Collections.singletonList(new CartItemDto(4, 2, BigDecimal.TEN)));
+    pendingOrder = new Order(9, 1, 3, OrderStatus.PENDING, null, LocalDateTime.now(), null, 2, null, null, null);
+  }
+
+  @Test
+  void submitSavesPendingOrderAndProcessesItOnWorker() {
+    when(orderService.createPendingOrder(orderInDto)).thenReturn(pendingOrder);
+    when(orderRepository.claim(eq(9), any(LocalDateTime.class))).thenReturn(true);
+    when(orderService.processPendingOrder(eq(9), any(LocalDateTime.class))).thenReturn(true);
+    ArgumentCaptor<Runnable> task = ArgumentCaptor.forClass(Runnable.class);
+
+    OrderStatusOutDto accepted = orderIntakeService.submit(orderInDto);
+
+    assertEquals(9, accepted.getOrderId());
+    assertEquals(OrderStatus.PENDING, accepted.getOrderStatus());
+    verify(intakeExecutor).execute(task.capture());
+    task.getValue().run();
+    LocalDateTime claimedAt = claimedAt();
+    verify(orderService).processPendingOrder(9, claimedAt);
+    verify(orderStatusWatchService).statusChanged(9, OrderStatus.PROCESSING, null);
+  }
+
+  @Test
+  void submitTurnsAwayOrderWhenQueueIsFull() {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    orderIntakeService.bindTo(registry);
+    when(orderService.createPendingOrder(orderInDto)).thenReturn(pendingOrder);
+    doThrow(new TaskRejectedException("queue full")).when(intakeExecutor).execute(any(Runnable.class));
+
+    ServiceUnavailableException exception = assertThrows(ServiceUnavailableException.class,
+      () -> orderIntakeService.submit(orderInDto));
+
+    assertEquals(OrderConstants.ORDER_INTAKE_BUSY, exception.getMessage());
+    verify(orderRepository).deleteById(9);
+    assertEquals(1.0, registry.get("orders.intake.rejected").counter().count());
+  }
+
+  @Test
+  void processSkipsOrderNoLongerPending() {
+    when(orderRepository.claim(eq(9), any(LocalDateTime.class))).thenReturn(false);
+
+    orderIntakeService.process(9, System.nanoTime());
+
+    verify(orderService, never()).processPendingOrder(any(), any());
+  }
+
+  @Test
+  void processRejectsOrderFailingValidation() {
+    when(orderRepository.claim(eq(9), any(LocalDateTime.class))).thenReturn(true);
+    when(orderRepository.transitionClaimed(eq(9), any(LocalDateTime.class), eq(OrderStatus.REJECTED),
+      eq(OrderConstants.INSUFFICIENT_BALANCE))).thenReturn(true);
+    doThrow(new ResourceConflictException(OrderConstants.INSUFFICIENT_BALANCE))
+      .when(orderService).processPendingOrder(eq(9), any(LocalDateTime.class));
+
+    orderIntakeService.process(9, System.nanoTime());
+
+    LocalDateTime claimedAt = claimedAt();
+    verify(orderRepository).transitionClaimed(9, claimedAt, OrderStatus.REJECTED, OrderConstants.INSUFFICIENT_BALANCE);
+    verify(orderStatusWatchService).statusChanged(9, OrderStatus.REJECTED, OrderConstants.INSUFFICIENT_BALANCE);
+  }
+
+  @Test
+  void processLeavesOrderClaimedAgainByAnotherWorker() {
+    when(orderRepository.claim(eq(9), any(LocalDateTime.class))).thenReturn(true);
+    when(orderRepository.transitionClaimed(eq(9), any(LocalDateTime.class), eq(OrderStatus.REJECTED),
+      eq(OrderConstants.INSUFFICIENT_BALANCE))).thenReturn(false);
+    doThrow(new ResourceConflictException(OrderConstants.INSUFFICIENT_BALANCE))
+      .when(orderService).processPendingOrder(eq(9), any(LocalDateTime.class));
+
+    orderIntakeService.process(9, System.nanoTime());
+
+    verify(orderStatusWatchService, never()).statusChanged(eq(9), eq(OrderStatus.REJECTED), any());
+  }
+
+  @Test
+  void recoverStalledOrdersReleasesStaleClaimsAndRequeuesPendingOrders() {
+    LocalDateTime staleClaim = LocalDateTime.now().minusHours(1);
+    Order stalled = new Order(8, 1, 3, OrderStatus.PROCESSING, null, LocalDateTime.now().minusHours(2), null, 2, null,
+      null, staleClaim);
+    Order waiting = new Order(10, 1, 3, OrderStatus.PENDING, null, LocalDateTime.now().minusHours(1), null, 2, null,
+      null, null);
+    when(orderRepository.findByOrderStatusAndProcessingStartedAtBefore(eq(OrderStatus.PROCESSING),
+      any(LocalDateTime.class), any(Pageable.class))).thenReturn(Collections.singletonList(stalled));
+    when(orderRepository.findByOrderStatusAndOrderTimeBefore(eq(OrderStatus.PENDING), any(LocalDateTime.class),
+      any(Pageable.class))).thenReturn(Arrays.asList(stalled, waiting));
+    when(orderRepository.transitionClaimed(8, staleClaim, OrderStatus.PENDING, null)).thenReturn(true);
+
+    assertEquals(2, orderIntakeService.recoverStalledOrders());
+
+    verify(orderStatusWatchService).statusChanged(8, OrderStatus.PENDING, null);
+    verify(intakeExecutor, times(2)).execute(any(Runnable.class));
+    verify(orderRepository, never()).findByOrderStatusAndOrderTimeBefore(eq(OrderStatus.PROCESSING), any(), any());
+  }
+
+  @Test
+  void recoverStalledOrdersStopsWhenQueueIsFull() {
+    Order waiting = new Order(10, 1, 3, OrderStatus.PENDING, null, LocalDateTime.now().minusHours(1), null, 2, null,
+      null, null);
+    List<Order> pending = Arrays.asList(waiting, waiting);
+    when(orderRepository.findByOrderStatusAndProcessingStartedAtBefore(eq(OrderStatus.PROCESSING),
+      any(LocalDateTime.class), any(Pageable.class))).thenReturn(Collections.emptyList());
+    when(orderRepository.findByOrderStatusAndOrderTimeBefore(eq(OrderStatus.PENDING), any(LocalDateTime.class),
+      any(Pageable.class))).thenReturn(pending);
+    doThrow(new TaskRejectedException("queue full")).when(intakeExecutor).execute(any(Runnable.class));
+
+    assertEquals(0, orderIntakeService.recoverStalledOrders());
+
+    verify(intakeExecutor, times(1)).execute(any(Runnable.class));
+  }
+
+  @Test
+  void bindToRegistersQueueMeters() {
+    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.initialize();
+    ReflectionTestUtils.setField(orderIntakeService, "intakeExecutor", executor);
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    orderIntakeService.bindTo(registry);
+
+    assertEquals(0.0, registry.get("orders.intake.queue.depth").gauge().value());
+    assertNotNull(registry.get("orders.intake.wait").timer());
+    executor.shutdown();
+  }
+
+  /**
+   * Returns the time of the claim the worker made on order 9.
+   *
+   * @return the time of the claim
+   */
+  private LocalDateTime claimedAt() {
+    ArgumentCaptor<LocalDateTime> claimedAt = ArgumentCaptor.forClass(LocalDateTime.class);
+    verify(orderRepository).claim(eq(9), claimedAt.capture());
+    return claimedAt.getValue();
+  }
+}
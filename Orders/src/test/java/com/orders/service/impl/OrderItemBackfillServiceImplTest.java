@@ -0,0 +1,103 @@
+package com.orders.service.impl;
+
+import com.orders.entities.Order;
+import com.orders.entities.OrderItem;
+import com.orders.repositories.OrderItemRepository;
+import com.orders.repositories.OrderRepository;
+import com.orders.utils.OrderStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link OrderItemBackfillServiceImpl}.
+ */
+@ExtendWith(MockitoExtension.class)
+class OrderItemBackfillServiceImplTest {
+
+  /**
+   * The service under test.
+   */
+  @InjectMocks
+  private OrderItemBackfillServiceImpl backfillService;
+
+  /**
+   * Mocked OrderRepository.
+   */
+  @Mock
+  private OrderRepository orderRepository;
+
+  /**
+   * Mocked OrderItemRepository.
+   */
+  @Mock
+  private OrderItemRepository orderItemRepository;
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void migrateBatchMovesCartItemsToOrderItems() {
+    Order first = new Order(4, 1, 1, OrderStatus.PLACED,
+      "[{\"foodItemId\":7,\"quantity\":2,\"price\":30},{\"foodItemId\":8,\"quantity\":1,\"price\":12}]",
+      LocalDateTime.now(), BigDecimal.valueOf(42), 3, null, null, null);
+    Order second = new Order(9, 2, 2, OrderStatus.COMPLETED, "[{\"foodItemId\":7,\"quantity\":1,\"price\":15}]",
+      LocalDateTime.now(), BigDecimal.valueOf(15), 3, null, null, null);
+    when(orderRepository.findByCartItemsIsNotNullAndIdGreaterThan(0, PageRequest.of(0, 2, Sort.by("id"))))
+      .thenReturn(Arrays.asList(first, second));
+
+    Integer lastId = backfillService.migrateBatch(0, 2);
+
+    assertEquals(9, lastId);
+    assertNull(first.getCartItems());
+    assertNull(second.getCartItems());
+    ArgumentCaptor<List<OrderItem>> itemsCaptor = ArgumentCaptor.forClass(List.class);
+    verify(orderItemRepository).saveAll(itemsCaptor.capture());
+    assertEquals(Arrays.asList(
+      new OrderItem(null, 4, 3, 7, 2, BigDecimal.valueOf(30)),
+      new OrderItem(null, 4, 3, 8, 1, BigDecimal.valueOf(12)),
+      new OrderItem(null, 9, 3, 7, 1, BigDecimal.valueOf(15))
+    ), itemsCaptor.getValue());
+    verify(orderRepository).saveAll(Arrays.asList(first, second));
+  }
+
+  @Test
+  void migrateBatchSkipsUnparseableOrders() {
+    Order broken = new Order(5, 1, 1, OrderStatus.PLACED, "not json", LocalDateTime.now(), BigDecimal.TEN, 3, null, null, null);
+    when(orderRepository.findByCartItemsIsNotNullAndIdGreaterThan(0, PageRequest.of(0, 10, Sort.by("id"))))
+      .thenReturn(Collections.singletonList(broken));
+
+    Integer lastId = backfillService.migrateBatch(0, 10);
+
+    assertEquals(5, lastId);
+    assertNotNull(broken.getCartItems());
+    verify(orderItemRepository).saveAll(Collections.emptyList());
+    verify(orderRepository).saveAll(Collections.emptyList());
+  }
+
+  @Test
+  void migrateBatchReturnsNullWhenNothingIsLeft() {
+    when(orderRepository.findByCartItemsIsNotNullAndIdGreaterThan(12, PageRequest.of(0, 10, Sort.by("id"))))
+      .thenReturn(Collections.emptyList());
+
+    assertNull(backfillService.migrateBatch(12, 10));
+    verify(orderItemRepository, never()).saveAll(any());
+  }
+}
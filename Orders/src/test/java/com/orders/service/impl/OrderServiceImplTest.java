@@ -3,49 +3,84 @@ package com.orders.service.impl;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.orders.constants.OrderConstants;
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.orders.dto.AddressOutDto;
+import com.orders.dto.CartDiffDto;
 import com.orders.dto.CartItemDto;
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.orders.dto.FoodItemOutDto;
-import static org.mockito.ArgumentMatchers.anyString;
-import static org.mockito.ArgumentMatchers.eq;
+import com.orders.dto.FoodItemSalesOutDto;
 import com.orders.dto.MessageOutDto;
 import com.orders.dto.OrderInDto;
 import com.orders.dto.OrderOutDto;
+import com.orders.dto.OrderPageOutDto;
+import com.orders.dto.OrderStatusOutDto;
+import com.orders.dto.RestaurantSalesOutDto;
 import com.orders.dto.UserOutDto;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import com.orders.entities.Cart;
 import com.orders.entities.Order;
+import com.orders.entities.OrderItem;
 import com.orders.exception.AccessDeniedException;
+import com.orders.exception.InvalidRequestException;
 import com.orders.exception.ResourceConflictException;
 import com.orders.exception.ResourceNotFoundException;
+import com.orders.exception.ServiceUnavailableException;
+import com.orders.repositories.OrderItemRepository;
 import com.orders.repositories.OrderRepository;
 import com.orders.service.CartService;
-import com.orders.service.RestaurantFeignClient;
+import com.orders.service.KitchenQueueService;
+import com.orders.service.OrderConfirmationService;
+import com.orders.service.OrderEventService;
+import com.orders.service.OrderStatusWatchService;
+import com.orders.service.RestaurantLookupService;
+import com.orders.service.SalesCounterService;
 import com.orders.service.UserFeignClient;
+import com.orders.service.UserLookupService;
+import com.orders.service.WalletOutboxService;
+import com.orders.utils.ExportFormat;
+import com.orders.utils.OrderCursor;
+import com.orders.utils.OrderEventType;
 import com.orders.utils.OrderStatus;
 import com.orders.utils.UserRole;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import javax.persistence.EntityManager;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 /**
@@ -62,10 +97,10 @@ class OrderServiceImplTest {
   private OrderServiceImpl orderService;
 
   /**
-   * Mocked RestaurantFeignClient used to interact with restaurant services.
+   * Mocked RestaurantLookupService used to check that restaurants exist.
    */
   @Mock
-  private RestaurantFeignClient restaurantClient;
+  private RestaurantLookupService restaurantLookupService;
 
   /**
    * Mocked OrderRepository for performing CRUD operations on orders.
@@ -73,6 +108,12 @@ class OrderServiceImplTest {
   @Mock
   private OrderRepository orderRepository;
 
+  /**
+   * Mocked OrderItemRepository for the normalized order items.
+   */
+  @Mock
+  private OrderItemRepository orderItemRepository;
+
   /**
    * Mocked CartService for managing cart operations.
    */
@@ -85,12 +126,60 @@ class OrderServiceImplTest {
   @Mock
   private UserFeignClient userClient;
 
+  /**
+   * Mocked UserLookupService for cached user lookups.
+   */
+  @Mock
+  private UserLookupService userLookupService;
+
   /**
    * Mocked ObjectMapper for JSON processing.
    */
   @Mock
   private ObjectMapper objectMapper;
 
+  /**
+   * Mocked EntityManager, cleared between export batches.
+   */
+  @Mock
+  private EntityManager entityManager;
+
+  /**
+   * Mocked WalletOutboxService, recording wallet debits and refunds.
+   */
+  @Mock
+  private WalletOutboxService walletOutboxService;
+
+  /**
+   * Mocked OrderEventService, publishing order events to the restaurant streams.
+   */
+  @Mock
+  private OrderEventService orderEventService;
+
+  /**
+   * Mocked OrderStatusWatchService, completing order status long-polls.
+   */
+  @Mock
+  private OrderStatusWatchService orderStatusWatchService;
+
+  /**
+   * Mocked OrderConfirmationService, closing the cancellation window of placed orders.
+   */
+  @Mock
+  private OrderConfirmationService orderConfirmationService;
+
+  /**
+   * Mocked KitchenQueueService, holding the in-memory kitchen queues.
+   */
+  @Mock
+  private KitchenQueueService kitchenQueueService;
+
+  /**
+   * Mocked SalesCounterService, holding the daily sales counters.
+   */
+  @Mock
+  private SalesCounterService salesCounterService;
+
   /**
    * Test data for OrderInDto used in order placement scenarios.
    */
@@ -122,6 +211,8 @@ class OrderServiceImplTest {
   @BeforeEach
   void setUp() {
     MockitoAnnotations.openMocks(this);
+    when(walletOutboxService.getPendingDebitTotal(any())).thenReturn(BigDecimal.ZERO);
+    when(orderConfirmationService.getCancellationWindow(any())).thenReturn(Duration.ofSeconds(30));
 
     orderInDto = new OrderInDto(1, 2, 3, new ArrayList<>());
     userOutDto = new UserOutDto();
@@ -150,11 +241,40 @@ class OrderServiceImplTest {
     order.setOrderTime(LocalDateTime.now());
   }
 
+  /**
+   * Puts the test order in {@code PROCESSING} under a claim and stubs the lookups of its placement.
+   *
+   * @return the time of the claim
+   */
+  private LocalDateTime claimForProcessing() {
+    LocalDateTime claimedAt = LocalDateTime.now();
+    order.setOrderStatus(OrderStatus.PROCESSING);
+    order.setDeliveryAddressId(2);
+    order.setProcessingStartedAt(claimedAt);
+    when(orderRepository.findById(order.getId())).thenReturn(Optional.of(order));
+    when(userLookupService.getUserWithBalance(order.getUserId())).thenReturn(userOutDto);
+    when(userClient.getAddressesByUserId(order.getUserId())).thenReturn(addresses);
+    when(cartService.getAuthorizedCartItems(order.getUserId(), order.getRestaurantId())).thenReturn(cartItems);
+    return claimedAt;
+  }
+
+  /**
+   * Switches the service under test to concurrent order placement lookups.
+   *
+   * @param executor  the executor running the lookups
+   * @param timeoutMs the overall lookup deadline in milliseconds
+   */
+  private void enableAsyncLookups(final Executor executor, final long timeoutMs) {
+    ReflectionTestUtils.setField(orderService, "asyncLookupsEnabled", true);
+    ReflectionTestUtils.setField(orderService, "lookupTimeoutMs", timeoutMs);
+    ReflectionTestUtils.setField(orderService, "lookupExecutor", executor);
+  }
+
   @Test
   void placeOrderSuccessful() {
-    when(userClient.getUserById(orderInDto.getUserId())).thenReturn(userOutDto);
+    when(userLookupService.getUserWithBalance(orderInDto.getUserId())).thenReturn(userOutDto);
     when(userClient.getAddressesByUserId(orderInDto.getUserId())).thenReturn(addresses);
-    when(cartService.getCartItemsByUserIdAndRestaurantId(orderInDto.getUserId(), orderInDto.getRestaurantId()))
+    when(cartService.getAuthorizedCartItems(orderInDto.getUserId(), orderInDto.getRestaurantId()))
       .thenReturn(cartItems);
     when(orderRepository.save(any(Order.class))).thenReturn(order);
 
@@ -162,20 +282,88 @@ class OrderServiceImplTest {
 
     assertNotNull(result);
     assertEquals(OrderConstants.ORDER_PLACED_SUCCESSFULLY, result.getMessage());
-    verify(cartService, times(1)).clearCartAfterOrderPlaced(orderInDto.getUserId(), orderInDto.getRestaurantId());
+    verify(cartService, times(1)).clearAuthorizedCart(orderInDto.getUserId(), orderInDto.getRestaurantId());
+    verify(orderEventService).publish(order, OrderEventType.PLACED);
+  }
+
+  @Test
+  void placeOrderCallsEachDownstreamResourceAtMostOnce() {
+    when(userLookupService.getUserWithBalance(orderInDto.getUserId())).thenReturn(userOutDto);
+    when(userClient.getAddressesByUserId(orderInDto.getUserId())).thenReturn(addresses);
+    when(cartService.getAuthorizedCartItems(orderInDto.getUserId(), orderInDto.getRestaurantId()))
+      .thenReturn(cartItems);
+    when(orderRepository.save(any(Order.class))).thenReturn(order);
+
+    orderService.placeOrder(orderInDto);
+
+    verify(userLookupService, times(1)).getUserWithBalance(orderInDto.getUserId());
+    verify(userClient, times(1)).getAddressesByUserId(orderInDto.getUserId());
+    verify(restaurantLookupService, times(1)).requireRestaurant(orderInDto.getRestaurantId());
+    verify(cartService, never()).getCartItemsByUserIdAndRestaurantId(any(), any());
+    verify(cartService, never()).clearCartAfterOrderPlaced(any(), any());
+  }
+
+  @Test
+  void placeOrderWithAsyncLookupsSuccessful() {
+    enableAsyncLookups(Runnable::run, 1000L);
+    when(userLookupService.getUserWithBalance(orderInDto.getUserId())).thenReturn(userOutDto);
+    when(userClient.getAddressesByUserId(orderInDto.getUserId())).thenReturn(addresses);
+    when(cartService.getAuthorizedCartItems(orderInDto.getUserId(), orderInDto.getRestaurantId()))
+      .thenReturn(cartItems);
+    when(orderRepository.save(any(Order.class))).thenReturn(order);
+
+    MessageOutDto result = orderService.placeOrder(orderInDto);
+
+    assertEquals(OrderConstants.ORDER_PLACED_SUCCESSFULLY, result.getMessage());
+    verify(cartService, times(1)).clearAuthorizedCart(orderInDto.getUserId(), orderInDto.getRestaurantId());
+  }
+
+  @Test
+  void placeOrderWithAsyncLookupsKeepsValidationOrder() {
+    enableAsyncLookups(Runnable::run, 1000L);
+    userOutDto.setUserRole(UserRole.RESTAURANT_OWNER);
+    when(userLookupService.getUserWithBalance(orderInDto.getUserId())).thenReturn(userOutDto);
+    when(userClient.getAddressesByUserId(orderInDto.getUserId())).thenReturn(new ArrayList<>());
+    when(cartService.getAuthorizedCartItems(orderInDto.getUserId(), orderInDto.getRestaurantId()))
+      .thenReturn(new ArrayList<>());
+
+    assertThrows(AccessDeniedException.class, () -> orderService.placeOrder(orderInDto));
+    verify(orderRepository, never()).save(any(Order.class));
+  }
+
+  @Test
+  void placeOrderWithAsyncLookupsAddressNotFound() {
+    enableAsyncLookups(Runnable::run, 1000L);
+    when(userLookupService.getUserWithBalance(orderInDto.getUserId())).thenReturn(userOutDto);
+    when(userClient.getAddressesByUserId(orderInDto.getUserId())).thenReturn(new ArrayList<>());
+    when(cartService.getAuthorizedCartItems(orderInDto.getUserId(), orderInDto.getRestaurantId()))
+      .thenReturn(cartItems);
+
+    assertThrows(ResourceNotFoundException.class, () -> orderService.placeOrder(orderInDto));
+  }
+
+  @Test
+  void placeOrderWithAsyncLookupsTimesOut() {
+    enableAsyncLookups(task -> { }, 50L);
+
+    ServiceUnavailableException exception =
+      assertThrows(ServiceUnavailableException.class, () -> orderService.placeOrder(orderInDto));
+
+    assertEquals(OrderConstants.ORDER_LOOKUP_TIMEOUT, exception.getMessage());
+    verify(walletOutboxService, never()).enqueueDebit(any());
   }
 
   @Test
   void placeOrderCartNotFound() {
-    when(userClient.getUserById(orderInDto.getUserId())).thenReturn(userOutDto);
+    when(userLookupService.getUserWithBalance(orderInDto.getUserId())).thenReturn(userOutDto);
     when(userClient.getAddressesByUserId(orderInDto.getUserId())).thenReturn(addresses);
-    when(cartService.getCartItemsByUserIdAndRestaurantId(orderInDto.getUserId(), orderInDto.getRestaurantId()))
+    when(cartService.getAuthorizedCartItems(orderInDto.getUserId(), orderInDto.getRestaurantId()))
       .thenReturn(new ArrayList<>());
   }
 
   @Test
   void placeOrderAddressNotFound() {
-    when(userClient.getUserById(orderInDto.getUserId())).thenReturn(userOutDto);
+    when(userLookupService.getUserWithBalance(orderInDto.getUserId())).thenReturn(userOutDto);
     when(userClient.getAddressesByUserId(orderInDto.getUserId())).thenReturn(new ArrayList<>());
 
     assertThrows(ResourceNotFoundException.class, () -> orderService.placeOrder(orderInDto));
@@ -199,9 +387,9 @@ class OrderServiceImplTest {
   void placeOrderInvalidCartItems() {
     cartItems.get(0).setQuantity(1);
 
-    when(userClient.getUserById(orderInDto.getUserId())).thenReturn(userOutDto);
+    when(userLookupService.getUserWithBalance(orderInDto.getUserId())).thenReturn(userOutDto);
     when(userClient.getAddressesByUserId(orderInDto.getUserId())).thenReturn(addresses);
-    when(cartService.getCartItemsByUserIdAndRestaurantId(orderInDto.getUserId(), orderInDto.getRestaurantId()))
+    when(cartService.getAuthorizedCartItems(orderInDto.getUserId(), orderInDto.getRestaurantId()))
       .thenReturn(cartItems);
 
   }
@@ -210,31 +398,27 @@ class OrderServiceImplTest {
   void placeOrderNonCustomerRole() {
     userOutDto.setUserRole(UserRole.RESTAURANT_OWNER);
 
-    when(userClient.getUserById(orderInDto.getUserId())).thenReturn(userOutDto);
+    when(userLookupService.getUserWithBalance(orderInDto.getUserId())).thenReturn(userOutDto);
   }
 
   @Test
   void cancelOrderSuccessful() {
+    order.setOrderStatus(OrderStatus.PLACED);
     order.setOrderTime(LocalDateTime.now().minusSeconds(20));
     when(orderRepository.findById(order.getId())).thenReturn(Optional.of(order));
+    when(orderRepository.transition(order.getId(), OrderStatus.PLACED, OrderStatus.CANCELLED, null)).thenReturn(true);
 
     MessageOutDto result = orderService.cancelOrder(order.getId());
 
     assertNotNull(result);
     assertEquals(OrderConstants.ORDER_CANCELLED_SUCCESSFULLY, result.getMessage());
-    verify(userClient, times(1)).updateWalletBalance(order.getUserId(), order.getTotalPrice());
-  }
-
-  @Test
-  void testCalculateTotalPrice() {
-    List<CartItemDto> cartItems = Arrays.asList(
-      new CartItemDto(1, 2, BigDecimal.valueOf(10)),
-      new CartItemDto(2, 1, BigDecimal.valueOf(20))
-    );
-
-    BigDecimal totalPrice = orderService.calculateTotalPrice(cartItems);
-
-    assertEquals(BigDecimal.valueOf(40), totalPrice);
+    assertEquals(OrderStatus.CANCELLED, order.getOrderStatus());
+    verify(entityManager).detach(order);
+    verify(walletOutboxService, times(1)).enqueueRefund(order);
+    verify(orderEventService).publish(order, OrderEventType.CANCELLED);
+    verify(orderStatusWatchService).statusChanged(order.getId(), OrderStatus.CANCELLED, null);
+    verify(kitchenQueueService).statusChanged(order, OrderStatus.CANCELLED);
+    verify(salesCounterService).record(order, OrderStatus.CANCELLED);
   }
 
   @Test
@@ -247,11 +431,27 @@ class OrderServiceImplTest {
     order.setOrderStatus(OrderStatus.PLACED);
 
     when(orderRepository.findById(orderId)).thenReturn(Optional.of(order));
+    when(orderRepository.transition(orderId, OrderStatus.PLACED, OrderStatus.CANCELLED, null)).thenReturn(true);
 
     MessageOutDto response = orderService.cancelOrder(orderId);
 
     assertEquals(OrderConstants.ORDER_CANCELLED_SUCCESSFULLY, response.getMessage());
-    verify(orderRepository).save(order);
+    verify(orderRepository, never()).save(any(Order.class));
+  }
+
+  @Test
+  void cancelOrderCompletedConcurrentlyIsRefused() {
+    order.setOrderStatus(OrderStatus.PLACED);
+    order.setOrderTime(LocalDateTime.now().minusSeconds(20));
+    when(orderRepository.findById(order.getId())).thenReturn(Optional.of(order));
+    when(orderRepository.transition(order.getId(), OrderStatus.PLACED, OrderStatus.CANCELLED, null)).thenReturn(false);
+
+    ResourceConflictException exception = assertThrows(ResourceConflictException.class,
+      () -> orderService.cancelOrder(order.getId()));
+
+    assertEquals(OrderConstants.ORDER_NOT_CANCELLABLE, exception.getMessage());
+    verify(walletOutboxService, never()).enqueueRefund(any());
+    verify(orderEventService, never()).publish(any(), any());
   }
 
   @Test
@@ -266,14 +466,21 @@ class OrderServiceImplTest {
   void markOrderAsCompletedSuccessful() {
     userOutDto.setUserRole(UserRole.RESTAURANT_OWNER);
     order.setRestaurantId(userOutDto.getId());
+    order.setOrderStatus(OrderStatus.PLACED);
 
     when(orderRepository.findById(order.getId())).thenReturn(Optional.of(order));
+    when(orderRepository.transition(order.getId(), OrderStatus.PLACED, OrderStatus.COMPLETED, null)).thenReturn(true);
     when(userClient.getUserById(userOutDto.getId())).thenReturn(userOutDto);
 
     MessageOutDto result = orderService.markOrderAsCompleted(order.getId(), userOutDto.getId());
 
     assertNotNull(result);
     assertEquals(OrderConstants.ORDER_COMPLETED_SUCCESSFULLY, result.getMessage());
+    assertEquals(OrderStatus.COMPLETED, order.getOrderStatus());
+    verify(orderEventService).publish(order, OrderEventType.COMPLETED);
+    verify(orderStatusWatchService).statusChanged(order.getId(), OrderStatus.COMPLETED, null);
+    verify(kitchenQueueService).statusChanged(order, OrderStatus.COMPLETED);
+    verify(salesCounterService).record(order, OrderStatus.COMPLETED);
   }
 
   @Test
@@ -283,6 +490,97 @@ class OrderServiceImplTest {
     when(userClient.getUserById(order.getUserId())).thenReturn(userOutDto);
   }
 
+  @Test
+  void cancelOrderWithinLongerRestaurantWindowSucceeds() {
+    order.setOrderStatus(OrderStatus.PLACED);
+    order.setOrderTime(LocalDateTime.now().minusSeconds(40));
+    when(orderConfirmationService.getCancellationWindow(order.getRestaurantId())).thenReturn(Duration.ofSeconds(60));
+    when(orderRepository.findById(order.getId())).thenReturn(Optional.of(order));
+    when(orderRepository.transition(order.getId(), OrderStatus.PLACED, OrderStatus.CANCELLED, null)).thenReturn(true);
+
+    MessageOutDto result = orderService.cancelOrder(order.getId());
+
+    assertEquals(OrderConstants.ORDER_CANCELLED_SUCCESSFULLY, result.getMessage());
+  }
+
+  @Test
+  void cancelConfirmedOrderIsRefused() {
+    order.setOrderStatus(OrderStatus.CONFIRMED);
+    order.setOrderTime(LocalDateTime.now().minusSeconds(20));
+    when(orderRepository.findById(order.getId())).thenReturn(Optional.of(order));
+
+    ResourceConflictException exception = assertThrows(ResourceConflictException.class,
+      () -> orderService.cancelOrder(order.getId()));
+
+    assertEquals(OrderConstants.ORDER_CANCELLED_FAILURE, exception.getMessage());
+    verify(orderRepository, never()).transition(any(), any(), any(), any());
+  }
+
+  @Test
+  void markOrderAsCompletedCompletesOrderConfirmedConcurrently() {
+    order.setOrderStatus(OrderStatus.PLACED);
+    when(orderRepository.findById(order.getId())).thenReturn(Optional.of(order));
+    when(orderRepository.transition(order.getId(), OrderStatus.PLACED, OrderStatus.COMPLETED, null)).thenReturn(false);
+    when(orderRepository.transition(order.getId(), OrderStatus.CONFIRMED, OrderStatus.COMPLETED, null)).thenReturn(true);
+
+    MessageOutDto result = orderService.markOrderAsCompleted(order.getId(), userOutDto.getId());
+
+    assertEquals(OrderConstants.ORDER_COMPLETED_SUCCESSFULLY, result.getMessage());
+    verify(orderEventService).publish(order, OrderEventType.COMPLETED);
+  }
+
+  @Test
+  void getKitchenQueueReadsInMemoryQueue() {
+    OrderOutDto queued = new OrderOutDto();
+    queued.setId(4);
+    when(kitchenQueueService.getQueue(3, OrderConstants.DEFAULT_ORDER_PAGE_SIZE)).thenReturn(Collections.singletonList(queued));
+
+    List<OrderOutDto> queue = orderService.getKitchenQueue(3, null);
+
+    assertEquals(Collections.singletonList(queued), queue);
+    verify(restaurantLookupService).requireRestaurant(3);
+    verifyNoInteractions(orderRepository);
+  }
+
+  @Test
+  void getDailySalesByRestaurantIdDefaultsToToday() {
+    RestaurantSalesOutDto sales = new RestaurantSalesOutDto(3, LocalDate.now(), 4L, BigDecimal.valueOf(80), 1L, 1L, 0.25);
+    when(salesCounterService.getSales(3, LocalDate.now())).thenReturn(sales);
+
+    assertEquals(sales, orderService.getDailySalesByRestaurantId(3, null));
+    verify(restaurantLookupService).requireRestaurant(3);
+    verifyNoInteractions(orderRepository);
+  }
+
+  @Test
+  void restoreKitchenQueueBatchRestoresActiveOrdersWithItems() {
+    order.setOrderStatus(OrderStatus.CONFIRMED);
+    when(orderRepository.findByOrderStatusInAndIdGreaterThan(eq(Arrays.asList(OrderStatus.PLACED, OrderStatus.CONFIRMED)),
+      eq(0), any())).thenReturn(Collections.singletonList(order));
+    when(orderItemRepository.findByOrderIdIn(Collections.singletonList(order.getId())))
+      .thenReturn(Collections.singletonList(new OrderItem(1, order.getId(), 3, 9, 2, BigDecimal.TEN)));
+
+    assertEquals(order.getId(), orderService.restoreKitchenQueueBatch(0, 100));
+
+    ArgumentCaptor<List<OrderOutDto>> restored = ArgumentCaptor.forClass(List.class);
+    verify(kitchenQueueService).restore(restored.capture());
+    assertEquals(OrderStatus.CONFIRMED, restored.getValue().get(0).getOrderStatus());
+    assertEquals(Collections.singletonList(new CartItemDto(9, 2, BigDecimal.TEN)), restored.getValue().get(0).getCartItems());
+  }
+
+  @Test
+  void markOrderAsCompletedCancelledOrderIsRefused() {
+    order.setOrderStatus(OrderStatus.CANCELLED);
+    when(orderRepository.findById(order.getId())).thenReturn(Optional.of(order));
+
+    ResourceConflictException exception = assertThrows(ResourceConflictException.class,
+      () -> orderService.markOrderAsCompleted(order.getId(), userOutDto.getId()));
+
+    assertEquals(OrderConstants.ORDER_NOT_COMPLETABLE, exception.getMessage());
+    verify(orderRepository, never()).transition(any(), any(), any(), any());
+    verify(orderEventService, never()).publish(any(), any());
+  }
+
   @Test
   void markOrderAsCompletedOrderNotFound() {
     when(orderRepository.findById(order.getId())).thenReturn(Optional.empty());
@@ -383,7 +681,7 @@ class OrderServiceImplTest {
 
   @Test
   void getCartItemsThrowsResourceConflictException() {
-   when(cartService.getCartItemsByUserIdAndRestaurantId(orderInDto.getUserId(), orderInDto.getRestaurantId()))
+   when(cartService.getAuthorizedCartItems(orderInDto.getUserId(), orderInDto.getRestaurantId()))
       .thenReturn(Collections.emptyList());
 
     ResourceConflictException exception = assertThrows(
@@ -392,7 +690,7 @@ class OrderServiceImplTest {
     );
     assertEquals(OrderConstants.INVALID_CART_ITEMS, exception.getMessage());
 
-    verify(cartService, times(1)).getCartItemsByUserIdAndRestaurantId(orderInDto.getUserId(), orderInDto.getRestaurantId());
+    verify(cartService, times(1)).getAuthorizedCartItems(orderInDto.getUserId(), orderInDto.getRestaurantId());
   }
 
   @Test
@@ -403,8 +701,8 @@ class OrderServiceImplTest {
     user.setUserRole(UserRole.CUSTOMER);
 
     List<Order> orders = Arrays.asList(
-      new Order(1, userId, 1, OrderStatus.PLACED, "[]", LocalDateTime.now(), BigDecimal.valueOf(100), 1),
-      new Order(2, userId, 2, OrderStatus.COMPLETED, "[]", LocalDateTime.now(), BigDecimal.valueOf(150), 2)
+      new Order(1, userId, 1, OrderStatus.PLACED, "[]", LocalDateTime.now(), BigDecimal.valueOf(100), 1, null, null, null),
+      new Order(2, userId, 2, OrderStatus.COMPLETED, "[]", LocalDateTime.now(), BigDecimal.valueOf(150), 2, null, null, null)
     );
 
     List<OrderOutDto> expectedOrderOutDtos = orders.stream()
@@ -420,12 +718,12 @@ class OrderServiceImplTest {
       })
       .collect(Collectors.toList());
 
-    when(userClient.getUserById(userId)).thenReturn(user);
-    when(orderRepository.findByUserId(userId)).thenReturn(orders);
+    when(userLookupService.getUserRole(userId)).thenReturn(user.getUserRole());
+    when(orderRepository.findFirstPageByUserId(userId, OrderConstants.DEFAULT_ORDER_PAGE_SIZE + 1)).thenReturn(orders);
     when(objectMapper.readValue(anyString(), eq(new TypeReference<List<CartItemDto>>() { })))
       .thenReturn(Collections.emptyList());
 
-    List<OrderOutDto> result = orderService.getOrdersByUserId(userId);
+    List<OrderOutDto> result = orderService.getOrdersByUserId(userId, null, null).getOrders();
 
     assertNotNull(result);
     assertEquals(expectedOrderOutDtos.size(), result.size());
@@ -438,8 +736,8 @@ class OrderServiceImplTest {
       assertEquals(expectedOrderOutDtos.get(i).getRestaurantId(), result.get(i).getRestaurantId());
     }
 
-    verify(userClient, times(1)).getUserById(userId);
-    verify(orderRepository, times(1)).findByUserId(userId);
+    verify(userLookupService, times(1)).getUserRole(userId);
+    verify(orderRepository, times(1)).findFirstPageByUserId(userId, OrderConstants.DEFAULT_ORDER_PAGE_SIZE + 1);
   }
 
   @Test
@@ -449,23 +747,22 @@ class OrderServiceImplTest {
     user.setId(userId);
     user.setUserRole(UserRole.RESTAURANT_OWNER);
 
-    when(userClient.getUserById(userId)).thenReturn(user);
+    when(userLookupService.getUserRole(userId)).thenReturn(user.getUserRole());
 
-    assertThrows(AccessDeniedException.class, () -> orderService.getOrdersByUserId(userId));
+    assertThrows(AccessDeniedException.class, () -> orderService.getOrdersByUserId(userId, null, null));
 
-    verify(userClient, times(1)).getUserById(userId);
-    verify(orderRepository, never()).findByUserId(userId);
+    verify(userLookupService, times(1)).getUserRole(userId);
+    verify(orderRepository, never()).findFirstPageByUserId(any(), anyInt());
   }
 
   @Test
   void testGetOrdersByRestaurantId() throws JsonProcessingException {
     Integer restaurantId = 1;
-    FoodItemOutDto restaurant = new FoodItemOutDto();
-    restaurant.setId(restaurantId);
-
     List<Order> orders = Arrays.asList(
-      new Order(1, 1, 1, OrderStatus.PLACED, "[]", LocalDateTime.now(), BigDecimal.valueOf(100), restaurantId),
-      new Order(2, 2, 2, OrderStatus.COMPLETED, "[]", LocalDateTime.now(), BigDecimal.valueOf(150), restaurantId)
+      new Order(1, 1, 1, OrderStatus.PLACED, "[]", LocalDateTime.now(), BigDecimal.valueOf(100), restaurantId, null,
+        null, null),
+      new Order(2, 2, 2, OrderStatus.COMPLETED, "[]", LocalDateTime.now(), BigDecimal.valueOf(150), restaurantId, null,
+        null, null)
     );
 
     List<OrderOutDto> expectedOrderOutDtos = orders.stream()
@@ -481,12 +778,12 @@ class OrderServiceImplTest {
       })
       .collect(Collectors.toList());
 
-    when(restaurantClient.getRestaurantById(restaurantId)).thenReturn(restaurant);
-    when(orderRepository.findByRestaurantId(restaurantId)).thenReturn(orders);
+    when(orderRepository.findFirstPageByRestaurantId(restaurantId, OrderConstants.DEFAULT_ORDER_PAGE_SIZE + 1))
+      .thenReturn(orders);
     when(objectMapper.readValue(anyString(), eq(new TypeReference<List<CartItemDto>>() { })))
       .thenReturn(Collections.emptyList());
 
-    List<OrderOutDto> result = orderService.getOrdersByRestaurantId(restaurantId);
+    List<OrderOutDto> result = orderService.getOrdersByRestaurantId(restaurantId, null, null).getOrders();
 
     assertNotNull(result);
     assertEquals(expectedOrderOutDtos.size(), result.size());
@@ -499,8 +796,462 @@ class OrderServiceImplTest {
       assertEquals(expectedOrderOutDtos.get(i).getRestaurantId(), result.get(i).getRestaurantId());
     }
 
-    verify(restaurantClient, times(1)).getRestaurantById(restaurantId);
-    verify(orderRepository, times(1)).findByRestaurantId(restaurantId);
+    verify(restaurantLookupService, times(1)).requireRestaurant(restaurantId);
+    verify(orderRepository, times(1)).findFirstPageByRestaurantId(restaurantId, OrderConstants.DEFAULT_ORDER_PAGE_SIZE + 1);
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void placeOrderStoresCartItemsAsOrderItems() {
+    when(userLookupService.getUserWithBalance(orderInDto.getUserId())).thenReturn(userOutDto);
+    when(userClient.getAddressesByUserId(orderInDto.getUserId())).thenReturn(addresses);
+    when(cartService.getAuthorizedCartItems(orderInDto.getUserId(), orderInDto.getRestaurantId()))
+      .thenReturn(cartItems);
+    when(orderRepository.save(any(Order.class))).thenReturn(order);
+
+    orderService.placeOrder(orderInDto);
+
+    ArgumentCaptor<Order> orderCaptor = ArgumentCaptor.forClass(Order.class);
+    verify(orderRepository).save(orderCaptor.capture());
+    assertNull(orderCaptor.getValue().getCartItems());
+
+    ArgumentCaptor<List<OrderItem>> itemsCaptor = ArgumentCaptor.forClass(List.class);
+    verify(orderItemRepository).saveAll(itemsCaptor.capture());
+    assertEquals(Collections.singletonList(new OrderItem(null, 1, 3, 1, 2, BigDecimal.valueOf(20))),
+      itemsCaptor.getValue());
+  }
+
+  @Test
+  void testConvertOrderToOrderOutDtoFromOrderItems() {
+    when(orderItemRepository.findByOrderId(order.getId()))
+      .thenReturn(Collections.singletonList(new OrderItem(5, 1, 3, 7, 2, BigDecimal.valueOf(30))));
+
+    OrderOutDto result = orderService.convertOrderToOrderOutDto(order);
+
+    assertEquals(Collections.singletonList(new CartItemDto(7, 2, BigDecimal.valueOf(30))), result.getCartItems());
+  }
+
+  @Test
+  void getOrdersByUserIdLoadsOrderItemsWithSingleQuery() {
+    Integer userId = 1;
+    List<Order> orders = Arrays.asList(
+      new Order(1, userId, 1, OrderStatus.PLACED, null, LocalDateTime.now(), BigDecimal.valueOf(100), 1, null, null, null),
+      new Order(2, userId, 2, OrderStatus.PLACED, null, LocalDateTime.now(), BigDecimal.valueOf(40), 2, null, null, null),
+      new Order(3, userId, 3, OrderStatus.COMPLETED, "[{\"foodItemId\":9,\"quantity\":1,\"price\":15}]",
+        LocalDateTime.now(), BigDecimal.valueOf(15), 3, null, null, null)
+    );
+    when(userLookupService.getUserRole(userId)).thenReturn(UserRole.CUSTOMER);
+    when(orderRepository.findFirstPageByUserId(userId, OrderConstants.DEFAULT_ORDER_PAGE_SIZE + 1)).thenReturn(orders);
+    when(orderItemRepository.findByOrderIdIn(Arrays.asList(1, 2))).thenReturn(Arrays.asList(
+      new OrderItem(10, 1, 1, 4, 2, BigDecimal.valueOf(60)),
+      new OrderItem(11, 1, 1, 5, 1, BigDecimal.valueOf(40)),
+      new OrderItem(12, 2, 2, 6, 1, BigDecimal.valueOf(40))
+    ));
+
+    List<OrderOutDto> result = orderService.getOrdersByUserId(userId, null, null).getOrders();
+
+    assertEquals(3, result.size());
+    assertEquals(2, result.get(0).getCartItems().size());
+    assertEquals(Collections.singletonList(new CartItemDto(6, 1, BigDecimal.valueOf(40))), result.get(1).getCartItems());
+    assertEquals(Collections.singletonList(new CartItemDto(9, 1, BigDecimal.valueOf(15))), result.get(2).getCartItems());
+    verify(orderItemRepository, times(1)).findByOrderIdIn(Arrays.asList(1, 2));
+    verify(orderItemRepository, never()).findByOrderId(anyInt());
+  }
+
+  @Test
+  void getOrdersByRestaurantIdWithoutMigratedOrdersSkipsOrderItemsQuery() {
+    Integer restaurantId = 1;
+    when(orderRepository.findFirstPageByRestaurantId(restaurantId, OrderConstants.DEFAULT_ORDER_PAGE_SIZE + 1))
+      .thenReturn(Collections.singletonList(
+      new Order(1, 1, 1, OrderStatus.PLACED, "[]", LocalDateTime.now(), BigDecimal.valueOf(100),
+        restaurantId, null, null, null)));
+
+    List<OrderOutDto> result = orderService.getOrdersByRestaurantId(restaurantId, null, null).getOrders();
+
+    assertEquals(1, result.size());
+    verify(orderItemRepository, never()).findByOrderIdIn(any());
+  }
+
+  @Test
+  void getItemSalesByRestaurantIdExcludesCancelledOrders() {
+    Integer restaurantId = 3;
+    List<FoodItemSalesOutDto> sales = Collections.singletonList(
+      new FoodItemSalesOutDto(7, 4L, 9L, BigDecimal.valueOf(270)));
+    when(orderItemRepository.findFoodItemSalesByRestaurantId(restaurantId, OrderStatus.CANCELLED)).thenReturn(sales);
+
+    List<FoodItemSalesOutDto> result = orderService.getItemSalesByRestaurantId(restaurantId);
+
+    assertEquals(sales, result);
+    verify(restaurantLookupService, times(1)).requireRestaurant(restaurantId);
   }
 
+  @Test
+  void getItemSalesByRestaurantIdRestaurantNotFound() {
+    Integer restaurantId = 3;
+    doThrow(new ResourceNotFoundException(OrderConstants.RESTAURANT_NOT_FOUND))
+      .when(restaurantLookupService).requireRestaurant(restaurantId);
+
+    assertThrows(ResourceNotFoundException.class, () -> orderService.getItemSalesByRestaurantId(restaurantId));
+    verify(orderItemRepository, never()).findFoodItemSalesByRestaurantId(any(), any());
+  }
+
+  @Test
+  void getOrdersByUserIdReturnsNextCursorWhenMoreOrdersExist() {
+    Integer userId = 1;
+    LocalDateTime time = LocalDateTime.of(2024, 5, 1, 12, 0);
+    List<Order> orders = Arrays.asList(
+      new Order(9, userId, 1, OrderStatus.PLACED, "[]", time, BigDecimal.TEN, 1, null, null, null),
+      new Order(8, userId, 1, OrderStatus.PLACED, "[]", time, BigDecimal.TEN, 1, null, null, null),
+      new Order(7, userId, 1, OrderStatus.PLACED, "[]", time.minusHours(1), BigDecimal.TEN, 1, null, null, null)
+    );
+    when(userLookupService.getUserRole(userId)).thenReturn(UserRole.CUSTOMER);
+    when(orderRepository.findFirstPageByUserId(userId, 3)).thenReturn(orders);
+
+    OrderPageOutDto page = orderService.getOrdersByUserId(userId, null, 2);
+
+    assertEquals(2, page.getOrders().size());
+    assertEquals(8, page.getOrders().get(1).getId());
+    assertEquals(new OrderCursor(time, 8).encode(), page.getNextCursor());
+  }
+
+  @Test
+  void getOrdersByUserIdAfterCursorReturnsLastPage() {
+    Integer userId = 1;
+    LocalDateTime time = LocalDateTime.of(2024, 5, 1, 12, 0);
+    List<Order> orders = Collections.singletonList(
+      new Order(7, userId, 1, OrderStatus.PLACED, "[]", time.minusHours(1), BigDecimal.TEN, 1, null, null, null));
+    when(userLookupService.getUserRole(userId)).thenReturn(UserRole.CUSTOMER);
+    when(orderRepository.findPageByUserIdBefore(userId, time, 8, 3)).thenReturn(orders);
+
+    OrderPageOutDto page = orderService.getOrdersByUserId(userId, new OrderCursor(time, 8).encode(), 2);
+
+    assertEquals(1, page.getOrders().size());
+    assertNull(page.getNextCursor());
+  }
+
+  @Test
+  void getOrdersByRestaurantIdCapsPageSize() {
+    Integer restaurantId = 1;
+    when(orderRepository.findFirstPageByRestaurantId(restaurantId, OrderConstants.MAX_ORDER_PAGE_SIZE + 1))
+      .thenReturn(Collections.emptyList());
+
+    OrderPageOutDto page = orderService.getOrdersByRestaurantId(restaurantId, null, 5000);
+
+    assertEquals(0, page.getOrders().size());
+    assertNull(page.getNextCursor());
+    verify(orderRepository, times(1)).findFirstPageByRestaurantId(restaurantId, OrderConstants.MAX_ORDER_PAGE_SIZE + 1);
+  }
+
+  @Test
+  void getOrdersByRestaurantIdAfterCursor() {
+    Integer restaurantId = 1;
+    LocalDateTime time = LocalDateTime.of(2024, 5, 1, 12, 0);
+    when(orderRepository.findPageByRestaurantIdBefore(restaurantId, time, 4, OrderConstants.DEFAULT_ORDER_PAGE_SIZE + 1))
+      .thenReturn(Collections.emptyList());
+
+    OrderPageOutDto page = orderService.getOrdersByRestaurantId(restaurantId, new OrderCursor(time, 4).encode(), null);
+
+    assertEquals(0, page.getOrders().size());
+    verify(orderRepository, never()).findFirstPageByRestaurantId(any(), anyInt());
+  }
+
+  @Test
+  void getOrdersByRestaurantIdRejectsNonPositivePageSize() {
+    InvalidRequestException exception = assertThrows(InvalidRequestException.class,
+      () -> orderService.getOrdersByRestaurantId(1, null, 0));
+
+    assertEquals(OrderConstants.INVALID_PAGE_SIZE, exception.getMessage());
+  }
+
+  @Test
+  void getOrdersByUserIdRejectsMalformedCursor() {
+    when(userLookupService.getUserRole(1)).thenReturn(UserRole.CUSTOMER);
+
+    InvalidRequestException exception = assertThrows(InvalidRequestException.class,
+      () -> orderService.getOrdersByUserId(1, "not-a-cursor", null));
+
+    assertEquals(OrderConstants.INVALID_CURSOR, exception.getMessage());
+  }
+
+  @Test
+  void validateOrderExportRejectsReversedRange() {
+    InvalidRequestException exception = assertThrows(InvalidRequestException.class,
+      () -> orderService.validateOrderExport(1, LocalDate.of(2024, 2, 1), LocalDate.of(2024, 1, 1)));
+
+    assertEquals(OrderConstants.INVALID_EXPORT_RANGE, exception.getMessage());
+    verify(restaurantLookupService, never()).requireRestaurant(any());
+  }
+
+  @Test
+  void validateOrderExportChecksRestaurant() {
+    orderService.validateOrderExport(1, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 1));
+
+    verify(restaurantLookupService, times(1)).requireRestaurant(1);
+  }
+
+  @Test
+  void exportOrdersAsNdjsonWritesOneLinePerOrder() throws IOException {
+    LocalDate from = LocalDate.of(2024, 1, 1);
+    LocalDate to = LocalDate.of(2024, 1, 31);
+    Order first = new Order(1, 1, 2, OrderStatus.COMPLETED, null, LocalDateTime.of(2024, 1, 5, 10, 0),
+      BigDecimal.valueOf(60), 3, null, null, null);
+    Order second = new Order(2, 4, 5, OrderStatus.PLACED, "[{\"foodItemId\":8,\"quantity\":1,\"price\":15}]",
+      LocalDateTime.of(2024, 1, 6, 11, 30), BigDecimal.valueOf(15), 3, null, null, null);
+    when(orderRepository.streamByRestaurantIdAndOrderTimeRange(3, from.atStartOfDay(),
+      LocalDate.of(2024, 2, 1).atStartOfDay())).thenReturn(Stream.of(first, second));
+    when(orderItemRepository.findByOrderIdIn(Collections.singletonList(1)))
+      .thenReturn(Collections.singletonList(new OrderItem(10, 1, 3, 7, 2, BigDecimal.valueOf(60))));
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    int exported = orderService.exportOrdersByRestaurantId(3, from, to, ExportFormat.NDJSON, out);
+
+    String[] lines = out.toString(StandardCharsets.UTF_8.name()).split("\n");
+    assertEquals(2, exported);
+    assertEquals(2, lines.length);
+    assertTrue(lines[0].contains("\"orderTime\":\"2024-01-05T10:00:00\""));
+    assertTrue(lines[0].contains("\"foodItemId\":7"));
+    assertTrue(lines[1].contains("\"foodItemId\":8"));
+    verify(entityManager, times(1)).clear();
+  }
+
+  @Test
+  void exportOrdersAsCsvWritesHeaderAndRows() throws IOException {
+    LocalDate day = LocalDate.of(2024, 1, 5);
+    Order order = new Order(1, 1, 2, OrderStatus.COMPLETED, null, LocalDateTime.of(2024, 1, 5, 10, 0),
+      BigDecimal.valueOf(75), 3, null, null, null);
+    when(orderRepository.streamByRestaurantIdAndOrderTimeRange(3, day.atStartOfDay(), day.plusDays(1).atStartOfDay()))
+      .thenReturn(Stream.of(order));
+    when(orderItemRepository.findByOrderIdIn(Collections.singletonList(1))).thenReturn(Arrays.asList(
+      new OrderItem(10, 1, 3, 7, 2, BigDecimal.valueOf(60)),
+      new OrderItem(11, 1, 3, 8, 1, BigDecimal.valueOf(15))));
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    orderService.exportOrdersByRestaurantId(3, day, day, ExportFormat.CSV, out);
+
+    assertEquals("id,userId,restaurantId,deliveryAddressId,orderStatus,orderTime,totalPrice,items\n"
+      + "1,1,3,2,COMPLETED,2024-01-05T10:00,75,7:2:60;8:1:15\n", out.toString(StandardCharsets.UTF_8.name()));
+  }
+
+  @Test
+  void exportOrdersProcessesLargeRangesInBatches() throws IOException {
+    LocalDate day = LocalDate.of(2024, 1, 5);
+    Stream<Order> orders = IntStream.rangeClosed(1, 1001)
+      .mapToObj(id -> new Order(id, 1, 2, OrderStatus.COMPLETED, "[]", day.atTime(12, 0), BigDecimal.ONE, 3, null, null, null));
+    when(orderRepository.streamByRestaurantIdAndOrderTimeRange(any(), any(), any())).thenReturn(orders);
+
+    int exported = orderService.exportOrdersByRestaurantId(3, day, day, ExportFormat.NDJSON, new ByteArrayOutputStream());
+
+    assertEquals(1001, exported);
+    verify(entityManager, times(3)).clear();
+  }
+
+  @Test
+  void validateCartItemsReturnsDiff() {
+    List<Cart> cart = Collections.singletonList(new Cart(1, 1, 2, 1, BigDecimal.valueOf(20), 3));
+    List<CartItemDto> submitted = Collections.singletonList(new CartItemDto(2, 3, BigDecimal.valueOf(60)));
+
+    CartDiffDto diff = orderService.validateCartItems(cart, submitted);
+
+    assertEquals(1, diff.getQuantityChanges().size());
+    assertTrue(diff.hasItemChanges());
+  }
+
+  @Test
+  void placeOrderRejectsChangedCart() {
+    orderInDto.setCartItems(Collections.singletonList(new CartItemDto(1, 3, BigDecimal.valueOf(30))));
+    when(userLookupService.getUserWithBalance(orderInDto.getUserId())).thenReturn(userOutDto);
+    when(userClient.getAddressesByUserId(orderInDto.getUserId())).thenReturn(addresses);
+    when(cartService.getAuthorizedCartItems(orderInDto.getUserId(), orderInDto.getRestaurantId()))
+      .thenReturn(cartItems);
+
+    ResourceConflictException exception = assertThrows(ResourceConflictException.class,
+      () -> orderService.placeOrder(orderInDto));
+
+    assertEquals(OrderConstants.CART_ITEMS_CHANGED, exception.getMessage());
+    verify(walletOutboxService, never()).enqueueDebit(any());
+    verify(orderRepository, never()).save(any(Order.class));
+  }
+
+  @Test
+  void placeOrderRepricesFromCartWhenOnlyPricesDiffer() {
+    orderInDto.setCartItems(Collections.singletonList(new CartItemDto(1, 2, BigDecimal.valueOf(16))));
+    when(userLookupService.getUserWithBalance(orderInDto.getUserId())).thenReturn(userOutDto);
+    when(userClient.getAddressesByUserId(orderInDto.getUserId())).thenReturn(addresses);
+    when(cartService.getAuthorizedCartItems(orderInDto.getUserId(), orderInDto.getRestaurantId()))
+      .thenReturn(cartItems);
+    when(orderRepository.save(any(Order.class))).thenReturn(order);
+
+    MessageOutDto result = orderService.placeOrder(orderInDto);
+
+    assertEquals(OrderConstants.ORDER_PLACED_SUCCESSFULLY, result.getMessage());
+    ArgumentCaptor<Order> orderCaptor = ArgumentCaptor.forClass(Order.class);
+    verify(orderRepository).save(orderCaptor.capture());
+    assertEquals(BigDecimal.valueOf(20), orderCaptor.getValue().getTotalPrice());
+    verify(walletOutboxService, times(1)).enqueueDebit(order);
+  }
+
+  @Test
+  void placeOrderCountsPendingDebitsAgainstBalance() {
+    when(walletOutboxService.getPendingDebitTotal(userOutDto.getId())).thenReturn(BigDecimal.valueOf(490));
+    when(userLookupService.getUserWithBalance(orderInDto.getUserId())).thenReturn(userOutDto);
+    when(userClient.getAddressesByUserId(orderInDto.getUserId())).thenReturn(addresses);
+    when(cartService.getAuthorizedCartItems(orderInDto.getUserId(), orderInDto.getRestaurantId()))
+      .thenReturn(cartItems);
+
+    ResourceConflictException exception = assertThrows(ResourceConflictException.class,
+      () -> orderService.placeOrder(orderInDto));
+
+    assertEquals(OrderConstants.INSUFFICIENT_BALANCE, exception.getMessage());
+    verify(orderRepository, never()).save(any(Order.class));
+    verify(walletOutboxService, never()).enqueueDebit(any());
+  }
+
+  @Test
+  void calculateCartTotalSumsLinePrices() {
+    List<Cart> cart = Arrays.asList(
+      new Cart(1, 1, 2, 2, BigDecimal.valueOf(20), 3),
+      new Cart(2, 1, 3, 1, BigDecimal.valueOf(15), 3));
+
+    assertEquals(BigDecimal.valueOf(35), orderService.calculateCartTotal(cart));
+  }
+
+  @Test
+  void createPendingOrderSavesPendingOrderWithoutRemoteCalls() {
+    when(orderRepository.save(any(Order.class))).thenReturn(order);
+    ArgumentCaptor<Order> orderCaptor = ArgumentCaptor.forClass(Order.class);
+
+    assertEquals(order, orderService.createPendingOrder(orderInDto));
+
+    verify(orderRepository).save(orderCaptor.capture());
+    assertEquals(OrderStatus.PENDING, orderCaptor.getValue().getOrderStatus());
+    assertNull(orderCaptor.getValue().getSubmittedItems());
+    verify(userLookupService, never()).getUserWithBalance(any());
+    verify(walletOutboxService, never()).enqueueDebit(any());
+  }
+
+  @Test
+  void createPendingOrderStoresSubmittedItems() {
+    orderInDto.setCartItems(Collections.singletonList(new CartItemDto(1, 2, BigDecimal.valueOf(20))));
+    when(orderRepository.save(any(Order.class))).thenReturn(order);
+    ArgumentCaptor<Order> orderCaptor = ArgumentCaptor.forClass(Order.class);
+
+    orderService.createPendingOrder(orderInDto);
+
+    verify(orderRepository).save(orderCaptor.capture());
+    assertEquals("[{\"foodItemId\":1,\"quantity\":2,\"price\":20}]", orderCaptor.getValue().getSubmittedItems());
+  }
+
+  @Test
+  void processPendingOrderPlacesAndChargesOrder() {
+    LocalDateTime claimedAt = claimForProcessing();
+    when(orderRepository.placeClaimed(order.getId(), claimedAt, BigDecimal.valueOf(20))).thenReturn(true);
+
+    assertTrue(orderService.processPendingOrder(order.getId(), claimedAt));
+
+    assertEquals(OrderStatus.PLACED, order.getOrderStatus());
+    assertEquals(BigDecimal.valueOf(20), order.getTotalPrice());
+    verify(orderRepository, never()).save(any(Order.class));
+    verify(walletOutboxService, times(1)).enqueueDebit(order);
+    verify(cartService, times(1)).clearAuthorizedCart(order.getUserId(), order.getRestaurantId());
+    verify(orderConfirmationService).schedule(order);
+    verify(salesCounterService).record(order, OrderStatus.PLACED);
+    ArgumentCaptor<OrderOutDto> queued = ArgumentCaptor.forClass(OrderOutDto.class);
+    verify(kitchenQueueService).add(queued.capture());
+    assertEquals(order.getId(), queued.getValue().getId());
+    assertEquals(Collections.singletonList(new CartItemDto(1, 2, BigDecimal.valueOf(20))), queued.getValue().getCartItems());
+  }
+
+  @Test
+  void processPendingOrderReconcilesCartWithStoredSubmittedItems() {
+    LocalDateTime claimedAt = claimForProcessing();
+    order.setSubmittedItems("[{\"foodItemId\":1,\"quantity\":3,\"price\":20}]");
+
+    ResourceConflictException exception = assertThrows(ResourceConflictException.class,
+      () -> orderService.processPendingOrder(order.getId(), claimedAt));
+
+    assertEquals(OrderConstants.CART_ITEMS_CHANGED, exception.getMessage());
+    verify(orderRepository, never()).placeClaimed(any(), any(), any());
+  }
+
+  @Test
+  void processPendingOrderGivesUpWhenClaimedAgainMeanwhile() {
+    LocalDateTime claimedAt = claimForProcessing();
+    when(orderRepository.placeClaimed(order.getId(), claimedAt, BigDecimal.valueOf(20))).thenReturn(false);
+
+    assertFalse(orderService.processPendingOrder(order.getId(), claimedAt));
+
+    verify(walletOutboxService, never()).enqueueDebit(any());
+    verify(cartService, never()).clearAuthorizedCart(any(), any());
+  }
+
+  @Test
+  void processPendingOrderSkipsOrderHeldByAnotherClaim() {
+    LocalDateTime claimedAt = claimForProcessing();
+
+    assertFalse(orderService.processPendingOrder(order.getId(), claimedAt.plusSeconds(1)));
+
+    verify(userLookupService, never()).getUserWithBalance(any());
+  }
+
+  @Test
+  void processPendingOrderSkipsOrderNotClaimed() {
+    order.setOrderStatus(OrderStatus.CANCELLED);
+    when(orderRepository.findById(order.getId())).thenReturn(Optional.of(order));
+
+    assertFalse(orderService.processPendingOrder(order.getId(), LocalDateTime.now()));
+
+    verify(orderRepository, never()).placeClaimed(any(), any(), any());
+    verify(userLookupService, never()).getUserWithBalance(any());
+  }
+
+  @Test
+  void getOrderStatusReturnsStatusAndReason() {
+    order.setOrderStatus(OrderStatus.REJECTED);
+    order.setStatusReason(OrderConstants.INSUFFICIENT_BALANCE);
+    when(orderRepository.findById(order.getId())).thenReturn(Optional.of(order));
+
+    OrderStatusOutDto status = orderService.getOrderStatus(order.getId());
+
+    assertEquals(order.getId(), status.getOrderId());
+    assertEquals(OrderStatus.REJECTED, status.getOrderStatus());
+    assertEquals(OrderConstants.INSUFFICIENT_BALANCE, status.getStatusReason());
+  }
+
+  @Test
+  void cancelPendingOrderWithdrawsItWithoutRefund() {
+    order.setOrderStatus(OrderStatus.PENDING);
+    when(orderRepository.findById(order.getId())).thenReturn(Optional.of(order));
+    when(orderRepository.transition(order.getId(), OrderStatus.PENDING, OrderStatus.CANCELLED, null)).thenReturn(true);
+
+    MessageOutDto result = orderService.cancelOrder(order.getId());
+
+    assertEquals(OrderConstants.ORDER_CANCELLED_SUCCESSFULLY, result.getMessage());
+    verify(walletOutboxService, never()).enqueueRefund(any());
+    verify(orderEventService, never()).publish(any(), any());
+    verify(orderStatusWatchService).statusChanged(order.getId(), OrderStatus.CANCELLED, null);
+  }
+
+  @Test
+  void cancelOrderBeingProcessedIsRefused() {
+    order.setOrderStatus(OrderStatus.PROCESSING);
+    when(orderRepository.findById(order.getId())).thenReturn(Optional.of(order));
+    when(orderRepository.transition(order.getId(), OrderStatus.PENDING, OrderStatus.CANCELLED, null)).thenReturn(false);
+
+    ResourceConflictException exception = assertThrows(ResourceConflictException.class,
+      () -> orderService.cancelOrder(order.getId()));
+
+    assertEquals(OrderConstants.ORDER_BEING_PROCESSED, exception.getMessage());
+  }
+
+  @Test
+  void cancelRejectedOrderIsRefused() {
+    order.setOrderStatus(OrderStatus.REJECTED);
+    when(orderRepository.findById(order.getId())).thenReturn(Optional.of(order));
+
+    ResourceConflictException exception = assertThrows(ResourceConflictException.class,
+      () -> orderService.cancelOrder(order.getId()));
+
+    assertEquals(OrderConstants.ORDER_NOT_CANCELLABLE, exception.getMessage());
+    verify(orderRepository, never()).transition(any(), any(), any(), any());
+  }
 }
@@ -0,0 +1,131 @@
+package com.orders.service.impl;
+
+import com.orders.dto.OrderStatusOutDto;
+import com.orders.exception.ResourceNotFoundException;
+import com.orders.repositories.OrderRepository;
+import com.orders.utils.OrderStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link OrderStatusWatchServiceImpl}.
+ */
+@ExtendWith(MockitoExtension.class)
+class OrderStatusWatchServiceImplTest {
+
+  /**
+   * The service under test.
+   */
+  @InjectMocks
+  private OrderStatusWatchServiceImpl orderStatusWatchService;
+
+  /**
+   * Mocked OrderRepository.
+   */
+  @Mock
+  private OrderRepository orderRepository;
+
+  /**
+   * Sets up the watch limits.
+   */
+  @BeforeEach
+  void setUp() {
+    ReflectionTestUtils.setField(orderStatusWatchService, "timeoutMs", 30000L);
+    ReflectionTestUtils.setField(orderStatusWatchService, "maxWatches", 10);
+  }
+
+  @Test
+  void watchCompletesRightAwayWhenStatusAlreadyChanged() {
+    when(orderRepository.findStatusById(5)).thenReturn(status(5, OrderStatus.PLACED));
+
+    DeferredResult<OrderStatusOutDto> result = orderStatusWatchService.watch(5, OrderStatus.PENDING);
+
+    assertTrue(result.hasResult());
+    assertEquals(new OrderStatusOutDto(5, OrderStatus.PLACED, null), result.getResult());
+  }
+
+  @Test
+  void watchCompletesWhenStatusOfOrderChanges() {
+    when(orderRepository.findStatusById(5)).thenReturn(status(5, OrderStatus.PLACED));
+    DeferredResult<OrderStatusOutDto> result = orderStatusWatchService.watch(5, OrderStatus.PLACED);
+    assertFalse(result.hasResult());
+
+    orderStatusWatchService.statusChanged(6, OrderStatus.CANCELLED, null);
+    assertFalse(result.hasResult());
+    orderStatusWatchService.statusChanged(5, OrderStatus.COMPLETED, null);
+
+    assertEquals(new OrderStatusOutDto(5, OrderStatus.COMPLETED, null), result.getResult());
+  }
+
+  @Test
+  void watchSeesChangeCommittedWhileRegistering() {
+    when(orderRepository.findStatusById(5))
+      .thenReturn(status(5, OrderStatus.PLACED))
+      .thenReturn(status(5, OrderStatus.CANCELLED));
+
+    DeferredResult<OrderStatusOutDto> result = orderStatusWatchService.watch(5, OrderStatus.PLACED);
+
+    assertEquals(OrderStatus.CANCELLED, ((OrderStatusOutDto) result.getResult()).getOrderStatus());
+  }
+
+  @Test
+  void watchCompletesRightAwayWhenTooManyRequestsWait() {
+    ReflectionTestUtils.setField(orderStatusWatchService, "maxWatches", 0);
+    when(orderRepository.findStatusById(5)).thenReturn(status(5, OrderStatus.PLACED));
+
+    DeferredResult<OrderStatusOutDto> result = orderStatusWatchService.watch(5, OrderStatus.PLACED);
+
+    assertEquals(new OrderStatusOutDto(5, OrderStatus.PLACED, null), result.getResult());
+  }
+
+  @Test
+  void watchRejectsUnknownOrder() {
+    when(orderRepository.findStatusById(5)).thenReturn(Optional.empty());
+
+    assertThrows(ResourceNotFoundException.class, () -> orderStatusWatchService.watch(5, OrderStatus.PLACED));
+  }
+
+  @Test
+  void statusChangedInTransactionWaitsForCommit() {
+    when(orderRepository.findStatusById(5)).thenReturn(status(5, OrderStatus.PLACED));
+    DeferredResult<OrderStatusOutDto> result = orderStatusWatchService.watch(5, OrderStatus.PLACED);
+    TransactionSynchronizationManager.initSynchronization();
+    try {
+      orderStatusWatchService.statusChanged(5, OrderStatus.CANCELLED, null);
+      assertFalse(result.hasResult());
+
+      TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+    } finally {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    assertEquals(OrderStatus.CANCELLED, ((OrderStatusOutDto) result.getResult()).getOrderStatus());
+  }
+
+  /**
+   * Creates the status read of an order.
+   *
+   * @param orderId     the order ID
+   * @param orderStatus the status
+   * @return the status, as returned by the repository
+   */
+  private Optional<OrderStatusOutDto> status(final Integer orderId, final OrderStatus orderStatus) {
+    return Optional.of(new OrderStatusOutDto(orderId, orderStatus, null));
+  }
+}
@@ -0,0 +1,67 @@
+package com.orders.service.impl;
+
+import com.orders.dto.FoodItemOutDto;
+import com.orders.dto.RestaurantOutDto;
+import com.orders.exception.ServiceUnavailableException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Unit tests for {@link RestaurantFeignClientFallback}.
+ */
+class RestaurantFeignClientFallbackTest {
+
+  /**
+   * The fallback under test.
+   */
+  private final RestaurantFeignClientFallback fallback = new RestaurantFeignClientFallback();
+
+  /**
+   * Configures the fallback and creates its cache.
+   */
+  @BeforeEach
+  void setUp() {
+    ReflectionTestUtils.setField(fallback, "retentionMs", 60000L);
+    ReflectionTestUtils.setField(fallback, "maxSize", 10);
+    ReflectionTestUtils.setField(fallback, "restaurantMaxStalenessMs", 60000L);
+    ReflectionTestUtils.setField(fallback, "foodItemMaxStalenessMs", 60000L);
+    fallback.initCache();
+  }
+
+  @Test
+  void getRestaurantByIdServesLastKnownRestaurant() {
+    RestaurantOutDto restaurant = new RestaurantOutDto(5, 2, "Spice Hub");
+    fallback.getLastKnownGood().remember("getRestaurantById", new Object[] {5}, restaurant);
+
+    assertEquals(restaurant, fallback.getRestaurantById(5));
+    assertThrows(ServiceUnavailableException.class, () -> fallback.getRestaurantById(6));
+  }
+
+  @Test
+  void getFoodItemByIdServesLastKnownDetailsWithoutPrice() {
+    fallback.getLastKnownGood().remember("getFoodItemById", new Object[] {8},
+      new FoodItemOutDto(8, 5, "Paneer Tikka", new BigDecimal("180.00")));
+
+    FoodItemOutDto foodItem = fallback.getFoodItemById(8);
+
+    assertEquals("Paneer Tikka", foodItem.getItemName());
+    assertEquals(5, foodItem.getRestaurantId());
+    assertNull(foodItem.getPrice());
+  }
+
+  @Test
+  void pricesAreNeverServedFromCache() {
+    fallback.getLastKnownGood().remember("getFoodItemPrices", new Object[] {Collections.singletonList(8)},
+      Collections.emptyList());
+
+    assertThrows(ServiceUnavailableException.class, () -> fallback.getFoodItemPrices(Collections.singletonList(8)));
+  }
+}
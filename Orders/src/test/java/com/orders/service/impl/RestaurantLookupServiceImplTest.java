@@ -0,0 +1,94 @@
+package com.orders.service.impl;
+
+import com.orders.constants.OrderConstants;
+import com.orders.dto.RestaurantOutDto;
+import com.orders.exception.ResourceNotFoundException;
+import com.orders.service.RestaurantFeignClient;
+import feign.FeignException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for the {@link RestaurantLookupServiceImpl} class.
+ */
+@ExtendWith(MockitoExtension.class)
+class RestaurantLookupServiceImplTest {
+
+  /**
+   * Mock for the RestaurantFeignClient used to interact with restaurant-related services.
+   */
+  @Mock
+  private RestaurantFeignClient restaurantClient;
+
+  /**
+   * Instance of {@link RestaurantLookupServiceImpl} to be tested.
+   */
+  @InjectMocks
+  private RestaurantLookupServiceImpl restaurantLookupService;
+
+  /**
+   * Sets up a small existence cache.
+   */
+  @BeforeEach
+  void setUp() {
+    ReflectionTestUtils.setField(restaurantLookupService, "ttlMs", 60000L);
+    ReflectionTestUtils.setField(restaurantLookupService, "negativeTtlMs", 60000L);
+    ReflectionTestUtils.setField(restaurantLookupService, "maxSize", 10);
+    restaurantLookupService.initCache();
+  }
+
+  @Test
+  void requireRestaurantCallsRestaurantServiceOnlyOnce() {
+    when(restaurantClient.getRestaurantById(1)).thenReturn(new RestaurantOutDto(1, 2, "Test Restaurant"));
+
+    restaurantLookupService.requireRestaurant(1);
+    restaurantLookupService.requireRestaurant(1);
+
+    verify(restaurantClient, times(1)).getRestaurantById(1);
+  }
+
+  @Test
+  void requireRestaurantCachesNotFound() {
+    when(restaurantClient.getRestaurantById(1)).thenThrow(mock(FeignException.NotFound.class));
+
+    ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class,
+      () -> restaurantLookupService.requireRestaurant(1));
+    assertThrows(ResourceNotFoundException.class, () -> restaurantLookupService.requireRestaurant(1));
+
+    assertEquals(OrderConstants.RESTAURANT_NOT_FOUND, exception.getMessage());
+    verify(restaurantClient, times(1)).getRestaurantById(1);
+  }
+
+  @Test
+  void requireRestaurantDoesNotCacheOtherErrors() {
+    when(restaurantClient.getRestaurantById(1)).thenThrow(mock(FeignException.ServiceUnavailable.class));
+
+    assertThrows(FeignException.class, () -> restaurantLookupService.requireRestaurant(1));
+    assertThrows(FeignException.class, () -> restaurantLookupService.requireRestaurant(1));
+
+    verify(restaurantClient, times(2)).getRestaurantById(1);
+  }
+
+  @Test
+  void invalidateForcesReload() {
+    when(restaurantClient.getRestaurantById(1)).thenReturn(new RestaurantOutDto(1, 2, "Test Restaurant"));
+
+    restaurantLookupService.requireRestaurant(1);
+    restaurantLookupService.invalidate(1);
+    restaurantLookupService.requireRestaurant(1);
+
+    verify(restaurantClient, times(2)).getRestaurantById(1);
+  }
+}
@@ -0,0 +1,174 @@
+package com.orders.service.impl;
+
+import com.orders.dto.RestaurantSalesOutDto;
+import com.orders.entities.Order;
+import com.orders.entities.RestaurantSalesRollup;
+import com.orders.repositories.RestaurantSalesRollupRepository;
+import com.orders.utils.OrderStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link SalesCounterServiceImpl}.
+ */
+@ExtendWith(MockitoExtension.class)
+class SalesCounterServiceImplTest {
+
+  /**
+   * The service under test.
+   */
+  @InjectMocks
+  private SalesCounterServiceImpl salesCounterService;
+
+  /**
+   * Mocked RestaurantSalesRollupRepository.
+   */
+  @Mock
+  private RestaurantSalesRollupRepository rollupRepository;
+
+  @Test
+  void salesCombineRollupsWithUnflushedCounts() {
+    LocalDate today = LocalDate.now();
+    when(rollupRepository.findByRestaurantIdAndSalesDate(5, today)).thenReturn(Collections.singletonList(
+      new RestaurantSalesRollup(1, 5, today, OrderStatus.PLACED, 2L, new BigDecimal("30.00"))));
+    salesCounterService.record(order(5, "12.50"), OrderStatus.PLACED);
+    salesCounterService.record(order(5, "7.50"), OrderStatus.PLACED);
+    salesCounterService.record(order(5, "12.50"), OrderStatus.CANCELLED);
+    salesCounterService.record(order(6, "99.00"), OrderStatus.PLACED);
+
+    RestaurantSalesOutDto sales = salesCounterService.getSales(5, today);
+
+    assertEquals(4L, sales.getOrderCount());
+    assertEquals(new BigDecimal("37.50"), sales.getRevenue());
+    assertEquals(0L, sales.getCompletedCount());
+    assertEquals(1L, sales.getCancelledCount());
+    assertEquals(0.25, sales.getCancellationRate());
+  }
+
+  @Test
+  void salesOfDayWithoutOrdersAreZero() {
+    LocalDate day = LocalDate.of(2024, 3, 1);
+    when(rollupRepository.findByRestaurantIdAndSalesDate(5, day)).thenReturn(Collections.emptyList());
+
+    RestaurantSalesOutDto sales = salesCounterService.getSales(5, day);
+
+    assertEquals(0L, sales.getOrderCount());
+    assertEquals(new BigDecimal("0.00"), sales.getRevenue());
+    assertEquals(0.0, sales.getCancellationRate());
+  }
+
+  @Test
+  void flushWritesOnlyCountsRecordedSincePreviousFlush() {
+    LocalDate today = LocalDate.now();
+    salesCounterService.record(order(5, "10.00"), OrderStatus.PLACED);
+    salesCounterService.record(order(5, "5.25"), OrderStatus.PLACED);
+
+    assertEquals(1, salesCounterService.flush());
+    verify(rollupRepository).addToRollup(5, today, "PLACED", 2L, new BigDecimal("15.25"));
+
+    salesCounterService.record(order(5, "4.00"), OrderStatus.COMPLETED);
+    assertEquals(1, salesCounterService.flush());
+    verify(rollupRepository).addToRollup(5, today, "COMPLETED", 1L, new BigDecimal("4.00"));
+
+    assertEquals(0, salesCounterService.flush());
+  }
+
+  @Test
+  void flushedCountsAreNotCountedTwice() {
+    LocalDate today = LocalDate.now();
+    salesCounterService.record(order(5, "10.00"), OrderStatus.PLACED);
+    salesCounterService.flush();
+    when(rollupRepository.findByRestaurantIdAndSalesDate(5, today)).thenReturn(Collections.singletonList(
+      new RestaurantSalesRollup(1, 5, today, OrderStatus.PLACED, 1L, new BigDecimal("10.00"))));
+
+    assertEquals(1L, salesCounterService.getSales(5, today).getOrderCount());
+  }
+
+  @Test
+  void failedFlushIsRetriedByNextFlush() {
+    LocalDate today = LocalDate.now();
+    doThrow(new IllegalStateException("database down")).doReturn(1)
+      .when(rollupRepository).addToRollup(any(), any(), anyString(), anyLong(), any(BigDecimal.class));
+    salesCounterService.record(order(5, "10.00"), OrderStatus.PLACED);
+
+    assertThrows(IllegalStateException.class, () -> salesCounterService.flush());
+    salesCounterService.record(order(5, "2.00"), OrderStatus.PLACED);
+
+    assertEquals(1, salesCounterService.flush());
+    verify(rollupRepository).addToRollup(5, today, "PLACED", 2L, new BigDecimal("12.00"));
+  }
+
+  @Test
+  void statusChangesAreCountedOnTheDayTheOrderWasPlaced() {
+    LocalDate yesterday = LocalDate.now().minusDays(1);
+    Order lateOrder = order(5, "20.00", yesterday.atTime(23, 58));
+    salesCounterService.record(lateOrder, OrderStatus.PLACED);
+    salesCounterService.record(lateOrder, OrderStatus.CANCELLED);
+    salesCounterService.record(order(5, "8.00", yesterday.atTime(23, 59)), OrderStatus.COMPLETED);
+
+    assertEquals(3, salesCounterService.flush());
+    verify(rollupRepository).addToRollup(5, yesterday, "PLACED", 1L, new BigDecimal("20.00"));
+    verify(rollupRepository).addToRollup(5, yesterday, "CANCELLED", 1L, new BigDecimal("20.00"));
+    verify(rollupRepository).addToRollup(5, yesterday, "COMPLETED", 1L, new BigDecimal("8.00"));
+    verify(rollupRepository, never()).addToRollup(any(), eq(LocalDate.now()), anyString(), anyLong(), any(BigDecimal.class));
+  }
+
+  @Test
+  void pastDayCounterIsDroppedOnceFlushedAndRecreatedByALateOrder() {
+    LocalDate pastDay = LocalDate.now().minusDays(3);
+    when(rollupRepository.findByRestaurantIdAndSalesDate(5, pastDay)).thenReturn(Collections.emptyList());
+    salesCounterService.record(order(5, "6.00", pastDay.atTime(12, 0)), OrderStatus.COMPLETED);
+
+    assertEquals(1, salesCounterService.flush());
+    assertEquals(0, salesCounterService.flush());
+    assertEquals(0L, salesCounterService.getSales(5, pastDay).getCompletedCount());
+
+    salesCounterService.record(order(5, "4.00", pastDay.atTime(13, 0)), OrderStatus.COMPLETED);
+    assertEquals(1L, salesCounterService.getSales(5, pastDay).getCompletedCount());
+    assertEquals(1, salesCounterService.flush());
+    verify(rollupRepository).addToRollup(5, pastDay, "COMPLETED", 1L, new BigDecimal("6.00"));
+    verify(rollupRepository).addToRollup(5, pastDay, "COMPLETED", 1L, new BigDecimal("4.00"));
+  }
+
+  /**
+   * Creates an order of a restaurant placed now.
+   *
+   * @param restaurantId the restaurant ID
+   * @param totalPrice   the total price of the order
+   * @return the order
+   */
+  private Order order(final Integer restaurantId, final String totalPrice) {
+    return order(restaurantId, totalPrice, LocalDateTime.now());
+  }
+
+  /**
+   * Creates an order of a restaurant.
+   *
+   * @param restaurantId the restaurant ID
+   * @param totalPrice   the total price of the order
+   * @param orderTime    the time the order was placed
+   * @return the order
+   */
+  private Order order(final Integer restaurantId, final String totalPrice, final LocalDateTime orderTime) {
+    return new Order(1, 1, 2, OrderStatus.PLACED, null, orderTime, new BigDecimal(totalPrice), restaurantId, null, null, null);
+  }
+}
@@ -0,0 +1,83 @@
+package com.orders.service.impl;
+
+import com.orders.dto.AddressOutDto;
+import com.orders.dto.UserOutDto;
+import com.orders.exception.ServiceUnavailableException;
+import com.orders.utils.UserRole;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for {@link UserFeignClientFallback}.
+ */
+class UserFeignClientFallbackTest {
+
+  /**
+   * The fallback under test.
+   */
+  private final UserFeignClientFallback fallback = new UserFeignClientFallback();
+
+  /**
+   * Configures the fallback and creates its cache.
+   */
+  @BeforeEach
+  void setUp() {
+    ReflectionTestUtils.setField(fallback, "retentionMs", 60000L);
+    ReflectionTestUtils.setField(fallback, "maxSize", 10);
+    ReflectionTestUtils.setField(fallback, "roleMaxStalenessMs", 60000L);
+    ReflectionTestUtils.setField(fallback, "addressMaxStalenessMs", 60000L);
+    fallback.initCache();
+  }
+
+  @Test
+  void getUserByIdServesLastKnownRoleButNeverBalance() {
+    fallback.getLastKnownGood().remember("getUserById", new Object[] {1},
+      new UserOutDto(1, UserRole.RESTAURANT_OWNER, new BigDecimal("250.00")));
+
+    UserOutDto user = fallback.getUserById(1);
+
+    assertEquals(1, user.getId());
+    assertEquals(UserRole.RESTAURANT_OWNER, user.getUserRole());
+    assertNull(user.getWalletBalance());
+  }
+
+  @Test
+  void lookupsWithoutRecentDataFail() {
+    assertThrows(ServiceUnavailableException.class, () -> fallback.getUserById(1));
+    assertThrows(ServiceUnavailableException.class, () -> fallback.getAddressesByUserId(1));
+    assertThrows(ServiceUnavailableException.class, () -> fallback.getAddressById(3));
+  }
+
+  @Test
+  void roleOlderThanItsMaxStalenessIsNotServed() {
+    ReflectionTestUtils.setField(fallback, "roleMaxStalenessMs", 0L);
+    fallback.getLastKnownGood().remember("getUserById", new Object[] {1},
+      new UserOutDto(1, UserRole.CUSTOMER, BigDecimal.TEN));
+
+    assertThrows(ServiceUnavailableException.class, () -> fallback.getUserById(1));
+  }
+
+  @Test
+  void getAddressesByUserIdServesLastKnownAddresses() {
+    List<AddressOutDto> addresses =
+      Collections.singletonList(new AddressOutDto(3, "Main Street", "Pune", "Maharashtra", 411001));
+    fallback.getLastKnownGood().remember("getAddressesByUserId", new Object[] {1}, addresses);
+
+    assertEquals(addresses, fallback.getAddressesByUserId(1));
+  }
+
+  @Test
+  void applyWalletTransactionsReturnsNoOutcomes() {
+    assertTrue(fallback.applyWalletTransactions(Collections.emptyList()).isEmpty());
+  }
+}
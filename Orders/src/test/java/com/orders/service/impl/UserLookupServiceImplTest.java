@@ -0,0 +1,115 @@
+package com.orders.service.impl;
+
+import com.orders.dto.UserOutDto;
+import com.orders.exception.ServiceUnavailableException;
+import com.orders.service.UserFeignClient;
+import com.orders.utils.UserRole;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for the {@link UserLookupServiceImpl} class.
+ */
+@ExtendWith(MockitoExtension.class)
+class UserLookupServiceImplTest {
+
+  /**
+   * Mock for the UserFeignClient used to interact with user-related services.
+   */
+  @Mock
+  private UserFeignClient userClient;
+
+  /**
+   * Instance of {@link UserLookupServiceImpl} to be tested.
+   */
+  @InjectMocks
+  private UserLookupServiceImpl userLookupService;
+
+  /**
+   * User returned by the mocked User service.
+   */
+  private UserOutDto user;
+
+  /**
+   * Sets up a small role cache and the test user.
+   */
+  @BeforeEach
+  void setUp() {
+    ReflectionTestUtils.setField(userLookupService, "roleTtlMs", 60000L);
+    ReflectionTestUtils.setField(userLookupService, "roleMaxSize", 10);
+    userLookupService.initCache();
+
+    user = new UserOutDto();
+    user.setId(1);
+    user.setUserRole(UserRole.CUSTOMER);
+    user.setWalletBalance(new BigDecimal("100.00"));
+  }
+
+  @Test
+  void getUserRoleCallsUserServiceOnlyOnce() {
+    when(userClient.getUserById(1)).thenReturn(user);
+
+    assertEquals(UserRole.CUSTOMER, userLookupService.getUserRole(1));
+    assertEquals(UserRole.CUSTOMER, userLookupService.getUserRole(1));
+
+    verify(userClient, times(1)).getUserById(1);
+  }
+
+  @Test
+  void getUserWithBalanceIsNeverServedFromCache() {
+    when(userClient.getUserById(1)).thenReturn(user);
+
+    userLookupService.getUserWithBalance(1);
+    user.setWalletBalance(new BigDecimal("40.00"));
+    UserOutDto result = userLookupService.getUserWithBalance(1);
+
+    assertEquals(new BigDecimal("40.00"), result.getWalletBalance());
+    verify(userClient, times(2)).getUserById(1);
+  }
+
+  @Test
+  void getUserWithBalanceRefreshesCachedRole() {
+    when(userClient.getUserById(1)).thenReturn(user);
+
+    userLookupService.getUserWithBalance(1);
+    assertEquals(UserRole.CUSTOMER, userLookupService.getUserRole(1));
+
+    verify(userClient, times(1)).getUserById(1);
+  }
+
+  @Test
+  void invalidateForcesReload() {
+    when(userClient.getUserById(1)).thenReturn(user);
+
+    userLookupService.getUserRole(1);
+    userLookupService.invalidate(1);
+    userLookupService.getUserRole(1);
+
+    verify(userClient, times(2)).getUserById(1);
+  }
+
+  @Test
+  void userWithoutBalanceFromFallbackIsNotCachedNorUsedForBalance() {
+    user.setWalletBalance(null);
+    when(userClient.getUserById(1)).thenReturn(user);
+
+    assertEquals(UserRole.CUSTOMER, userLookupService.getUserRole(1));
+    assertEquals(UserRole.CUSTOMER, userLookupService.getUserRole(1));
+    assertThrows(ServiceUnavailableException.class, () -> userLookupService.getUserWithBalance(1));
+
+    verify(userClient, times(3)).getUserById(1);
+  }
+}
@@ -0,0 +1,286 @@
+package com.orders.service.impl;
+
+import com.orders.dto.WalletTransactionInDto;
+import com.orders.dto.WalletTransactionOutDto;
+import com.orders.entities.Order;
+import com.orders.entities.WalletOutboxEntry;
+import com.orders.repositories.OrderRepository;
+import com.orders.repositories.WalletOutboxRepository;
+import com.orders.service.KitchenQueueService;
+import com.orders.service.OrderEventService;
+import com.orders.service.OrderStatusWatchService;
+import com.orders.service.SalesCounterService;
+import com.orders.service.UserFeignClient;
+import com.orders.utils.OrderEventType;
+import com.orders.utils.OrderStatus;
+import com.orders.utils.WalletOperation;
+import com.orders.utils.WalletOutboxStatus;
+import com.orders.utils.WalletTransactionStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.persistence.EntityManager;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link WalletOutboxServiceImpl}.
+ */
+@ExtendWith(MockitoExtension.class)
+class WalletOutboxServiceImplTest {
+
+  /**
+   * The service under test.
+   */
+  @InjectMocks
+  private WalletOutboxServiceImpl walletOutboxService;
+
+  /**
+   * Mocked WalletOutboxRepository.
+   */
+  @Mock
+  private WalletOutboxRepository walletOutboxRepository;
+
+  /**
+   * Mocked OrderRepository.
+   */
+  @Mock
+  private OrderRepository orderRepository;
+
+  /**
+   * Mocked UserFeignClient.
+   */
+  @Mock
+  private UserFeignClient userClient;
+
+  /**
+   * Mocked OrderEventService.
+   */
+  @Mock
+  private OrderEventService orderEventService;
+
+  /**
+   * Mocked OrderStatusWatchService.
+   */
+  @Mock
+  private OrderStatusWatchService orderStatusWatchService;
+
+  /**
+   * Mocked KitchenQueueService.
+   */
+  @Mock
+  private KitchenQueueService kitchenQueueService;
+
+  /**
+   * Mocked SalesCounterService.
+   */
+  @Mock
+  private SalesCounterService salesCounterService;
+
+  /**
+   * Mocked EntityManager.
+   */
+  @Mock
+  private EntityManager entityManager;
+
+  /**
+   * Order the wallet updates belong to.
+   */
+  private Order order;
+
+  /**
+   * Sets up the batch size and the test order.
+   */
+  @BeforeEach
+  void setUp() {
+    ReflectionTestUtils.setField(walletOutboxService, "batchSize", 100);
+    order = new Order(5, 1, 2, OrderStatus.PLACED, null, LocalDateTime.now(), BigDecimal.valueOf(40), 3, null, null, null);
+  }
+
+  @Test
+  void enqueueDebitSavesPendingEntry() {
+    walletOutboxService.enqueueDebit(order);
+
+    ArgumentCaptor<WalletOutboxEntry> entryCaptor = ArgumentCaptor.forClass(WalletOutboxEntry.class);
+    verify(walletOutboxRepository).save(entryCaptor.capture());
+    WalletOutboxEntry entry = entryCaptor.getValue();
+    assertEquals("order-5-debit", entry.getIdempotencyKey());
+    assertEquals(WalletOperation.DEBIT, entry.getOperation());
+    assertEquals(WalletOutboxStatus.PENDING, entry.getStatus());
+    assertEquals(BigDecimal.valueOf(40), entry.getAmount());
+    assertEquals(1, entry.getUserId());
+    assertNotNull(entry.getCreatedAt());
+  }
+
+  @Test
+  void enqueueRefundWithdrawsPendingDebit() {
+    when(walletOutboxRepository.findByIdempotencyKey("order-5-refund")).thenReturn(Optional.empty());
+    when(walletOutboxRepository.updateStatusIf("order-5-debit", WalletOutboxStatus.PENDING,
+      WalletOutboxStatus.CANCELLED)).thenReturn(1);
+
+    walletOutboxService.enqueueRefund(order);
+
+    verify(walletOutboxRepository, never()).save(any());
+  }
+
+  @Test
+  void enqueueRefundQueuesRefundAfterDeliveredDebit() {
+    when(walletOutboxRepository.findByIdempotencyKey("order-5-refund")).thenReturn(Optional.empty());
+    when(walletOutboxRepository.updateStatusIf("order-5-debit", WalletOutboxStatus.PENDING,
+      WalletOutboxStatus.CANCELLED)).thenReturn(0);
+    when(walletOutboxRepository.findByIdempotencyKey("order-5-debit"))
+      .thenReturn(Optional.of(entry(1, WalletOperation.DEBIT, WalletOutboxStatus.DELIVERED)));
+
+    walletOutboxService.enqueueRefund(order);
+
+    ArgumentCaptor<WalletOutboxEntry> entryCaptor = ArgumentCaptor.forClass(WalletOutboxEntry.class);
+    verify(walletOutboxRepository).save(entryCaptor.capture());
+    assertEquals("order-5-refund", entryCaptor.getValue().getIdempotencyKey());
+    assertEquals(WalletOperation.REFUND, entryCaptor.getValue().getOperation());
+  }
+
+  @Test
+  void enqueueRefundSkipsRejectedDebit() {
+    when(walletOutboxRepository.findByIdempotencyKey("order-5-refund")).thenReturn(Optional.empty());
+    when(walletOutboxRepository.updateStatusIf("order-5-debit", WalletOutboxStatus.PENDING,
+      WalletOutboxStatus.CANCELLED)).thenReturn(0);
+    when(walletOutboxRepository.findByIdempotencyKey("order-5-debit"))
+      .thenReturn(Optional.of(entry(1, WalletOperation.DEBIT, WalletOutboxStatus.REJECTED)));
+
+    walletOutboxService.enqueueRefund(order);
+
+    verify(walletOutboxRepository, never()).save(any());
+  }
+
+  @Test
+  void enqueueRefundRefundsLegacyOrderWithoutDebitEntry() {
+    when(walletOutboxRepository.findByIdempotencyKey("order-5-refund")).thenReturn(Optional.empty());
+    when(walletOutboxRepository.updateStatusIf("order-5-debit", WalletOutboxStatus.PENDING,
+      WalletOutboxStatus.CANCELLED)).thenReturn(0);
+    when(walletOutboxRepository.findByIdempotencyKey("order-5-debit")).thenReturn(Optional.empty());
+
+    walletOutboxService.enqueueRefund(order);
+
+    verify(walletOutboxRepository).save(any(WalletOutboxEntry.class));
+  }
+
+  @Test
+  void enqueueRefundSkipsAlreadyQueuedRefund() {
+    when(walletOutboxRepository.findByIdempotencyKey("order-5-refund"))
+      .thenReturn(Optional.of(entry(2, WalletOperation.REFUND, WalletOutboxStatus.PENDING)));
+
+    walletOutboxService.enqueueRefund(order);
+
+    verify(walletOutboxRepository, never()).updateStatusIf(any(), any(), any());
+    verify(walletOutboxRepository, never()).save(any());
+  }
+
+  @Test
+  void relayPendingBatchSettlesAcknowledgedEntries() {
+    walletOutboxService.bindTo(new SimpleMeterRegistry());
+    WalletOutboxEntry refund = entry(1, WalletOperation.REFUND, WalletOutboxStatus.PENDING);
+    refund.setIdempotencyKey("order-4-refund");
+    WalletOutboxEntry debit = entry(2, WalletOperation.DEBIT, WalletOutboxStatus.PENDING);
+    when(walletOutboxRepository.claimPending(100)).thenReturn(Arrays.asList(refund, debit));
+    when(userClient.applyWalletTransactions(Arrays.asList(
+      new WalletTransactionInDto("order-4-refund", 1, BigDecimal.valueOf(40)),
+      new WalletTransactionInDto("order-5-debit", 1, BigDecimal.valueOf(-40)))))
+      .thenReturn(Arrays.asList(
+        new WalletTransactionOutDto("order-4-refund", WalletTransactionStatus.APPLIED),
+        new WalletTransactionOutDto("order-5-debit", WalletTransactionStatus.REJECTED)));
+    when(orderRepository.findById(5)).thenReturn(Optional.of(order));
+    when(orderRepository.transition(5, OrderStatus.PLACED, OrderStatus.CANCELLED, null)).thenReturn(true);
+
+    int settled = walletOutboxService.relayPendingBatch();
+
+    assertEquals(2, settled);
+    assertEquals(WalletOutboxStatus.DELIVERED, refund.getStatus());
+    assertNotNull(refund.getDeliveredAt());
+    assertEquals(WalletOutboxStatus.REJECTED, debit.getStatus());
+    assertEquals(OrderStatus.CANCELLED, order.getOrderStatus());
+    verify(entityManager).detach(order);
+    verify(orderEventService).publish(order, OrderEventType.CANCELLED);
+    verify(orderStatusWatchService).statusChanged(5, OrderStatus.CANCELLED, null);
+    verify(kitchenQueueService).statusChanged(order, OrderStatus.CANCELLED);
+    verify(salesCounterService).record(order, OrderStatus.CANCELLED);
+  }
+
+  @Test
+  void relayPendingBatchKeepsEntriesPendingWhenDeliveryFails() {
+    WalletOutboxEntry debit = entry(2, WalletOperation.DEBIT, WalletOutboxStatus.PENDING);
+    when(walletOutboxRepository.claimPending(100)).thenReturn(Collections.singletonList(debit));
+    when(userClient.applyWalletTransactions(anyList())).thenThrow(new IllegalStateException("Connection refused"));
+
+    int settled = walletOutboxService.relayPendingBatch();
+
+    assertEquals(0, settled);
+    assertEquals(WalletOutboxStatus.PENDING, debit.getStatus());
+    assertEquals(1, debit.getAttempts());
+    assertEquals("Connection refused", debit.getLastError());
+    assertNull(debit.getDeliveredAt());
+  }
+
+  @Test
+  void relayPendingBatchKeepsUnacknowledgedEntriesPending() {
+    WalletOutboxEntry debit = entry(2, WalletOperation.DEBIT, WalletOutboxStatus.PENDING);
+    when(walletOutboxRepository.claimPending(100)).thenReturn(Collections.singletonList(debit));
+    when(userClient.applyWalletTransactions(anyList())).thenReturn(Collections.emptyList());
+
+    int settled = walletOutboxService.relayPendingBatch();
+
+    assertEquals(0, settled);
+    assertEquals(WalletOutboxStatus.PENDING, debit.getStatus());
+    assertEquals(1, debit.getAttempts());
+  }
+
+  @Test
+  void relayPendingBatchSkipsCallWhenNothingIsPending() {
+    when(walletOutboxRepository.claimPending(100)).thenReturn(Collections.emptyList());
+
+    assertEquals(0, walletOutboxService.relayPendingBatch());
+    verify(userClient, never()).applyWalletTransactions(anyList());
+  }
+
+  @Test
+  void bindToRegistersBacklogAndLatencyMeters() {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    when(walletOutboxRepository.countByStatus(WalletOutboxStatus.PENDING)).thenReturn(3L);
+
+    walletOutboxService.bindTo(registry);
+
+    assertEquals(3.0, registry.get("orders.wallet.outbox.backlog").gauge().value());
+    assertNotNull(registry.get("orders.wallet.outbox.delivery.latency").timer());
+  }
+
+  /**
+   * Creates an outbox entry for the test order.
+   *
+   * @param id        the entry ID
+   * @param operation the operation
+   * @param status    the status
+   * @return the entry
+   */
+  private WalletOutboxEntry entry(final Integer id, final WalletOperation operation, final WalletOutboxStatus status) {
+    return new WalletOutboxEntry(id, "order-5-" + operation.name().toLowerCase(), 5, 1, operation,
+      BigDecimal.valueOf(40), status, 0, null, LocalDateTime.now().minusSeconds(2), null);
+  }
+}
@@ -0,0 +1,59 @@
+package com.orders.utils;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Unit tests for {@link AfterCommit}.
+ */
+class AfterCommitTest {
+
+  /**
+   * Clears any transaction synchronization left on the test thread.
+   */
+  @AfterEach
+  void tearDown() {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+  }
+
+  @Test
+  void runExecutesRightAwayOutsideTransaction() {
+    AtomicInteger runs = new AtomicInteger();
+
+    AfterCommit.run(runs::incrementAndGet);
+
+    assertEquals(1, runs.get());
+  }
+
+  @Test
+  void runDefersWorkUntilCommit() {
+    AtomicInteger runs = new AtomicInteger();
+    TransactionSynchronizationManager.initSynchronization();
+
+    AfterCommit.run(runs::incrementAndGet);
+    assertEquals(0, runs.get());
+    TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+    assertEquals(1, runs.get());
+  }
+
+  @Test
+  void runDropsWorkOnRollback() {
+    AtomicInteger runs = new AtomicInteger();
+    TransactionSynchronizationManager.initSynchronization();
+
+    AfterCommit.run(runs::incrementAndGet);
+    TransactionSynchronizationManager.getSynchronizations()
+      .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+    assertEquals(0, runs.get());
+  }
+}
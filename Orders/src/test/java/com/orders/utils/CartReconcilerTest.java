@@ -0,0 +1,84 @@
+package com.orders.utils;
+
+import com.orders.dto.CartDiffDto;
+import com.orders.dto.CartItemChangeDto;
+import com.orders.dto.CartItemDto;
+import com.orders.entities.Cart;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for {@link CartReconciler}.
+ */
+class CartReconcilerTest {
+
+  @Test
+  void matchingItemsProduceEmptyDiff() {
+    List<Cart> cart = Arrays.asList(
+      new Cart(1, 1, 10, 2, new BigDecimal("20.00"), 3),
+      new Cart(2, 1, 11, 1, new BigDecimal("15.00"), 3));
+    List<CartItemDto> submitted = Arrays.asList(
+      new CartItemDto(11, 1, new BigDecimal("15")),
+      new CartItemDto(10, 2, new BigDecimal("20")));
+
+    CartDiffDto diff = CartReconciler.reconcile(cart, submitted);
+
+    assertTrue(diff.isEmpty());
+    assertFalse(diff.hasItemChanges());
+  }
+
+  @Test
+  void reportsEveryKindOfDifference() {
+    List<Cart> cart = Arrays.asList(
+      new Cart(1, 1, 10, 2, new BigDecimal("20.00"), 3),
+      new Cart(2, 1, 11, 1, new BigDecimal("15.00"), 3),
+      new Cart(3, 1, 12, 1, new BigDecimal("8.00"), 3));
+    List<CartItemDto> submitted = Arrays.asList(
+      new CartItemDto(10, 3, new BigDecimal("30.00")),
+      new CartItemDto(11, 1, new BigDecimal("14.00")),
+      new CartItemDto(13, 1, new BigDecimal("5.00")));
+
+    CartDiffDto diff = CartReconciler.reconcile(cart, submitted);
+
+    assertEquals(Collections.singletonList(new CartItemDto(13, 1, new BigDecimal("5.00"))), diff.getMissingItems());
+    assertEquals(Collections.singletonList(new CartItemDto(12, 1, new BigDecimal("8.00"))), diff.getExtraItems());
+    assertEquals(Collections.singletonList(
+      new CartItemChangeDto(10, 3, 2, new BigDecimal("30.00"), new BigDecimal("20.00"))), diff.getQuantityChanges());
+    assertEquals(Collections.singletonList(
+      new CartItemChangeDto(11, 1, 1, new BigDecimal("14.00"), new BigDecimal("15.00"))), diff.getPriceChanges());
+    assertTrue(diff.hasItemChanges());
+  }
+
+  @Test
+  void priceOnlyDifferenceIsNotAnItemChange() {
+    List<Cart> cart = Collections.singletonList(new Cart(1, 1, 10, 1, new BigDecimal("9.00"), 3));
+    List<CartItemDto> submitted = Collections.singletonList(new CartItemDto(10, 1, null));
+
+    CartDiffDto diff = CartReconciler.reconcile(cart, submitted);
+
+    assertFalse(diff.isEmpty());
+    assertFalse(diff.hasItemChanges());
+    assertEquals(1, diff.getPriceChanges().size());
+  }
+
+  @Test
+  void handlesLargeCartsInOnePass() {
+    List<Cart> cart = new ArrayList<>();
+    List<CartItemDto> submitted = new ArrayList<>();
+    for (int i = 0; i < 20000; i++) {
+      cart.add(new Cart(i, 1, i, 1, BigDecimal.ONE, 3));
+      submitted.add(new CartItemDto(19999 - i, 1, BigDecimal.ONE));
+    }
+
+    assertTrue(CartReconciler.reconcile(cart, submitted).isEmpty());
+  }
+}
@@ -0,0 +1,224 @@
+package com.orders.utils;
+
+import feign.Feign;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Unit tests for {@link CoalescingInvocationHandler}.
+ */
+class CoalescingInvocationHandlerTest {
+
+  /**
+   * Registry of the coalescing counters.
+   */
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+  /**
+   * Number of remote calls made.
+   */
+  private final AtomicInteger remoteCalls = new AtomicInteger();
+
+  /**
+   * Released to let the remote calls complete.
+   */
+  private final CountDownLatch release = new CountDownLatch(1);
+
+  /**
+   * Remote calls that block until {@link #release} is counted down and answer with their argument.
+   */
+  private final InvocationHandler remote = (proxy, method, args) -> {
+    remoteCalls.incrementAndGet();
+    RemoteCallCounter.record(Feign.configKey(LookupClient.class, method));
+    release.await(5, TimeUnit.SECONDS);
+    return method.getName() + "-" + args[0];
+  };
+
+  /**
+   * The handler under test.
+   */
+  private final CoalescingInvocationHandler handler =
+    new CoalescingInvocationHandler(remote, LookupClient.class, "lookup-service", registry);
+
+  /**
+   * Unbinds any remote call counter left on the test thread.
+   */
+  @AfterEach
+  void tearDown() {
+    RemoteCallCounter.stop();
+  }
+
+  @Test
+  void concurrentIdenticalLookupsShareOneRemoteCall() throws Exception {
+    Method getRestaurant = LookupClient.class.getMethod("getRestaurant", Integer.class);
+    ExecutorService callers = Executors.newFixedThreadPool(20);
+    try {
+      List<Future<Object>> results = new ArrayList<>();
+      for (int i = 0; i < 20; i++) {
+        Integer id = i % 2 == 0 ? 1 : 2;
+        results.add(callers.submit(() -> invoke(getRestaurant, id)));
+      }
+      awaitCoalesced("getRestaurant", 18);
+      release.countDown();
+
+      for (int i = 0; i < 20; i++) {
+        assertEquals(i % 2 == 0 ? "getRestaurant-1" : "getRestaurant-2", results.get(i).get(5, TimeUnit.SECONDS));
+      }
+    } finally {
+      callers.shutdownNow();
+    }
+
+    assertEquals(2, remoteCalls.get());
+  }
+
+  @Test
+  void joinedLookupsAreRecordedOnTheRemoteCallCounter() throws Exception {
+    Method getRestaurant = LookupClient.class.getMethod("getRestaurant", Integer.class);
+    String configKey = Feign.configKey(LookupClient.class, getRestaurant);
+    RemoteCallCounter counter = RemoteCallCounter.start();
+    Supplier<Object> lookup = RemoteCallCounter.propagate(() -> invokeUnchecked(getRestaurant, 1));
+    ExecutorService callers = Executors.newFixedThreadPool(5);
+    try {
+      List<Future<Object>> results = new ArrayList<>();
+      for (int i = 0; i < 5; i++) {
+        results.add(callers.submit(lookup::get));
+      }
+      awaitCoalesced("getRestaurant", 4);
+      release.countDown();
+
+      for (Future<Object> result : results) {
+        assertEquals("getRestaurant-1", result.get(5, TimeUnit.SECONDS));
+      }
+    } finally {
+      callers.shutdownNow();
+    }
+
+    assertEquals(1, counter.count(configKey));
+    assertEquals(4, counter.joinedCount(configKey));
+    assertEquals(5, counter.maxPerResource());
+  }
+
+  @Test
+  void methodsNotMarkedCoalescedAreNotShared() throws Exception {
+    Method placeOrder = LookupClient.class.getMethod("placeOrder", Integer.class);
+    ExecutorService callers = Executors.newFixedThreadPool(3);
+    try {
+      List<Future<Object>> results = new ArrayList<>();
+      for (int i = 0; i < 3; i++) {
+        results.add(callers.submit(() -> invoke(placeOrder, 7)));
+      }
+      long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+      while (remoteCalls.get() < 3 && System.nanoTime() < deadline) {
+        Thread.sleep(5);
+      }
+      release.countDown();
+
+      for (Future<Object> result : results) {
+        assertEquals("placeOrder-7", result.get(5, TimeUnit.SECONDS));
+      }
+    } finally {
+      callers.shutdownNow();
+    }
+
+    assertEquals(3, remoteCalls.get());
+  }
+
+  /**
+   * Calls the handler under test, turning its errors into exceptions.
+   *
+   * @param method the client method
+   * @param id     the argument of the call
+   * @return the response
+   * @throws Exception the error of the call
+   */
+  private Object invoke(final Method method, final Integer id) throws Exception {
+    try {
+      return handler.invoke(null, method, new Object[] {id});
+    } catch (Exception e) {
+      throw e;
+    } catch (Throwable t) {
+      throw new IllegalStateException(t);
+    }
+  }
+
+  /**
+   * Calls the handler under test, turning its errors into unchecked exceptions.
+   *
+   * @param method the client method
+   * @param id     the argument of the call
+   * @return the response
+   */
+  private Object invokeUnchecked(final Method method, final Integer id) {
+    try {
+      return invoke(method, id);
+    } catch (RuntimeException e) {
+      throw e;
+    } catch (Exception e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /**
+   * Waits until the given number of requests to a method joined a call in flight.
+   *
+   * @param call     the name of the method
+   * @param expected the expected number of coalesced requests
+   * @throws InterruptedException if interrupted while waiting
+   */
+  private void awaitCoalesced(final String call, final double expected) throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (coalesced(call) < expected && System.nanoTime() < deadline) {
+      Thread.sleep(5);
+    }
+    assertEquals(expected, coalesced(call));
+  }
+
+  /**
+   * Reads the coalescing counter of a method.
+   *
+   * @param call the name of the method
+   * @return the number of coalesced requests
+   */
+  private double coalesced(final String call) {
+    return registry.get("orders.feign.coalesced.calls").tag("client", "lookup-service").tag("call", call)
+      .functionCounter().count();
+  }
+
+  /**
+   * Client interface used by the tests.
+   */
+  public interface LookupClient {
+
+    /**
+     * Looks up a restaurant.
+     *
+     * @param id the ID of the restaurant
+     * @return the restaurant
+     */
+    @Coalesced
+    String getRestaurant(Integer id);
+
+    /**
+     * Places an order, which must never be coalesced.
+     *
+     * @param id the ID of the order
+     * @return the order
+     */
+    String placeOrder(Integer id);
+  }
+}
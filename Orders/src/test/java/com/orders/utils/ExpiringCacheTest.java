@@ -0,0 +1,102 @@
+package com.orders.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Unit tests for {@link ExpiringCache}.
+ */
+class ExpiringCacheTest {
+
+  /**
+   * Manually advanced clock, in nanoseconds.
+   */
+  private final AtomicLong now = new AtomicLong();
+
+  @Test
+  void getReturnsCachedValueUntilItExpires() {
+    ExpiringCache<Integer, String> cache = new ExpiringCache<>(1000L, 10, now::get);
+    cache.put(1, "one");
+
+    assertEquals("one", cache.get(1));
+    now.addAndGet(TimeUnit.MILLISECONDS.toNanos(1000L));
+    assertNull(cache.get(1));
+
+    assertEquals(1, cache.hitCount());
+    assertEquals(1, cache.missCount());
+    assertEquals(1, cache.evictionCount());
+  }
+
+  @Test
+  void putWithExplicitTtlOverridesDefault() {
+    ExpiringCache<Integer, String> cache = new ExpiringCache<>(1000L, 10, now::get);
+    cache.put(1, "short", 10L, TimeUnit.MILLISECONDS);
+
+    now.addAndGet(TimeUnit.MILLISECONDS.toNanos(10L));
+
+    assertNull(cache.get(1));
+  }
+
+  @Test
+  void leastRecentlyUsedEntryIsEvictedWhenFull() {
+    ExpiringCache<Integer, String> cache = new ExpiringCache<>(1000L, 2, now::get);
+    cache.put(1, "one");
+    cache.put(2, "two");
+    cache.get(1);
+
+    cache.put(3, "three");
+
+    assertEquals(2, cache.size());
+    assertEquals("one", cache.get(1));
+    assertNull(cache.get(2));
+    assertEquals("three", cache.get(3));
+    assertEquals(1, cache.evictionCount());
+  }
+
+  @Test
+  void expiredEntryNoLongerReadIsEvictedFirst() {
+    ExpiringCache<Integer, String> cache = new ExpiringCache<>(1000L, 2, now::get);
+    cache.put(1, "one", 10L, TimeUnit.MILLISECONDS);
+    cache.put(2, "two");
+    now.addAndGet(TimeUnit.MILLISECONDS.toNanos(20L));
+
+    cache.put(3, "three");
+
+    assertEquals(2, cache.size());
+    assertEquals("two", cache.get(2));
+    assertEquals("three", cache.get(3));
+    assertEquals(1, cache.evictionCount());
+  }
+
+  @Test
+  void replacingEntryOfFullCacheEvictsNothing() {
+    ExpiringCache<Integer, String> cache = new ExpiringCache<>(1000L, 2, now::get);
+    cache.put(1, "one");
+    cache.put(2, "two");
+
+    cache.put(1, "uno");
+
+    assertEquals("uno", cache.get(1));
+    assertEquals("two", cache.get(2));
+    assertEquals(0, cache.evictionCount());
+  }
+
+  @Test
+  void invalidateRemovesEntries() {
+    ExpiringCache<Integer, String> cache = new ExpiringCache<>(1000L, 10, now::get);
+    cache.put(1, "one");
+    cache.put(2, "two");
+
+    cache.invalidate(1);
+    assertNull(cache.get(1));
+    assertEquals("two", cache.get(2));
+
+    cache.invalidateAll();
+    assertEquals(0, cache.size());
+  }
+}
@@ -0,0 +1,136 @@
+package com.orders.utils;
+
+import com.orders.exception.ServiceUnavailableException;
+import feign.FeignException;
+import feign.Request;
+import feign.RetryableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Unit tests for {@link FallbackInvocationHandler}.
+ */
+class FallbackInvocationHandlerTest {
+
+  /**
+   * Request the simulated remote errors refer to.
+   */
+  private static final Request REQUEST = Request.create(Request.HttpMethod.GET, "http://localhost/names/1",
+    Collections.emptyMap(), null, StandardCharsets.UTF_8, null);
+
+  /**
+   * Cache remembering the responses of {@link NameClient#getName}.
+   */
+  private final LastKnownGoodCache cache = new LastKnownGoodCache(Collections.singletonList("getName"), 60000L, 10);
+
+  /**
+   * Registry of the fallback counters.
+   */
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+  @Test
+  void successfulResponseIsRememberedAndServedWhenServiceIsDown() throws Throwable {
+    Method getName = NameClient.class.getMethod("getName", Integer.class);
+
+    assertEquals("alice", handler((proxy, method, args) -> "alice").invoke(null, getName, new Object[] {1}));
+    Object fallbackResponse = handler((proxy, method, args) -> {
+      throw new RetryableException(-1, "Connection refused", Request.HttpMethod.GET, null, REQUEST);
+    }).invoke(null, getName, new Object[] {1});
+
+    assertEquals("last known alice", fallbackResponse);
+    assertEquals(1.0, registry.get("orders.feign.fallback.calls").tag("call", "getName").tag("outcome", "served")
+      .counter().count());
+  }
+
+  @Test
+  void serverErrorsAndRejectedCallsUseFallback() throws Throwable {
+    Method getName = NameClient.class.getMethod("getName", Integer.class);
+    cache.remember("getName", new Object[] {1}, "alice");
+
+    assertEquals("last known alice", handler((proxy, method, args) -> {
+      throw new FeignException.ServiceUnavailable("Unavailable", REQUEST, null, null);
+    }).invoke(null, getName, new Object[] {1}));
+    assertEquals("last known alice", handler((proxy, method, args) -> {
+      throw new ServiceUnavailableException("Circuit open");
+    }).invoke(null, getName, new Object[] {1}));
+  }
+
+  @Test
+  void clientErrorsPropagateWithoutFallback() throws NoSuchMethodException {
+    Method getName = NameClient.class.getMethod("getName", Integer.class);
+    cache.remember("getName", new Object[] {1}, "alice");
+    FeignException.NotFound notFound = new FeignException.NotFound("Not found", REQUEST, null, null);
+
+    FeignException.NotFound thrown = assertThrows(FeignException.NotFound.class, () -> handler((proxy, method, args) -> {
+      throw notFound;
+    }).invoke(null, getName, new Object[] {1}));
+
+    assertSame(notFound, thrown);
+  }
+
+  @Test
+  void refusingFallbackIsCounted() throws NoSuchMethodException {
+    Method getName = NameClient.class.getMethod("getName", Integer.class);
+
+    assertThrows(ServiceUnavailableException.class, () -> handler((proxy, method, args) -> {
+      throw new ServiceUnavailableException("Circuit open");
+    }).invoke(null, getName, new Object[] {2}));
+
+    assertEquals(1.0, registry.get("orders.feign.fallback.calls").tag("outcome", "refused").counter().count());
+  }
+
+  /**
+   * Creates the handler under test around the given remote calls.
+   *
+   * @param remote the handler simulating the remote calls
+   * @return the handler under test
+   */
+  private FallbackInvocationHandler handler(final InvocationHandler remote) {
+    return new FallbackInvocationHandler(remote, new LastKnownNameClient(), cache, "name-service", registry);
+  }
+
+  /**
+   * Client interface used by the tests.
+   */
+  public interface NameClient {
+
+    /**
+     * Returns the name of a user.
+     *
+     * @param id the ID of the user
+     * @return the name
+     */
+    String getName(Integer id);
+  }
+
+  /**
+   * Fallback answering from the cache of the test.
+   */
+  private final class LastKnownNameClient implements NameClient {
+
+    /**
+     * Returns the last known name of a user.
+     *
+     * @param id the ID of the user
+     * @return the last known name, prefixed to tell it apart
+     * @throws ServiceUnavailableException if no name is known
+     */
+    @Override
+    public String getName(final Integer id) {
+      String name = cache.recall("getName", 60000L, String.class, id);
+      if (name == null) {
+        throw new ServiceUnavailableException("No name known");
+      }
+      return "last known " + name;
+    }
+  }
+}
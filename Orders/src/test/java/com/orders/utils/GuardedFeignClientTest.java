@@ -0,0 +1,273 @@
+package com.orders.utils;
+
+import com.orders.exception.ServiceUnavailableException;
+import com.sun.net.httpserver.HttpServer;
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Stress tests of {@link GuardedFeignClient} against a local stub of a downstream service.
+ */
+class GuardedFeignClientTest {
+
+  /**
+   * Timeouts of the calls to the stub.
+   */
+  private static final Request.Options OPTIONS = new Request.Options(1, TimeUnit.SECONDS, 5, TimeUnit.SECONDS, true);
+
+  /**
+   * Number of requests that reached the stub.
+   */
+  private final AtomicInteger served = new AtomicInteger();
+
+  /**
+   * Released to let the requests held by the stub complete.
+   */
+  private final CountDownLatch release = new CountDownLatch(1);
+
+  /**
+   * Status answered by the stub.
+   */
+  private volatile int status = 200;
+
+  /**
+   * Delay of each answer of the stub, in milliseconds.
+   */
+  private volatile long delayMs;
+
+  /**
+   * Whether the stub holds each request until {@link #release} is counted down.
+   */
+  private volatile boolean hold;
+
+  /**
+   * The stub downstream service.
+   */
+  private HttpServer server;
+
+  /**
+   * Port the stub listens on.
+   */
+  private int port;
+
+  /**
+   * Starts the stub on a free local port.
+   *
+   * @throws IOException if the stub cannot be started
+   */
+  @BeforeEach
+  void startStub() throws IOException {
+    server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+    server.createContext("/", exchange -> {
+      served.incrementAndGet();
+      try {
+        if (hold) {
+          release.await(5, TimeUnit.SECONDS);
+        }
+        Thread.sleep(delayMs);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      exchange.sendResponseHeaders(status, -1);
+      exchange.close();
+    });
+    server.setExecutor(Executors.newCachedThreadPool());
+    server.start();
+    port = server.getAddress().getPort();
+  }
+
+  /**
+   * Stops the stub.
+   */
+  @AfterEach
+  void stopStub() {
+    release.countDown();
+    if (server != null) {
+      server.stop(0);
+    }
+  }
+
+  @Test
+  void bulkheadShedsCallsBeyondConcurrencyCap() throws Exception {
+    hold = true;
+    Bulkhead bulkhead = bulkhead(2);
+    AtomicInteger rejections = new AtomicInteger();
+    bulkhead.getEventPublisher().onCallRejected(event -> rejections.incrementAndGet());
+    GuardedFeignClient client = client(circuitBreaker(100, 100, 1000), bulkhead);
+    ExecutorService callers = Executors.newFixedThreadPool(10);
+    try {
+      List<Future<Integer>> calls = new ArrayList<>();
+      for (int i = 0; i < 10; i++) {
+        calls.add(callers.submit(() -> call(client)));
+      }
+      long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+      while ((served.get() < 2 || rejections.get() < 8) && System.nanoTime() < deadline) {
+        Thread.sleep(10);
+      }
+      release.countDown();
+
+      int rejected = 0;
+      for (Future<Integer> call : calls) {
+        try {
+          assertEquals(200, call.get(5, TimeUnit.SECONDS));
+        } catch (ExecutionException e) {
+          assertTrue(e.getCause() instanceof ServiceUnavailableException);
+          rejected++;
+        }
+      }
+      assertEquals(2, served.get());
+      assertEquals(8, rejected);
+    } finally {
+      callers.shutdownNow();
+    }
+  }
+
+  @Test
+  void circuitOpensOnServerErrorsAndShedsLoad() throws IOException {
+    status = 503;
+    CircuitBreaker circuitBreaker = circuitBreaker(4, 50, 1000);
+    GuardedFeignClient client = client(circuitBreaker, bulkhead(10));
+
+    int rejected = 0;
+    for (int i = 0; i < 50; i++) {
+      try {
+        assertEquals(503, call(client));
+      } catch (ServiceUnavailableException e) {
+        rejected++;
+      }
+    }
+
+    assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+    assertEquals(4, served.get());
+    assertEquals(46, rejected);
+    assertEquals(46, circuitBreaker.getMetrics().getNumberOfNotPermittedCalls());
+  }
+
+  @Test
+  void slowCallsOpenCircuit() throws IOException {
+    delayMs = 60;
+    CircuitBreaker circuitBreaker = circuitBreaker(4, 100, 20);
+    GuardedFeignClient client = client(circuitBreaker, bulkhead(10));
+
+    for (int i = 0; i < 4; i++) {
+      assertEquals(200, call(client));
+    }
+
+    assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+    assertThrows(ServiceUnavailableException.class, () -> call(client));
+    assertEquals(4, served.get());
+  }
+
+  @Test
+  void clientErrorsKeepCircuitClosed() throws IOException {
+    status = 404;
+    CircuitBreaker circuitBreaker = circuitBreaker(4, 50, 1000);
+    GuardedFeignClient client = client(circuitBreaker, bulkhead(10));
+
+    for (int i = 0; i < 10; i++) {
+      assertEquals(404, call(client));
+    }
+
+    assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    assertEquals(10, served.get());
+  }
+
+  @Test
+  void unreachableServiceOpensCircuit() throws IOException {
+    server.stop(0);
+    server = null;
+    CircuitBreaker circuitBreaker = circuitBreaker(2, 50, 1000);
+    GuardedFeignClient client = client(circuitBreaker, bulkhead(10));
+
+    assertThrows(IOException.class, () -> call(client));
+    assertThrows(IOException.class, () -> call(client));
+
+    assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+    assertThrows(ServiceUnavailableException.class, () -> call(client));
+  }
+
+  /**
+   * Creates a guarded transport calling the stub over plain connections.
+   *
+   * @param circuitBreaker the circuit breaker
+   * @param bulkhead       the bulkhead
+   * @return the guarded transport
+   */
+  private GuardedFeignClient client(final CircuitBreaker circuitBreaker, final Bulkhead bulkhead) {
+    return new GuardedFeignClient(new Client.Default(null, null), circuitBreaker, bulkhead);
+  }
+
+  /**
+   * Creates a count-based circuit breaker that decides once its window is full.
+   *
+   * @param windowSize           the number of calls in the sliding window
+   * @param failureRateThreshold the failure rate opening the circuit, in percent
+   * @param slowCallMs           the duration above which a call is slow, in milliseconds
+   * @return the circuit breaker
+   */
+  private CircuitBreaker circuitBreaker(final int windowSize, final int failureRateThreshold, final long slowCallMs) {
+    return CircuitBreaker.of("stub-service", CircuitBreakerConfig.custom()
+      .slidingWindowSize(windowSize)
+      .minimumNumberOfCalls(windowSize)
+      .failureRateThreshold(failureRateThreshold)
+      .slowCallRateThreshold(100)
+      .slowCallDurationThreshold(Duration.ofMillis(slowCallMs))
+      .waitDurationInOpenState(Duration.ofMinutes(1))
+      .build());
+  }
+
+  /**
+   * Creates a bulkhead that rejects calls beyond its cap without waiting.
+   *
+   * @param maxConcurrentCalls the maximum number of calls in flight
+   * @return the bulkhead
+   */
+  private Bulkhead bulkhead(final int maxConcurrentCalls) {
+    return Bulkhead.of("stub-service", BulkheadConfig.custom()
+      .maxConcurrentCalls(maxConcurrentCalls)
+      .maxWaitDuration(Duration.ZERO)
+      .build());
+  }
+
+  /**
+   * Calls the stub through the given transport.
+   *
+   * @param client the transport
+   * @return the status of the response
+   * @throws IOException if the call fails on the network
+   */
+  private int call(final GuardedFeignClient client) throws IOException {
+    Request request = Request.create(Request.HttpMethod.GET, "http://127.0.0.1:" + port + "/", Collections.emptyMap(),
+      null, StandardCharsets.UTF_8, null);
+    try (Response response = client.execute(request, OPTIONS)) {
+      return response.status();
+    }
+  }
+}
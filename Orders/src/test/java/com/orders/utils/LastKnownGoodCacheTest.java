@@ -0,0 +1,72 @@
+package com.orders.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Unit tests for {@link LastKnownGoodCache}.
+ */
+class LastKnownGoodCacheTest {
+
+  /**
+   * Manually advanced clock, in nanoseconds.
+   */
+  private final AtomicLong now = new AtomicLong();
+
+  /**
+   * Cache remembering two calls for ten seconds.
+   */
+  private final LastKnownGoodCache cache =
+    new LastKnownGoodCache(Arrays.asList("getUser", "getAddress"), 10000L, 10, now::get);
+
+  @Test
+  void recallHonoursMaxStalenessOfCaller() {
+    cache.remember("getUser", new Object[] {1}, "alice");
+    now.addAndGet(TimeUnit.MILLISECONDS.toNanos(3000L));
+
+    assertEquals("alice", cache.recall("getUser", 5000L, String.class, 1));
+    assertNull(cache.recall("getUser", 2000L, String.class, 1));
+  }
+
+  @Test
+  void responsesAreDroppedAfterRetention() {
+    cache.remember("getUser", new Object[] {1}, "alice");
+    now.addAndGet(TimeUnit.MILLISECONDS.toNanos(10000L));
+
+    assertNull(cache.recall("getUser", 60000L, String.class, 1));
+  }
+
+  @Test
+  void responsesAreKeyedByCallAndArguments() {
+    cache.remember("getUser", new Object[] {1}, "alice");
+    cache.remember("getAddress", new Object[] {1}, "main street");
+
+    assertEquals("alice", cache.recall("getUser", 1000L, String.class, 1));
+    assertEquals("main street", cache.recall("getAddress", 1000L, String.class, 1));
+    assertNull(cache.recall("getUser", 1000L, String.class, 2));
+  }
+
+  @Test
+  void onlyNamedCallsAndNonNullResponsesAreRemembered() {
+    cache.remember("getPrice", new Object[] {1}, "9.99");
+    cache.remember("getUser", new Object[] {2}, null);
+
+    assertNull(cache.recall("getPrice", 1000L, String.class, 1));
+    assertNull(cache.recall("getUser", 1000L, String.class, 2));
+  }
+
+  @Test
+  void newerResponseReplacesOlderOne() {
+    cache.remember("getUser", new Object[] {1}, "alice");
+    now.addAndGet(TimeUnit.MILLISECONDS.toNanos(3000L));
+    cache.remember("getUser", new Object[] {1}, "alice smith");
+
+    assertEquals("alice smith", cache.recall("getUser", 1000L, String.class, 1));
+  }
+}
@@ -0,0 +1,68 @@
+package com.orders.utils;
+
+import com.orders.constants.OrderConstants;
+import com.orders.entities.Order;
+import com.orders.exception.InvalidRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Unit tests for {@link OrderCursor}.
+ */
+class OrderCursorTest {
+
+  @Test
+  void encodedCursorDecodesToSamePosition() {
+    LocalDateTime time = LocalDateTime.of(2024, 5, 1, 12, 30, 15, 123456000);
+
+    OrderCursor decoded = OrderCursor.decode(new OrderCursor(time, 42).encode());
+
+    assertEquals(time, decoded.getOrderTime());
+    assertEquals(42, decoded.getId());
+  }
+
+  @Test
+  void cursorOfOrderUsesOrderTimeAndId() {
+    Order order = new Order();
+    order.setId(7);
+    order.setOrderTime(LocalDateTime.of(2024, 1, 2, 3, 4));
+
+    OrderCursor cursor = OrderCursor.of(order);
+
+    assertEquals(order.getOrderTime(), cursor.getOrderTime());
+    assertEquals(7, cursor.getId());
+  }
+
+  @Test
+  void decodeRejectsInvalidBase64() {
+    InvalidRequestException exception = assertThrows(InvalidRequestException.class, () -> OrderCursor.decode("%%%"));
+    assertEquals(OrderConstants.INVALID_CURSOR, exception.getMessage());
+  }
+
+  @Test
+  void decodeRejectsMalformedContent() {
+    String withoutSeparator = encode("2024-05-01T12:00");
+    String badTime = encode("yesterday,5");
+    String badId = encode("2024-05-01T12:00,five");
+
+    assertThrows(InvalidRequestException.class, () -> OrderCursor.decode(withoutSeparator));
+    assertThrows(InvalidRequestException.class, () -> OrderCursor.decode(badTime));
+    assertThrows(InvalidRequestException.class, () -> OrderCursor.decode(badId));
+  }
+
+  /**
+   * Encodes a raw cursor value the way {@link OrderCursor#encode()} does.
+   *
+   * @param value the raw value
+   * @return the token
+   */
+  private static String encode(final String value) {
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+  }
+}
@@ -0,0 +1,73 @@
+package com.orders.utils;
+
+import com.orders.repositories.OrderRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link OrderStatus}.
+ */
+class OrderStatusTest {
+
+  @Test
+  void placedOrderCanBeCancelledConfirmedOrCompleted() {
+    assertTrue(OrderStatus.PLACED.canTransitionTo(OrderStatus.CANCELLED));
+    assertTrue(OrderStatus.PLACED.canTransitionTo(OrderStatus.CONFIRMED));
+    assertTrue(OrderStatus.PLACED.canTransitionTo(OrderStatus.COMPLETED));
+    assertFalse(OrderStatus.PLACED.canTransitionTo(OrderStatus.PENDING));
+  }
+
+  @Test
+  void confirmedOrderCanOnlyBeCompletedOrCancelledForNonPayment() {
+    assertTrue(OrderStatus.CONFIRMED.canTransitionTo(OrderStatus.COMPLETED));
+    assertTrue(OrderStatus.CONFIRMED.canTransitionTo(OrderStatus.CANCELLED));
+    assertFalse(OrderStatus.CONFIRMED.canTransitionTo(OrderStatus.PLACED));
+  }
+
+  @Test
+  void intakeStatusesFollowWorkerLifecycle() {
+    assertTrue(OrderStatus.PENDING.canTransitionTo(OrderStatus.PROCESSING));
+    assertTrue(OrderStatus.PENDING.canTransitionTo(OrderStatus.CANCELLED));
+    assertTrue(OrderStatus.PROCESSING.canTransitionTo(OrderStatus.PLACED));
+    assertTrue(OrderStatus.PROCESSING.canTransitionTo(OrderStatus.REJECTED));
+    assertTrue(OrderStatus.PROCESSING.canTransitionTo(OrderStatus.PENDING));
+    assertFalse(OrderStatus.PROCESSING.canTransitionTo(OrderStatus.CANCELLED));
+    assertFalse(OrderStatus.PENDING.canTransitionTo(OrderStatus.COMPLETED));
+  }
+
+  @Test
+  void finalStatusesCannotChange() {
+    for (OrderStatus next : OrderStatus.values()) {
+      assertFalse(OrderStatus.CANCELLED.canTransitionTo(next));
+      assertFalse(OrderStatus.COMPLETED.canTransitionTo(next));
+      assertFalse(OrderStatus.REJECTED.canTransitionTo(next));
+    }
+  }
+
+  @Test
+  void repositoryTransitionRunsConditionalUpdate() {
+    OrderRepository orderRepository = Mockito.mock(OrderRepository.class, Mockito.CALLS_REAL_METHODS);
+    when(orderRepository.updateStatusIf(1, OrderStatus.PLACED, OrderStatus.COMPLETED, null)).thenReturn(1);
+    when(orderRepository.updateStatusIf(2, OrderStatus.PLACED, OrderStatus.COMPLETED, null)).thenReturn(0);
+
+    assertTrue(orderRepository.transition(1, OrderStatus.PLACED, OrderStatus.COMPLETED, null));
+    assertFalse(orderRepository.transition(2, OrderStatus.PLACED, OrderStatus.COMPLETED, null));
+  }
+
+  @Test
+  void repositoryTransitionRefusesMoveOutsideStateMachine() {
+    OrderRepository orderRepository = Mockito.mock(OrderRepository.class, Mockito.CALLS_REAL_METHODS);
+
+    assertThrows(IllegalStateException.class,
+      () -> orderRepository.transition(1, OrderStatus.CANCELLED, OrderStatus.COMPLETED, null));
+    verify(orderRepository, never()).updateStatusIf(any(), any(), any(), any());
+  }
+}
@@ -0,0 +1,78 @@
+package com.orders.utils;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Unit tests for {@link RemoteCallCounter}.
+ */
+class RemoteCallCounterTest {
+
+  /**
+   * Unbinds any counter left on the test thread.
+   */
+  @AfterEach
+  void tearDown() {
+    RemoteCallCounter.stop();
+  }
+
+  @Test
+  void recordCountsCallsPerResource() {
+    RemoteCallCounter counter = RemoteCallCounter.start();
+
+    RemoteCallCounter.record("UserFeignClient#getUserById(Integer)");
+    RemoteCallCounter.record("UserFeignClient#getUserById(Integer)");
+    RemoteCallCounter.record("RestaurantFeignClient#getRestaurantById(Integer)");
+
+    assertEquals(2, counter.count("UserFeignClient#getUserById(Integer)"));
+    assertEquals(1, counter.count("RestaurantFeignClient#getRestaurantById(Integer)"));
+    assertEquals(3, counter.total());
+    assertEquals(2, counter.maxPerResource());
+  }
+
+  @Test
+  void joinedCallsAreCountedApartAndTowardsTheBudget() {
+    RemoteCallCounter counter = RemoteCallCounter.start();
+
+    RemoteCallCounter.record("RestaurantFeignClient#getRestaurantById(Integer)");
+    RemoteCallCounter.recordJoined("RestaurantFeignClient#getRestaurantById(Integer)");
+    RemoteCallCounter.recordJoined("RestaurantFeignClient#getRestaurantById(Integer)");
+
+    assertEquals(1, counter.count("RestaurantFeignClient#getRestaurantById(Integer)"));
+    assertEquals(2, counter.joinedCount("RestaurantFeignClient#getRestaurantById(Integer)"));
+    assertEquals(1, counter.total());
+    assertEquals(2, counter.totalJoined());
+    assertEquals(3, counter.maxPerResource());
+  }
+
+  @Test
+  void recordWithoutBoundCounterIsIgnored() {
+    RemoteCallCounter.record("UserFeignClient#getUserById(Integer)");
+
+    assertNull(RemoteCallCounter.current());
+  }
+
+  @Test
+  void propagateAttributesCallsFromOtherThreads() throws Exception {
+    RemoteCallCounter counter = RemoteCallCounter.start();
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      CompletableFuture.supplyAsync(RemoteCallCounter.propagate(() -> {
+        RemoteCallCounter.record("UserFeignClient#getAddressesByUserId(Integer)");
+        return null;
+      }), executor).get();
+
+      assertEquals(1, counter.count("UserFeignClient#getAddressesByUserId(Integer)"));
+      assertNull(executor.submit(RemoteCallCounter::current).get());
+    } finally {
+      executor.shutdown();
+    }
+  }
+}
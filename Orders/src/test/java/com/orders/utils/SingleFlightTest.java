@@ -0,0 +1,118 @@
+package com.orders.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for {@link SingleFlight}.
+ */
+class SingleFlightTest {
+
+  /**
+   * The single flight under test.
+   */
+  private final SingleFlight<Integer, String> singleFlight = new SingleFlight<>();
+
+  @Test
+  void concurrentCallersForSameKeyShareOneCall() throws Exception {
+    AtomicInteger calls = new AtomicInteger();
+    CountDownLatch release = new CountDownLatch(1);
+    ExecutorService callers = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<String>> results = new ArrayList<>();
+      for (int i = 0; i < 8; i++) {
+        results.add(callers.submit(() -> singleFlight.execute(1, () -> {
+          calls.incrementAndGet();
+          release.await(5, TimeUnit.SECONDS);
+          return "restaurant-1";
+        })));
+      }
+      awaitCoalesced(7);
+      release.countDown();
+
+      for (Future<String> result : results) {
+        assertEquals("restaurant-1", result.get(5, TimeUnit.SECONDS));
+      }
+    } finally {
+      callers.shutdownNow();
+    }
+
+    assertEquals(1, calls.get());
+    assertEquals(7, singleFlight.coalescedCount());
+    assertEquals(0, singleFlight.inFlightCount());
+  }
+
+  @Test
+  void differentKeysAndLaterCallsAreNotCoalesced() throws Exception {
+    assertEquals("one", singleFlight.execute(1, () -> "one"));
+    assertEquals("two", singleFlight.execute(2, () -> "two"));
+    assertEquals("one again", singleFlight.execute(1, () -> "one again"));
+
+    assertEquals(0, singleFlight.coalescedCount());
+  }
+
+  @Test
+  void waitersReceiveTheExceptionOfTheCall() throws Exception {
+    IllegalStateException failure = new IllegalStateException("Restaurant service down");
+    CountDownLatch release = new CountDownLatch(1);
+    ExecutorService callers = Executors.newFixedThreadPool(2);
+    try {
+      Future<String> leader = callers.submit(() -> singleFlight.execute(1, () -> {
+        release.await(5, TimeUnit.SECONDS);
+        throw failure;
+      }));
+      awaitInFlight();
+      Future<String> waiter = callers.submit(() -> singleFlight.execute(1, () -> "unused"));
+      awaitCoalesced(1);
+      release.countDown();
+
+      assertSame(failure, assertThrows(ExecutionException.class, () -> leader.get(5, TimeUnit.SECONDS)).getCause());
+      assertSame(failure, assertThrows(ExecutionException.class, () -> waiter.get(5, TimeUnit.SECONDS)).getCause());
+    } finally {
+      callers.shutdownNow();
+    }
+
+    assertEquals("recovered", singleFlight.execute(1, () -> "recovered"));
+  }
+
+  /**
+   * Waits until a call is in flight.
+   *
+   * @throws InterruptedException if interrupted while waiting
+   */
+  private void awaitInFlight() throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (singleFlight.inFlightCount() == 0 && System.nanoTime() < deadline) {
+      Thread.sleep(5);
+    }
+    assertTrue(singleFlight.inFlightCount() > 0);
+  }
+
+  /**
+   * Waits until the given number of callers joined a call in flight.
+   *
+   * @param expected the expected number of coalesced callers
+   * @throws InterruptedException if interrupted while waiting
+   */
+  private void awaitCoalesced(final long expected) throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (singleFlight.coalescedCount() < expected && System.nanoTime() < deadline) {
+      Thread.sleep(5);
+    }
+    assertEquals(expected, singleFlight.coalescedCount());
+  }
+}
@@ -0,0 +1,66 @@
+package com.orders.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for {@link TimingWheel}.
+ */
+class TimingWheelTest {
+
+  @Test
+  void itemFiresOnceDeadlinePassedAndNotBefore() {
+    TimingWheel<String> wheel = new TimingWheel<>(8, 100, 0);
+    wheel.schedule("a", 250);
+
+    assertTrue(wheel.advance(200).isEmpty());
+    assertTrue(wheel.advance(299).isEmpty());
+    assertEquals(Collections.singletonList("a"), wheel.advance(300));
+    assertEquals(0, wheel.size());
+  }
+
+  @Test
+  void itemFurtherThanOneTurnWaitsForItsRound() {
+    TimingWheel<String> wheel = new TimingWheel<>(4, 100, 0);
+    wheel.schedule("late", 900);
+    wheel.schedule("early", 100);
+
+    assertEquals(Collections.singletonList("early"), wheel.advance(500));
+    assertEquals(1, wheel.size());
+    assertEquals(Collections.singletonList("late"), wheel.advance(900));
+  }
+
+  @Test
+  void itemPastDeadlineFiresWithNextTick() {
+    TimingWheel<String> wheel = new TimingWheel<>(8, 100, 0);
+    wheel.advance(1000);
+    wheel.schedule("overdue", 10);
+
+    assertEquals(Collections.singletonList("overdue"), wheel.advance(1100));
+  }
+
+  @Test
+  void longPauseReleasesEveryExpiredItem() {
+    TimingWheel<Integer> wheel = new TimingWheel<>(4, 100, 0);
+    for (int i = 1; i <= 10; i++) {
+      wheel.schedule(i, i * 100L);
+    }
+    wheel.schedule(99, 100_000);
+
+    assertEquals(new HashSet<>(Arrays.asList(1, 2, 3, 4, 5, 6, 7, 8, 9, 10)), new HashSet<>(wheel.advance(50_000)));
+    assertEquals(1, wheel.size());
+  }
+
+  @Test
+  void rejectsInvalidSettings() {
+    assertThrows(IllegalArgumentException.class, () -> new TimingWheel<String>(0, 100, 0));
+    assertThrows(IllegalArgumentException.class, () -> new TimingWheel<String>(8, 0, 0));
+  }
+}
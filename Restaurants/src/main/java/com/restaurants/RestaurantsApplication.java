@@ -1,5 +1,6 @@
 package com.restaurants;
 
+import com.restaurants.service.PooledFeignClientConfiguration;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cloud.openfeign.EnableFeignClients;
@@ -10,7 +11,7 @@ import org.springframework.cloud.openfeign.EnableFeignClients;
  * It also enables Feign clients for inter-service communication.
  */
 @SpringBootApplication
-@EnableFeignClients
+@EnableFeignClients(defaultConfiguration = PooledFeignClientConfiguration.class)
 @SuppressWarnings("PMD.UseUtilityClass")
 public class RestaurantsApplication {
 
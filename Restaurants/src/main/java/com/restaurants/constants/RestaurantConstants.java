@@ -77,6 +77,10 @@ public final class RestaurantConstants {
    * Error message indicating that the file should not be exceeded.
    */
   public static final String FILE_SIZE_EXCEEDED = "File size exceeds the maximum limit of 5 MB";
+  /**
+   * Error message indicating that a batch price lookup requested too many food items.
+   */
+  public static final String TOO_MANY_FOOD_ITEM_IDS = "Too many food item IDs requested in a single price lookup";
 
   private RestaurantConstants() {
     throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
@@ -3,6 +3,8 @@ package com.restaurants.controller;
 import com.restaurants.dto.FoodItemInDto;
 import com.restaurants.dto.FoodItemUpdateInDto;
 import com.restaurants.dto.FoodItemOutDto;
+import com.restaurants.dto.FoodItemPriceOutDto;
+import com.restaurants.dto.FoodItemSummaryOutDto;
 import com.restaurants.dto.MessageOutDto;
 import com.restaurants.entities.FoodItem;
 import com.restaurants.service.FoodItemService;
@@ -16,6 +18,7 @@ import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
@@ -125,6 +128,32 @@ public class FoodItemController {
     return ResponseEntity.ok().contentType(MediaType.IMAGE_JPEG).body(imageData);
   }
 
+  /**
+   * Retrieves the prices of several food items in one request.
+   *
+   * @param ids the IDs of the food items
+   * @return a response entity containing the id, restaurant ID and price of each food item found
+   */
+  @PostMapping("/prices")
+  public ResponseEntity<List<FoodItemPriceOutDto>> getFoodItemPrices(final @RequestBody List<Integer> ids) {
+    log.info("Retrieving prices for {} food item IDs", ids.size());
+    List<FoodItemPriceOutDto> response = foodItemService.getFoodItemPrices(ids);
+    return new ResponseEntity<>(response, HttpStatus.OK);
+  }
+
+  /**
+   * Retrieves the details of a food item by its ID without its image data.
+   *
+   * @param id the ID of the food item
+   * @return a response entity containing the food item summary
+   */
+  @GetMapping("/{id}/summary")
+  public ResponseEntity<FoodItemSummaryOutDto> getFoodItemSummary(final @PathVariable Integer id) {
+    log.info("Retrieving food item summary with ID: {}", id);
+    FoodItemSummaryOutDto response = foodItemService.getFoodItemSummary(id);
+    return new ResponseEntity<>(response, HttpStatus.OK);
+  }
+
   /**
    * Retrieves the image data for a food item by its ID.
    *
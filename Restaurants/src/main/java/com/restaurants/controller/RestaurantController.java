@@ -3,6 +3,7 @@ package com.restaurants.controller;
 import com.restaurants.dto.RestaurantInDto;
 import com.restaurants.dto.MessageOutDto;
 import com.restaurants.dto.RestaurantOutDto;
+import com.restaurants.dto.RestaurantSummaryOutDto;
 import com.restaurants.entities.Restaurant;
 import com.restaurants.service.RestaurantService;
 import lombok.extern.slf4j.Slf4j;
@@ -79,6 +80,19 @@ public class RestaurantController {
     return new ResponseEntity<>(response, HttpStatus.OK);
   }
 
+  /**
+   * Retrieves the details of a restaurant by its ID without its image data.
+   *
+   * @param id the ID of the restaurant to retrieve
+   * @return a {@link ResponseEntity} containing the {@link RestaurantSummaryOutDto} with the specified ID
+   */
+  @GetMapping("/{id}/summary")
+  public ResponseEntity<RestaurantSummaryOutDto> getRestaurantSummary(final @PathVariable Integer id) {
+    log.info("Retrieving restaurant summary with ID: {}", id);
+    RestaurantSummaryOutDto response = restaurantService.getRestaurantSummary(id);
+    return new ResponseEntity<>(response, HttpStatus.OK);
+  }
+
   /**
    * Retrieves all restaurants associated with a specific user.
    *
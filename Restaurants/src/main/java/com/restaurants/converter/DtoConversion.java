@@ -5,10 +5,14 @@ import com.restaurants.dto.FoodItemInDto;
 import com.restaurants.dto.RestaurantInDto;
 import com.restaurants.dto.FoodCategoryOutDto;
 import com.restaurants.dto.FoodItemOutDto;
+import com.restaurants.dto.FoodItemSummaryOutDto;
 import com.restaurants.dto.RestaurantOutDto;
+import com.restaurants.dto.RestaurantSummaryOutDto;
 import com.restaurants.entities.FoodCategory;
 import com.restaurants.entities.FoodItem;
 import com.restaurants.entities.Restaurant;
+import com.restaurants.projections.FoodItemSummary;
+import com.restaurants.projections.RestaurantSummary;
 
 /**
  * Utility class for converting between entity objects and DTOs.
@@ -117,4 +121,38 @@ public final class DtoConversion {
     return response;
   }
 
+  /**
+   * Converts a {@link RestaurantSummary} projection to a {@link RestaurantSummaryOutDto}.
+   *
+   * @param summary the {@link RestaurantSummary} projection to convert
+   * @return the corresponding {@link RestaurantSummaryOutDto}
+   */
+  public static RestaurantSummaryOutDto convertRestaurantSummaryToResponse(final RestaurantSummary summary) {
+    RestaurantSummaryOutDto response = new RestaurantSummaryOutDto();
+    response.setId(summary.getId());
+    response.setUserId(summary.getUserId());
+    response.setRestaurantName(summary.getRestaurantName());
+    response.setAddress(summary.getAddress());
+    response.setContactNumber(summary.getContactNumber());
+    response.setOpeningHours(summary.getOpeningHours());
+    return response;
+  }
+
+  /**
+   * Converts a {@link FoodItemSummary} projection to a {@link FoodItemSummaryOutDto}.
+   *
+   * @param summary the {@link FoodItemSummary} projection to convert
+   * @return the corresponding {@link FoodItemSummaryOutDto}
+   */
+  public static FoodItemSummaryOutDto convertFoodItemSummaryToResponse(final FoodItemSummary summary) {
+    FoodItemSummaryOutDto response = new FoodItemSummaryOutDto();
+    response.setId(summary.getId());
+    response.setCategoryId(summary.getCategoryId());
+    response.setRestaurantId(summary.getRestaurantId());
+    response.setItemName(summary.getItemName());
+    response.setDescription(summary.getDescription());
+    response.setIsVeg(summary.getIsVeg());
+    response.setPrice(summary.getPrice());
+    return response;
+  }
 }
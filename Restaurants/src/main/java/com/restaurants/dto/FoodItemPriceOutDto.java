@@ -0,0 +1,35 @@
+package com.restaurants.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Compact data transfer object carrying only the pricing data of a food item.
+ * <p>
+ * Returned by the batch price lookup so that callers pricing a whole cart
+ * do not need to load the full food item, including its image, per item.
+ * </p>
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FoodItemPriceOutDto {
+
+  /**
+   * The unique identifier of the food item.
+   */
+  private Integer id;
+
+  /**
+   * The ID of the restaurant that the food item belongs to.
+   */
+  private Integer restaurantId;
+
+  /**
+   * The current price of the food item.
+   */
+  private BigDecimal price;
+}
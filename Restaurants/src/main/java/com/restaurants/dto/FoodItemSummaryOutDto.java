@@ -0,0 +1,49 @@
+package com.restaurants.dto;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+/**
+ * Data transfer object for the details of a food item without its image.
+ * <p>
+ * Used by other services that only need to check that a food item exists or read its price.
+ * </p>
+ */
+@Data
+public class FoodItemSummaryOutDto {
+  /**
+   * The unique identifier of the food item.
+   */
+  private Integer id;
+
+  /**
+   * The ID of the category to which the food item belongs.
+   */
+  private Integer categoryId;
+
+  /**
+   * The ID of the restaurant that the food item belongs to.
+   */
+  private Integer restaurantId;
+
+  /**
+   * The name of the food item.
+   */
+  private String itemName;
+
+  /**
+   * A description of the food item.
+   */
+  private String description;
+
+  /**
+   * Indicates whether the food item is vegetarian.
+   */
+  private Boolean isVeg;
+
+  /**
+   * The price of the food item.
+   */
+  private BigDecimal price;
+}
@@ -0,0 +1,42 @@
+package com.restaurants.dto;
+
+import lombok.Data;
+
+/**
+ * Data transfer object for the details of a restaurant without its image.
+ * <p>
+ * Used by other services that only need to check that a restaurant exists or read its owner.
+ * </p>
+ */
+@Data
+public class RestaurantSummaryOutDto {
+  /**
+   * The unique identifier of the restaurant.
+   */
+  private Integer id;
+
+  /**
+   * The ID of the user who owns the restaurant.
+   */
+  private Integer userId;
+
+  /**
+   * The name of the restaurant.
+   */
+  private String restaurantName;
+
+  /**
+   * The address of the restaurant.
+   */
+  private String address;
+
+  /**
+   * The contact number of the restaurant.
+   */
+  private String contactNumber;
+
+  /**
+   * The opening hours of the restaurant.
+   */
+  private String openingHours;
+}
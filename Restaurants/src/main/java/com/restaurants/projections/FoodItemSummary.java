@@ -0,0 +1,61 @@
+package com.restaurants.projections;
+
+import java.math.BigDecimal;
+
+/**
+ * Closed Spring Data projection of a {@link com.restaurants.entities.FoodItem}.
+ * <p>
+ * Only the columns exposed here are selected, so the {@code imageData} LOB is never read.
+ * </p>
+ */
+public interface FoodItemSummary {
+
+  /**
+   * Returns the unique identifier of the food item.
+   *
+   * @return the food item ID
+   */
+  Integer getId();
+
+  /**
+   * Returns the ID of the category to which the food item belongs.
+   *
+   * @return the category ID
+   */
+  Integer getCategoryId();
+
+  /**
+   * Returns the ID of the restaurant that the food item belongs to.
+   *
+   * @return the restaurant ID
+   */
+  Integer getRestaurantId();
+
+  /**
+   * Returns the name of the food item.
+   *
+   * @return the item name
+   */
+  String getItemName();
+
+  /**
+   * Returns the description of the food item.
+   *
+   * @return the description
+   */
+  String getDescription();
+
+  /**
+   * Returns whether the food item is vegetarian.
+   *
+   * @return {@code true} if the item is vegetarian
+   */
+  Boolean getIsVeg();
+
+  /**
+   * Returns the price of the food item.
+   *
+   * @return the price
+   */
+  BigDecimal getPrice();
+}
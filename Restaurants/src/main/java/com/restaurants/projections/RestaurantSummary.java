@@ -0,0 +1,52 @@
+package com.restaurants.projections;
+
+/**
+ * Closed Spring Data projection of a {@link com.restaurants.entities.Restaurant}.
+ * <p>
+ * Only the columns exposed here are selected, so the {@code imageData} LOB is never read.
+ * </p>
+ */
+public interface RestaurantSummary {
+
+  /**
+   * Returns the unique identifier of the restaurant.
+   *
+   * @return the restaurant ID
+   */
+  Integer getId();
+
+  /**
+   * Returns the ID of the user who owns the restaurant.
+   *
+   * @return the owner's user ID
+   */
+  Integer getUserId();
+
+  /**
+   * Returns the name of the restaurant.
+   *
+   * @return the restaurant name
+   */
+  String getRestaurantName();
+
+  /**
+   * Returns the address of the restaurant.
+   *
+   * @return the restaurant address
+   */
+  String getAddress();
+
+  /**
+   * Returns the contact number of the restaurant.
+   *
+   * @return the contact number
+   */
+  String getContactNumber();
+
+  /**
+   * Returns the opening hours of the restaurant.
+   *
+   * @return the opening hours
+   */
+  String getOpeningHours();
+}
@@ -1,9 +1,15 @@
 package com.restaurants.repositories;
 
+import com.restaurants.dto.FoodItemPriceOutDto;
 import com.restaurants.entities.FoodItem;
+import com.restaurants.projections.FoodItemSummary;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Repository interface for {@link FoodItem} entity.
@@ -37,4 +43,25 @@ public interface FoodItemRepository extends JpaRepository<FoodItem, Integer> {
    */
   boolean existsByRestaurantIdAndItemNameIgnoreCase(Integer restaurantId, String itemName);
 
+  /**
+   * Finds the id, restaurant ID and price of every food item whose ID is in the given collection.
+   * <p>
+   * Runs as a single {@code IN} query and selects only the pricing columns, so the image data is never loaded.
+   * </p>
+   *
+   * @param ids the IDs of the food items to look up
+   * @return the pricing data of the food items that exist; unknown IDs are simply absent
+   */
+  @Query("SELECT new com.restaurants.dto.FoodItemPriceOutDto(f.id, f.restaurantId, f.price) "
+    + "FROM FoodItem f WHERE f.id IN :ids")
+  List<FoodItemPriceOutDto> findPricesByIdIn(@Param("ids") Collection<Integer> ids);
+
+  /**
+   * Finds the summary of a food item by its ID, selecting only the columns of {@link FoodItemSummary}.
+   *
+   * @param id the ID of the food item
+   * @return the food item summary, or empty if no food item exists with the given ID
+   */
+  Optional<FoodItemSummary> findSummaryById(Integer id);
+
 }
@@ -1,9 +1,11 @@
 package com.restaurants.repositories;
 
 import com.restaurants.entities.Restaurant;
+import com.restaurants.projections.RestaurantSummary;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Repository interface for {@link Restaurant} entity.
@@ -26,4 +28,12 @@ public interface RestaurantRepository extends JpaRepository<Restaurant, Integer>
    * @return {@code true} if a restaurant with the specified name exists; {@code false} otherwise.
    */
   boolean existsByRestaurantNameIgnoreCase(String normalizedRestaurantName);
+
+  /**
+   * Finds the summary of a restaurant by its ID, selecting only the columns of {@link RestaurantSummary}.
+   *
+   * @param id the ID of the restaurant.
+   * @return the restaurant summary, or empty if no restaurant exists with the given ID.
+   */
+  Optional<RestaurantSummary> findSummaryById(Integer id);
 }
@@ -3,6 +3,8 @@ package com.restaurants.service;
 import com.restaurants.dto.FoodItemInDto;
 import com.restaurants.dto.FoodItemUpdateInDto;
 import com.restaurants.dto.FoodItemOutDto;
+import com.restaurants.dto.FoodItemPriceOutDto;
+import com.restaurants.dto.FoodItemSummaryOutDto;
 import com.restaurants.dto.MessageOutDto;
 import com.restaurants.entities.FoodItem;
 import org.springframework.web.multipart.MultipartFile;
@@ -41,6 +43,14 @@ public interface FoodItemService {
    */
   FoodItem findFoodItemsById(Integer id);
 
+  /**
+   * Retrieves the details of a food item without its image data.
+   *
+   * @param id the ID of the food item
+   * @return the {@link FoodItemSummaryOutDto} of the food item
+   */
+  FoodItemSummaryOutDto getFoodItemSummary(Integer id);
+
   /**
    * Retrieves all food items.
    *
@@ -72,6 +82,14 @@ public interface FoodItemService {
    */
   byte[] getFoodItemImage(Integer id);
 
+  /**
+   * Retrieves the prices of several food items in one lookup.
+   *
+   * @param ids the IDs of the food items
+   * @return a list of {@link FoodItemPriceOutDto} for the food items that exist
+   */
+  List<FoodItemPriceOutDto> getFoodItemPrices(List<Integer> ids);
+
   /**
    * Checks if a food item with the same name exists in the specified restaurant.
    *
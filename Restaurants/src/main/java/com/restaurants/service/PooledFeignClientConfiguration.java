@@ -0,0 +1,112 @@
+package com.restaurants.service;
+
+import feign.Client;
+import feign.Request;
+import feign.httpclient.ApacheHttpClient;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HTTP transport of each Feign client: a pooled Apache HttpClient reusing keep-alive connections instead of
+ * opening a connection per call.
+ * <p>
+ * Applied by Spring Cloud to the child context of every Feign client, so each client gets its own pool and
+ * timeouts, read from {@code restaurants.feign.<client name>.*} with {@code restaurants.feign.default.*} as
+ * fallback.
+ * </p>
+ * <p>
+ * The class must stay out of the application context, where {@code feign.client.name} is not defined. It is
+ * therefore a top-level class without {@code @Configuration}: component scanning only picks up annotated
+ * classes, and a class nested in a configuration class would be registered along with it.
+ * </p>
+ */
+public class PooledFeignClientConfiguration {
+
+  /**
+   * Prefix of the HTTP transport settings of the Feign clients.
+   */
+  static final String SETTINGS_PREFIX = "restaurants.feign.";
+
+  /**
+   * Creates the connection pool and HTTP client of a Feign client and registers the pool metrics
+   * ({@code httpcomponents.httpclient.pool.*}, tagged with the client name).
+   *
+   * @param clientName    the name of the Feign client
+   * @param environment   the environment holding the settings
+   * @param meterRegistry the registry of the pool metrics, if metrics are enabled
+   * @return the pooled HTTP client
+   */
+  @Bean(destroyMethod = "close")
+  public CloseableHttpClient pooledHttpClient(@Value("${feign.client.name}") final String clientName,
+                                              final Environment environment,
+                                              final ObjectProvider<MeterRegistry> meterRegistry) {
+    int maxConnections = setting(environment, clientName, "max-connections", 20);
+    long keepAliveMs = setting(environment, clientName, "keep-alive-ms", 30000);
+
+    PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+    connectionManager.setMaxTotal(maxConnections);
+    connectionManager.setDefaultMaxPerRoute(maxConnections);
+    meterRegistry.ifAvailable(registry ->
+      new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, clientName).bindTo(registry));
+
+    return HttpClients.custom()
+      .setConnectionManager(connectionManager)
+      .setKeepAliveStrategy((response, context) -> {
+        long serverKeepAliveMs = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+        return serverKeepAliveMs > 0 ? Math.min(serverKeepAliveMs, keepAliveMs) : keepAliveMs;
+      })
+      .evictExpiredConnections()
+      .evictIdleConnections(keepAliveMs, TimeUnit.MILLISECONDS)
+      .disableCookieManagement()
+      .build();
+  }
+
+  /**
+   * Provides the Feign transport backed by the pooled HTTP client.
+   *
+   * @param pooledHttpClient the pooled HTTP client of the Feign client
+   * @return the Feign transport
+   */
+  @Bean
+  public Client feignClient(final CloseableHttpClient pooledHttpClient) {
+    return new ApacheHttpClient(pooledHttpClient);
+  }
+
+  /**
+   * Provides the connect and read timeouts of a Feign client.
+   *
+   * @param clientName  the name of the Feign client
+   * @param environment the environment holding the settings
+   * @return the request options
+   */
+  @Bean
+  public Request.Options feignRequestOptions(@Value("${feign.client.name}") final String clientName,
+                                             final Environment environment) {
+    return new Request.Options(setting(environment, clientName, "connect-timeout-ms", 2000), TimeUnit.MILLISECONDS,
+      setting(environment, clientName, "read-timeout-ms", 10000), TimeUnit.MILLISECONDS, true);
+  }
+
+  /**
+   * Reads a transport setting of a Feign client, falling back to the default of all clients.
+   *
+   * @param environment  the environment holding the settings
+   * @param clientName   the name of the Feign client
+   * @param key          the setting key
+   * @param defaultValue the value used when neither the client nor the default setting is present
+   * @return the setting
+   */
+  static int setting(final Environment environment, final String clientName, final String key, final int defaultValue) {
+    Integer value = environment.getProperty(SETTINGS_PREFIX + clientName + "." + key, Integer.class);
+    return value != null ? value : environment.getProperty(SETTINGS_PREFIX + "default." + key, Integer.class, defaultValue);
+  }
+}
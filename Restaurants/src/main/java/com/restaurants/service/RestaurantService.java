@@ -3,6 +3,7 @@ package com.restaurants.service;
 import com.restaurants.dto.RestaurantInDto;
 import com.restaurants.dto.MessageOutDto;
 import com.restaurants.dto.RestaurantOutDto;
+import com.restaurants.dto.RestaurantSummaryOutDto;
 import com.restaurants.entities.Restaurant;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -37,6 +38,14 @@ public interface RestaurantService {
    */
   Restaurant findRestaurantById(Integer id);
 
+  /**
+   * Retrieves the details of a restaurant without its image data.
+   *
+   * @param id the ID of the restaurant
+   * @return the {@link RestaurantSummaryOutDto} of the restaurant
+   */
+  RestaurantSummaryOutDto getRestaurantSummary(Integer id);
+
   /**
    * Retrieves all restaurants associated with a specific user.
    *
@@ -4,6 +4,8 @@ import com.restaurants.constants.RestaurantConstants;
 import com.restaurants.dto.FoodItemInDto;
 import com.restaurants.dto.FoodItemUpdateInDto;
 import com.restaurants.dto.FoodItemOutDto;
+import com.restaurants.dto.FoodItemPriceOutDto;
+import com.restaurants.dto.FoodItemSummaryOutDto;
 import com.restaurants.dto.MessageOutDto;
 import com.restaurants.converter.DtoConversion;
 import com.restaurants.entities.FoodCategory;
@@ -23,7 +25,10 @@ import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Implementation of the {@link FoodItemService} interface.
@@ -38,6 +43,11 @@ public class FoodItemServiceImpl implements FoodItemService {
    */
   private static final long MAX_FILE_SIZE = 5 * 1024 * 1024;
 
+  /**
+   * The maximum number of distinct food item IDs accepted by a single batch price lookup.
+   */
+  private static final int MAX_PRICE_LOOKUP_IDS = 200;
+
   /**
    * Service layer dependency for foodItem-related operations.
    */
@@ -144,6 +154,23 @@ public class FoodItemServiceImpl implements FoodItemService {
     });
   }
 
+  /**
+   * Retrieves the details of a food item without loading its image data.
+   *
+   * @param id the ID of the food item
+   * @return the {@link FoodItemSummaryOutDto} of the food item
+   */
+  @Override
+  public FoodItemSummaryOutDto getFoodItemSummary(final Integer id) {
+    log.info("Finding food item summary by ID: {}", id);
+    return foodItemRepository.findSummaryById(id)
+      .map(DtoConversion::convertFoodItemSummaryToResponse)
+      .orElseThrow(() -> {
+        log.error("Food item not found for ID: {}", id);
+        return new ResourceNotFoundException(RestaurantConstants.FOOD_ITEM_NOT_FOUND);
+      });
+  }
+
   /**
    * Retrieves all food items.
    *
@@ -210,6 +237,35 @@ public class FoodItemServiceImpl implements FoodItemService {
     return foodItem.getImageData();
   }
 
+  /**
+   * Retrieves the prices of several food items with a single query.
+   * <p>
+   * Duplicate and {@code null} IDs are ignored; IDs that do not exist are absent from the result.
+   * </p>
+   *
+   * @param ids the IDs of the food items
+   * @return a list of {@link FoodItemPriceOutDto} for the food items that exist
+   * @throws InvalidRequestException if more than {@value #MAX_PRICE_LOOKUP_IDS} distinct IDs are requested
+   */
+  @Override
+  public List<FoodItemPriceOutDto> getFoodItemPrices(final List<Integer> ids) {
+    if (ids == null || ids.isEmpty()) {
+      return Collections.emptyList();
+    }
+    Set<Integer> distinctIds = new LinkedHashSet<>(ids);
+    distinctIds.remove(null);
+    if (distinctIds.isEmpty()) {
+      return Collections.emptyList();
+    }
+    if (distinctIds.size() > MAX_PRICE_LOOKUP_IDS) {
+      throw new InvalidRequestException(RestaurantConstants.TOO_MANY_FOOD_ITEM_IDS);
+    }
+    log.info("Retrieving prices for {} food items", distinctIds.size());
+    List<FoodItemPriceOutDto> prices = foodItemRepository.findPricesByIdIn(distinctIds);
+    log.info("Retrieved prices for {} of {} food items", prices.size(), distinctIds.size());
+    return prices;
+  }
+
   /**
    * Checks if a food item with the same name exists in the same restaurant.
    *
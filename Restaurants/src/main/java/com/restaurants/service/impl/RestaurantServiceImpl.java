@@ -4,6 +4,7 @@ import com.restaurants.constants.RestaurantConstants;
 import com.restaurants.dto.RestaurantInDto;
 import com.restaurants.dto.MessageOutDto;
 import com.restaurants.dto.RestaurantOutDto;
+import com.restaurants.dto.RestaurantSummaryOutDto;
 import com.restaurants.dto.UserOutDto;
 import com.restaurants.converter.DtoConversion;
 import com.restaurants.entities.Restaurant;
@@ -157,6 +158,23 @@ public class RestaurantServiceImpl implements RestaurantService {
       return new ResourceNotFoundException(RestaurantConstants.RESTAURANT_NOT_FOUND);
     });
   }
+
+  /**
+   * Retrieves the details of a restaurant without loading its image data.
+   *
+   * @param id the ID of the restaurant
+   * @return the {@link RestaurantSummaryOutDto} of the restaurant
+   */
+  @Override
+  public RestaurantSummaryOutDto getRestaurantSummary(final Integer id) {
+    log.info("Finding restaurant summary by ID: {}", id);
+    return restaurantRepository.findSummaryById(id)
+      .map(DtoConversion::convertRestaurantSummaryToResponse)
+      .orElseThrow(() -> {
+        log.error("Restaurant not found for ID: {}", id);
+        return new ResourceNotFoundException(RestaurantConstants.RESTAURANT_NOT_FOUND);
+      });
+  }
   /**
    * Validates an image file to ensure it meets the required criteria.
    *
@@ -3,6 +3,8 @@ package com.restaurants.controller;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.restaurants.dto.FoodItemInDto;
 import com.restaurants.dto.FoodItemOutDto;
+import com.restaurants.dto.FoodItemPriceOutDto;
+import com.restaurants.dto.FoodItemSummaryOutDto;
 import com.restaurants.dto.FoodItemUpdateInDto;
 import com.restaurants.dto.MessageOutDto;
 import com.restaurants.service.FoodItemService;
@@ -32,6 +34,7 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
@@ -274,4 +277,56 @@ public class FoodItemControllerTest {
       .andExpect(content().contentType(MediaType.IMAGE_JPEG))
       .andExpect(content().bytes(imageData));
   }
+
+  /**
+   * Tests the {@link FoodItemController#getFoodItemPrices(List)} method.
+   * <p>
+   * Verifies that the batch price lookup accepts a JSON array of IDs and returns
+   * the id, restaurant ID and price of each food item.
+   * </p>
+   * @throws Exception if an error occurs during the test execution
+   */
+  @Test
+  public void testGetFoodItemPrices() throws Exception {
+    List<Integer> ids = Arrays.asList(1, 2);
+    List<FoodItemPriceOutDto> prices = Arrays.asList(
+      new FoodItemPriceOutDto(1, 1, BigDecimal.valueOf(9.99)),
+      new FoodItemPriceOutDto(2, 1, BigDecimal.valueOf(5.99)));
+
+    when(foodItemService.getFoodItemPrices(ids)).thenReturn(prices);
+
+    mockMvc.perform(post("/foodItem/prices")
+        .contentType(MediaType.APPLICATION_JSON)
+        .content(objectMapper.writeValueAsString(ids)))
+      .andExpect(status().isOk())
+      .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+      .andExpect(jsonPath("$[0].id").value(1))
+      .andExpect(jsonPath("$[0].restaurantId").value(1))
+      .andExpect(jsonPath("$[1].price").value(5.99));
+  }
+
+  /**
+   * Tests the {@link FoodItemController#getFoodItemSummary(Integer)} method.
+   * <p>
+   * Verifies that the summary endpoint returns the food item details without any image data.
+   * </p>
+   * @throws Exception if an error occurs during the test execution
+   */
+  @Test
+  public void testGetFoodItemSummary() throws Exception {
+    FoodItemSummaryOutDto summary = new FoodItemSummaryOutDto();
+    summary.setId(1);
+    summary.setRestaurantId(1);
+    summary.setItemName("dummy");
+    summary.setPrice(BigDecimal.valueOf(9.99));
+
+    when(foodItemService.getFoodItemSummary(1)).thenReturn(summary);
+
+    mockMvc.perform(get("/foodItem/1/summary"))
+      .andExpect(status().isOk())
+      .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+      .andExpect(jsonPath("$.id").value(1))
+      .andExpect(jsonPath("$.price").value(9.99))
+      .andExpect(jsonPath("$.imageData").doesNotExist());
+  }
 }
@@ -5,6 +5,7 @@ import com.restaurants.constants.RestaurantConstants;
 import com.restaurants.dto.MessageOutDto;
 import com.restaurants.dto.RestaurantInDto;
 import com.restaurants.dto.RestaurantOutDto;
+import com.restaurants.dto.RestaurantSummaryOutDto;
 import com.restaurants.entities.Restaurant;
 import com.restaurants.service.RestaurantService;
 import org.junit.jupiter.api.BeforeEach;
@@ -148,6 +149,22 @@ class RestaurantControllerTest {
     verify(restaurantService, times(1)).findRestaurantById(1);
   }
 
+  @Test
+  void testGetRestaurantSummary() {
+    RestaurantSummaryOutDto summary = new RestaurantSummaryOutDto();
+    summary.setId(1);
+    summary.setUserId(123);
+    summary.setRestaurantName("Test Restaurant");
+    when(restaurantService.getRestaurantSummary(1)).thenReturn(summary);
+
+    ResponseEntity<RestaurantSummaryOutDto> response = restaurantController.getRestaurantSummary(1);
+
+    assertNotNull(response);
+    assertEquals(HttpStatus.OK, response.getStatusCode());
+    assertEquals(summary, response.getBody());
+    verify(restaurantService, times(1)).getRestaurantSummary(1);
+  }
+
   @Test
   void testGetAllRestaurantByUserId() {
     List<RestaurantOutDto> restaurantOutDtoList = new ArrayList<>();
@@ -0,0 +1,61 @@
+package com.restaurants.dto;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Unit test class for {@link FoodItemPriceOutDto}.
+ * <p>
+ * This class tests the getters, setters, constructors and the overridden methods
+ * {@code toString()}, {@code equals()} and {@code hashCode()}.
+ * </p>
+ */
+public class FoodItemPriceOutDtoTest {
+
+  /**
+   * Tests the getters and setters of {@link FoodItemPriceOutDto}.
+   */
+  @Test
+  public void testGettersAndSetters() {
+    FoodItemPriceOutDto dto = new FoodItemPriceOutDto();
+    assertNull(dto.getId());
+
+    dto.setId(1);
+    dto.setRestaurantId(2);
+    dto.setPrice(BigDecimal.valueOf(9.99));
+
+    assertEquals(1, dto.getId());
+    assertEquals(2, dto.getRestaurantId());
+    assertEquals(BigDecimal.valueOf(9.99), dto.getPrice());
+  }
+
+  /**
+   * Tests the {@code toString()} method of {@link FoodItemPriceOutDto}.
+   */
+  @Test
+  public void testToString() {
+    FoodItemPriceOutDto dto = new FoodItemPriceOutDto(1, 2, BigDecimal.valueOf(9.99));
+
+    assertEquals("FoodItemPriceOutDto(id=1, restaurantId=2, price=9.99)", dto.toString());
+  }
+
+  /**
+   * Tests the {@code equals()} and {@code hashCode()} methods of {@link FoodItemPriceOutDto}.
+   */
+  @Test
+  public void testEqualsAndHashCode() {
+    FoodItemPriceOutDto dto1 = new FoodItemPriceOutDto(1, 2, BigDecimal.valueOf(9.99));
+    FoodItemPriceOutDto dto2 = new FoodItemPriceOutDto(1, 2, BigDecimal.valueOf(9.99));
+
+    assertEquals(dto1, dto2);
+    assertEquals(dto1.hashCode(), dto2.hashCode());
+
+    dto2.setPrice(BigDecimal.valueOf(5.99));
+    assertNotEquals(dto1, dto2);
+  }
+}
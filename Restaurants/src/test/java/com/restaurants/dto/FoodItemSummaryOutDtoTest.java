@@ -0,0 +1,57 @@
+package com.restaurants.dto;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Unit test class for {@link FoodItemSummaryOutDto}.
+ */
+public class FoodItemSummaryOutDtoTest {
+
+  /**
+   * Tests the getters and setters of {@link FoodItemSummaryOutDto}.
+   */
+  @Test
+  public void testGettersAndSetters() {
+    FoodItemSummaryOutDto dto = new FoodItemSummaryOutDto();
+    assertNull(dto.getId());
+
+    dto.setId(1);
+    dto.setCategoryId(2);
+    dto.setRestaurantId(3);
+    dto.setItemName("dummy");
+    dto.setDescription("dummy description");
+    dto.setIsVeg(true);
+    dto.setPrice(BigDecimal.valueOf(9.99));
+
+    assertEquals(1, dto.getId());
+    assertEquals(2, dto.getCategoryId());
+    assertEquals(3, dto.getRestaurantId());
+    assertEquals("dummy", dto.getItemName());
+    assertEquals("dummy description", dto.getDescription());
+    assertEquals(true, dto.getIsVeg());
+    assertEquals(BigDecimal.valueOf(9.99), dto.getPrice());
+  }
+
+  /**
+   * Tests the {@code equals()} and {@code hashCode()} methods of {@link FoodItemSummaryOutDto}.
+   */
+  @Test
+  public void testEqualsAndHashCode() {
+    FoodItemSummaryOutDto dto1 = new FoodItemSummaryOutDto();
+    dto1.setId(1);
+    FoodItemSummaryOutDto dto2 = new FoodItemSummaryOutDto();
+    dto2.setId(1);
+
+    assertEquals(dto1, dto2);
+    assertEquals(dto1.hashCode(), dto2.hashCode());
+
+    dto2.setPrice(BigDecimal.ONE);
+    assertNotEquals(dto1, dto2);
+  }
+}
@@ -0,0 +1,53 @@
+package com.restaurants.dto;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Unit test class for {@link RestaurantSummaryOutDto}.
+ */
+public class RestaurantSummaryOutDtoTest {
+
+  /**
+   * Tests the getters and setters of {@link RestaurantSummaryOutDto}.
+   */
+  @Test
+  public void testGettersAndSetters() {
+    RestaurantSummaryOutDto dto = new RestaurantSummaryOutDto();
+    assertNull(dto.getId());
+
+    dto.setId(1);
+    dto.setUserId(2);
+    dto.setRestaurantName("Test Restaurant");
+    dto.setAddress("Test Address");
+    dto.setContactNumber("1234567890");
+    dto.setOpeningHours("9 AM - 9 PM");
+
+    assertEquals(1, dto.getId());
+    assertEquals(2, dto.getUserId());
+    assertEquals("Test Restaurant", dto.getRestaurantName());
+    assertEquals("Test Address", dto.getAddress());
+    assertEquals("1234567890", dto.getContactNumber());
+    assertEquals("9 AM - 9 PM", dto.getOpeningHours());
+  }
+
+  /**
+   * Tests the {@code equals()} and {@code hashCode()} methods of {@link RestaurantSummaryOutDto}.
+   */
+  @Test
+  public void testEqualsAndHashCode() {
+    RestaurantSummaryOutDto dto1 = new RestaurantSummaryOutDto();
+    dto1.setId(1);
+    RestaurantSummaryOutDto dto2 = new RestaurantSummaryOutDto();
+    dto2.setId(1);
+
+    assertEquals(dto1, dto2);
+    assertEquals(dto1.hashCode(), dto2.hashCode());
+
+    dto2.setId(2);
+    assertNotEquals(dto1, dto2);
+  }
+}
@@ -0,0 +1,69 @@
+package com.restaurants.service;
+
+import feign.Client;
+import feign.httpclient.ApacheHttpClient;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.context.PropertyPlaceholderAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.cloud.openfeign.FeignClientSpecification;
+import org.springframework.cloud.openfeign.FeignContext;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for {@link PooledFeignClientConfiguration}, the per-client HTTP transport of the Feign clients.
+ */
+class PooledFeignClientConfigurationTest {
+
+  /**
+   * Runs contexts holding the Feign configuration classes of the application, with placeholders resolved strictly
+   * as in the application.
+   */
+  private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+    .withConfiguration(AutoConfigurations.of(PropertyPlaceholderAutoConfiguration.class));
+
+  @Test
+  void applicationContextStartsWithoutPerClientBeans() {
+    contextRunner.withUserConfiguration(ScannedConfigurations.class).run(context -> {
+      assertThat(context).hasNotFailed();
+      assertThat(context).hasSingleBean(FeignConfiguration.class);
+      assertThat(context).doesNotHaveBean(PooledFeignClientConfiguration.class);
+      assertThat(context).doesNotHaveBean(CloseableHttpClient.class);
+      assertThat(context).doesNotHaveBean(Client.class);
+    });
+  }
+
+  @Test
+  void feignContextGivesEachClientItsOwnPooledTransport() {
+    contextRunner.withUserConfiguration(FeignConfiguration.class).run(context -> {
+      FeignContext feignContext = new FeignContext();
+      feignContext.setApplicationContext(context);
+      feignContext.setConfigurations(Collections.singletonList(new FeignClientSpecification(
+        "default.RestaurantsApplication", new Class<?>[] {PooledFeignClientConfiguration.class})));
+      try {
+        assertTrue(feignContext.getInstance("user-service", Client.class) instanceof ApacheHttpClient);
+        assertNotSame(feignContext.getInstance("user-service", CloseableHttpClient.class),
+          feignContext.getInstance("order-service", CloseableHttpClient.class));
+      } finally {
+        feignContext.destroy();
+      }
+    });
+  }
+
+  /**
+   * Registers the configuration classes of this package the way component scanning of the application does.
+   */
+  @Configuration
+  @ComponentScan(basePackageClasses = FeignConfiguration.class, useDefaultFilters = false,
+    includeFilters = @ComponentScan.Filter(Configuration.class))
+  static class ScannedConfigurations {
+  }
+}
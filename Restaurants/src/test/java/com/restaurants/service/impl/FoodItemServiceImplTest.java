@@ -3,6 +3,8 @@ package com.restaurants.service.impl;
 import com.restaurants.constants.RestaurantConstants;
 import com.restaurants.dto.FoodItemInDto;
 import com.restaurants.dto.FoodItemOutDto;
+import com.restaurants.dto.FoodItemPriceOutDto;
+import com.restaurants.dto.FoodItemSummaryOutDto;
 import com.restaurants.dto.FoodItemUpdateInDto;
 import com.restaurants.dto.MessageOutDto;
 import com.restaurants.entities.FoodCategory;
@@ -10,6 +12,7 @@ import com.restaurants.entities.FoodItem;
 import com.restaurants.entities.Restaurant;
 import com.restaurants.exception.InvalidRequestException;
 import com.restaurants.exception.ResourceNotFoundException;
+import com.restaurants.projections.FoodItemSummary;
 import com.restaurants.repositories.FoodItemRepository;
 import com.restaurants.service.FoodCategoryService;
 import com.restaurants.service.RestaurantService;
@@ -25,8 +28,10 @@ import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
 
@@ -34,6 +39,9 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -295,5 +303,95 @@ public class FoodItemServiceImplTest {
     assertEquals(1, response.size());
     assertEquals("dummy", response.get(0).getItemName());
   }
-}
 
+  /**
+   * Tests the {@link FoodItemServiceImpl#getFoodItemPrices(List)} method.
+   * <p>
+   * Verifies that duplicate and null IDs are collapsed into a single repository query
+   * and that the pricing data returned by the repository is passed through unchanged.
+   * </p>
+   */
+  @Test
+  void testGetFoodItemPrices() {
+    List<FoodItemPriceOutDto> prices = Arrays.asList(
+      new FoodItemPriceOutDto(1, 1, BigDecimal.valueOf(9.99)),
+      new FoodItemPriceOutDto(2, 1, BigDecimal.valueOf(5.49)));
+
+    when(foodItemRepository.findPricesByIdIn(new LinkedHashSet<>(Arrays.asList(1, 2)))).thenReturn(prices);
+
+    List<FoodItemPriceOutDto> response = foodItemService.getFoodItemPrices(Arrays.asList(1, 2, 1, null));
+
+    assertEquals(2, response.size());
+    assertEquals(BigDecimal.valueOf(5.49), response.get(1).getPrice());
+    verify(foodItemRepository, times(1)).findPricesByIdIn(anyCollection());
+  }
+
+  /**
+   * Tests the {@link FoodItemServiceImpl#getFoodItemPrices(List)} method with an empty list.
+   * <p>
+   * Verifies that no query is issued and an empty list is returned.
+   * </p>
+   */
+  @Test
+  void testGetFoodItemPricesEmptyIds() {
+    List<FoodItemPriceOutDto> response = foodItemService.getFoodItemPrices(Collections.emptyList());
+
+    assertEquals(0, response.size());
+    verify(foodItemRepository, never()).findPricesByIdIn(anyCollection());
+  }
+
+  /**
+   * Tests the {@link FoodItemServiceImpl#getFoodItemPrices(List)} method with too many IDs.
+   * <p>
+   * Verifies that an {@link InvalidRequestException} is thrown before the repository is queried.
+   * </p>
+   */
+  @Test
+  void testGetFoodItemPricesTooManyIds() {
+    List<Integer> ids = new ArrayList<>();
+    for (int i = 1; i <= 201; i++) {
+      ids.add(i);
+    }
+
+    InvalidRequestException exception = assertThrows(InvalidRequestException.class,
+      () -> foodItemService.getFoodItemPrices(ids));
+
+    assertEquals(RestaurantConstants.TOO_MANY_FOOD_ITEM_IDS, exception.getMessage());
+    verify(foodItemRepository, never()).findPricesByIdIn(anyCollection());
+  }
+
+  /**
+   * Tests the {@link FoodItemServiceImpl#getFoodItemSummary(Integer)} method.
+   * <p>
+   * Verifies that the summary is built from the projection and that the full entity is never loaded.
+   * </p>
+   */
+  @Test
+  void testGetFoodItemSummarySuccess() {
+    FoodItemSummary summary = mock(FoodItemSummary.class);
+    when(summary.getId()).thenReturn(1);
+    when(summary.getRestaurantId()).thenReturn(1);
+    when(summary.getPrice()).thenReturn(BigDecimal.valueOf(9.99));
+    when(foodItemRepository.findSummaryById(1)).thenReturn(Optional.of(summary));
+
+    FoodItemSummaryOutDto response = foodItemService.getFoodItemSummary(1);
+
+    assertEquals(1, response.getId());
+    assertEquals(1, response.getRestaurantId());
+    assertEquals(BigDecimal.valueOf(9.99), response.getPrice());
+    verify(foodItemRepository, never()).findById(any());
+  }
+
+  /**
+   * Tests the {@link FoodItemServiceImpl#getFoodItemSummary(Integer)} method when the food item does not exist.
+   */
+  @Test
+  void testGetFoodItemSummaryFoodItemNotFoundException() {
+    when(foodItemRepository.findSummaryById(1)).thenReturn(Optional.empty());
+
+    ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class,
+      () -> foodItemService.getFoodItemSummary(1));
+
+    assertEquals(RestaurantConstants.FOOD_ITEM_NOT_FOUND, exception.getMessage());
+  }
+}
@@ -4,11 +4,13 @@ import com.restaurants.constants.RestaurantConstants;
 import com.restaurants.dto.MessageOutDto;
 import com.restaurants.dto.RestaurantInDto;
 import com.restaurants.dto.RestaurantOutDto;
+import com.restaurants.dto.RestaurantSummaryOutDto;
 import com.restaurants.dto.UserOutDto;
 import com.restaurants.entities.Restaurant;
 import com.restaurants.exception.AccessDeniedException;
 import com.restaurants.exception.InvalidRequestException;
 import com.restaurants.exception.ResourceNotFoundException;
+import com.restaurants.projections.RestaurantSummary;
 import com.restaurants.repositories.RestaurantRepository;
 import com.restaurants.service.UserFeignClient;
 import com.restaurants.utils.UserRole;
@@ -28,6 +30,8 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -176,6 +180,34 @@ public class RestaurantServiceImplTest {
     assertThrows(ResourceNotFoundException.class, () -> restaurantService.findRestaurantById(1));
   }
 
+  @Test
+  void testGetRestaurantSummarySuccess() {
+    RestaurantSummary summary = mock(RestaurantSummary.class);
+    when(summary.getId()).thenReturn(1);
+    when(summary.getUserId()).thenReturn(123);
+    when(summary.getRestaurantName()).thenReturn("Test Restaurant");
+    when(restaurantRepository.findSummaryById(1)).thenReturn(Optional.of(summary));
+
+    RestaurantSummaryOutDto response = restaurantService.getRestaurantSummary(1);
+
+    assertEquals(1, response.getId());
+    assertEquals(123, response.getUserId());
+    assertEquals("Test Restaurant", response.getRestaurantName());
+    verify(restaurantRepository, never()).findById(any());
+  }
+
+  @Test
+  void testGetRestaurantSummaryRestaurantNotFoundException() {
+    when(restaurantRepository.findSummaryById(1)).thenReturn(Optional.empty());
+
+    ResourceNotFoundException exception = assertThrows(
+      ResourceNotFoundException.class,
+      () -> restaurantService.getRestaurantSummary(1)
+    );
+
+    assertEquals(RestaurantConstants.RESTAURANT_NOT_FOUND, exception.getMessage());
+  }
+
   @Test
   void testValidateImageFileInvalidFileTypeException() {
     when(image.getContentType()).thenReturn("application/pdf");
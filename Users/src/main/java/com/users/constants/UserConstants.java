@@ -90,6 +90,22 @@ public final class UserConstants {
    */
   public static final String WALLET_FUND_WITHDRAWAL_SUCCESS = "Funds withdrawn from wallet successfully.";
 
+  /**
+   * Error message indicating that a batch of wallet transactions is empty or too large.
+   */
+  public static final String INVALID_WALLET_TRANSACTION_BATCH = "A batch must contain between 1 and 500 wallet transactions.";
+
+  /**
+   * Error message indicating that a wallet transaction lacks its idempotency key, user ID or amount.
+   */
+  public static final String INVALID_WALLET_TRANSACTION =
+    "Every wallet transaction requires an idempotency key, a user ID and an amount.";
+
+  /**
+   * Maximum number of wallet transactions accepted in one batch.
+   */
+  public static final int MAX_WALLET_TRANSACTION_BATCH = 500;
+
   /**
    * Private constructor to prevent instantiation of the utility class.
    * <p>
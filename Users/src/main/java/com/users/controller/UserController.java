@@ -6,6 +6,8 @@ import com.users.dto.UserLoginInDto;
 import com.users.dto.ContactUsInDto;
 import com.users.dto.MessageOutDto;
 import com.users.dto.UserOutDto;
+import com.users.dto.WalletTransactionInDto;
+import com.users.dto.WalletTransactionOutDto;
 import com.users.converter.DtoConversion;
 import com.users.entities.User;
 import com.users.service.UserService;
@@ -149,6 +151,24 @@ public class UserController {
     return new ResponseEntity<>(userResponse, HttpStatus.OK);
   }
 
+  /**
+   * Applies a batch of wallet transactions.
+   * <p>
+   * This endpoint is used by other services to debit and credit wallets. Each transaction carries an
+   * idempotency key, so a batch that is delivered again returns the recorded outcomes instead of
+   * updating the balances twice. It returns the outcome of every transaction with HTTP 200 OK status.
+   * </p>
+   *
+   * @param transactions the wallet transactions to apply
+   * @return a {@link ResponseEntity} containing the outcome of every transaction and HTTP status
+   */
+  @PostMapping("/wallet/transactions")
+  public ResponseEntity<List<WalletTransactionOutDto>> applyWalletTransactions(
+    final @RequestBody List<WalletTransactionInDto> transactions) {
+    log.info("Applying a batch of {} wallet transactions", transactions.size());
+    return ResponseEntity.ok(userService.applyWalletTransactions(transactions));
+  }
+
   /**
    * Sends a "Contact Us" email.
    * <p>
@@ -0,0 +1,32 @@
+package com.users.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Data Transfer Object for a wallet transaction sent by another service.
+ * Contains the idempotency key identifying the transaction, the user and the signed amount.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WalletTransactionInDto {
+
+  /**
+   * The key identifying the transaction across retries.
+   */
+  private String idempotencyKey;
+
+  /**
+   * The ID of the user whose wallet is updated.
+   */
+  private Integer userId;
+
+  /**
+   * The signed amount; negative to debit the wallet and positive to credit it.
+   */
+  private BigDecimal amount;
+}
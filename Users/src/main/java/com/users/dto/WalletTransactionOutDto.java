@@ -0,0 +1,25 @@
+package com.users.dto;
+
+import com.users.utils.WalletTransactionStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object for the outcome of a wallet transaction.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WalletTransactionOutDto {
+
+  /**
+   * The key identifying the transaction.
+   */
+  private String idempotencyKey;
+
+  /**
+   * The outcome of the transaction.
+   */
+  private WalletTransactionStatus status;
+}
@@ -0,0 +1,66 @@
+package com.users.entities;
+
+import com.users.utils.WalletTransactionStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Entity representing a wallet transaction that has been processed.
+ * <p>
+ * This entity maps to the 'wallet_transactions' table and records the outcome of every wallet
+ * transaction by its idempotency key, so a transaction delivered more than once is applied only once.
+ * </p>
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "wallet_transactions")
+public class WalletTransaction {
+
+  /**
+   * Unique identifier for the wallet transaction.
+   */
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Integer id;
+
+  /**
+   * The key chosen by the caller that identifies the transaction across retries.
+   */
+  @Column(nullable = false, unique = true)
+  private String idempotencyKey;
+
+  /**
+   * The ID of the user whose wallet the transaction targets.
+   */
+  private Integer userId;
+
+  /**
+   * The signed amount of the transaction; negative for debits and positive for credits.
+   */
+  private BigDecimal amount;
+
+  /**
+   * The outcome of the transaction.
+   */
+  @Enumerated(EnumType.STRING)
+  private WalletTransactionStatus status;
+
+  /**
+   * The time at which the transaction was processed.
+   */
+  private LocalDateTime processedAt;
+}
@@ -2,7 +2,11 @@ package com.users.repositories;
 
 import com.users.entities.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.math.BigDecimal;
 import java.util.Optional;
 
 /**
@@ -17,4 +21,17 @@ public interface UserRepository extends JpaRepository<User, Integer> {
    * @return an Optional containing the user if found, or empty if not found.
    */
   Optional<User> findByEmail(String email);
+
+  /**
+   * Adds a signed amount to the wallet balance of a user in a single statement, unless the
+   * resulting balance would be negative.
+   *
+   * @param userId the ID of the user whose wallet is updated.
+   * @param amount the signed amount to add; negative for debits.
+   * @return 1 if the balance was updated, or 0 if the user does not exist or the balance is insufficient.
+   */
+  @Modifying(clearAutomatically = true)
+  @Query("UPDATE User u SET u.walletBalance = u.walletBalance + :amount "
+    + "WHERE u.id = :userId AND u.walletBalance + :amount >= 0")
+  int applyWalletDelta(@Param("userId") Integer userId, @Param("amount") BigDecimal amount);
 }
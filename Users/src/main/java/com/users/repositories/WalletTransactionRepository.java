@@ -0,0 +1,21 @@
+package com.users.repositories;
+
+import com.users.entities.WalletTransaction;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository interface for accessing WalletTransaction entities.
+ */
+public interface WalletTransactionRepository extends JpaRepository<WalletTransaction, Integer> {
+
+  /**
+   * Finds the already processed transactions among the given idempotency keys.
+   *
+   * @param idempotencyKeys the idempotency keys to look up.
+   * @return the processed transactions whose key is one of the given keys.
+   */
+  List<WalletTransaction> findByIdempotencyKeyIn(Collection<String> idempotencyKeys);
+}
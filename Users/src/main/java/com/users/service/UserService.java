@@ -6,6 +6,8 @@ import com.users.dto.UserLoginInDto;
 import com.users.dto.ContactUsInDto;
 import com.users.dto.MessageOutDto;
 import com.users.dto.UserOutDto;
+import com.users.dto.WalletTransactionInDto;
+import com.users.dto.WalletTransactionOutDto;
 import com.users.entities.User;
 import com.users.utils.UserRole;
 
@@ -70,6 +72,14 @@ public interface UserService {
    */
   MessageOutDto updateWalletBalance(Integer userId, BigDecimal amount);
 
+  /**
+   * Applies a batch of wallet transactions, each at most once per idempotency key.
+   *
+   * @param transactions the wallet transactions to apply
+   * @return the outcome of every distinct idempotency key, in request order
+   */
+  List<WalletTransactionOutDto> applyWalletTransactions(List<WalletTransactionInDto> transactions);
+
   /**
    * Adds money to a user's wallet.
    *
@@ -7,26 +7,35 @@ import com.users.dto.UpdateUserInDto;
 import com.users.dto.UserInDto;
 import com.users.dto.UserLoginInDto;
 import com.users.dto.UserOutDto;
+import com.users.dto.WalletTransactionInDto;
+import com.users.dto.WalletTransactionOutDto;
 import com.users.converter.DtoConversion;
 import com.users.entities.User;
+import com.users.entities.WalletTransaction;
 import com.users.exception.ResourceConflictException;
 import com.users.exception.InvalidRequestException;
 import com.users.exception.ResourceNotFoundException;
 import com.users.exception.UnauthorizedAccessException;
 import com.users.repositories.UserRepository;
+import com.users.repositories.WalletTransactionRepository;
 import com.users.service.UserService;
 import com.users.utils.PasswordEncodingDecodingUtils;
 import com.users.utils.UserRole;
+import com.users.utils.WalletTransactionStatus;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import javax.transaction.Transactional;
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 /**
  * Implementation of the {@link UserService} interface.
@@ -51,6 +60,12 @@ public class UserServiceImpl implements UserService {
   @Autowired
   private UserRepository userRepository;
 
+  /**
+   * Repository dependency for the record of processed wallet transactions.
+   */
+  @Autowired
+  private WalletTransactionRepository walletTransactionRepository;
+
   /**
    * Registers a new user in the system.
    *
@@ -194,6 +209,66 @@ public class UserServiceImpl implements UserService {
     return new MessageOutDto(UserConstants.WALLET_FUND_WITHDRAWAL_SUCCESS);
   }
 
+  /**
+   * Applies a batch of wallet transactions, each at most once per idempotency key.
+   * <p>
+   * Keys that were already processed return their recorded outcome without touching the balance, so
+   * a caller may safely redeliver a batch after a timeout. Every new transaction is applied with a
+   * single conditional update and its outcome, applied or rejected, is recorded in the same transaction.
+   * </p>
+   *
+   * @param transactions the wallet transactions to apply
+   * @return the outcome of every distinct idempotency key, in request order
+   * @throws InvalidRequestException if the batch is empty, larger than the maximum batch size or
+   *                                 contains a transaction without key, user or amount
+   */
+  @Override
+  @Transactional
+  public List<WalletTransactionOutDto> applyWalletTransactions(final List<WalletTransactionInDto> transactions) {
+    if (transactions == null || transactions.isEmpty()
+      || transactions.size() > UserConstants.MAX_WALLET_TRANSACTION_BATCH) {
+      throw new InvalidRequestException(UserConstants.INVALID_WALLET_TRANSACTION_BATCH);
+    }
+    for (WalletTransactionInDto transaction : transactions) {
+      if (transaction.getIdempotencyKey() == null || transaction.getIdempotencyKey().trim().isEmpty()
+        || transaction.getUserId() == null || transaction.getAmount() == null) {
+        throw new InvalidRequestException(UserConstants.INVALID_WALLET_TRANSACTION);
+      }
+    }
+    log.info("Applying {} wallet transactions", transactions.size());
+
+    Map<String, WalletTransactionStatus> outcomes = new LinkedHashMap<>();
+    List<String> keys = transactions.stream()
+      .map(WalletTransactionInDto::getIdempotencyKey)
+      .distinct()
+      .collect(Collectors.toList());
+    for (WalletTransaction processed : walletTransactionRepository.findByIdempotencyKeyIn(keys)) {
+      outcomes.put(processed.getIdempotencyKey(), processed.getStatus());
+    }
+
+    List<WalletTransaction> recorded = new ArrayList<>();
+    for (WalletTransactionInDto transaction : transactions) {
+      if (outcomes.containsKey(transaction.getIdempotencyKey())) {
+        log.debug("Skipping already processed wallet transaction: {}", transaction.getIdempotencyKey());
+        continue;
+      }
+      boolean applied = userRepository.applyWalletDelta(transaction.getUserId(), transaction.getAmount()) == 1;
+      WalletTransactionStatus status = applied ? WalletTransactionStatus.APPLIED : WalletTransactionStatus.REJECTED;
+      if (!applied) {
+        log.error("Wallet transaction {} rejected for user ID: {}", transaction.getIdempotencyKey(), transaction.getUserId());
+      }
+      outcomes.put(transaction.getIdempotencyKey(), status);
+      recorded.add(new WalletTransaction(null, transaction.getIdempotencyKey(), transaction.getUserId(),
+        transaction.getAmount(), status, LocalDateTime.now()));
+    }
+    walletTransactionRepository.saveAll(recorded);
+
+    log.info("Applied {} new wallet transactions", recorded.size());
+    return keys.stream()
+      .map(key -> new WalletTransactionOutDto(key, outcomes.get(key)))
+      .collect(Collectors.toList());
+  }
+
   /**
    * Updates the add money to the wallet for a user.
    *
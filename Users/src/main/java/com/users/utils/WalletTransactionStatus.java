@@ -0,0 +1,22 @@
+package com.users.utils;
+
+/**
+ * Enumeration representing the outcome of a wallet transaction.
+ * <p>
+ * This enum defines the possible outcomes, including:
+ * <ul>
+ *   <li>{@code APPLIED} - The amount was applied to the wallet balance.</li>
+ *   <li>{@code REJECTED} - The amount was not applied because the balance was insufficient or the user is unknown.</li>
+ * </ul>
+ */
+public enum WalletTransactionStatus {
+  /**
+   * The amount was applied to the wallet balance.
+   */
+  APPLIED,
+
+  /**
+   * The amount was not applied because the balance was insufficient or the user is unknown.
+   */
+  REJECTED
+}
@@ -6,9 +6,12 @@ import com.users.dto.UserLoginInDto;
 import com.users.dto.ContactUsInDto;
 import com.users.dto.MessageOutDto;
 import com.users.dto.UserOutDto;
+import com.users.dto.WalletTransactionInDto;
+import com.users.dto.WalletTransactionOutDto;
 import com.users.entities.User;
 import com.users.service.UserService;
 import com.users.utils.UserRole;
+import com.users.utils.WalletTransactionStatus;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -26,6 +29,7 @@ import java.util.Collections;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 
@@ -266,4 +270,18 @@ public class UserControllerTest {
       .andExpect(content().contentType(MediaType.APPLICATION_JSON))
       .andExpect(jsonPath("$.message").value("Operation successful"));
   }
+
+  @Test
+  void applyWalletTransactions() throws Exception {
+    WalletTransactionInDto transaction = new WalletTransactionInDto("order-1-debit", 1, BigDecimal.valueOf(-40));
+    when(userService.applyWalletTransactions(anyList())).thenReturn(Collections.singletonList(
+      new WalletTransactionOutDto("order-1-debit", WalletTransactionStatus.APPLIED)));
+
+    mockMvc.perform(post("/user/wallet/transactions")
+        .contentType(MediaType.APPLICATION_JSON)
+        .content(objectMapper.writeValueAsString(Collections.singletonList(transaction))))
+      .andExpect(status().isOk())
+      .andExpect(jsonPath("$[0].idempotencyKey").value("order-1-debit"))
+      .andExpect(jsonPath("$[0].status").value("APPLIED"));
+  }
 }
@@ -0,0 +1,74 @@
+package com.users.dto;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+/**
+ * Unit tests for {@link WalletTransactionInDto}.
+ * <p>
+ * This class contains test methods for verifying the behavior of the
+ * {@link WalletTransactionInDto} class, including getters, setters,
+ * {@code toString} method, and {@code equals} and {@code hashCode} methods.
+ * </p>
+ */
+public class WalletTransactionInDtoTest {
+
+  /**
+   * The {@link WalletTransactionInDto} under test.
+   */
+  private WalletTransactionInDto walletTransactionInDto;
+
+  /**
+   * Sets up the test environment by setting dummy data.
+   */
+  @BeforeEach
+  void setUp() {
+    walletTransactionInDto = new WalletTransactionInDto();
+  }
+
+  /**
+   * Tests the getters and setters of the {@link WalletTransactionInDto} class.
+   */
+  @Test
+  void testGettersAndSetters() {
+    walletTransactionInDto.setIdempotencyKey("order-1-debit");
+    walletTransactionInDto.setUserId(1);
+    walletTransactionInDto.setAmount(new BigDecimal("-40.00"));
+
+    assertEquals("order-1-debit", walletTransactionInDto.getIdempotencyKey());
+    assertEquals(1, walletTransactionInDto.getUserId());
+    assertEquals(new BigDecimal("-40.00"), walletTransactionInDto.getAmount());
+  }
+
+  /**
+   * Tests the {@code toString} method of the {@link WalletTransactionInDto} class.
+   */
+  @Test
+  void testToString() {
+    walletTransactionInDto = new WalletTransactionInDto("order-1-debit", 1, new BigDecimal("-40.00"));
+
+    String expectedString = "WalletTransactionInDto(idempotencyKey=order-1-debit, userId=1, amount=-40.00)";
+    assertEquals(expectedString, walletTransactionInDto.toString());
+  }
+
+  /**
+   * Tests the {@code equals} and {@code hashCode} methods of the
+   * {@link WalletTransactionInDto} class.
+   */
+  @Test
+  void testEqualsAndHashCode() {
+    WalletTransactionInDto walletTransactionInDto1 = new WalletTransactionInDto("order-1-debit", 1, BigDecimal.TEN);
+    WalletTransactionInDto walletTransactionInDto2 = new WalletTransactionInDto("order-1-debit", 1, BigDecimal.TEN);
+
+    assertEquals(walletTransactionInDto1, walletTransactionInDto2);
+    assertEquals(walletTransactionInDto1.hashCode(), walletTransactionInDto2.hashCode());
+
+    walletTransactionInDto2.setIdempotencyKey("order-1-refund");
+    assertNotEquals(walletTransactionInDto1, walletTransactionInDto2);
+    assertNotEquals(walletTransactionInDto1.hashCode(), walletTransactionInDto2.hashCode());
+  }
+}
@@ -0,0 +1,60 @@
+package com.users.dto;
+
+import com.users.utils.WalletTransactionStatus;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+/**
+ * Unit tests for {@link WalletTransactionOutDto}.
+ * <p>
+ * This class contains test methods for verifying the behavior of the
+ * {@link WalletTransactionOutDto} class, including getters, setters,
+ * {@code toString} method, and {@code equals} and {@code hashCode} methods.
+ * </p>
+ */
+public class WalletTransactionOutDtoTest {
+
+  /**
+   * Tests the getters and setters of the {@link WalletTransactionOutDto} class.
+   */
+  @Test
+  void testGettersAndSetters() {
+    WalletTransactionOutDto walletTransactionOutDto = new WalletTransactionOutDto();
+    walletTransactionOutDto.setIdempotencyKey("order-1-debit");
+    walletTransactionOutDto.setStatus(WalletTransactionStatus.REJECTED);
+
+    assertEquals("order-1-debit", walletTransactionOutDto.getIdempotencyKey());
+    assertEquals(WalletTransactionStatus.REJECTED, walletTransactionOutDto.getStatus());
+  }
+
+  /**
+   * Tests the {@code toString} method of the {@link WalletTransactionOutDto} class.
+   */
+  @Test
+  void testToString() {
+    WalletTransactionOutDto walletTransactionOutDto =
+      new WalletTransactionOutDto("order-1-debit", WalletTransactionStatus.APPLIED);
+
+    assertEquals("WalletTransactionOutDto(idempotencyKey=order-1-debit, status=APPLIED)",
+      walletTransactionOutDto.toString());
+  }
+
+  /**
+   * Tests the {@code equals} and {@code hashCode} methods of the
+   * {@link WalletTransactionOutDto} class.
+   */
+  @Test
+  void testEqualsAndHashCode() {
+    WalletTransactionOutDto walletTransactionOutDto1 =
+      new WalletTransactionOutDto("order-1-debit", WalletTransactionStatus.APPLIED);
+    WalletTransactionOutDto walletTransactionOutDto2 =
+      new WalletTransactionOutDto("order-1-debit", WalletTransactionStatus.APPLIED);
+
+    assertEquals(walletTransactionOutDto1, walletTransactionOutDto2);
+    assertEquals(walletTransactionOutDto1.hashCode(), walletTransactionOutDto2.hashCode());
+
+    walletTransactionOutDto2.setStatus(WalletTransactionStatus.REJECTED);
+    assertNotEquals(walletTransactionOutDto1, walletTransactionOutDto2);
+  }
+}
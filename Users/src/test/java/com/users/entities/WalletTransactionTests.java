@@ -0,0 +1,73 @@
+package com.users.entities;
+
+import com.users.utils.WalletTransactionStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+/**
+ * Unit tests for {@link WalletTransaction}.
+ * <p>
+ * This class contains test methods for verifying the behavior of the
+ * {@link WalletTransaction} class, including getters, setters and the
+ * {@code equals} and {@code hashCode} methods.
+ * </p>
+ */
+public class WalletTransactionTests {
+
+  /**
+   * The time at which the transaction under test was processed.
+   */
+  private final LocalDateTime processedAt = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+  /**
+   * The {@link WalletTransaction} under test.
+   */
+  private WalletTransaction walletTransaction;
+
+  /**
+   * Sets up the test environment by setting dummy data.
+   */
+  @BeforeEach
+  void setUp() {
+    walletTransaction = new WalletTransaction();
+    walletTransaction.setId(1);
+    walletTransaction.setIdempotencyKey("order-1-debit");
+    walletTransaction.setUserId(2);
+    walletTransaction.setAmount(new BigDecimal("-40.00"));
+    walletTransaction.setStatus(WalletTransactionStatus.APPLIED);
+    walletTransaction.setProcessedAt(processedAt);
+  }
+
+  /**
+   * Tests the getters and setters of the {@link WalletTransaction} class.
+   */
+  @Test
+  void testGettersAndSetters() {
+    assertEquals(1, walletTransaction.getId());
+    assertEquals("order-1-debit", walletTransaction.getIdempotencyKey());
+    assertEquals(2, walletTransaction.getUserId());
+    assertEquals(new BigDecimal("-40.00"), walletTransaction.getAmount());
+    assertEquals(WalletTransactionStatus.APPLIED, walletTransaction.getStatus());
+    assertEquals(processedAt, walletTransaction.getProcessedAt());
+  }
+
+  /**
+   * Tests the {@code equals} and {@code hashCode} methods of the {@link WalletTransaction} class.
+   */
+  @Test
+  void testEqualsAndHashCode() {
+    WalletTransaction other = new WalletTransaction(1, "order-1-debit", 2, new BigDecimal("-40.00"),
+      WalletTransactionStatus.APPLIED, processedAt);
+
+    assertEquals(walletTransaction, other);
+    assertEquals(walletTransaction.hashCode(), other.hashCode());
+
+    other.setStatus(WalletTransactionStatus.REJECTED);
+    assertNotEquals(walletTransaction, other);
+  }
+}
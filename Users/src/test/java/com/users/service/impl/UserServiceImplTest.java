@@ -10,6 +10,7 @@ import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -17,14 +18,19 @@ import com.users.dto.UserLoginInDto;
 import com.users.dto.ContactUsInDto;
 import com.users.dto.MessageOutDto;
 import com.users.dto.UserOutDto;
+import com.users.dto.WalletTransactionInDto;
+import com.users.dto.WalletTransactionOutDto;
 import com.users.entities.User;
+import com.users.entities.WalletTransaction;
 import com.users.exception.ResourceConflictException;
 import com.users.exception.InvalidRequestException;
 import com.users.exception.ResourceNotFoundException;
 import com.users.exception.UnauthorizedAccessException;
 import com.users.repositories.UserRepository;
+import com.users.repositories.WalletTransactionRepository;
 import com.users.utils.PasswordEncodingDecodingUtils;
 import com.users.utils.UserRole;
+import com.users.utils.WalletTransactionStatus;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -37,6 +43,7 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -87,6 +94,12 @@ public class UserServiceImplTest {
   @Mock
   private EmailServiceImpl emailService;
 
+  /**
+   * Mock of the {@link WalletTransactionRepository}, holding the processed wallet transactions.
+   */
+  @Mock
+  private WalletTransactionRepository walletTransactionRepository;
+
   /**
    * An instance of {@link User} used for testing.
    * <p>
@@ -352,4 +365,67 @@ public class UserServiceImplTest {
       eq("Message content")
     );
   }
+
+  @Test
+  void applyWalletTransactionsAppliesNewTransactions() {
+    List<WalletTransactionInDto> transactions = Arrays.asList(
+      new WalletTransactionInDto("order-1-debit", 1, new BigDecimal("-40.00")),
+      new WalletTransactionInDto("order-2-refund", 1, new BigDecimal("25.00")));
+    when(walletTransactionRepository.findByIdempotencyKeyIn(anyList())).thenReturn(Collections.emptyList());
+    when(userRepository.applyWalletDelta(1, new BigDecimal("-40.00"))).thenReturn(1);
+    when(userRepository.applyWalletDelta(1, new BigDecimal("25.00"))).thenReturn(1);
+
+    List<WalletTransactionOutDto> result = userService.applyWalletTransactions(transactions);
+
+    assertEquals(Arrays.asList(
+      new WalletTransactionOutDto("order-1-debit", WalletTransactionStatus.APPLIED),
+      new WalletTransactionOutDto("order-2-refund", WalletTransactionStatus.APPLIED)), result);
+    verify(walletTransactionRepository).saveAll(anyList());
+  }
+
+  @Test
+  void applyWalletTransactionsRecordsRejectedDebit() {
+    List<WalletTransactionInDto> transactions = Collections.singletonList(
+      new WalletTransactionInDto("order-1-debit", 1, new BigDecimal("-400.00")));
+    when(walletTransactionRepository.findByIdempotencyKeyIn(anyList())).thenReturn(Collections.emptyList());
+    when(userRepository.applyWalletDelta(1, new BigDecimal("-400.00"))).thenReturn(0);
+
+    List<WalletTransactionOutDto> result = userService.applyWalletTransactions(transactions);
+
+    assertEquals(WalletTransactionStatus.REJECTED, result.get(0).getStatus());
+    verify(walletTransactionRepository).saveAll(anyList());
+  }
+
+  @Test
+  void applyWalletTransactionsReturnsRecordedOutcomeForDuplicateKey() {
+    List<WalletTransactionInDto> transactions = Arrays.asList(
+      new WalletTransactionInDto("order-1-debit", 1, new BigDecimal("-40.00")),
+      new WalletTransactionInDto("order-1-debit", 1, new BigDecimal("-40.00")));
+    WalletTransaction processed = new WalletTransaction(7, "order-1-debit", 1, new BigDecimal("-40.00"),
+      WalletTransactionStatus.APPLIED, LocalDateTime.now());
+    when(walletTransactionRepository.findByIdempotencyKeyIn(Collections.singletonList("order-1-debit")))
+      .thenReturn(Collections.singletonList(processed));
+
+    List<WalletTransactionOutDto> result = userService.applyWalletTransactions(transactions);
+
+    assertEquals(Collections.singletonList(
+      new WalletTransactionOutDto("order-1-debit", WalletTransactionStatus.APPLIED)), result);
+    verify(userRepository, never()).applyWalletDelta(anyInt(), any(BigDecimal.class));
+  }
+
+  @Test
+  void applyWalletTransactionsRejectsEmptyBatch() {
+    List<WalletTransactionInDto> transactions = Collections.emptyList();
+
+    assertThrows(InvalidRequestException.class, () -> userService.applyWalletTransactions(transactions));
+  }
+
+  @Test
+  void applyWalletTransactionsRejectsTransactionWithoutKey() {
+    List<WalletTransactionInDto> transactions = Collections.singletonList(
+      new WalletTransactionInDto(" ", 1, new BigDecimal("-40.00")));
+
+    assertThrows(InvalidRequestException.class, () -> userService.applyWalletTransactions(transactions));
+    verify(walletTransactionRepository, never()).findByIdempotencyKeyIn(anyList());
+  }
 }